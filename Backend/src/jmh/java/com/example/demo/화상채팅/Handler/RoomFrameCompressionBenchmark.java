@@ -0,0 +1,114 @@
+package com.example.demo.화상채팅.Handler;
+
+import com.example.demo.화상채팅.DTO.RoomEvents;
+import com.example.demo.화상채팅.DTO.RoomUser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * permessage-deflate 비용 vs 절감 바이트 (ws.endpoint.*.compression 판단용). 실행: gradle jmh
+ * - Tomcat은 세션마다 Deflater를 따로 두므로 같은 프레임이라도 수신자 수만큼 압축 → 방송 1회 비용 = 1회 압축 × participants
+ * - 압축 후 크기는 setUp에서 한 번 출력 (JSON / CBOR 각각)
+ * - speakingPatch: 수십 바이트짜리 작은 프레임. 헤더/플러시 비용 때문에 절감이 거의 없음
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoomFrameCompressionBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int participants;
+
+    @Param({"1", "6"})
+    public int level;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] usersUpdateJson;
+    private byte[] usersUpdateCbor;
+    private byte[] speakingPatch;
+    private Deflater deflater;
+    private final byte[] out = new byte[256 * 1024];
+
+    @Setup
+    public void setUp() throws Exception {
+        RoomFrameEncoder encoder = new RoomFrameEncoder(objectMapper);
+        RoomWireCodec codec = new RoomWireCodec();
+        Map<String, Map<String, Object>> state = new LinkedHashMap<>();
+        for (int i = 0; i < participants; i++) {
+            RoomUser u = new RoomUser("user-" + i, "참가자" + i, "user" + i + "@example.com", i == 0,
+                    1_700_000_000_000L + i, false, true, true, false, true, null, false, false, false);
+            state.put(u.getUserId(), objectMapper.convertValue(u, new TypeReference<LinkedHashMap<String, Object>>() {}));
+        }
+        RoomPresence presence = new RoomPresence();
+        presence.diff(state);
+        String json = encoder.encode(new RoomEvents.UsersUpdate(encoder.usersJson(presence), 1_700_000_000_000L, 60_000L)).getPayload();
+        usersUpdateJson = json.getBytes(StandardCharsets.UTF_8);
+        usersUpdateCbor = codec.toCbor(json);
+        speakingPatch = "{\"type\":\"USER_STATE_CHANGE\",\"userId\":\"user-1\",\"changes\":{\"speaking\":true}}"
+                .getBytes(StandardCharsets.UTF_8);
+        deflater = new Deflater(level, true);
+        System.out.printf("%n[RoomFrameCompressionBenchmark] participants=%d level=%d USERS_UPDATE json=%dB->%dB cbor=%dB->%dB speaking=%dB->%dB%n",
+                participants, level,
+                usersUpdateJson.length, deflate(usersUpdateJson),
+                usersUpdateCbor.length, deflate(usersUpdateCbor),
+                speakingPatch.length, deflate(speakingPatch));
+    }
+
+    @TearDown
+    public void tearDown() {
+        deflater.end();
+    }
+
+    /**
+     * 수신자 세션 하나가 프레임 하나를 압축 (SYNC_FLUSH, Tomcat PerMessageDeflate와 같은 방식).
+     * 수신자마다 압축 이력이 다르므로 매번 reset → 같은 프레임 반복으로 부풀려진 압축률이 나오지 않게
+     */
+    private int deflate(byte[] frame) {
+        deflater.reset();
+        deflater.setInput(frame);
+        int total = 0;
+        int n;
+        do {
+            n = deflater.deflate(out, 0, out.length, Deflater.SYNC_FLUSH);
+            total += n;
+        } while (n == out.length);
+        // SYNC_FLUSH 끝의 00 00 FF FF는 전송하지 않음 (RFC 7692)
+        return total - 4;
+    }
+
+    @Benchmark
+    public int jsonUsersUpdateBroadcast() {
+        int bytes = 0;
+        for (int r = 0; r < participants; r++) bytes += deflate(usersUpdateJson);
+        return bytes;
+    }
+
+    @Benchmark
+    public int cborUsersUpdateBroadcast() {
+        int bytes = 0;
+        for (int r = 0; r < participants; r++) bytes += deflate(usersUpdateCbor);
+        return bytes;
+    }
+
+    @Benchmark
+    public int speakingPatchBroadcast() {
+        int bytes = 0;
+        for (int r = 0; r < participants; r++) bytes += deflate(speakingPatch);
+        return bytes;
+    }
+}
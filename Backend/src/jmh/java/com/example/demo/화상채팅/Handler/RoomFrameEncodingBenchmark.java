@@ -0,0 +1,90 @@
+package com.example.demo.화상채팅.Handler;
+
+import com.example.demo.화상채팅.DTO.RoomEvents;
+import com.example.demo.화상채팅.DTO.RoomUser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 방 브로드캐스트 프레임 직렬화 비교. 실행: gradle jmh  (gc 프로파일러로 gc.alloc.rate.norm 확인)
+ * - legacy*: 기존 방식 (수신자마다 Map 생성 + writeValueAsString)
+ * - cached*: RoomFrameEncoder (record + 재사용 ObjectWriter, 프레임 1회 직렬화 후 공유, 유저 목록 JSON 버전 캐시)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoomFrameEncodingBenchmark {
+
+    @Param({"10", "50"})
+    public int participants;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RoomFrameEncoder encoder;
+    private List<RoomUser> users;
+    private RoomPresence presence;
+
+    @Setup
+    public void setUp() {
+        encoder = new RoomFrameEncoder(objectMapper);
+        users = new ArrayList<>();
+        Map<String, Map<String, Object>> state = new LinkedHashMap<>();
+        for (int i = 0; i < participants; i++) {
+            RoomUser u = new RoomUser("user-" + i, "참가자" + i, "user" + i + "@example.com", i == 0,
+                    1_700_000_000_000L + i, false, true, true, false, true, null, false, false, false);
+            users.add(u);
+            state.put(u.getUserId(), objectMapper.convertValue(u, new TypeReference<LinkedHashMap<String, Object>>() {}));
+        }
+        presence = new RoomPresence();
+        presence.diff(state);
+    }
+
+    /** 기존: 수신자 수만큼 USERS_UPDATE를 새로 직렬화 */
+    @Benchmark
+    public void legacyUsersUpdate(Blackhole bh) throws Exception {
+        for (int r = 0; r < participants; r++) {
+            Map<String, Object> payloadMap = new HashMap<>();
+            payloadMap.put("type", "USERS_UPDATE");
+            payloadMap.put("users", users);
+            payloadMap.put("roomStartedAt", 1_700_000_000_000L);
+            payloadMap.put("roomElapsedMs", 60_000L);
+            bh.consume(new TextMessage(objectMapper.writeValueAsString(payloadMap)));
+        }
+    }
+
+    /** 변경 후: 유저 목록 JSON은 presence 버전 캐시, 프레임은 1회 직렬화해 모든 수신자가 공유 */
+    @Benchmark
+    public void cachedUsersUpdate(Blackhole bh) throws Exception {
+        TextMessage message = encoder.encode(
+                new RoomEvents.UsersUpdate(encoder.usersJson(presence), 1_700_000_000_000L, 60_000L));
+        for (int r = 0; r < participants; r++) {
+            bh.consume(message);
+        }
+    }
+
+    @Benchmark
+    public TextMessage legacyRoomElapsed() throws Exception {
+        return new TextMessage(objectMapper.writeValueAsString(Map.of("type", "ROOM_ELAPSED", "elapsedMs", 60_000L)));
+    }
+
+    @Benchmark
+    public TextMessage cachedRoomElapsed() throws Exception {
+        return encoder.encode(new RoomEvents.RoomElapsed(60_000L));
+    }
+}
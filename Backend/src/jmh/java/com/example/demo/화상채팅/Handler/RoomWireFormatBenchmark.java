@@ -0,0 +1,83 @@
+package com.example.demo.화상채팅.Handler;
+
+import com.example.demo.화상채팅.DTO.RoomEvents;
+import com.example.demo.화상채팅.DTO.RoomUser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /ws/room JSON vs CBOR(room.cbor.v1) 프레임 비교. 실행: gradle jmh
+ * - 프레임 크기는 setUp에서 한 번 출력 (운영 중에는 /api/ws/metrics frames.wire.cborRatio)
+ * - json*: 프레임 1회 직렬화 후 participants명에게 공유
+ * - cbor*: 같은 JSON 프레임을 1회 CBOR로 옮긴 뒤 공유 (수신자 수와 무관하게 변환 1회)
+ *   JSON 직렬화 뒤에 변환이 더해지므로 프레임당 CPU는 json*보다 큼 → CBOR의 이득은 CPU가 아니라 프레임 크기
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoomWireFormatBenchmark {
+
+    @Param({"10", "50"})
+    public int participants;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RoomFrameEncoder encoder;
+    private RoomWireCodec codec;
+    private RoomPresence presence;
+
+    @Setup
+    public void setUp() throws Exception {
+        encoder = new RoomFrameEncoder(objectMapper);
+        codec = new RoomWireCodec();
+        Map<String, Map<String, Object>> state = new LinkedHashMap<>();
+        for (int i = 0; i < participants; i++) {
+            RoomUser u = new RoomUser("user-" + i, "참가자" + i, "user" + i + "@example.com", i == 0,
+                    1_700_000_000_000L + i, false, true, true, false, true, null, false, false, false);
+            state.put(u.getUserId(), objectMapper.convertValue(u, new TypeReference<LinkedHashMap<String, Object>>() {}));
+        }
+        presence = new RoomPresence();
+        presence.diff(state);
+        TextMessage json = usersUpdate();
+        BinaryMessage cbor = codec.toBinary(json);
+        System.out.printf("%n[RoomWireFormatBenchmark] participants=%d USERS_UPDATE json=%dB cbor=%dB%n",
+                participants, json.getPayloadLength(), cbor.getPayloadLength());
+    }
+
+    private TextMessage usersUpdate() throws Exception {
+        return encoder.encode(new RoomEvents.UsersUpdate(encoder.usersJson(presence), 1_700_000_000_000L, 60_000L));
+    }
+
+    @Benchmark
+    public void jsonUsersUpdate(Blackhole bh) throws Exception {
+        TextMessage message = usersUpdate();
+        for (int r = 0; r < participants; r++) bh.consume(message);
+    }
+
+    @Benchmark
+    public void cborUsersUpdate(Blackhole bh) throws Exception {
+        // 매번 새 프레임 → 변환 캐시 없이 1회 변환 비용 포함
+        BinaryMessage message = codec.toBinary(new TextMessage(usersUpdate().getPayload()));
+        for (int r = 0; r < participants; r++) bh.consume(message);
+    }
+
+    @Benchmark
+    public BinaryMessage cborSpeakingPatch() throws Exception {
+        return codec.toBinary(new TextMessage(
+                "{\"type\":\"USER_STATE_CHANGE\",\"userId\":\"user-1\",\"changes\":{\"speaking\":true}}"));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demo.board.handler;
 
+import com.example.demo.common.websocket.WebSocketSender;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
@@ -17,9 +18,11 @@ public class CommentNotificationWebSocketHandler extends TextWebSocketHandler {
             new ConcurrentHashMap<>();
 
     private final ObjectMapper objectMapper;
+    private final WebSocketSender webSocketSender;
 
-    public CommentNotificationWebSocketHandler(ObjectMapper objectMapper) {
+    public CommentNotificationWebSocketHandler(ObjectMapper objectMapper, WebSocketSender webSocketSender) {
         this.objectMapper = objectMapper;
+        this.webSocketSender = webSocketSender;
     }
 
     @Override
@@ -37,6 +40,7 @@ public class CommentNotificationWebSocketHandler extends TextWebSocketHandler {
 
         String userId = extractUserId(session);
         sessions.remove(userId, session);
+        webSocketSender.unregister(session);
 
         System.out.println("댓글 WebSocket 종료됨: " + userId);
     }
@@ -78,12 +82,9 @@ public class CommentNotificationWebSocketHandler extends TextWebSocketHandler {
 
             System.out.println("보내는 payload = " + payload);
 
-            synchronized (session) {
-                if (!session.isOpen()) {
-                    System.out.println("세션 닫힘 상태(전송 시점)");
-                    return;
-                }
-                session.sendMessage(new TextMessage(payload));
+            if (!webSocketSender.send(session, new TextMessage(payload))) {
+                System.out.println("세션 닫힘 상태(전송 시점)");
+                return;
             }
 
             System.out.println("댓글 알림 전송 성공");
@@ -1,6 +1,7 @@
 package com.example.demo.chat.config;
 
 import com.example.demo.chat.handler.ChatWebSocketHandler;
+import com.example.demo.common.websocket.WebSocketEndpointTuning;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
@@ -13,11 +14,14 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
 public class ChatConfig implements WebSocketConfigurer {
 
     private final ChatWebSocketHandler chatWebSocketHandler;
+    private final WebSocketEndpointTuning tuning;
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         // ws://localhost:8080/ws/chat/{roomId} 주소로 연결
-        registry.addHandler(chatWebSocketHandler, "/ws/chat/**")
+        // 작은 실시간 메시지만 오가므로 기본 압축 안 함 (ws.endpoint.chat)
+        registry.addHandler(tuning.decorate("chat", chatWebSocketHandler), "/ws/chat/**")
+                .setHandshakeHandler(tuning.handshakeHandler("chat"))
                 .setAllowedOrigins("*"); // 모든 도메인에서 접속 허용 (배포 시 보안 주의)
     }
 }
\ No newline at end of file
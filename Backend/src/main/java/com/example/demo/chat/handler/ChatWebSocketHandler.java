@@ -3,7 +3,14 @@ package com.example.demo.chat.handler;
 import com.example.demo.chat.dto.ChatMessageDTO;
 import com.example.demo.chat.service.ChatDisplayNameService;
 import com.example.demo.chat.service.ChatService;
+import com.example.demo.common.websocket.InboundRateLimiter;
+import com.example.demo.common.websocket.ReconnectHints;
+import com.example.demo.common.websocket.WebSocketSender;
+import com.example.demo.화상채팅.Cluster.DrainableRoomHandler;
+import com.example.demo.화상채팅.Cluster.RoomAffinityRouter;
+import com.example.demo.화상채팅.Scheduler.RoomTaskScheduler;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -20,11 +27,21 @@ import java.util.concurrent.ConcurrentHashMap;
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class ChatWebSocketHandler extends TextWebSocketHandler {
+public class ChatWebSocketHandler extends TextWebSocketHandler implements DrainableRoomHandler {
 
     private final ObjectMapper objectMapper;
     private final ChatService chatService;
     private final ChatDisplayNameService chatDisplayNameService;
+    private final WebSocketSender webSocketSender;
+    // 같은 방 채팅 세션을 방 소유 노드로 모음 (다중 노드 운영 시)
+    private final RoomAffinityRouter affinityRouter;
+    private final RoomTaskScheduler roomTaskScheduler;
+    // 종료(배포) 시 재접속 지연 힌트와 함께 세션 종료
+    private final ReconnectHints reconnectHints;
+    // 수신 속도 제한 (초과분은 저장/브로드캐스트 없이 버림, 계속되면 종료)
+    private final InboundRateLimiter rateLimiter;
+
+    private static final TextMessage RATE_LIMITED = new TextMessage("{\"type\":\"RATE_LIMITED\",\"messageType\":\"CHAT\"}");
 
     // 메모리 내에 접속자 관리 (Key: RoomId, Value: Session Set)
     private final Map<String, Set<WebSocketSession>> roomSessions = new ConcurrentHashMap<>();
@@ -32,10 +49,24 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
     /** 세션에 저장하는 접속자 표시명 키 (출석부/헤더와 동일 로직) */
     private static final String SESSION_DISPLAY_NAME = "displayName";
 
+    @PostConstruct
+    void registerShutdownHints() {
+        reconnectHints.register("chat",
+                () -> roomSessions.values().stream().flatMap(Set::stream).toList(), null);
+    }
+
     // 1. 소켓 연결 시 (입장)
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         String roomId = getRoomId(session);
+
+        // 이 노드가 방 소유 노드가 아니면 소유 노드로 재접속 안내 후 종료
+        RoomAffinityRouter.Redirect redirect = affinityRouter.routeUpgrade(roomId, session.getUri());
+        if (redirect != null) {
+            sendRedirect(session, redirect);
+            return;
+        }
+
         Map<String, String> params = parseQuery(session.getUri() != null ? session.getUri().getQuery() : null);
         String userId = params.getOrDefault("userId", "");
 
@@ -58,6 +89,18 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
     // 2. 메시지 전송 시
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        // 파싱/DB 저장 전에 속도 제한 판정
+        switch (rateLimiter.acquire(session, "CHAT")) {
+            case LIMITED -> {
+                webSocketSender.send(session, RATE_LIMITED);
+                return;
+            }
+            case DISCONNECT -> {
+                webSocketSender.close(session, InboundRateLimiter.FLOODING);
+                return;
+            }
+            default -> {}
+        }
         String payload = message.getPayload();
         ChatMessageDTO chatMessageDTO = objectMapper.readValue(payload, ChatMessageDTO.class);
         String roomId = getRoomId(session);
@@ -109,12 +152,47 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
         if (sessions != null) {
             sessions.remove(session);
         }
+        webSocketSender.unregister(session);
         log.info("❌ 퇴장: RoomId={}, SessionId={}", roomId, session.getId());
+        // 종료 중이면 모두 곧 재접속하므로 명단 갱신 생략
+        if (reconnectHints.isShuttingDown()) return;
 
         // 퇴장 후 갱신된 명단 전송
         broadcastUserList(roomId);
     }
 
+    // 노드 drain: 방마다 시점을 나눠 소유 노드로 재접속 안내
+    @Override
+    public int migrateRooms(long windowMs) {
+        List<String> roomIds = new ArrayList<>(roomSessions.keySet());
+        for (int i = 0; i < roomIds.size(); i++) {
+            String roomId = roomIds.get(i);
+            long delay = roomIds.size() <= 1 ? 0 : Math.max(0, windowMs) * i / roomIds.size();
+            roomTaskScheduler.schedule("chat-drain-" + roomId, () -> migrateRoom(roomId), delay);
+        }
+        return roomIds.size();
+    }
+
+    private void migrateRoom(String roomId) {
+        Set<WebSocketSession> sessions = roomSessions.get(roomId);
+        RoomAffinityRouter.Redirect redirect = affinityRouter.migrationTarget(roomId);
+        if (sessions == null || redirect == null) return;
+        for (WebSocketSession s : List.copyOf(sessions)) {
+            sendRedirect(s, redirect);
+        }
+        log.info("🚚 채팅방 이동: RoomId={} → {}", roomId, redirect.targetNode());
+    }
+
+    // ROOM_REDIRECT 전송 후 close(4307). 전송 큐를 통해 닫아 프레임이 먼저 전달됨
+    private void sendRedirect(WebSocketSession session, RoomAffinityRouter.Redirect redirect) {
+        try {
+            webSocketSender.send(session, affinityRouter.frame(redirect));
+        } catch (Exception e) {
+            log.warn("ROOM_REDIRECT 전송 실패: {}", e.getMessage());
+        }
+        webSocketSender.close(session, redirect.closeStatus());
+    }
+
     // 방 전체 메시지 전송
     private void broadcastToRoom(String roomId, ChatMessageDTO messageDTO) {
         Set<WebSocketSession> sessions = roomSessions.get(roomId);
@@ -122,8 +200,9 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
             try {
                 String jsonMessage = objectMapper.writeValueAsString(messageDTO);
                 TextMessage textMessage = new TextMessage(jsonMessage);
+                // 세션별 전송 큐 (같은 세션 동시 전송 직렬화 + 느린 클라이언트가 방 전체를 막지 않음)
                 for (WebSocketSession s : sessions) {
-                    if (s.isOpen()) s.sendMessage(textMessage);
+                    webSocketSender.send(s, textMessage);
                 }
             } catch (Exception e) {
                 log.error("메시지 전송 실패", e);
@@ -158,7 +237,7 @@ public class ChatWebSocketHandler extends TextWebSocketHandler {
             String jsonStr = objectMapper.writeValueAsString(data);
             TextMessage message = new TextMessage(jsonStr);
             for (WebSocketSession s : sessions) {
-                if (s.isOpen()) s.sendMessage(message);
+                webSocketSender.send(s, message);
             }
         } catch (Exception e) {
             log.error("접속자 목록 전송 실패", e);
@@ -0,0 +1,126 @@
+package com.example.demo.common.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 모든 WebSocket 핸들러 공용 수신 프레임 속도 제한 (세션 × 메시지 종류별 토큰 버킷).
+ * - 버킷은 GCRA(가상 도착 시각 하나)로 구현한 AtomicLong CAS → 락/스레드 없이 I/O 스레드에서 바로 판정
+ * - 종류별 버킷 + 세션 전체 버킷 둘 다 통과해야 허용. 초과 프레임은 호출 측이 버리거나(CHAT/REACTION) 합친다(상태 변경류)
+ * - 초과가 계속되면(위반 버킷 소진) DISCONNECT → 호출 측이 POLICY_VIOLATION으로 종료
+ * 한도 형식: "종류=초당개수/버스트,..." (예: CHAT=5/10). 목록에 없는 종류는 DEFAULT 한도
+ */
+@Slf4j
+@Component
+public class InboundRateLimiter {
+
+    public enum Verdict { ALLOW, LIMITED, DISCONNECT }
+
+    public static final CloseStatus FLOODING = CloseStatus.POLICY_VIOLATION.withReason("rate limit");
+    public static final String DEFAULT_CLASS = "DEFAULT";
+
+    private static final String METER_ATTR = InboundRateLimiter.class.getName() + ".meter";
+
+    /** 초당 perSecond개, 최대 burst개까지 몰아서 허용 */
+    record Limit(long intervalNanos, long toleranceNanos) {
+        static Limit parse(String spec) {
+            String[] parts = spec.trim().split("/");
+            double perSecond = Double.parseDouble(parts[0].trim());
+            int burst = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : (int) Math.max(1, Math.ceil(perSecond));
+            long interval = (long) (1_000_000_000L / Math.max(0.001, perSecond));
+            return new Limit(interval, interval * (Math.max(1, burst) - 1));
+        }
+    }
+
+    /** GCRA 버킷: tat(가상 도착 시각)가 now + tolerance를 넘지 않으면 허용하고 interval만큼 전진 */
+    static final class Bucket {
+        private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+
+        boolean tryAcquire(long now, Limit limit) {
+            while (true) {
+                long current = tat.get();
+                long base = Math.max(current, now);
+                if (base - now > limit.toleranceNanos()) return false;
+                if (tat.compareAndSet(current, base + limit.intervalNanos())) return true;
+            }
+        }
+    }
+
+    private static final class SessionMeter {
+        final Map<String, Bucket> byClass = new ConcurrentHashMap<>();
+        final Bucket session = new Bucket();
+        final Bucket strikes = new Bucket();
+    }
+
+    private final boolean enabled;
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+    private final Limit defaultLimit;
+    private final Limit sessionLimit;
+    private final Limit strikeLimit;
+
+    private final LongAdder allowed = new LongAdder();
+    private final Map<String, LongAdder> limitedByClass = new ConcurrentHashMap<>();
+    private final LongAdder disconnected = new LongAdder();
+
+    public InboundRateLimiter(@Value("${ws.ratelimit.enabled:true}") boolean enabled,
+                              @Value("${ws.ratelimit.limits:CHAT=5/10,REACTION=5/15,SPEAKING=20/40,STATE=20/40,DEFAULT=20/40}") String limits,
+                              @Value("${ws.ratelimit.session:60/120}") String sessionLimit,
+                              @Value("${ws.ratelimit.strikes:2/30}") String strikeLimit) {
+        this.enabled = enabled;
+        for (String entry : limits.split(",")) {
+            int eq = entry.indexOf('=');
+            if (eq <= 0) continue;
+            this.limits.put(entry.substring(0, eq).trim().toUpperCase(), Limit.parse(entry.substring(eq + 1)));
+        }
+        this.defaultLimit = this.limits.getOrDefault(DEFAULT_CLASS, Limit.parse("20/40"));
+        this.sessionLimit = Limit.parse(sessionLimit);
+        this.strikeLimit = Limit.parse(strikeLimit);
+    }
+
+    /** 프레임 하나 수신 판정. messageClass는 CHAT / REACTION / SPEAKING / STATE 등 (null이면 DEFAULT) */
+    public Verdict acquire(WebSocketSession session, String messageClass) {
+        if (!enabled || session == null) return Verdict.ALLOW;
+        String cls = messageClass != null ? messageClass : DEFAULT_CLASS;
+        SessionMeter meter = meter(session);
+        long now = System.nanoTime();
+        if (meter.byClass.computeIfAbsent(cls, k -> new Bucket()).tryAcquire(now, limits.getOrDefault(cls, defaultLimit))
+                && meter.session.tryAcquire(now, sessionLimit)) {
+            allowed.increment();
+            return Verdict.ALLOW;
+        }
+        limitedByClass.computeIfAbsent(cls, k -> new LongAdder()).increment();
+        if (meter.strikes.tryAcquire(now, strikeLimit)) return Verdict.LIMITED;
+        disconnected.increment();
+        log.warn("[InboundRateLimiter] 과도한 전송으로 세션 종료: sessionId={}, class={}", session.getId(), cls);
+        return Verdict.DISCONNECT;
+    }
+
+    private SessionMeter meter(WebSocketSession session) {
+        Map<String, Object> attrs = session.getAttributes();
+        Object meter = attrs.get(METER_ATTR);
+        if (meter == null) {
+            meter = attrs.computeIfAbsent(METER_ATTR, k -> new SessionMeter());
+        }
+        return (SessionMeter) meter;
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("enabled", enabled);
+        m.put("allowed", allowed.sum());
+        Map<String, Long> limited = new LinkedHashMap<>();
+        limitedByClass.forEach((k, v) -> limited.put(k, v.sum()));
+        m.put("limited", limited);
+        m.put("disconnected", disconnected.sum());
+        return m;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo.common.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 서버 종료(배포) 시 열린 WebSocket 세션을 재접속 지연 힌트와 함께 먼저 닫는다.
+ * - close status 1012(SERVICE_RESTARTED), reason "retryAfterMs=<ms>"
+ *   세션마다 [minMs, minMs + spreadMs] 구간에서 무작위 → 재시작 직후 모든 클라이언트가 한순간에 재접속하지 않음
+ * - 웹 서버보다 먼저 멈추는 SmartLifecycle(최상위 phase)이라 컨테이너가 1001로 일괄 종료하기 전에 실행됨
+ * - 전송 큐(WebSocketSender)를 거쳐 닫으므로 앞서 넣은 프레임이 먼저 전달됨
+ *
+ * 핸들러는 자기 세션 목록과 종료 직전 작업(스냅샷 저장 등)을 register로 등록.
+ * 종료 중(isShuttingDown) 닫히는 세션은 핸들러가 퇴장 브로드캐스트를 생략해도 됨
+ */
+@Slf4j
+@Component
+public class ReconnectHints implements SmartLifecycle {
+
+    public static final String REASON_PREFIX = "retryAfterMs=";
+
+    private record Source(String name, Supplier<Collection<WebSocketSession>> sessions, Runnable beforeClose) {}
+
+    private final WebSocketSender webSocketSender;
+    private final long minMs;
+    private final long spreadMs;
+    private final long closeWaitMs;
+    private final List<Source> sources = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private volatile boolean shuttingDown;
+    private final AtomicLong hintsSent = new AtomicLong();
+    private final AtomicLong lastMaxHintMs = new AtomicLong();
+
+    public ReconnectHints(WebSocketSender webSocketSender,
+                          @Value("${ws.shutdown.reconnect-min-ms:500}") long minMs,
+                          @Value("${ws.shutdown.reconnect-spread-ms:8000}") long spreadMs,
+                          @Value("${ws.shutdown.close-wait-ms:1000}") long closeWaitMs) {
+        this.webSocketSender = webSocketSender;
+        this.minMs = Math.max(0, minMs);
+        this.spreadMs = Math.max(0, spreadMs);
+        this.closeWaitMs = Math.max(0, closeWaitMs);
+    }
+
+    /** beforeClose는 세션을 닫기 직전에 한 번 실행 (null 가능) */
+    public void register(String name, Supplier<Collection<WebSocketSession>> sessions, Runnable beforeClose) {
+        sources.add(new Source(name, sessions, beforeClose));
+    }
+
+    public boolean isShuttingDown() {
+        return shuttingDown;
+    }
+
+    /** 세션마다 다른 재접속 지연을 담은 close status */
+    public CloseStatus nextCloseStatus() {
+        long delay = minMs + (spreadMs == 0 ? 0 : ThreadLocalRandom.current().nextLong(spreadMs + 1));
+        lastMaxHintMs.accumulateAndGet(delay, Math::max);
+        return CloseStatus.SERVICE_RESTARTED.withReason(REASON_PREFIX + delay);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        shuttingDown = true;
+        List<WebSocketSession> closing = new ArrayList<>();
+        for (Source source : sources) {
+            if (source.beforeClose() != null) {
+                try {
+                    source.beforeClose().run();
+                } catch (Exception e) {
+                    log.warn("[ReconnectHints] 종료 전 작업 실패: source={}, error={}", source.name(), e.getMessage(), e);
+                }
+            }
+            int count = 0;
+            for (WebSocketSession session : source.sessions().get()) {
+                if (session == null || !session.isOpen()) continue;
+                webSocketSender.close(session, nextCloseStatus());
+                closing.add(session);
+                count++;
+            }
+            hintsSent.addAndGet(count);
+            log.info("[ReconnectHints] 재접속 힌트와 함께 세션 종료: source={}, sessions={}", source.name(), count);
+        }
+        awaitClosed(closing);
+    }
+
+    /** 전송 큐가 close까지 비울 시간을 잠깐 준다 (웹 서버 종료 전) */
+    private void awaitClosed(List<WebSocketSession> sessions) {
+        long deadline = System.currentTimeMillis() + closeWaitMs;
+        while (System.currentTimeMillis() < deadline && sessions.stream().anyMatch(WebSocketSession::isOpen)) {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** 웹 서버 lifecycle보다 먼저 stop */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("minMs", minMs);
+        m.put("spreadMs", spreadMs);
+        m.put("hintsSent", hintsSent.get());
+        m.put("maxHintMs", lastMaxHintMs.get());
+        m.put("shuttingDown", shuttingDown);
+        return m;
+    }
+}
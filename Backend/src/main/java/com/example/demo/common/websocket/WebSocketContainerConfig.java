@@ -0,0 +1,27 @@
+package com.example.demo.common.websocket;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+/**
+ * 서블릿 WebSocket 컨테이너 공통 설정.
+ * 수신 버퍼 기본값은 엔드포인트 설정 중 최대값 (세션별 값은 WebSocketEndpointTuning이 연결 시 적용).
+ * async-send-timeout: RemoteEndpoint.Async 전송에만 적용되는 컨테이너 한도.
+ * Spring 세션의 sendMessage는 블로킹 전송(RemoteEndpoint.Basic)이라 이 값의 영향을 받지 않음 →
+ * 블로킹 전송 한도는 WebSocketSender가 세션마다 Tomcat BLOCKING_SEND_TIMEOUT(= ws.outbound.send-time-limit-ms)으로 설정
+ */
+@Configuration
+public class WebSocketContainerConfig {
+
+    @Bean
+    public ServletServerContainerFactoryBean webSocketContainer(WebSocketEndpointTuning tuning,
+                                                                @Value("${ws.container.async-send-timeout-ms:10000}") long asyncSendTimeoutMs) {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(tuning.maxTextBuffer());
+        container.setMaxBinaryMessageBufferSize(tuning.maxBinaryBuffer());
+        container.setAsyncSendTimeout(asyncSendTimeoutMs);
+        return container;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.demo.common.websocket;
+
+import jakarta.websocket.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.server.HandshakeHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WebSocket 엔드포인트별 전송 설정 (압축 / 수신 버퍼 / 유휴 종료).
+ * - compression: permessage-deflate 협상 허용 여부. 끄면 클라이언트가 요청해도 핸드셰이크에서 제외
+ *   (Tomcat 구현은 협상된 세션의 모든 프레임을 압축하므로 크기 기준은 엔드포인트 단위로 정함: 큰 프레임이 오가는 곳만 켬)
+ * - max-text-buffer / max-binary-buffer: 세션 수신 메시지 최대 크기 (초과 시 컨테이너가 1009로 종료)
+ * - idle-timeout-ms: 수신 없는 세션 종료 (0이면 컨테이너 기본). 클라이언트 PING 주기보다 충분히 길게
+ * 형식: "compression=true,idle-timeout-ms=90000,max-text-buffer=65536,max-binary-buffer=65536" (빠진 항목은 기본값)
+ */
+@Slf4j
+@Component
+public class WebSocketEndpointTuning {
+
+    public static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    record Settings(boolean compression, long idleTimeoutMs, int maxTextBuffer, int maxBinaryBuffer) {
+
+        static final Settings DEFAULTS = new Settings(false, 0, 8192, 8192);
+
+        static Settings parse(String spec) {
+            boolean compression = DEFAULTS.compression();
+            long idle = DEFAULTS.idleTimeoutMs();
+            int text = DEFAULTS.maxTextBuffer();
+            int binary = DEFAULTS.maxBinaryBuffer();
+            for (String entry : spec.split(",")) {
+                int eq = entry.indexOf('=');
+                if (eq <= 0) continue;
+                String key = entry.substring(0, eq).trim();
+                String value = entry.substring(eq + 1).trim();
+                switch (key) {
+                    case "compression" -> compression = Boolean.parseBoolean(value);
+                    case "idle-timeout-ms" -> idle = Math.max(0, Long.parseLong(value));
+                    case "max-text-buffer" -> text = Math.max(1024, Integer.parseInt(value));
+                    case "max-binary-buffer" -> binary = Math.max(1024, Integer.parseInt(value));
+                    default -> log.warn("[WebSocketEndpointTuning] 알 수 없는 설정 무시: {}", key);
+                }
+            }
+            return new Settings(compression, idle, text, binary);
+        }
+    }
+
+    private record Counters(LongAdder sessions, LongAdder compressed) {
+        Counters() {
+            this(new LongAdder(), new LongAdder());
+        }
+    }
+
+    private final Map<String, Settings> endpoints = new LinkedHashMap<>();
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public WebSocketEndpointTuning(
+            @Value("${ws.endpoint.room:compression=true,idle-timeout-ms=90000,max-text-buffer=16384,max-binary-buffer=16384}") String room,
+            @Value("${ws.endpoint.chat:compression=false,idle-timeout-ms=0,max-text-buffer=16384,max-binary-buffer=8192}") String chat,
+            @Value("${ws.endpoint.notification:compression=true,idle-timeout-ms=0,max-text-buffer=8192,max-binary-buffer=8192}") String notification,
+            @Value("${ws.endpoint.comment:compression=false,idle-timeout-ms=0,max-text-buffer=8192,max-binary-buffer=8192}") String comment) {
+        endpoints.put("room", Settings.parse(room));
+        endpoints.put("chat", Settings.parse(chat));
+        endpoints.put("notification", Settings.parse(notification));
+        endpoints.put("comment", Settings.parse(comment));
+    }
+
+    Settings settings(String endpoint) {
+        return endpoints.getOrDefault(endpoint, Settings.DEFAULTS);
+    }
+
+    /** 엔드포인트 압축 설정을 반영하는 핸드셰이크 핸들러 */
+    public HandshakeHandler handshakeHandler(String endpoint) {
+        boolean compression = settings(endpoint).compression();
+        return new DefaultHandshakeHandler() {
+            @Override
+            protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request,
+                                                                         List<WebSocketExtension> requested,
+                                                                         List<WebSocketExtension> supported) {
+                List<WebSocketExtension> accepted = super.filterRequestedExtensions(request, requested, supported);
+                if (compression) return accepted;
+                return accepted.stream().filter(e -> !PERMESSAGE_DEFLATE.equalsIgnoreCase(e.getName())).toList();
+            }
+        };
+    }
+
+    /** 연결 직후 세션별 수신 버퍼/유휴 종료 적용 (핸들러 동작은 그대로 위임) */
+    public WebSocketHandler decorate(String endpoint, WebSocketHandler handler) {
+        Settings settings = settings(endpoint);
+        Counters c = counters.computeIfAbsent(endpoint, k -> new Counters());
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                apply(session, settings);
+                c.sessions().increment();
+                if (session.getExtensions().stream().anyMatch(e -> PERMESSAGE_DEFLATE.equalsIgnoreCase(e.getName()))) {
+                    c.compressed().increment();
+                }
+                super.afterConnectionEstablished(session);
+            }
+        };
+    }
+
+    static void apply(WebSocketSession session, Settings settings) {
+        session.setTextMessageSizeLimit(settings.maxTextBuffer());
+        session.setBinaryMessageSizeLimit(settings.maxBinaryBuffer());
+        if (settings.idleTimeoutMs() > 0 && session instanceof NativeWebSocketSession nativeSession) {
+            Session container = nativeSession.getNativeSession(Session.class);
+            if (container != null) container.setMaxIdleTimeout(settings.idleTimeoutMs());
+        }
+    }
+
+    /** 컨테이너 기본 수신 버퍼 (엔드포인트 중 최대값 → 세션별로 줄여 적용) */
+    public int maxTextBuffer() {
+        return endpoints.values().stream().mapToInt(Settings::maxTextBuffer).max().orElse(Settings.DEFAULTS.maxTextBuffer());
+    }
+
+    public int maxBinaryBuffer() {
+        return endpoints.values().stream().mapToInt(Settings::maxBinaryBuffer).max().orElse(Settings.DEFAULTS.maxBinaryBuffer());
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        endpoints.forEach((name, s) -> {
+            Map<String, Object> e = new LinkedHashMap<>();
+            e.put("compression", s.compression());
+            e.put("idleTimeoutMs", s.idleTimeoutMs());
+            e.put("maxTextBuffer", s.maxTextBuffer());
+            e.put("maxBinaryBuffer", s.maxBinaryBuffer());
+            Counters c = counters.get(name);
+            e.put("sessions", c == null ? 0 : c.sessions().sum());
+            e.put("deflateSessions", c == null ? 0 : c.compressed().sum());
+            m.put(name, e);
+        });
+        return m;
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.demo.common.websocket;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.websocket.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 모든 WebSocket 핸들러 공용 비동기 전송 계층.
+ * 세션마다 제한된 크기의 전송 큐를 두고, 소수의 writer 스레드가 세션별로 순서대로 비운다.
+ * - 브로드캐스트하는 스레드는 큐에 넣기만 하므로 느린 클라이언트 하나 때문에 방 전체 전송이 멈추지 않음
+ * - 같은 세션에는 항상 한 번에 하나만 전송 → Tomcat TEXT_PARTIAL_WRITING 예외 방지
+ * - 큐가 한도(메시지 수/바이트)를 넘거나 한 번의 전송이 sendTimeLimit을 넘기면 느린 소비자로 보고 세션 종료
+ * - 전송 한 번의 상한: Tomcat 블로킹 전송 타임아웃을 sendTimeLimit으로 맞추고, watchdog이 한도를 넘긴 전송의
+ *   writer 스레드를 인터럽트 → 막힌 소켓 하나가 writer 스레드를 오래 붙잡아 다른 세션 전송을 늦추지 않음
+ * - 느린 소비자 종료(close)는 writer 풀 밖의 closer 스레드에서 (close 프레임 전송도 막힐 수 있으므로)
+ */
+@Slf4j
+@Component
+public class WebSocketSender {
+
+    /** 느린 소비자 강제 종료 시 close status. 클라이언트는 일반 재접속 흐름을 탄다 */
+    public static final CloseStatus SLOW_CONSUMER = CloseStatus.SESSION_NOT_RELIABLE.withReason("slow consumer");
+
+    /** writer 스레드 하나가 한 세션을 연속으로 비우는 최대 메시지 수 (다른 세션 굶주림 방지) */
+    private static final int DRAIN_BATCH = 32;
+
+    /** Tomcat 블로킹 전송(sendText/sendBinary) 타임아웃 세션 속성 (기본 20초) */
+    static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final Map<String, SessionQueue> queues = new ConcurrentHashMap<>();
+    private final ExecutorService writers;
+    private final ExecutorService closers;
+    private final ScheduledExecutorService watchdog;
+
+    private final int maxQueueMessages;
+    private final long bufferSizeLimit;
+    private final long sendTimeLimitMs;
+
+    private final AtomicLong sentMessages = new AtomicLong();
+    private final AtomicLong failedSends = new AtomicLong();
+    private final AtomicLong evictedSessions = new AtomicLong();
+    private final AtomicInteger maxObservedDepth = new AtomicInteger();
+
+    public WebSocketSender(@Value("${ws.outbound.writer-threads:4}") int writerThreads,
+                           @Value("${ws.outbound.max-queue-messages:256}") int maxQueueMessages,
+                           @Value("${ws.outbound.buffer-size-limit:1048576}") long bufferSizeLimit,
+                           @Value("${ws.outbound.send-time-limit-ms:10000}") long sendTimeLimitMs) {
+        this.writers = Executors.newFixedThreadPool(Math.max(1, writerThreads), daemon("ws-writer-"));
+        this.closers = Executors.newCachedThreadPool(daemon("ws-closer-"));
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(daemon("ws-send-watchdog-"));
+        this.maxQueueMessages = Math.max(1, maxQueueMessages);
+        this.bufferSizeLimit = Math.max(1024, bufferSizeLimit);
+        this.sendTimeLimitMs = Math.max(100, sendTimeLimitMs);
+        long period = Math.max(50, this.sendTimeLimitMs / 4);
+        watchdog.scheduleAtFixedRate(this::evictStalled, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * 비동기 전송. 호출 스레드는 블로킹되지 않는다.
+     * @return 큐에 들어갔으면 true. 세션이 닫혔거나 느린 소비자로 종료된 경우 false
+     */
+    public boolean send(WebSocketSession session, WebSocketMessage<?> message) {
+        if (session == null || message == null || !session.isOpen()) return false;
+        SessionQueue q = queues.computeIfAbsent(session.getId(), id -> newQueue(session));
+        if (q.closing) return false;
+
+        long startedAt = q.sendStartedAt;
+        if (startedAt != 0 && System.currentTimeMillis() - startedAt > sendTimeLimitMs) {
+            evict(q, "send time limit " + sendTimeLimitMs + "ms exceeded");
+            return false;
+        }
+        int length = message.getPayloadLength();
+        if (q.depth.get() >= maxQueueMessages || q.bytes.get() + length > bufferSizeLimit) {
+            evict(q, "buffer limit exceeded (depth=" + q.depth.get() + ", bytes=" + q.bytes.get() + ")");
+            return false;
+        }
+
+        q.queue.add(new Outbound(message, null));
+        maxObservedDepth.accumulateAndGet(q.depth.incrementAndGet(), Math::max);
+        q.bytes.addAndGet(length);
+        scheduleDrain(q);
+        return true;
+    }
+
+    private SessionQueue newQueue(WebSocketSession session) {
+        // 컨테이너 쪽 상한도 같은 값으로 (watchdog 인터럽트가 닿지 않는 경우 대비)
+        if (WebSocketSessionDecorator.unwrap(session) instanceof NativeWebSocketSession nativeSession) {
+            Session container = nativeSession.getNativeSession(Session.class);
+            if (container != null) container.getUserProperties().put(BLOCKING_SEND_TIMEOUT, sendTimeLimitMs);
+        }
+        return new SessionQueue(session);
+    }
+
+    /** 세션 큐 상한 (이보다 많이 몰아 넣으면 느린 소비자로 종료됨 → 호출 측 페이싱 기준) */
+    public int maxQueueMessages() {
+        return maxQueueMessages;
+    }
+
+    /** 앞서 넣은 메시지를 모두 보낸 뒤 세션 종료 (REJECTED/KICKED 통보 후 종료 등 순서 보장용) */
+    public void close(WebSocketSession session, CloseStatus status) {
+        if (session == null) return;
+        SessionQueue q = queues.computeIfAbsent(session.getId(), id -> newQueue(session));
+        if (q.closing) return;
+        q.closing = true;
+        q.queue.add(new Outbound(null, status != null ? status : CloseStatus.NORMAL));
+        scheduleDrain(q);
+    }
+
+    /** 연결 종료 시 핸들러에서 호출. 남은 큐를 버린다 */
+    public void unregister(WebSocketSession session) {
+        if (session == null) return;
+        SessionQueue q = queues.remove(session.getId());
+        if (q != null) {
+            q.closing = true;
+            q.queue.clear();
+        }
+    }
+
+    public Map<String, Object> metrics() {
+        int totalDepth = 0;
+        long totalBytes = 0;
+        int deepest = 0;
+        for (SessionQueue q : queues.values()) {
+            int d = q.depth.get();
+            totalDepth += d;
+            totalBytes += q.bytes.get();
+            deepest = Math.max(deepest, d);
+        }
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("sessions", queues.size());
+        m.put("queuedMessages", totalDepth);
+        m.put("queuedBytes", totalBytes);
+        m.put("deepestQueue", deepest);
+        m.put("maxObservedDepth", maxObservedDepth.get());
+        m.put("sentMessages", sentMessages.get());
+        m.put("failedSends", failedSends.get());
+        m.put("evictedSessions", evictedSessions.get());
+        m.put("maxQueueMessages", maxQueueMessages);
+        m.put("bufferSizeLimit", bufferSizeLimit);
+        m.put("sendTimeLimitMs", sendTimeLimitMs);
+        return m;
+    }
+
+    private void scheduleDrain(SessionQueue q) {
+        if (q.draining.compareAndSet(false, true)) {
+            try {
+                writers.execute(() -> drain(q));
+            } catch (Exception e) {
+                q.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(SessionQueue q) {
+        try {
+            for (int i = 0; i < DRAIN_BATCH; i++) {
+                Outbound next = q.queue.poll();
+                if (next == null) break;
+                if (next.close() != null) {
+                    closeQuietly(q.session, next.close());
+                    queues.remove(q.session.getId(), q);
+                    q.queue.clear();
+                    return;
+                }
+                q.depth.decrementAndGet();
+                q.bytes.addAndGet(-next.message().getPayloadLength());
+                if (!q.session.isOpen()) continue;
+                q.writer = Thread.currentThread();
+                q.sendStartedAt = System.currentTimeMillis();
+                try {
+                    q.session.sendMessage(next.message());
+                    sentMessages.incrementAndGet();
+                } catch (Exception e) {
+                    // 연결 끊김/전송 시간 초과 등: 개별 세션 실패는 다른 세션에 영향 없음
+                    failedSends.incrementAndGet();
+                } finally {
+                    synchronized (q) {
+                        q.sendStartedAt = 0;
+                        q.writer = null;
+                        // watchdog 인터럽트가 다음 세션 전송에 새지 않게
+                        Thread.interrupted();
+                    }
+                }
+            }
+        } finally {
+            q.draining.set(false);
+            if (!q.session.isOpen()) {
+                // 연결 종료 이후 늦게 들어온 큐 정리 (unregister 이후 재생성된 경우 포함)
+                queues.remove(q.session.getId(), q);
+                q.queue.clear();
+            } else if (!q.queue.isEmpty()) {
+                scheduleDrain(q);
+            }
+        }
+    }
+
+    private void evict(SessionQueue q, String reason) {
+        if (q.closing) return;
+        q.closing = true;
+        evictedSessions.incrementAndGet();
+        log.warn("[WebSocketSender] 느린 소비자 세션 종료: sessionId={}, reason={}", q.session.getId(), reason);
+        // 큐는 closing 상태로 남겨 둠 → 실제 close 전 들어온 send가 새 큐를 만들어 중복 종료하지 않음 (unregister에서 제거)
+        q.queue.clear();
+        q.depth.set(0);
+        q.bytes.set(0);
+        // 막힌 전송은 writer 인터럽트로 끊고, close는 writer 풀 밖에서 (close 프레임 전송도 막힐 수 있음)
+        interruptWriter(q);
+        closers.execute(() -> closeQuietly(q.session, SLOW_CONSUMER));
+    }
+
+    /** watchdog: 전송 하나가 sendTimeLimit을 넘긴 세션을 다음 send를 기다리지 않고 종료 */
+    private void evictStalled() {
+        long now = System.currentTimeMillis();
+        for (SessionQueue q : queues.values()) {
+            long startedAt = q.sendStartedAt;
+            if (startedAt != 0 && now - startedAt > sendTimeLimitMs) {
+                evict(q, "send time limit " + sendTimeLimitMs + "ms exceeded");
+            }
+        }
+    }
+
+    private static void interruptWriter(SessionQueue q) {
+        synchronized (q) {
+            // 이 세션을 전송 중인 동안에만 (writer는 같은 락 안에서 해제 + 인터럽트 플래그 정리)
+            if (q.writer != null) q.writer.interrupt();
+        }
+    }
+
+    private void closeQuietly(WebSocketSession session, CloseStatus status) {
+        try {
+            if (session.isOpen()) session.close(status);
+        } catch (Exception ignore) {}
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        writers.shutdown();
+        closers.shutdown();
+    }
+
+    private record Outbound(WebSocketMessage<?> message, CloseStatus close) {}
+
+    private static final class SessionQueue {
+        final WebSocketSession session;
+        final Queue<Outbound> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger depth = new AtomicInteger();
+        final AtomicLong bytes = new AtomicLong();
+        final AtomicBoolean draining = new AtomicBoolean();
+        /** 현재 전송 시작 시각(ms). 0이면 전송 중 아님 */
+        volatile long sendStartedAt;
+        /** 현재 이 세션을 전송 중인 writer 스레드 (watchdog 인터럽트 대상) */
+        volatile Thread writer;
+        volatile boolean closing;
+
+        SessionQueue(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+}
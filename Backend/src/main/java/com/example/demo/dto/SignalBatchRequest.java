@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+public class SignalBatchRequest {
+
+    private String roomId;
+    private List<Op> ops;
+
+    @Getter
+    public static class Op {
+        /** 결과를 요청과 짝짓는 클라이언트 지정 id (생략 시 순번) */
+        private String id;
+        /** room / transport / produce / consume */
+        private String op;
+        private Map<String, Object> body;
+    }
+}
@@ -84,6 +84,9 @@ public class SecurityConfig {
                                 "/upload/**"
                         ).permitAll()
 
+                        // 화상방 참여 요약은 방장 확인이 필요해 인증 필수 (아래 /api/meeting-rooms/** 허용보다 먼저)
+                        .requestMatchers("/api/meeting-rooms/*/participation").authenticated()
+
                         .requestMatchers(
                                 "/api/users/login",
                                 "/api/users/signup",
@@ -1,5 +1,6 @@
 package com.example.demo.모집.handler;
 
+import com.example.demo.common.websocket.WebSocketSender;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Component;
@@ -9,6 +10,7 @@ import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +22,8 @@ import java.util.concurrent.ConcurrentHashMap;
 public class NotificationWebSocketHandler extends TextWebSocketHandler {
 
     private static final int MAX_PENDING_PER_USER = 500;
+    // 세션 속성: 이 세션으로 보냈지만 아직 ACK되지 않은 notificationId
+    private static final String IN_FLIGHT_ATTR = NotificationWebSocketHandler.class.getName() + ".inFlight";
 
     // userId -> sessions (멀티 탭/멀티 화면 동시 수신)
     private final Map<String, Set<WebSocketSession>> ownerSessions =
@@ -29,9 +33,15 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
             new ConcurrentHashMap<>();
 
     private final ObjectMapper objectMapper;
+    private final WebSocketSender webSocketSender;
+    // 재접속 시 미확인 알림을 한 번에 밀어 넣으면 세션 큐 상한을 넘어 바로 종료됨 →
+    // ACK되지 않은 전송을 큐 상한의 절반까지만 유지하고, ACK가 올 때마다 다음 알림을 이어서 보냄
+    private final int flushWindow;
 
-    public NotificationWebSocketHandler(ObjectMapper objectMapper) {
+    public NotificationWebSocketHandler(ObjectMapper objectMapper, WebSocketSender webSocketSender) {
         this.objectMapper = objectMapper;
+        this.webSocketSender = webSocketSender;
+        this.flushWindow = Math.max(1, webSocketSender.maxQueueMessages() / 2);
     }
 
     @Override
@@ -55,6 +65,7 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
                 ownerSessions.remove(ownerId);
             }
         }
+        webSocketSender.unregister(session);
         System.out.println("❌ 알림 WebSocket 종료됨: " + ownerId);
     }
 
@@ -72,6 +83,11 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
             if (notificationId.isBlank()) return;
 
             acknowledgePending(ownerId, notificationId);
+            Set<String> inFlight = inFlight(session);
+            synchronized (inFlight) {
+                inFlight.remove(notificationId);
+            }
+            flushPendingMessages(ownerId, session);
         } catch (Exception e) {
             // ACK 메시지가 아닌 경우는 무시
         }
@@ -169,7 +185,7 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
             String message = objectMapper.writeValueAsString(payload);
             enqueuePendingMessage(userId, notificationId, message);
 
-            boolean sent = sendToActiveSessions(userId, message);
+            boolean sent = sendToActiveSessions(userId, notificationId, message);
             if (!sent) {
                 System.out.println("❌ 접속 없음(" + logType + "): " + userId);
                 return;
@@ -181,22 +197,21 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private boolean sendToActiveSessions(String userId, String message) {
+    private boolean sendToActiveSessions(String userId, String notificationId, String message) {
         Set<WebSocketSession> sessions = ownerSessions.get(userId);
         if (sessions == null || sessions.isEmpty()) {
             return false;
         }
 
         boolean sent = false;
+        TextMessage textMessage = new TextMessage(message);
         for (WebSocketSession session : sessions) {
-            if (session == null) continue;
-            synchronized (session) {
-                if (!session.isOpen()) continue;
-                try {
-                    session.sendMessage(new TextMessage(message));
+            // 개별 세션 전송 실패/지연은 다른 세션 전송을 막지 않음 (세션별 전송 큐)
+            Set<String> inFlight = inFlight(session);
+            synchronized (inFlight) {
+                // 이미 flush로 보낸 알림이면 다시 보내지 않음
+                if (!inFlight.add(notificationId) || webSocketSender.send(session, textMessage)) {
                     sent = true;
-                } catch (Exception e) {
-                    // 개별 세션 전송 실패는 다른 세션 전송을 막지 않음
                 }
             }
         }
@@ -208,31 +223,39 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
         return true;
     }
 
+    /** 미확인 알림을 오래된 순으로, 이 세션의 미확인 전송이 flushWindow개가 될 때까지만 보냄 */
     private void flushPendingMessages(String userId, WebSocketSession session) {
         if (session == null || !session.isOpen()) return;
 
-        List<String> pendingMessages = readPendingSnapshot(userId);
-        if (pendingMessages.isEmpty()) return;
-
-        synchronized (session) {
-            if (!session.isOpen()) return;
-            for (String pendingMessage : pendingMessages) {
-                try {
-                    session.sendMessage(new TextMessage(pendingMessage));
-                } catch (Exception e) {
-                    break;
-                }
+        List<Map.Entry<String, String>> pendingMessages = readPendingSnapshot(userId);
+        Set<String> inFlight = inFlight(session);
+        synchronized (inFlight) {
+            // 다른 세션에서 ACK됐거나 상한으로 밀려난 알림은 더 이상 기다리지 않음
+            inFlight.retainAll(pendingMessages.stream().map(Map.Entry::getKey).toList());
+            for (Map.Entry<String, String> pendingMessage : pendingMessages) {
+                if (inFlight.size() >= flushWindow) break;
+                if (inFlight.contains(pendingMessage.getKey())) continue;
+                if (!webSocketSender.send(session, new TextMessage(pendingMessage.getValue()))) break;
+                inFlight.add(pendingMessage.getKey());
             }
         }
     }
 
-    private List<String> readPendingSnapshot(String userId) {
+    @SuppressWarnings("unchecked")
+    private Set<String> inFlight(WebSocketSession session) {
+        return (Set<String>) session.getAttributes()
+                .computeIfAbsent(IN_FLIGHT_ATTR, key -> new HashSet<String>());
+    }
+
+    private List<Map.Entry<String, String>> readPendingSnapshot(String userId) {
         LinkedHashMap<String, String> pending = pendingMessagesByUser.get(userId);
         if (pending == null) return List.of();
 
         synchronized (pending) {
             if (pending.isEmpty()) return List.of();
-            return new ArrayList<>(pending.values());
+            List<Map.Entry<String, String>> snapshot = new ArrayList<>(pending.size());
+            pending.forEach((id, message) -> snapshot.add(Map.entry(id, message)));
+            return snapshot;
         }
     }
 
@@ -0,0 +1,11 @@
+package com.example.demo.화상채팅.Cluster;
+
+/** 노드 drain 시 방 세션을 새 소유 노드로 옮기는 WebSocket 핸들러 (/ws/room, /ws/chat) */
+public interface DrainableRoomHandler {
+
+    /**
+     * 이 노드에 있는 방들을 windowMs에 걸쳐 나눠 재접속 안내 (한 번에 모든 클라이언트가 몰리지 않도록).
+     * @return 재접속 안내를 예약한 방 수
+     */
+    int migrateRooms(long windowMs);
+}
@@ -0,0 +1,49 @@
+package com.example.demo.화상채팅.Cluster;
+
+import com.example.demo.화상채팅.DTO.RoomUser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 같은 JVM 안의 노드(Spring 컨텍스트)들이 공유하는 클러스터 상태.
+ * clusterName별로 하나 → 한 JVM에 컨텍스트 여러 개를 띄워 다중 노드 동작을 테스트할 수 있다.
+ */
+final class InMemoryRoomCluster {
+
+    private static final Map<String, InMemoryRoomCluster> CLUSTERS = new ConcurrentHashMap<>();
+
+    /** nodeId → 그 노드의 수신 리스너 */
+    final Map<String, List<Consumer<RoomClusterEvent>>> listeners = new ConcurrentHashMap<>();
+    /** roomId → 방 상태 */
+    final Map<String, RoomEntry> rooms = new ConcurrentHashMap<>();
+    final Set<String> nodes = ConcurrentHashMap.newKeySet();
+    final Set<String> draining = ConcurrentHashMap.newKeySet();
+    /** roomId → 배치된 SFU 노드 (방 상태가 제거될 때 함께 제거) */
+    final Map<String, String> sfuPlacements = new ConcurrentHashMap<>();
+    final Set<String> drainingSfuNodes = ConcurrentHashMap.newKeySet();
+
+    static InMemoryRoomCluster named(String clusterName) {
+        return CLUSTERS.computeIfAbsent(clusterName, k -> new InMemoryRoomCluster());
+    }
+
+    List<Consumer<RoomClusterEvent>> listenersOf(String nodeId) {
+        return listeners.computeIfAbsent(nodeId, k -> new CopyOnWriteArrayList<>());
+    }
+
+    /** 방 하나의 공유 상태. members 값은 불변 목록으로 통째 교체 */
+    static final class RoomEntry {
+        final long startedAt;
+        final Map<String, List<RoomUser>> members = new ConcurrentHashMap<>();
+        final AtomicLong chatSeq = new AtomicLong();
+
+        RoomEntry(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+}
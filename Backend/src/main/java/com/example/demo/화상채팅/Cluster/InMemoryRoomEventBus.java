@@ -0,0 +1,71 @@
+package com.example.demo.화상채팅.Cluster;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * JVM 내부 이벤트 버스 (기본 구현).
+ * 단일 노드 운영에서는 다른 노드가 없으므로 publish가 아무 일도 하지 않고,
+ * 테스트에서는 같은 clusterName의 컨텍스트끼리 이벤트를 주고받는다.
+ * 수신 리스너를 publish 호출 스레드에서 바로 실행 → 같은 방(같은 actor 스레드)에서 보낸 이벤트 순서 유지
+ */
+@Slf4j
+public class InMemoryRoomEventBus implements RoomEventBus {
+
+    private final InMemoryRoomCluster cluster;
+    private final RoomClusterNode node;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public InMemoryRoomEventBus(RoomClusterNode node) {
+        this.cluster = InMemoryRoomCluster.named(node.clusterName());
+        this.node = node;
+    }
+
+    @Override
+    public void publish(RoomClusterEvent event) {
+        published.incrementAndGet();
+        for (Map.Entry<String, List<Consumer<RoomClusterEvent>>> e : cluster.listeners.entrySet()) {
+            if (e.getKey().equals(node.nodeId())) continue;
+            for (Consumer<RoomClusterEvent> listener : e.getValue()) {
+                try {
+                    listener.accept(event);
+                    delivered.incrementAndGet();
+                } catch (Exception ex) {
+                    failed.incrementAndGet();
+                    log.warn("[RoomEventBus] {} → {} 전달 실패: {}", node.nodeId(), e.getKey(), ex.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<RoomClusterEvent> listener) {
+        cluster.listenersOf(node.nodeId()).add(listener);
+    }
+
+    @PreDestroy
+    public void close() {
+        cluster.listeners.remove(node.nodeId());
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("bus", "memory");
+        m.put("cluster", node.clusterName());
+        m.put("nodeId", node.nodeId());
+        m.put("published", published.get());
+        m.put("delivered", delivered.get());
+        m.put("failed", failed.get());
+        return m;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.demo.화상채팅.Cluster;
+
+import com.example.demo.화상채팅.DTO.RoomUser;
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * JVM 내부 방 상태 저장소 (기본 구현).
+ * 참가자 스냅샷은 복사본으로 저장 → 분산 구현처럼 노드끼리 RoomUser 객체를 공유하지 않음
+ */
+public class InMemoryRoomStateStore implements RoomStateStore {
+
+    private final InMemoryRoomCluster cluster;
+    private final RoomClusterNode node;
+
+    public InMemoryRoomStateStore(RoomClusterNode node) {
+        this.cluster = InMemoryRoomCluster.named(node.clusterName());
+        this.node = node;
+        cluster.nodes.add(node.nodeId());
+    }
+
+    @Override
+    public long startRoomIfAbsent(String roomId, long now) {
+        return cluster.rooms.computeIfAbsent(roomId, k -> new InMemoryRoomCluster.RoomEntry(now)).startedAt;
+    }
+
+    @Override
+    public Long roomStartedAt(String roomId) {
+        InMemoryRoomCluster.RoomEntry entry = cluster.rooms.get(roomId);
+        return entry != null ? entry.startedAt : null;
+    }
+
+    @Override
+    public long nextChatSeq(String roomId) {
+        return cluster.rooms.computeIfAbsent(roomId, k -> new InMemoryRoomCluster.RoomEntry(System.currentTimeMillis()))
+                .chatSeq.incrementAndGet();
+    }
+
+    @Override
+    public void putMembers(String roomId, String nodeId, List<RoomUser> members) {
+        if (members.isEmpty()) {
+            cluster.rooms.computeIfPresent(roomId, (k, entry) -> {
+                entry.members.remove(nodeId);
+                if (!entry.members.isEmpty()) return entry;
+                cluster.sfuPlacements.remove(roomId);
+                return null;
+            });
+            return;
+        }
+        List<RoomUser> copy = new ArrayList<>(members.size());
+        for (RoomUser u : members) copy.add(copyOf(u));
+        List<RoomUser> snapshot = Collections.unmodifiableList(copy);
+        // 입장 처리에서 startRoomIfAbsent를 먼저 부르지만, 혹시 없으면 지금 시각으로 방 생성
+        cluster.rooms.compute(roomId, (k, entry) -> {
+            InMemoryRoomCluster.RoomEntry e = entry != null ? entry : new InMemoryRoomCluster.RoomEntry(System.currentTimeMillis());
+            e.members.put(nodeId, snapshot);
+            return e;
+        });
+    }
+
+    @Override
+    public Map<String, List<RoomUser>> members(String roomId) {
+        InMemoryRoomCluster.RoomEntry entry = cluster.rooms.get(roomId);
+        return entry != null ? Collections.unmodifiableMap(entry.members) : Map.of();
+    }
+
+    @Override
+    public Set<String> liveNodes() {
+        return Collections.unmodifiableSet(cluster.nodes);
+    }
+
+    @Override
+    public void setDraining(String nodeId, boolean draining) {
+        if (draining) cluster.draining.add(nodeId);
+        else cluster.draining.remove(nodeId);
+    }
+
+    @Override
+    public Set<String> drainingNodes() {
+        return Collections.unmodifiableSet(cluster.draining);
+    }
+
+    @Override
+    public String sfuNodeOf(String roomId) {
+        return cluster.sfuPlacements.get(roomId);
+    }
+
+    @Override
+    public String placeSfuNode(String roomId, String expected, String sfuNodeId) {
+        return cluster.sfuPlacements.compute(roomId, (k, current) -> Objects.equals(current, expected) ? sfuNodeId : current);
+    }
+
+    @Override
+    public void setSfuDraining(String sfuNodeId, boolean draining) {
+        if (draining) cluster.drainingSfuNodes.add(sfuNodeId);
+        else cluster.drainingSfuNodes.remove(sfuNodeId);
+    }
+
+    @Override
+    public Set<String> drainingSfuNodes() {
+        return Collections.unmodifiableSet(cluster.drainingSfuNodes);
+    }
+
+    /** 노드 종료: 노드 목록과 이 노드가 가진 참가자 스냅샷 제거 */
+    @PreDestroy
+    public void close() {
+        cluster.nodes.remove(node.nodeId());
+        cluster.draining.remove(node.nodeId());
+        for (String roomId : List.copyOf(cluster.rooms.keySet())) {
+            putMembers(roomId, node.nodeId(), List.of());
+        }
+    }
+
+    private static RoomUser copyOf(RoomUser u) {
+        return new RoomUser(u.getUserId(), u.getUserName(), u.getUserEmail(), u.isHost(), u.getJoinAt(),
+                u.isSpeaking(), u.isMuted(), u.isCameraOff(), u.isExplicitlyLeft(), u.isOnline(),
+                u.getFaceEmoji(), u.isBgRemove(), u.getMutedByHost(), u.getCameraOffByHost());
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo.화상채팅.Cluster;
+
+import com.example.demo.화상채팅.DTO.RoomEvents;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 방 소유 노드로 WebSocket 연결 모으기 (room affinity).
+ * 소유 노드가 아닌 노드에 연결되면 ROOM_REDIRECT 프레임(대상 노드/주소) 후 close code 4307로 종료 → 클라이언트가 대상 노드로 재접속.
+ * 같은 방 fan-out이 한 JVM 안에서 끝나도록 하는 것이 목적이고, 안내가 안 되는 경우(주소 미설정, 재접속 횟수 초과)는
+ * 그대로 받아서 RoomEventBus로 노드 간 전달.
+ */
+@Component
+public class RoomAffinityRouter {
+
+    /** 다른 노드로 재접속 안내 (4000~4999: 애플리케이션 정의 close code). reason = 대상 nodeId */
+    public static final int REDIRECT_CODE = 4307;
+
+    /** 재접속 안내 대상. url이 null이면 기본 주소(로드밸런서)로 재접속 */
+    public record Redirect(String roomId, String targetNode, String url) {
+        public CloseStatus closeStatus() {
+            return new CloseStatus(REDIRECT_CODE, targetNode);
+        }
+    }
+
+    private final RoomOwnership ownership;
+    private final ObjectMapper objectMapper;
+    /** 클라이언트가 ?redirects=n 으로 지금까지 안내받은 횟수 전달. 노드 간 소유 판단이 잠시 어긋나도 무한 재접속 방지 */
+    private final int maxRedirects;
+
+    private final AtomicLong redirected = new AtomicLong();
+    private final AtomicLong acceptedAfterMaxRedirects = new AtomicLong();
+    private final AtomicLong migrated = new AtomicLong();
+
+    public RoomAffinityRouter(RoomOwnership ownership, ObjectMapper objectMapper,
+                              @Value("${meeting.cluster.max-redirects:2}") int maxRedirects) {
+        this.ownership = ownership;
+        this.objectMapper = objectMapper;
+        this.maxRedirects = Math.max(0, maxRedirects);
+    }
+
+    /**
+     * 새 연결이 이 노드에 있어도 되는지. 다른 노드로 보내야 하면 대상, 아니면 null.
+     * 방 고정(pin-rooms)이 꺼져 있고 drain 중도 아니면 항상 null (기존 동작)
+     */
+    public Redirect routeUpgrade(String roomId, URI uri) {
+        boolean draining = ownership.isDraining();
+        if (!ownership.pinRooms() && !draining) return null;
+        String owner = ownership.ownerOf(roomId);
+        if (owner.equals(ownership.localNodeId())) return null;
+        String url = ownership.addressOf(owner);
+        // 주소를 모르면 클라이언트가 찾아갈 방법이 없음 → drain 중이 아니면 그냥 받음
+        if (url == null && !draining) return null;
+        if (redirectCount(uri) >= maxRedirects) {
+            acceptedAfterMaxRedirects.incrementAndGet();
+            return null;
+        }
+        redirected.incrementAndGet();
+        return new Redirect(roomId, owner, url);
+    }
+
+    /** drain: 이 노드에 있는 방을 옮길 대상. 이 노드가 여전히 소유 노드면 null */
+    public Redirect migrationTarget(String roomId) {
+        String owner = ownership.ownerOf(roomId);
+        if (owner.equals(ownership.localNodeId())) return null;
+        migrated.incrementAndGet();
+        return new Redirect(roomId, owner, ownership.addressOf(owner));
+    }
+
+    public TextMessage frame(Redirect redirect) throws JsonProcessingException {
+        return new TextMessage(objectMapper.writeValueAsString(
+                new RoomEvents.RoomRedirect(redirect.targetNode(), redirect.url())));
+    }
+
+    private static int redirectCount(URI uri) {
+        if (uri == null || uri.getQuery() == null) return 0;
+        for (String pair : uri.getQuery().split("&")) {
+            if (pair.startsWith("redirects=")) {
+                try {
+                    return Integer.parseInt(pair.substring("redirects=".length()));
+                } catch (NumberFormatException ignored) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("redirected", redirected.get());
+        m.put("acceptedAfterMaxRedirects", acceptedAfterMaxRedirects.get());
+        m.put("migratedRooms", migrated.get());
+        return m;
+    }
+}
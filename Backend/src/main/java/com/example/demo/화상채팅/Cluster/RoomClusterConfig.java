@@ -0,0 +1,36 @@
+package com.example.demo.화상채팅.Cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.UUID;
+
+/**
+ * 화상채팅 방 클러스터 구성.
+ * meeting.cluster.bus=memory(기본): 같은 JVM 안에서만 공유 → 단일 노드 운영은 기존과 동일하게 동작.
+ * 분산 구현을 쓸 때는 bus 값을 바꾸고 같은 타입(RoomEventBus, RoomStateStore) 빈을 등록한다.
+ */
+@Configuration
+public class RoomClusterConfig {
+
+    @Bean
+    public RoomClusterNode roomClusterNode(@Value("${meeting.cluster.name:local}") String clusterName,
+                                           @Value("${meeting.cluster.node-id:}") String nodeId) {
+        String id = nodeId == null || nodeId.isBlank() ? "node-" + UUID.randomUUID().toString().substring(0, 8) : nodeId;
+        return new RoomClusterNode(clusterName, id);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "meeting.cluster.bus", havingValue = "memory", matchIfMissing = true)
+    public RoomEventBus inMemoryRoomEventBus(RoomClusterNode node) {
+        return new InMemoryRoomEventBus(node);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "meeting.cluster.bus", havingValue = "memory", matchIfMissing = true)
+    public RoomStateStore inMemoryRoomStateStore(RoomClusterNode node) {
+        return new InMemoryRoomStateStore(node);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.화상채팅.Cluster;
+
+/**
+ * 노드 간 방 이벤트.
+ * - FRAME: 이미 직렬화된 프레임을 받은 노드가 자기 세션에 그대로 전송 (fullOnly면 USERS_UPDATE 방식 세션에만,
+ *   deltaOnly면 presence=delta 세션에만).
+ *   chatSeq > 0이면 채팅/리액션 프레임 → 받은 노드도 같은 순번으로 재생 버퍼에 보관
+ * - MEMBERS_CHANGED: 보낸 노드의 참가자 스냅샷이 RoomStateStore에 갱신됨 → 받은 노드는 병합 목록으로 presence 재전송
+ * - COMMAND: 방장 명령(FORCE_*, KICK, 방장 변경)을 대상 유저가 접속한 노드가 적용
+ */
+public record RoomClusterEvent(String originNodeId, String roomId, Kind kind,
+                               String frame, boolean fullOnly, boolean deltaOnly,
+                               String command, String targetUserId, long chatSeq) {
+
+    public enum Kind { FRAME, MEMBERS_CHANGED, COMMAND }
+
+    public static RoomClusterEvent frame(String originNodeId, String roomId, String frame, boolean fullOnly) {
+        return new RoomClusterEvent(originNodeId, roomId, Kind.FRAME, frame, fullOnly, false, null, null, 0);
+    }
+
+    public static RoomClusterEvent deltaFrame(String originNodeId, String roomId, String frame) {
+        return new RoomClusterEvent(originNodeId, roomId, Kind.FRAME, frame, false, true, null, null, 0);
+    }
+
+    public static RoomClusterEvent chat(String originNodeId, String roomId, String frame, long chatSeq) {
+        return new RoomClusterEvent(originNodeId, roomId, Kind.FRAME, frame, false, false, null, null, chatSeq);
+    }
+
+    public static RoomClusterEvent membersChanged(String originNodeId, String roomId) {
+        return new RoomClusterEvent(originNodeId, roomId, Kind.MEMBERS_CHANGED, null, false, false, null, null, 0);
+    }
+
+    public static RoomClusterEvent command(String originNodeId, String roomId, String command, String targetUserId) {
+        return new RoomClusterEvent(originNodeId, roomId, Kind.COMMAND, null, false, false, command, targetUserId, 0);
+    }
+}
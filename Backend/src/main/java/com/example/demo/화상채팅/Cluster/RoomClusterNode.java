@@ -0,0 +1,8 @@
+package com.example.demo.화상채팅.Cluster;
+
+/**
+ * 이 백엔드 노드의 클러스터 식별자.
+ * clusterName이 같은 노드끼리 방 이벤트/상태를 공유한다.
+ */
+public record RoomClusterNode(String clusterName, String nodeId) {
+}
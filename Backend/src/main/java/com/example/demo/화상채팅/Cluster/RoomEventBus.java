@@ -0,0 +1,20 @@
+package com.example.demo.화상채팅.Cluster;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 노드 간 방 이벤트 전달.
+ * 기본 구현은 같은 JVM 안에서만 공유하는 InMemoryRoomEventBus (단일 노드 / 테스트용).
+ * 여러 서버로 운영할 때는 meeting.cluster.bus 값을 바꾸고 분산 구현(예: Redis pub/sub) 빈을 등록한다.
+ */
+public interface RoomEventBus {
+
+    /** 같은 클러스터의 다른 노드에 전달 (보낸 노드 자신에게는 오지 않음). 같은 노드가 보낸 이벤트는 보낸 순서대로 도착해야 함 */
+    void publish(RoomClusterEvent event);
+
+    /** 다른 노드가 보낸 이벤트 수신. 리스너는 빨리 반환해야 함 (방 actor mailbox에 넣기만) */
+    void subscribe(Consumer<RoomClusterEvent> listener);
+
+    Map<String, Object> metrics();
+}
@@ -0,0 +1,140 @@
+package com.example.demo.화상채팅.Cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * roomId → 소유 노드 (rendezvous hashing: 노드별 hash(nodeId, roomId)가 가장 큰 노드).
+ * 노드가 추가/제거돼도 그 노드가 맡던(맡게 될) 방만 옮겨지는 consistent hashing.
+ * - ownerOf: 후보 노드 기준. meeting.cluster.pin-rooms=true면 방을 이 노드에 고정 (RoomAffinityRouter가 재접속 안내)
+ *   후보 = meeting.cluster.nodes(정적 설정, "nodeId=wss://주소" 쉼표 구분)가 있으면 그 목록, 없으면 저장소의 살아 있는 노드.
+ *   drain 중인 노드는 후보에서 빠짐 → 그 노드가 맡던 방만 다른 노드로 이동
+ * - isLocalCoordinator: 방 참가자가 있는 노드 중 하나만 방 단위 작업(회차 일괄 배정 등)을 맡도록 선정
+ */
+@Component
+public class RoomOwnership {
+
+    private final RoomClusterNode node;
+    private final RoomStateStore stateStore;
+    private final boolean pinRooms;
+    /** 정적 노드 목록 (nodeId → 클라이언트가 직접 접속할 WebSocket 주소, 없으면 null) */
+    private final Map<String, String> staticNodes;
+
+    public RoomOwnership(RoomClusterNode node, RoomStateStore stateStore,
+                         @Value("${meeting.cluster.pin-rooms:false}") boolean pinRooms,
+                         @Value("${meeting.cluster.nodes:}") String staticNodes) {
+        this.node = node;
+        this.stateStore = stateStore;
+        this.pinRooms = pinRooms;
+        this.staticNodes = parseNodes(staticNodes);
+    }
+
+    static Map<String, String> parseNodes(String spec) {
+        Map<String, String> nodes = new LinkedHashMap<>();
+        if (spec == null || spec.isBlank()) return nodes;
+        for (String entry : spec.split(",")) {
+            String e = entry.trim();
+            if (e.isEmpty()) continue;
+            int eq = e.indexOf('=');
+            if (eq < 0) nodes.put(e, null);
+            else nodes.put(e.substring(0, eq).trim(), e.substring(eq + 1).trim());
+        }
+        return nodes;
+    }
+
+    public String localNodeId() {
+        return node.nodeId();
+    }
+
+    public boolean pinRooms() {
+        return pinRooms;
+    }
+
+    /** 후보 노드(정적 목록 또는 살아 있는 노드, drain 중 제외) 중 이 방의 소유 노드 */
+    public String ownerOf(String roomId) {
+        String owner = ownerAmong(roomId, candidateNodes());
+        return owner != null ? owner : node.nodeId();
+    }
+
+    /** 소유 노드 후보. 모든 노드가 drain 중이면 drain 중인 노드라도 후보로 (방을 받을 곳이 없어지지 않도록) */
+    public Collection<String> candidateNodes() {
+        Collection<String> base = staticNodes.isEmpty() ? stateStore.liveNodes() : staticNodes.keySet();
+        Set<String> draining = stateStore.drainingNodes();
+        if (draining.isEmpty()) return base;
+        List<String> active = new ArrayList<>();
+        for (String n : base) {
+            if (!draining.contains(n)) active.add(n);
+        }
+        return active.isEmpty() ? base : active;
+    }
+
+    /** 클라이언트가 해당 노드로 직접 재접속할 주소 (정적 설정에 없으면 null) */
+    public String addressOf(String nodeId) {
+        return staticNodes.get(nodeId);
+    }
+
+    public void setDraining(boolean draining) {
+        stateStore.setDraining(node.nodeId(), draining);
+    }
+
+    public boolean isDraining() {
+        return stateStore.drainingNodes().contains(node.nodeId());
+    }
+
+    public boolean isLocalOwner(String roomId) {
+        return node.nodeId().equals(ownerOf(roomId));
+    }
+
+    /** 이 방 참가자가 있는 노드 중 이 노드가 방 단위 작업 담당인지. 참가자 노드가 하나면 항상 그 노드 */
+    public boolean isLocalCoordinator(String roomId) {
+        Collection<String> nodes = stateStore.members(roomId).keySet();
+        if (nodes.isEmpty()) return true;
+        return node.nodeId().equals(ownerAmong(roomId, nodes));
+    }
+
+    static String ownerAmong(String roomId, Collection<String> nodes) {
+        String best = null;
+        long bestScore = 0;
+        for (String n : nodes) {
+            long score = score(n, roomId);
+            if (best == null || Long.compareUnsigned(score, bestScore) > 0
+                    || (score == bestScore && n.compareTo(best) < 0)) {
+                best = n;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /** FNV-1a 64 + murmur3 finalizer. 노드/방 조합마다 고르게 퍼지는 점수 */
+    private static long score(String nodeId, String roomId) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : nodeId.getBytes(StandardCharsets.UTF_8)) h = (h ^ (b & 0xff)) * 0x100000001b3L;
+        h = (h ^ 0xff) * 0x100000001b3L;
+        for (byte b : roomId.getBytes(StandardCharsets.UTF_8)) h = (h ^ (b & 0xff)) * 0x100000001b3L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("nodeId", node.nodeId());
+        m.put("liveNodes", stateStore.liveNodes().size());
+        m.put("pinRooms", pinRooms);
+        m.put("staticNodes", staticNodes.size());
+        m.put("draining", isDraining());
+        return m;
+    }
+}
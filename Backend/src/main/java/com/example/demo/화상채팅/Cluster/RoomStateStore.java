@@ -0,0 +1,51 @@
+package com.example.demo.화상채팅.Cluster;
+
+import com.example.demo.화상채팅.DTO.RoomUser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 클러스터 전체가 공유하는 방 상태.
+ * 각 노드는 자기 노드에 접속한 참가자 스냅샷만 쓰고, 다른 노드 참가자는 읽기만 한다.
+ */
+public interface RoomStateStore {
+
+    /** 클러스터 전체에서 처음 입장이면 now로 방 시작, 이미 시작된 방이면 기존 시작 시각 반환 */
+    long startRoomIfAbsent(String roomId, long now);
+
+    /** 방 시작 시각(ms). 참가자가 없는 방이면 null */
+    Long roomStartedAt(String roomId);
+
+    /** 방 채팅/리액션 순번 (클러스터 전체 단조 증가, 1부터). 방 상태가 제거되면 다시 1부터 → roomStartedAt을 epoch로 함께 사용 */
+    long nextChatSeq(String roomId);
+
+    /** 이 노드의 참가자 스냅샷 교체 (입장 순서). 빈 목록이면 노드 항목 제거, 모든 노드가 비면 방 상태도 제거 */
+    void putMembers(String roomId, String nodeId, List<RoomUser> members);
+
+    /** nodeId → 그 노드에 있는 참가자 (입장 순서). 반환값은 읽기 전용 */
+    Map<String, List<RoomUser>> members(String roomId);
+
+    /** 현재 살아 있는 노드 (방 소유 노드 consistent hashing 대상) */
+    Set<String> liveNodes();
+
+    /** drain 중인 노드는 새 방을 받지 않음 (소유 노드 후보에서 제외) */
+    void setDraining(String nodeId, boolean draining);
+
+    Set<String> drainingNodes();
+
+    /** 방이 배치된 SFU 노드 id. 배치 전이면 null */
+    String sfuNodeOf(String roomId);
+
+    /**
+     * 현재 배치가 expected(null이면 미배치)일 때만 sfuNodeId로 배치.
+     * @return 실제 배치된 SFU 노드 (다른 노드가 먼저 배치했으면 그 값)
+     */
+    String placeSfuNode(String roomId, String expected, String sfuNodeId);
+
+    /** drain 중인 SFU 노드는 새 방을 배치받지 않음 (기존 방은 끝날 때까지 유지) */
+    void setSfuDraining(String sfuNodeId, boolean draining);
+
+    Set<String> drainingSfuNodes();
+}
@@ -1,6 +1,7 @@
 package com.example.demo.화상채팅.Config;
 
 import com.example.demo.board.handler.CommentNotificationWebSocketHandler;
+import com.example.demo.common.websocket.WebSocketEndpointTuning;
 import com.example.demo.모집.handler.NotificationWebSocketHandler;
 import com.example.demo.화상채팅.Handler.RoomWebSocketHandler;
 import org.springframework.context.annotation.Configuration;
@@ -15,27 +16,34 @@ public class WebSocketConfig implements WebSocketConfigurer {
     private final RoomWebSocketHandler roomHandler;
     private final NotificationWebSocketHandler notificationHandler;
     private final CommentNotificationWebSocketHandler commentHandler;
+    /** 엔드포인트별 압축(permessage-deflate) / 수신 버퍼 / 유휴 종료 (ws.endpoint.*) */
+    private final WebSocketEndpointTuning tuning;
 
     public WebSocketConfig(RoomWebSocketHandler roomHandler,
-                           NotificationWebSocketHandler notificationHandler, CommentNotificationWebSocketHandler commentHandler) {
+                           NotificationWebSocketHandler notificationHandler, CommentNotificationWebSocketHandler commentHandler,
+                           WebSocketEndpointTuning tuning) {
         this.roomHandler = roomHandler;
         this.notificationHandler = notificationHandler;
         this.commentHandler = commentHandler;
+        this.tuning = tuning;
     }
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
 
         // 채팅용 WebSocket
-        registry.addHandler(roomHandler, "/ws/room/{roomId}")
+        registry.addHandler(tuning.decorate("room", roomHandler), "/ws/room/{roomId}")
+                .setHandshakeHandler(tuning.handshakeHandler("room"))
                 .setAllowedOrigins("*");
 
-        // 방장 알림용 WebSocket
-        registry.addHandler(notificationHandler, "/ws/notification/{userId}")
+        // 방장 알림용 WebSocket (연결 시 밀린 알림을 한꺼번에 보내므로 압축 허용)
+        registry.addHandler(tuning.decorate("notification", notificationHandler), "/ws/notification/{userId}")
+                .setHandshakeHandler(tuning.handshakeHandler("notification"))
                 .setAllowedOriginPatterns("*");
 
         //댓글 알림용
-        registry.addHandler(commentHandler, "/ws/comment/{userId}")
+        registry.addHandler(tuning.decorate("comment", commentHandler), "/ws/comment/{userId}")
+                .setHandshakeHandler(tuning.handshakeHandler("comment"))
                 .setAllowedOriginPatterns("*");
     }
 }
\ No newline at end of file
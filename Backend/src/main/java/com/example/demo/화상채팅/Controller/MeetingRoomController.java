@@ -1,12 +1,19 @@
 package com.example.demo.화상채팅.Controller;
 
+import com.example.demo.화상채팅.DTO.ParticipationTotals;
+import com.example.demo.화상채팅.Handler.RoomWebSocketHandler;
 import com.example.demo.화상채팅.Service.MeetingRoomService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @RestController
@@ -16,6 +23,7 @@ import java.util.Map;
 public class MeetingRoomController {
 
     private final MeetingRoomService meetingRoomService;
+    private final RoomWebSocketHandler roomWebSocketHandler;
 
     /** 화상방 입장 시 roomId + 오늘 회차 scheduleId 반환 (scheduleId 실패 시에도 roomId는 반환해 입장 가능) */
     @GetMapping("/room-id/{subjectId}")
@@ -34,4 +42,30 @@ public class MeetingRoomController {
         }
         return result;
     }
+
+    /**
+     * 방장 전용 참여 요약: 참가자별 접속 / 말한 시간 / 카메라 켠 시간 / 음소거 시간 (ms).
+     * 회차별로 저장된 기록 + 진행 중인 누계 합산. scheduleId가 없으면 오늘 기록 전체
+     */
+    @GetMapping("/{roomId}/participation")
+    public ResponseEntity<List<ParticipationTotals>> getParticipationSummary(
+            @PathVariable String roomId,
+            @RequestParam(required = false) Long scheduleId,
+            @AuthenticationPrincipal String email
+    ) {
+        if (!meetingRoomService.isRoomHost(roomId, email)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        List<ParticipationTotals> live;
+        try {
+            live = roomWebSocketHandler.liveParticipation(roomId).get(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            live = List.of();
+        } catch (Exception e) {
+            log.warn("[MeetingRoomController] 진행 중 참여 누계 조회 실패, 저장된 기록만 반환. roomId={}, error={}", roomId, e.getMessage());
+            live = List.of();
+        }
+        return ResponseEntity.ok(meetingRoomService.participationSummary(roomId, scheduleId, live));
+    }
 }
@@ -0,0 +1,95 @@
+package com.example.demo.화상채팅.Controller;
+
+import com.example.demo.화상채팅.Cluster.DrainableRoomHandler;
+import com.example.demo.화상채팅.Cluster.RoomOwnership;
+import com.example.demo.화상채팅.SFU.SfuNodePool;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** 화상채팅 노드 운영: 방 소유 노드 조회, 배포 전 drain, SFU 노드 drain. 인증 필요 (SecurityConfig anyRequest) */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/ws/cluster")
+public class RoomClusterController {
+
+    private final RoomOwnership roomOwnership;
+    private final List<DrainableRoomHandler> drainableHandlers;
+    private final SfuNodePool sfuNodePool;
+
+    @GetMapping("/owner/{roomId}")
+    public Map<String, Object> owner(@PathVariable String roomId) {
+        String owner = roomOwnership.ownerOf(roomId);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("roomId", roomId);
+        result.put("owner", owner);
+        result.put("url", roomOwnership.addressOf(owner));
+        result.put("local", owner.equals(roomOwnership.localNodeId()));
+        return result;
+    }
+
+    /** 이 노드를 소유 노드 후보에서 빼고, 있던 방은 windowMs에 걸쳐 새 소유 노드로 재접속 안내 */
+    @PostMapping("/drain")
+    public Map<String, Object> drain(@RequestParam(defaultValue = "30000") long windowMs) {
+        roomOwnership.setDraining(true);
+        int rooms = 0;
+        for (DrainableRoomHandler handler : drainableHandlers) {
+            rooms += handler.migrateRooms(windowMs);
+        }
+        log.info("[RoomClusterController] drain 시작: node={}, rooms={}, windowMs={}", roomOwnership.localNodeId(), rooms, windowMs);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("nodeId", roomOwnership.localNodeId());
+        result.put("draining", true);
+        result.put("rooms", rooms);
+        return result;
+    }
+
+    /** drain 취소: 다시 소유 노드 후보로 (이미 옮겨간 방은 그대로) */
+    @DeleteMapping("/drain")
+    public Map<String, Object> undrain() {
+        roomOwnership.setDraining(false);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("nodeId", roomOwnership.localNodeId());
+        result.put("draining", false);
+        return result;
+    }
+
+    @GetMapping("/sfu")
+    public Map<String, Object> sfuNodes() {
+        return sfuNodePool.metrics();
+    }
+
+    /** SFU 점검: 새 방 배치에서 제외. 이미 배치된 방은 끝날 때까지 그 SFU 사용 (rooms가 0이 되면 내려도 됨) */
+    @PostMapping("/sfu/{nodeId}/drain")
+    public ResponseEntity<Map<String, Object>> drainSfu(@PathVariable String nodeId) {
+        return setSfuDraining(nodeId, true);
+    }
+
+    @DeleteMapping("/sfu/{nodeId}/drain")
+    public ResponseEntity<Map<String, Object>> undrainSfu(@PathVariable String nodeId) {
+        return setSfuDraining(nodeId, false);
+    }
+
+    private ResponseEntity<Map<String, Object>> setSfuDraining(String nodeId, boolean draining) {
+        if (!sfuNodePool.setDraining(nodeId, draining)) {
+            return ResponseEntity.notFound().build();
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("nodeId", nodeId);
+        result.put("draining", draining);
+        result.put("rooms", sfuNodePool.node(nodeId).metrics().get("rooms"));
+        return ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.화상채팅.Controller;
+
+import com.example.demo.common.websocket.InboundRateLimiter;
+import com.example.demo.common.websocket.ReconnectHints;
+import com.example.demo.common.websocket.WebSocketEndpointTuning;
+import com.example.demo.common.websocket.WebSocketSender;
+import com.example.demo.화상채팅.Cluster.RoomAffinityRouter;
+import com.example.demo.화상채팅.Cluster.RoomEventBus;
+import com.example.demo.화상채팅.Cluster.RoomOwnership;
+import com.example.demo.화상채팅.Handler.RoomWebSocketHandler;
+import com.example.demo.화상채팅.SFU.SfuClient;
+import com.example.demo.화상채팅.SFU.SfuNodePool;
+import com.example.demo.화상채팅.SFU.SfuRoomCache;
+import com.example.demo.화상채팅.Scheduler.RoomActorExecutor;
+import com.example.demo.화상채팅.Scheduler.RoomTaskScheduler;
+import com.example.demo.화상채팅.Scheduler.SessionRolloverEngine;
+import com.example.demo.화상채팅.Service.MeetingRoomAuditPipeline;
+import com.example.demo.화상채팅.Service.MeetingRoomKickRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** 실시간(WebSocket) 계층 운영 지표 조회. 인증 필요 (SecurityConfig anyRequest) */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/ws/metrics")
+public class RoomMetricsController {
+
+    private final RoomTaskScheduler roomTaskScheduler;
+    private final RoomActorExecutor roomActorExecutor;
+    private final WebSocketSender webSocketSender;
+    private final RoomWebSocketHandler roomWebSocketHandler;
+    private final MeetingRoomAuditPipeline meetingRoomAuditPipeline;
+    private final SessionRolloverEngine sessionRolloverEngine;
+    private final MeetingRoomKickRegistry meetingRoomKickRegistry;
+    private final RoomEventBus roomEventBus;
+    private final RoomOwnership roomOwnership;
+    private final RoomAffinityRouter roomAffinityRouter;
+    private final ReconnectHints reconnectHints;
+    private final InboundRateLimiter inboundRateLimiter;
+    private final WebSocketEndpointTuning webSocketEndpointTuning;
+    private final SfuClient sfuClient;
+    private final SfuNodePool sfuNodePool;
+    private final SfuRoomCache sfuRoomCache;
+
+    @GetMapping
+    public Map<String, Object> metrics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scheduler", roomTaskScheduler.metrics());
+        result.put("actors", roomActorExecutor.metrics());
+        result.put("outbound", webSocketSender.metrics());
+        result.put("reconnectHints", reconnectHints.metrics());
+        result.put("inboundRateLimit", inboundRateLimiter.metrics());
+        result.put("endpoints", webSocketEndpointTuning.metrics());
+        result.put("frames", roomWebSocketHandler.frameMetrics());
+        result.put("snapshot", roomWebSocketHandler.snapshotMetrics());
+        result.put("admission", roomWebSocketHandler.admissionMetrics());
+        result.put("chatReplay", roomWebSocketHandler.chatReplayMetrics());
+        result.put("participation", roomWebSocketHandler.participationMetrics());
+        result.put("audit", meetingRoomAuditPipeline.metrics());
+        result.put("rollover", sessionRolloverEngine.metrics());
+        result.put("kickRegistry", meetingRoomKickRegistry.metrics());
+        Map<String, Object> cluster = new LinkedHashMap<>(roomOwnership.metrics());
+        cluster.putAll(roomEventBus.metrics());
+        cluster.put("routing", roomAffinityRouter.metrics());
+        result.put("cluster", cluster);
+        Map<String, Object> sfu = new LinkedHashMap<>(sfuClient.metrics());
+        sfu.put("pool", sfuNodePool.metrics());
+        sfu.put("roomCache", sfuRoomCache.metrics());
+        result.put("sfu", sfu);
+        return result;
+    }
+}
@@ -3,11 +3,33 @@ package com.example.demo.화상채팅.Controller;
 import com.example.demo.dto.ConsumeRequest;
 import com.example.demo.dto.ProduceRequest;
 import com.example.demo.dto.RoomRequest;
+import com.example.demo.dto.SignalBatchRequest;
 import com.example.demo.dto.TransportRequest;
 import com.example.demo.화상채팅.SFU.SfuClient;
+import com.example.demo.화상채팅.SFU.SfuException;
+import com.example.demo.화상채팅.SFU.SfuNode;
+import com.example.demo.화상채팅.SFU.SfuNodePool;
+import com.example.demo.화상채팅.SFU.SfuSignalingBatch;
+import com.example.demo.화상채팅.SFU.SfuSignalingBatch.Operation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * SFU HTTP 시그널링 프록시. SFU 응답을 기다리는 동안 요청 스레드를 반납 (DeferredResult)
+ * 같은 roomId의 호출은 모두 SfuNodePool이 배치한 같은 SFU 노드로 보냄
+ * SFU 실패 → 503(서킷 OPEN/연결 불가/가용 노드 없음) / 504(타임아웃) / 502(SFU 오류), SFU의 4xx는 그대로 전달
+ */
 @RestController
 @RequestMapping("/api/signal")
 @RequiredArgsConstructor
@@ -15,24 +37,114 @@ import org.springframework.web.bind.annotation.*;
 public class SignalingController {
 
     private final SfuClient sfuClient;
+    private final SfuNodePool sfuNodePool;
+    private final SfuSignalingBatch sfuSignalingBatch;
+
+    @Value("${sfu.batch.max-ops:64}")
+    private int maxBatchOps;
 
+    /** 같은 roomId면 같은 방 → 재시도해도 안전. 배치된 SFU가 unhealthy면 여기서 재배치, 재입장은 SfuRoomCache에서 응답 */
     @PostMapping("/room")
-    public Object createRoom(@RequestBody RoomRequest request) {
-        return sfuClient.post("/rooms", request, Object.class);
+    public DeferredResult<ResponseEntity<Object>> createRoom(@RequestBody RoomRequest request) {
+        return single(request.getRoomId(), Operation.ROOM, request);
     }
 
     @PostMapping("/transport")
-    public Object createTransport(@RequestBody TransportRequest request) {
-        return sfuClient.post("/transports", request, Object.class);
+    public DeferredResult<ResponseEntity<Object>> createTransport(@RequestBody TransportRequest request) {
+        return single(request.getRoomId(), Operation.TRANSPORT, request);
     }
 
     @PostMapping("/produce")
-    public Object produce(@RequestBody ProduceRequest request) {
-        return sfuClient.post("/produce", request, Object.class);
+    public DeferredResult<ResponseEntity<Object>> produce(@RequestBody ProduceRequest request) {
+        return single(request.getRoomId(), Operation.PRODUCE, request);
     }
 
     @PostMapping("/consume")
-    public Object consume(@RequestBody ConsumeRequest request) {
-        return sfuClient.post("/consume", request, Object.class);
+    public DeferredResult<ResponseEntity<Object>> consume(@RequestBody ConsumeRequest request) {
+        return single(request.getRoomId(), Operation.CONSUME, request);
+    }
+
+    /**
+     * 여러 시그널링 호출을 한 번에: {"roomId":"..","ops":[{"id":"t1","op":"transport","body":{..}},..]}
+     * room 먼저, 나머지는 동시에 SFU로 → 입장 시 왕복 수가 호출 수가 아니라 단계 수 (room+transport / produce+consume)
+     * 응답: {"roomId":"..","results":[{"id":"t1","op":"transport","status":200,"body":{..}},..]} (요청 순서)
+     * 서버 쪽만 제공: 웹 클라이언트(MeetingPage)는 SFU WebSocket(join/createTransport/produce/consume)으로
+     * 직접 시그널링하므로 /api/signal/*를 호출하지 않음. HTTP로 시그널링하는 클라이언트용
+     */
+    @PostMapping("/batch")
+    public DeferredResult<ResponseEntity<Object>> batch(@RequestBody SignalBatchRequest request) {
+        List<SignalBatchRequest.Op> ops = request.getOps();
+        if (ops == null || ops.isEmpty() || ops.size() > maxBatchOps) {
+            return immediate(error(HttpStatus.BAD_REQUEST, "ops는 1~" + maxBatchOps + "개여야 합니다."));
+        }
+        for (SignalBatchRequest.Op op : ops) {
+            if (op == null || Operation.of(op.getOp()) == null) {
+                return immediate(error(HttpStatus.BAD_REQUEST, "알 수 없는 op: " + (op == null ? null : op.getOp())));
+            }
+        }
+        boolean createsRoom = ops.stream().anyMatch(op -> Operation.of(op.getOp()) == Operation.ROOM);
+        // room 단계 + 나머지 단계
+        return defer(request.getRoomId(), createsRoom, sfuClient.deadlineMs() * 2,
+                node -> sfuSignalingBatch.execute(node, request.getRoomId(), ops).thenApply(results -> {
+                    Map<String, Object> body = new LinkedHashMap<>();
+                    body.put("roomId", request.getRoomId());
+                    body.put("results", results);
+                    return body;
+                }));
+    }
+
+    private DeferredResult<ResponseEntity<Object>> single(String roomId, Operation operation, Object request) {
+        return defer(roomId, operation == Operation.ROOM, sfuClient.deadlineMs(),
+                node -> sfuSignalingBatch.call(node, roomId, operation, request));
+    }
+
+    private DeferredResult<ResponseEntity<Object>> defer(String roomId, boolean createRoom, long timeoutMs,
+                                                         Function<SfuNode, CompletableFuture<?>> call) {
+        DeferredResult<ResponseEntity<Object>> result = new DeferredResult<>(timeoutMs,
+                () -> error(HttpStatus.GATEWAY_TIMEOUT, "SFU 응답 시간 초과"));
+        if (roomId == null || roomId.isBlank()) {
+            result.setResult(error(HttpStatus.BAD_REQUEST, "roomId가 필요합니다."));
+            return result;
+        }
+        CompletableFuture<?> future;
+        try {
+            future = call.apply(sfuNodePool.nodeFor(roomId, createRoom));
+        } catch (SfuException e) {
+            result.setResult(failure(e));
+            return result;
+        }
+        future.whenComplete((body, e) -> result.setResult(e == null ? ResponseEntity.ok(body) : failure(e)));
+        return result;
+    }
+
+    private static DeferredResult<ResponseEntity<Object>> immediate(ResponseEntity<Object> response) {
+        DeferredResult<ResponseEntity<Object>> result = new DeferredResult<>();
+        result.setResult(response);
+        return result;
+    }
+
+    private static ResponseEntity<Object> failure(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (!(cause instanceof SfuException sfu)) {
+            return error(HttpStatus.BAD_REQUEST, "SFU 요청을 만들 수 없습니다.");
+        }
+        String message = switch (sfu.getKind()) {
+            case CIRCUIT_OPEN, NO_NODE, UNREACHABLE -> "SFU에 연결할 수 없습니다.";
+            case TIMEOUT -> "SFU 응답 시간 초과";
+            case ERROR_STATUS -> sfu.httpStatus() == HttpStatus.BAD_GATEWAY.value() ? "SFU 오류" : sfu.getMessage();
+            case BAD_RESPONSE -> "SFU 응답을 해석할 수 없습니다.";
+        };
+        return error(sfu.httpStatus(), message);
+    }
+
+    private static ResponseEntity<Object> error(HttpStatus status, String message) {
+        return error(status.value(), message);
+    }
+
+    private static ResponseEntity<Object> error(int status, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status);
+        body.put("message", message);
+        return ResponseEntity.status(status).body(body);
     }
 }
@@ -18,4 +18,5 @@ public class ChatInboundMessage {
     private String emoji;
     private Map<String, Object> changes;
     private String targetUserId;  // 방장 권한 기능용 (FORCE_MUTE, FORCE_CAMERA_OFF, KICK)
+    private Long clientSentAt;    // TIME_SYNC 요청 시 클라이언트 송신 시각(ms)
 }
@@ -1,5 +1,6 @@
 package com.example.demo.화상채팅.DTO;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -14,6 +15,9 @@ public class ChatOutboundMessage {
     private String userName;
     private String message;
     private long timestamp;
+    /** 방 채팅 순번 (재생 버퍼/재접속 동기화용). 순번을 안 매기는 경로에서는 생략 */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long seq;
 
     public ChatOutboundMessage(String roomId, String userId, String userName, String message, long timestamp) {
         // 화상채팅 방용 고정 타입: CHAT (기존 프론트와 호환)
@@ -0,0 +1,21 @@
+package com.example.demo.화상채팅.DTO;
+
+/**
+ * 참가자 한 명의 참여 시간 집계 (ms). 방 메모리 누계를 회차/방 종료 때 DB로 내보낼 때와 방장 요약 응답에 같이 사용.
+ * periodStart/periodEnd: 집계 구간 (epoch ms)
+ */
+public record ParticipationTotals(String userId, String userName, String userEmail, Long scheduleId,
+                                  long presentMs, long speakingMs, long cameraOnMs, long mutedMs,
+                                  long periodStart, long periodEnd) {
+
+    /** 같은 유저의 다른 구간과 합침 (구간은 양 끝으로 확장) */
+    public ParticipationTotals plus(ParticipationTotals other) {
+        return new ParticipationTotals(userId,
+                other.userName() != null ? other.userName() : userName,
+                userEmail != null ? userEmail : other.userEmail(),
+                scheduleId,
+                presentMs + other.presentMs(), speakingMs + other.speakingMs(),
+                cameraOnMs + other.cameraOnMs(), mutedMs + other.mutedMs(),
+                Math.min(periodStart, other.periodStart()), Math.max(periodEnd, other.periodEnd()));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.demo.화상채팅.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 화상채팅 방 서버 → 클라이언트 이벤트 (타입별 record).
+ * 필드 이름/순서는 기존 Map 페이로드와 동일 → 프론트 변경 없음.
+ * 매번 Map을 만들지 않고 record + 미리 만들어 둔 ObjectWriter로 한 번만 직렬화해 모든 수신자에게 같은 프레임을 보낸다.
+ */
+public final class RoomEvents {
+
+    private RoomEvents() {}
+
+    /** users: 이미 직렬화된 JSON 배열 (presence 버전별 캐시를 그대로 삽입) */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record UsersUpdate(String type, @JsonRawValue String users, Long roomStartedAt, Long roomElapsedMs) {
+        public UsersUpdate(String users, Long roomStartedAt, Long roomElapsedMs) {
+            this("USERS_UPDATE", users, roomStartedAt, roomElapsedMs);
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record PresenceSnapshot(String type, long version, @JsonRawValue String users,
+                                   Long roomStartedAt, Long roomElapsedMs) {
+        public PresenceSnapshot(long version, String users, Long roomStartedAt, Long roomElapsedMs) {
+            this("PRESENCE_SNAPSHOT", version, users, roomStartedAt, roomElapsedMs);
+        }
+    }
+
+    public record PresenceBatch(String type, Object fromVersion, long toVersion, List<Map<String, Object>> events) {
+        public PresenceBatch(Object fromVersion, long toVersion, List<Map<String, Object>> events) {
+            this("PRESENCE_BATCH", fromVersion, toVersion, events);
+        }
+    }
+
+    public record RoomElapsed(String type, long elapsedMs) {
+        public RoomElapsed(long elapsedMs) {
+            this("ROOM_ELAPSED", elapsedMs);
+        }
+    }
+
+    /** 시계 동기화 세션 입장 시 1회. 이후 경과 시간은 클라이언트가 roomStartedAt + 서버 시각 오프셋으로 직접 계산 */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record ClockSync(String type, Long roomStartedAt, long serverTime, long resyncIntervalMs) {
+        public ClockSync(Long roomStartedAt, long serverTime, long resyncIntervalMs) {
+            this("CLOCK_SYNC", roomStartedAt, serverTime, resyncIntervalMs);
+        }
+    }
+
+    /** TIME_SYNC 응답 (NTP 방식). 오프셋 = ((serverReceivedAt - clientSentAt) + (serverSentAt - 수신시각)) / 2 */
+    public record TimeSync(String type, long clientSentAt, long serverReceivedAt, long serverSentAt) {
+        public TimeSync(long clientSentAt, long serverReceivedAt, long serverSentAt) {
+            this("TIME_SYNC", clientSentAt, serverReceivedAt, serverSentAt);
+        }
+    }
+
+    /** 방 소유 노드가 아님 → 이 프레임 후 close(4307). url이 없으면 기본 주소로 재접속 */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record RoomRedirect(String type, String targetNode, String url) {
+        public RoomRedirect(String targetNode, String url) {
+            this("ROOM_REDIRECT", targetNode, url);
+        }
+    }
+
+    /** 기존 방식(full) 세션용: 유저 한 명의 합쳐진 changes */
+    public record UserStateChange(String type, String userId, Map<String, Object> changes) {
+        public UserStateChange(String userId, Map<String, Object> changes) {
+            this("USER_STATE_CHANGE", userId, changes);
+        }
+    }
+
+    /** delta 세션용: flush 틱 하나의 상태 변경 전체: userId → 합쳐진 changes (유저 수와 무관하게 1프레임) */
+    public record UserStateBatch(String type, Map<String, Map<String, Object>> changes) {
+        public UserStateBatch(Map<String, Map<String, Object>> changes) {
+            this("USER_STATE_BATCH", changes);
+        }
+    }
+
+    public record Rejected(String type, String reason) {
+        public Rejected(String reason) {
+            this("REJECTED", reason);
+        }
+    }
+
+    /** 보낸 프레임이 속도 제한으로 버려짐 (보낸 사람에게만) */
+    public record RateLimited(String type, String messageType) {
+        public RateLimited(String messageType) {
+            this("RATE_LIMITED", messageType);
+        }
+    }
+
+    public record HostChanged(String type, String newHostUserId, String newHostUserName) {
+        public HostChanged(String newHostUserId, String newHostUserName) {
+            this("HOST_CHANGED", newHostUserId, newHostUserName);
+        }
+    }
+
+    /** seq: 방 채팅 순번 (재생 버퍼 기준, CHAT과 같은 순번 공간) */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Reaction(String type, String userId, String emoji, Long seq) {
+        public Reaction(String userId, String emoji, Long seq) {
+            this("REACTION", userId, emoji, seq);
+        }
+    }
+
+    /**
+     * 늦게 들어온/재접속한 세션에 최근 채팅·리액션 재생 (입장 시 1회, chatSince 요청 시).
+     * epoch: 순번 기준 (방 시작 시각). 클라이언트가 가진 epoch와 다르면 since 무시하고 버퍼 전체.
+     * messages: 이미 직렬화된 CHAT/REACTION 프레임 배열 (순번 순)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record ChatReplay(String type, Long epoch, long lastSeq, @JsonRawValue String messages) {
+        public ChatReplay(Long epoch, long lastSeq, String messages) {
+            this("CHAT_REPLAY", epoch, lastSeq, messages);
+        }
+    }
+
+    /** FORCE_MUTE / FORCE_CAMERA_OFF / FORCE_UNMUTE / FORCE_CAMERA_ON */
+    public record HostAction(String type, String targetUserId, String hostName) {}
+
+    public record Kicked(String type, String targetUserId, String targetUserName, String hostName) {
+        public Kicked(String targetUserId, String targetUserName, String hostName) {
+            this("KICKED", targetUserId, targetUserName, hostName);
+        }
+    }
+}
@@ -6,6 +6,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Arrays;
+import java.util.List;
+
 @Getter
 @Setter
 @AllArgsConstructor
@@ -42,4 +45,13 @@ public class RoomUser {
     public boolean getCameraOffByHost() {
         return cameraOffByHost;
     }
+
+    /**
+     * 직렬화되는 필드 값 전부 (presence 렌더 캐시의 비교 키). 같으면 렌더 결과도 같음.
+     * 직렬화 필드를 추가하면 여기에도 추가 (RoomPresenceTests가 개수를 확인)
+     */
+    public List<Object> presenceKey() {
+        return Arrays.asList(userId, userName, userEmail, isHost, joinAt, speaking, muted, cameraOff,
+                explicitlyLeft, online, faceEmoji, bgRemove, mutedByHost, cameraOffByHost);
+    }
 }
@@ -0,0 +1,53 @@
+package com.example.demo.화상채팅.Domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/** 화상회의 방 채팅 기록 (MeetingChatArchiver가 모아서 일괄 저장) */
+@Entity
+@Table(name = "meeting_room_chat_message")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MeetingRoomChatMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "room_id", nullable = false, length = 16)
+    private String roomId;
+
+    /** 방 안 채팅 순번 (방 시작 시각 epoch 안에서 단조 증가) */
+    @Column(name = "seq", nullable = false)
+    private Long seq;
+
+    @Column(name = "user_id", length = 64)
+    private String userId;
+
+    @Column(name = "user_name", length = 100)
+    private String userName;
+
+    @Column(name = "message", nullable = false, length = 1000)
+    private String message;
+
+    @Column(name = "sent_at", nullable = false)
+    private LocalDateTime sentAt;
+
+    /** @param zone sent_at 기록 기준 (회의 시간대, 서버 JVM 기본값과 무관) */
+    public MeetingRoomChatMessage(String roomId, long seq, String userId, String userName, String message, long sentAtMs,
+                                  ZoneId zone) {
+        this.roomId = roomId;
+        this.seq = seq;
+        this.userId = userId;
+        this.userName = userName;
+        this.message = message;
+        this.sentAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(sentAtMs), zone);
+    }
+}
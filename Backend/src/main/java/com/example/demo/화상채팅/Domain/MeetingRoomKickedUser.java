@@ -27,9 +27,10 @@ public class MeetingRoomKickedUser {
     @Column(name = "kicked_at", nullable = false)
     private LocalDateTime kickedAt;
 
-    public MeetingRoomKickedUser(String roomId, String userEmail) {
+    /** kickedAt은 조회 범위와 같은 zone 기준 (MeetingRoomKickRegistry.now()) */
+    public MeetingRoomKickedUser(String roomId, String userEmail, LocalDateTime kickedAt) {
         this.roomId = roomId;
         this.userEmail = userEmail;
-        this.kickedAt = LocalDateTime.now();
+        this.kickedAt = kickedAt;
     }
 }
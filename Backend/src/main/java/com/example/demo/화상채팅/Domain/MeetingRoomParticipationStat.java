@@ -0,0 +1,83 @@
+package com.example.demo.화상채팅.Domain;
+
+import com.example.demo.화상채팅.DTO.ParticipationTotals;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/** 화상회의 참여 시간 집계 (참가자 × 집계 구간 1행. 회차 전환 / 방 종료 때 일괄 기록) */
+@Entity
+@Table(name = "meeting_room_participation_stat")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MeetingRoomParticipationStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "room_id", nullable = false, length = 16)
+    private String roomId;
+
+    @Column(name = "schedule_id")
+    private Long scheduleId;
+
+    @Column(name = "user_id", nullable = false, length = 64)
+    private String userId;
+
+    @Column(name = "user_email")
+    private String userEmail;
+
+    @Column(name = "user_name", length = 100)
+    private String userName;
+
+    @Column(name = "present_ms", nullable = false)
+    private long presentMs;
+
+    @Column(name = "speaking_ms", nullable = false)
+    private long speakingMs;
+
+    @Column(name = "camera_on_ms", nullable = false)
+    private long cameraOnMs;
+
+    @Column(name = "muted_ms", nullable = false)
+    private long mutedMs;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDateTime periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDateTime periodEnd;
+
+    /** @param zone period_start/period_end 기록 기준 (회의 시간대, 서버 JVM 기본값과 무관) */
+    public MeetingRoomParticipationStat(String roomId, ParticipationTotals t, ZoneId zone) {
+        this.roomId = roomId;
+        this.scheduleId = t.scheduleId();
+        this.userId = t.userId();
+        this.userEmail = t.userEmail();
+        this.userName = t.userName();
+        this.presentMs = t.presentMs();
+        this.speakingMs = t.speakingMs();
+        this.cameraOnMs = t.cameraOnMs();
+        this.mutedMs = t.mutedMs();
+        this.periodStart = toDateTime(t.periodStart(), zone);
+        this.periodEnd = toDateTime(t.periodEnd(), zone);
+    }
+
+    /** @param zone 저장할 때와 같은 시간대 */
+    public ParticipationTotals toTotals(ZoneId zone) {
+        return new ParticipationTotals(userId, userName, userEmail, scheduleId, presentMs, speakingMs, cameraOnMs, mutedMs,
+                periodStart.atZone(zone).toInstant().toEpochMilli(),
+                periodEnd.atZone(zone).toInstant().toEpochMilli());
+    }
+
+    private static LocalDateTime toDateTime(long epochMs, ZoneId zone) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), zone);
+    }
+}
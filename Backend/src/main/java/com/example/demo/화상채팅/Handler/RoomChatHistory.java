@@ -0,0 +1,54 @@
+package com.example.demo.화상채팅.Handler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 방 하나의 최근 채팅/리액션 재생 버퍼 (고정 크기 링 버퍼).
+ * 이미 직렬화된 프레임을 순번(seq)과 함께 보관 → 늦게 들어온/재접속한 세션에 마지막으로 본 순번 이후만 다시 보낸다.
+ * 다른 노드에서 온 프레임은 순번이 살짝 뒤섞여 들어올 수 있어 꺼낼 때 순번 정렬.
+ * 방 actor(RoomActorExecutor) 스레드에서만 사용하므로 동기화하지 않는다.
+ */
+class RoomChatHistory {
+
+    private record Entry(long seq, String frame) {}
+
+    private final Entry[] ring;
+    private int next;
+    private int size;
+
+    RoomChatHistory(int capacity) {
+        this.ring = new Entry[Math.max(1, capacity)];
+    }
+
+    /** 가득 차면 가장 오래된 항목을 덮어씀 */
+    void append(long seq, String frame) {
+        ring[next] = new Entry(seq, frame);
+        next = (next + 1) % ring.length;
+        if (size < ring.length) size++;
+    }
+
+    /** afterSeq보다 뒤의 프레임 (순번 순) */
+    List<String> since(long afterSeq) {
+        List<Entry> picked = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Entry e = ring[(next - size + i + ring.length) % ring.length];
+            if (e.seq() > afterSeq) picked.add(e);
+        }
+        picked.sort(Comparator.comparingLong(Entry::seq));
+        List<String> frames = new ArrayList<>(picked.size());
+        for (Entry e : picked) frames.add(e.frame());
+        return frames;
+    }
+
+    long lastSeq() {
+        long max = 0;
+        for (int i = 0; i < size; i++) max = Math.max(max, ring[(next - size + i + ring.length) % ring.length].seq());
+        return max;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.화상채팅.Handler;
+
+import java.util.ArrayDeque;
+
+/**
+ * 방 하나의 입장/퇴장 폭주(join storm) 감지.
+ * 평소에는 입장/퇴장마다 바로 presence 브로드캐스트. windowMs 안에 threshold번 이상 몰리면 폭주로 보고
+ * 마지막 입장/퇴장 후 quietMs 동안 조용해질 때까지 브로드캐스트를 미뤘다가 한 번만 보낸다
+ * (계속 몰려도 첫 보류 후 maxDelayMs 안에는 반드시 한 번 보냄).
+ * 방 actor(RoomActorExecutor) 스레드에서만 사용하므로 동기화하지 않는다.
+ */
+class RoomChurnGate {
+
+    private final int threshold;
+    private final long windowMs;
+    private final long quietMs;
+    private final long maxDelayMs;
+
+    /** windowMs 안의 입장/퇴장 시각 */
+    private final ArrayDeque<Long> recent = new ArrayDeque<>();
+    private long pendingSince = -1;
+    private long lastChurnAt;
+    private boolean flushScheduled;
+
+    RoomChurnGate(int threshold, long windowMs, long quietMs, long maxDelayMs) {
+        this.threshold = threshold;
+        this.windowMs = windowMs;
+        this.quietMs = quietMs;
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    /** @return true면 지금 바로 브로드캐스트, false면 보류 (보류 중에는 flush가 모아서 1회) */
+    boolean admit(long now) {
+        while (!recent.isEmpty() && now - recent.peekFirst() > windowMs) recent.pollFirst();
+        recent.addLast(now);
+        lastChurnAt = now;
+        if (pendingSince < 0 && recent.size() < threshold) return true;
+        if (pendingSince < 0) pendingSince = now;
+        return false;
+    }
+
+    /** 보류 후 첫 호출이면 true → 호출 측이 flush 예약 */
+    boolean claimFlushSchedule() {
+        if (flushScheduled) return false;
+        flushScheduled = true;
+        return true;
+    }
+
+    boolean pending() {
+        return pendingSince >= 0;
+    }
+
+    /** @return 0이면 지금 flush, 아니면 더 기다릴 ms (조용한 창이 아직 안 지남) */
+    long remainingDelay(long now) {
+        long due = Math.min(lastChurnAt + quietMs, pendingSince + maxDelayMs);
+        return Math.max(0, due - now);
+    }
+
+    /** flush 완료. 최근 입장/퇴장 기록은 유지 → 폭주가 이어지면 다음 입장도 곧바로 보류 */
+    void flushed() {
+        pendingSince = -1;
+        flushScheduled = false;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.화상채팅.Handler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 방 이벤트 직렬화기.
+ * - 이벤트 타입(record)별 ObjectWriter를 처음 한 번만 만들어 재사용 (매 호출 타입 탐색/Map 생성 없음)
+ * - encode 결과 TextMessage 하나를 모든 수신자에게 그대로 전송 → 수신자 수와 무관하게 직렬화 1회
+ * - presence 유저 목록 JSON은 RoomPresence에 버전별로 캐시 (USERS_UPDATE, 늦게 들어온 세션 스냅샷, RESYNC 공용)
+ */
+class RoomFrameEncoder {
+
+    private final ObjectWriter usersWriter;
+    private final ClassValue<ObjectWriter> writers;
+
+    private final AtomicLong framesEncoded = new AtomicLong();
+    private final AtomicLong usersJsonEncoded = new AtomicLong();
+    private final AtomicLong usersJsonReused = new AtomicLong();
+
+    RoomFrameEncoder(ObjectMapper objectMapper) {
+        this.usersWriter = objectMapper.writerFor(new TypeReference<List<Map<String, Object>>>() {});
+        this.writers = new ClassValue<>() {
+            @Override
+            protected ObjectWriter computeValue(Class<?> type) {
+                return objectMapper.writerFor(type);
+            }
+        };
+    }
+
+    TextMessage encode(Object event) throws JsonProcessingException {
+        framesEncoded.incrementAndGet();
+        return new TextMessage(writers.get(event.getClass()).writeValueAsString(event));
+    }
+
+    /** presence 현재 버전의 유저 목록 JSON 배열. 버전이 그대로면 캐시 재사용 */
+    String usersJson(RoomPresence presence) throws JsonProcessingException {
+        String cached = presence.cachedUsersJson();
+        if (cached != null) {
+            usersJsonReused.incrementAndGet();
+            return cached;
+        }
+        String json = usersWriter.writeValueAsString(presence.snapshot());
+        presence.cacheUsersJson(json);
+        usersJsonEncoded.incrementAndGet();
+        return json;
+    }
+
+    Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("framesEncoded", framesEncoded.get());
+        m.put("usersJsonEncoded", usersJsonEncoded.get());
+        m.put("usersJsonReused", usersJsonReused.get());
+        return m;
+    }
+}
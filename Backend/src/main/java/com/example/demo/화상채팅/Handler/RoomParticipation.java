@@ -0,0 +1,135 @@
+package com.example.demo.화상채팅.Handler;
+
+import com.example.demo.화상채팅.DTO.ParticipationTotals;
+import com.example.demo.화상채팅.DTO.RoomUser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 방 하나의 참여 시간 누계 (접속 / 말하기 / 카메라 켬 / 음소거 시간).
+ * 이벤트마다 RoomUser의 현재 상태를 observe → 바뀐 플래그만 구간을 닫아 long 누계에 더함 (이벤트당 O(1), DB 쓰기 없음).
+ * drain으로 지난 drain 이후 구간을 꺼내 DB에 한 번에 기록 (회차 전환 / 방 종료 시).
+ * 방 actor(RoomActorExecutor) 스레드에서만 사용하므로 동기화하지 않는다.
+ */
+class RoomParticipation {
+
+    private static final class Tally {
+        String userName;
+        String userEmail;
+        boolean present;
+        boolean speaking;
+        boolean cameraOn;
+        boolean muted;
+        long presentSince;
+        long speakingSince;
+        long cameraOnSince;
+        long mutedSince;
+        long presentMs;
+        long speakingMs;
+        long cameraOnMs;
+        long mutedMs;
+    }
+
+    private final Map<String, Tally> tallies = new HashMap<>();
+    private Long scheduleId;
+    private long periodStart;
+
+    RoomParticipation(long now) {
+        this.periodStart = now;
+    }
+
+    /** 입장 파라미터의 회차 (아직 모를 때만 반영, 이후에는 회차 전환으로만 바뀜) */
+    void offerScheduleId(Long scheduleId) {
+        if (this.scheduleId == null) this.scheduleId = scheduleId;
+    }
+
+    /** 유저 상태가 바뀌었을 수 있을 때마다 호출. 오프라인이면 모든 구간 종료 */
+    void observe(RoomUser user, long now) {
+        if (user == null || user.getUserId() == null) return;
+        Tally t = tallies.computeIfAbsent(user.getUserId(), k -> new Tally());
+        t.userName = user.getUserName();
+        t.userEmail = user.getUserEmail();
+        boolean present = user.isOnline();
+        apply(t, present, present && user.isSpeaking(), present && !user.isCameraOff(), present && user.isMuted(), now);
+    }
+
+    /** 퇴장/강퇴: 유저 객체 상태와 무관하게 구간 종료 */
+    void leave(String userId, long now) {
+        Tally t = tallies.get(userId);
+        if (t != null) apply(t, false, false, false, false, now);
+    }
+
+    private static void apply(Tally t, boolean present, boolean speaking, boolean cameraOn, boolean muted, long now) {
+        if (t.present != present) {
+            if (t.present) t.presentMs += now - t.presentSince;
+            t.present = present;
+            t.presentSince = now;
+        }
+        if (t.speaking != speaking) {
+            if (t.speaking) t.speakingMs += now - t.speakingSince;
+            t.speaking = speaking;
+            t.speakingSince = now;
+        }
+        if (t.cameraOn != cameraOn) {
+            if (t.cameraOn) t.cameraOnMs += now - t.cameraOnSince;
+            t.cameraOn = cameraOn;
+            t.cameraOnSince = now;
+        }
+        if (t.muted != muted) {
+            if (t.muted) t.mutedMs += now - t.mutedSince;
+            t.muted = muted;
+            t.mutedSince = now;
+        }
+    }
+
+    /** 지난 drain 이후 누계 (열린 구간은 now까지 포함). 상태는 바꾸지 않음 */
+    List<ParticipationTotals> snapshot(long now) {
+        List<ParticipationTotals> result = new ArrayList<>(tallies.size());
+        for (Map.Entry<String, Tally> e : tallies.entrySet()) {
+            ParticipationTotals totals = totals(e.getKey(), e.getValue(), now);
+            if (totals.presentMs() > 0) result.add(totals);
+        }
+        return result;
+    }
+
+    /**
+     * snapshot을 꺼내고 누계를 0으로 (열린 구간은 now부터 다시 셈). 나간 유저는 정리.
+     * @param nextScheduleId 회차 전환이면 새 회차, 아니면 null (기존 회차 유지)
+     */
+    List<ParticipationTotals> drain(long now, Long nextScheduleId) {
+        List<ParticipationTotals> result = snapshot(now);
+        Iterator<Tally> it = tallies.values().iterator();
+        while (it.hasNext()) {
+            Tally t = it.next();
+            if (!t.present) {
+                it.remove();
+                continue;
+            }
+            t.presentMs = t.speakingMs = t.cameraOnMs = t.mutedMs = 0;
+            t.presentSince = now;
+            if (t.speaking) t.speakingSince = now;
+            if (t.cameraOn) t.cameraOnSince = now;
+            if (t.muted) t.mutedSince = now;
+        }
+        periodStart = now;
+        if (nextScheduleId != null) scheduleId = nextScheduleId;
+        return result;
+    }
+
+    private ParticipationTotals totals(String userId, Tally t, long now) {
+        return new ParticipationTotals(userId, t.userName, t.userEmail, scheduleId,
+                t.presentMs + (t.present ? now - t.presentSince : 0),
+                t.speakingMs + (t.speaking ? now - t.speakingSince : 0),
+                t.cameraOnMs + (t.cameraOn ? now - t.cameraOnSince : 0),
+                t.mutedMs + (t.muted ? now - t.mutedSince : 0),
+                periodStart, now);
+    }
+
+    boolean isEmpty() {
+        return tallies.isEmpty();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.demo.화상채팅.Handler;
+
+import com.example.demo.화상채팅.DTO.RoomUser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 방 하나의 presence(참가자 상태) 버전 관리.
+ * 마지막으로 발행한 유저별 필드 상태를 기억해 두고, 현재 상태와 비교해
+ * USER_JOINED / USER_LEFT / USER_PATCH(바뀐 필드만) 이벤트를 만든다.
+ * 이벤트 하나마다 version이 1씩 증가 → 클라이언트는 version 공백을 보면 RESYNC 요청.
+ *
+ * 스레드 안전하지 않음: 방 actor(RoomActorExecutor) 스레드에서만 사용한다.
+ */
+class RoomPresence {
+
+    private long version;
+    /** userId → 마지막으로 발행한 유저 필드 (입장 순서 유지) */
+    private final Map<String, Map<String, Object>> published = new LinkedHashMap<>();
+    /** userId → 마지막 렌더 결과와 그 기준 값. 값이 같으면 필드 맵을 다시 만들지 않음 */
+    private final Map<String, Rendered> rendered = new HashMap<>();
+    /** 직렬화된 snapshot JSON 캐시와 그 시점 version (version이 바뀌면 무효) */
+    private String usersJson;
+    private long usersJsonVersion = -1;
+
+    long version() {
+        return version;
+    }
+
+    /** 마지막으로 발행한 상태 그대로의 전체 목록 (version과 항상 일치) */
+    List<Map<String, Object>> snapshot() {
+        return new ArrayList<>(published.values());
+    }
+
+    /** 현재 version의 직렬화된 snapshot. 없거나 version이 바뀌었으면 null */
+    String cachedUsersJson() {
+        return usersJsonVersion == version ? usersJson : null;
+    }
+
+    void cacheUsersJson(String json) {
+        this.usersJson = json;
+        this.usersJsonVersion = version;
+    }
+
+    private record Rendered(List<Object> key, Map<String, Object> fields) {}
+
+    /**
+     * 유저 목록 → diff 입력(userId → 필드). 값이 바뀐 유저만 renderer로 새로 만들고 나머지는 이전 맵 재사용
+     * (재사용된 맵은 published와 같은 인스턴스 → diff가 필드 비교 없이 건너뜀)
+     */
+    Map<String, Map<String, Object>> render(List<RoomUser> users, Function<RoomUser, Map<String, Object>> renderer) {
+        Map<String, Map<String, Object>> current = new LinkedHashMap<>();
+        for (RoomUser u : users) {
+            List<Object> key = u.presenceKey();
+            Rendered r = rendered.get(u.getUserId());
+            if (r == null || !r.key().equals(key)) {
+                r = new Rendered(key, renderer.apply(u));
+                rendered.put(u.getUserId(), r);
+            }
+            current.put(u.getUserId(), r.fields());
+        }
+        rendered.keySet().retainAll(current.keySet());
+        return current;
+    }
+
+    /**
+     * @param current userId → 현재 유저 필드 (입장 순서)
+     * @return 발행할 이벤트 목록. 변화가 없으면 빈 목록
+     */
+    List<Map<String, Object>> diff(Map<String, Map<String, Object>> current) {
+        List<Map<String, Object>> events = new ArrayList<>();
+
+        Iterator<Map.Entry<String, Map<String, Object>>> it = published.entrySet().iterator();
+        while (it.hasNext()) {
+            String userId = it.next().getKey();
+            if (!current.containsKey(userId)) {
+                it.remove();
+                Map<String, Object> event = newEvent("USER_LEFT");
+                event.put("userId", userId);
+                events.add(event);
+            }
+        }
+
+        for (Map.Entry<String, Map<String, Object>> e : current.entrySet()) {
+            String userId = e.getKey();
+            Map<String, Object> fields = e.getValue();
+            Map<String, Object> previous = published.get(userId);
+            if (previous == fields) continue; // render()가 재사용한 맵 → 변화 없음
+
+            if (previous == null) {
+                Map<String, Object> event = newEvent("USER_JOINED");
+                event.put("user", fields);
+                events.add(event);
+            } else {
+                Map<String, Object> changes = new LinkedHashMap<>();
+                for (Map.Entry<String, Object> f : fields.entrySet()) {
+                    if (!Objects.equals(previous.get(f.getKey()), f.getValue())) {
+                        changes.put(f.getKey(), f.getValue());
+                    }
+                }
+                if (changes.isEmpty()) continue;
+                Map<String, Object> event = newEvent("USER_PATCH");
+                event.put("userId", userId);
+                event.put("changes", changes);
+                events.add(event);
+            }
+            published.put(userId, fields);
+        }
+        return events;
+    }
+
+    private Map<String, Object> newEvent(String type) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", type);
+        event.put("version", ++version);
+        return event;
+    }
+}
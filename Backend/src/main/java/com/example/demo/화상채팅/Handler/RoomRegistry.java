@@ -0,0 +1,128 @@
+package com.example.demo.화상채팅.Handler;
+
+import com.example.demo.화상채팅.DTO.RoomUser;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * 방 하나의 참가자/세션 레지스트리.
+ * - sessionId → 세션, sessionId → 유저, userId → sessionId 양방향 인덱스: 재접속 판단·FORCE_*·KICK 대상 조회가 O(1)
+ * - 입장 순서(members): 온라인 + 재접속 대기 유저를 처음 입장한 순서대로 유지
+ *   → USERS_UPDATE 목록과 새 방장 선정에 정렬이 필요 없음 (재접속해도 순서 유지, 완전히 나가면 제거)
+ *
+ * 변경은 방 actor 스레드에서만 한다. 세션/온라인 유저 조회는 다른 스레드(회차 전환 엔진 등)에서도 읽을 수 있도록 동시성 맵 사용.
+ */
+class RoomRegistry {
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, RoomUser> usersBySession = new ConcurrentHashMap<>();
+    private final Map<String, String> sessionIdByUserId = new ConcurrentHashMap<>();
+    /** userId → 재접속 대기 중(online=false) 유저 */
+    private final Map<String, RoomUser> disconnected = new ConcurrentHashMap<>();
+    /** userId → 유저, 입장 순서 (온라인 + 재접속 대기) */
+    private final Map<String, RoomUser> members = new LinkedHashMap<>();
+
+    /* ---------- 세션 ---------- */
+
+    WebSocketSession session(String sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    Collection<WebSocketSession> sessions() {
+        return sessions.values();
+    }
+
+    boolean hasSessions() {
+        return !sessions.isEmpty();
+    }
+
+    /* ---------- 온라인 유저 ---------- */
+
+    RoomUser userBySession(String sessionId) {
+        return usersBySession.get(sessionId);
+    }
+
+    RoomUser onlineUser(String userId) {
+        String sessionId = userId != null ? sessionIdByUserId.get(userId) : null;
+        return sessionId != null ? usersBySession.get(sessionId) : null;
+    }
+
+    String sessionIdOf(String userId) {
+        return userId != null ? sessionIdByUserId.get(userId) : null;
+    }
+
+    Collection<RoomUser> onlineUsers() {
+        return usersBySession.values();
+    }
+
+    boolean hasOnlineUsers() {
+        return !usersBySession.isEmpty();
+    }
+
+    /** 세션 등록 + 유저 온라인 처리. 처음 보는 유저면 입장 순서 맨 뒤에 추가 */
+    void attach(WebSocketSession session, RoomUser user) {
+        String sessionId = session.getId();
+        sessions.put(sessionId, session);
+        usersBySession.put(sessionId, user);
+        sessionIdByUserId.put(user.getUserId(), sessionId);
+        disconnected.remove(user.getUserId());
+        members.putIfAbsent(user.getUserId(), user);
+    }
+
+    /** 세션과 그 세션의 온라인 유저 매핑 제거. 유저는 입장 순서에 남는다 (재접속 대기/완전 퇴장은 호출 측이 결정) */
+    RoomUser detach(String sessionId) {
+        sessions.remove(sessionId);
+        RoomUser user = usersBySession.remove(sessionId);
+        if (user != null) sessionIdByUserId.remove(user.getUserId(), sessionId);
+        return user;
+    }
+
+    /* ---------- 재접속 대기 ---------- */
+
+    void markDisconnected(RoomUser user) {
+        disconnected.put(user.getUserId(), user);
+    }
+
+    RoomUser removeDisconnected(String userId) {
+        return disconnected.remove(userId);
+    }
+
+    /** 재시작 스냅샷에서 복원한 유저: 입장 순서에 넣고 재접속 대기로 보관 */
+    void restoreDisconnected(RoomUser user) {
+        members.putIfAbsent(user.getUserId(), user);
+        disconnected.put(user.getUserId(), user);
+    }
+
+    /* ---------- 입장 순서 ---------- */
+
+    /** 방에서 완전히 제거 (LEAVE, KICK, 재접속 유예 만료) */
+    void removeMember(String userId) {
+        members.remove(userId);
+        disconnected.remove(userId);
+    }
+
+    /** 온라인 + 재접속 대기 유저, 입장 순서 */
+    List<RoomUser> membersInJoinOrder() {
+        return new ArrayList<>(members.values());
+    }
+
+    /** 입장 순서상 조건을 만족하는 첫 유저 (새 방장 선정용) */
+    RoomUser firstMember(Predicate<RoomUser> filter) {
+        for (RoomUser u : members.values()) {
+            if (filter.test(u)) return u;
+        }
+        return null;
+    }
+
+    /** 온라인/재접속 대기 유저가 모두 없음 */
+    boolean isEmpty() {
+        return members.isEmpty();
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.demo.화상채팅.Handler;
+
+import com.example.demo.화상채팅.DTO.RoomUser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * 방 상태 재시작 스냅샷 (바이너리).
+ * [magic][version][takenAt][방 수] { roomId, startedAt, [유저 수] { userId, userName, userEmail, faceEmoji, joinAt, 플래그 1바이트 } } [CRC32]
+ * 임시 파일에 쓴 뒤 rename으로 교체 → 쓰는 도중 종료돼도 이전 스냅샷이 그대로 남음.
+ * 파일 하나에 최신 상태만 두므로 mmap/append 로그 없이 전체를 다시 쓴다 (방 수 × 참가자 수 수준이라 수 KB)
+ */
+final class RoomSnapshotFile {
+
+    private static final int MAGIC = 0x4D525331; // "MRS1"
+    private static final short VERSION = 1;
+
+    private static final int HOST = 1;
+    private static final int MUTED = 1 << 1;
+    private static final int CAMERA_OFF = 1 << 2;
+    private static final int EXPLICITLY_LEFT = 1 << 3;
+    private static final int BG_REMOVE = 1 << 4;
+    private static final int MUTED_BY_HOST = 1 << 5;
+    private static final int CAMERA_OFF_BY_HOST = 1 << 6;
+
+    record RoomSnapshot(String roomId, long startedAt, List<RoomUser> members) {}
+
+    record Snapshot(long takenAt, List<RoomSnapshot> rooms) {
+        int userCount() {
+            return rooms.stream().mapToInt(r -> r.members().size()).sum();
+        }
+    }
+
+    private final Path path;
+
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong writeFailures = new AtomicLong();
+    private final AtomicLong lastBytes = new AtomicLong();
+    private final AtomicLong lastWriteMs = new AtomicLong();
+    private final AtomicLong lastWrittenAt = new AtomicLong();
+    private volatile Map<String, Object> restore = Map.of();
+
+    RoomSnapshotFile(Path path) {
+        this.path = path;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /** 스냅샷 저장. 실패는 지표에만 남기고 false (서비스 중단 사유 아님) */
+    boolean save(Snapshot snapshot) {
+        long start = System.nanoTime();
+        try {
+            lastBytes.set(write(path, snapshot));
+            lastWriteMs.set((System.nanoTime() - start) / 1_000_000);
+            lastWrittenAt.set(snapshot.takenAt());
+            writes.incrementAndGet();
+            return true;
+        } catch (IOException e) {
+            writeFailures.incrementAndGet();
+            System.err.println("⚠️ [RoomSnapshotFile] 스냅샷 저장 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /** 시작 시 복원용 로드. 없거나 손상됐거나 maxAgeMs보다 오래된 스냅샷이면 null */
+    Snapshot load(long maxAgeMs) {
+        long start = System.nanoTime();
+        Map<String, Object> r = new LinkedHashMap<>();
+        Snapshot snapshot = null;
+        try {
+            snapshot = read(path);
+            if (snapshot == null) {
+                r.put("status", "none");
+            } else if (System.currentTimeMillis() - snapshot.takenAt() > maxAgeMs) {
+                r.put("status", "expired");
+                r.put("snapshotAgeMs", System.currentTimeMillis() - snapshot.takenAt());
+                snapshot = null;
+            } else {
+                r.put("status", "restored");
+                r.put("snapshotAgeMs", System.currentTimeMillis() - snapshot.takenAt());
+                r.put("bytes", Files.size(path));
+                r.put("rooms", snapshot.rooms().size());
+                r.put("users", snapshot.userCount());
+            }
+        } catch (IOException e) {
+            r.put("status", "corrupt");
+            System.err.println("⚠️ [RoomSnapshotFile] 스냅샷 복원 실패 - 무시: " + e.getMessage());
+            snapshot = null;
+        }
+        r.put("restoreMs", (System.nanoTime() - start) / 1_000_000);
+        restore = r;
+        return snapshot;
+    }
+
+    Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("path", path.toString());
+        m.put("writes", writes.get());
+        m.put("writeFailures", writeFailures.get());
+        m.put("lastBytes", lastBytes.get());
+        m.put("lastWriteMs", lastWriteMs.get());
+        m.put("lastWrittenAt", lastWrittenAt.get());
+        m.put("restore", restore);
+        return m;
+    }
+
+    static byte[] encode(Snapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(snapshot.takenAt());
+        out.writeInt(snapshot.rooms().size());
+        for (RoomSnapshot room : snapshot.rooms()) {
+            out.writeUTF(room.roomId());
+            out.writeLong(room.startedAt());
+            out.writeInt(room.members().size());
+            for (RoomUser u : room.members()) {
+                out.writeUTF(u.getUserId());
+                writeNullable(out, u.getUserName());
+                writeNullable(out, u.getUserEmail());
+                writeNullable(out, u.getFaceEmoji());
+                out.writeLong(u.getJoinAt());
+                out.writeByte(flags(u));
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /** 복원된 유저는 모두 online=false (재접속 대기), speaking=false */
+    static Snapshot decode(byte[] data) throws IOException {
+        if (data.length < 4) throw new IOException("snapshot too short");
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != MAGIC) throw new IOException("not a room snapshot");
+        short version = in.readShort();
+        if (version != VERSION) throw new IOException("unsupported snapshot version " + version);
+        long takenAt = in.readLong();
+        int roomCount = readCount(in);
+        List<RoomSnapshot> rooms = new ArrayList<>();
+        for (int i = 0; i < roomCount; i++) {
+            String roomId = in.readUTF();
+            long startedAt = in.readLong();
+            int memberCount = readCount(in);
+            List<RoomUser> members = new ArrayList<>();
+            for (int j = 0; j < memberCount; j++) {
+                String userId = in.readUTF();
+                String userName = readNullable(in);
+                String userEmail = readNullable(in);
+                String faceEmoji = readNullable(in);
+                long joinAt = in.readLong();
+                int f = in.readUnsignedByte();
+                members.add(new RoomUser(userId, userName, userEmail, (f & HOST) != 0, joinAt,
+                        false, (f & MUTED) != 0, (f & CAMERA_OFF) != 0, (f & EXPLICITLY_LEFT) != 0, false,
+                        faceEmoji, (f & BG_REMOVE) != 0, (f & MUTED_BY_HOST) != 0, (f & CAMERA_OFF_BY_HOST) != 0));
+            }
+            rooms.add(new RoomSnapshot(roomId, startedAt, members));
+        }
+        int expected = in.readInt();
+        if (expected != (int) crc.getValue()) throw new IOException("snapshot checksum mismatch");
+        return new Snapshot(takenAt, rooms);
+    }
+
+    /** @return 기록한 바이트 수 */
+    static int write(Path path, Snapshot snapshot) throws IOException {
+        byte[] data = encode(snapshot);
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(tmp, data);
+        try {
+            Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return data.length;
+    }
+
+    /** 파일이 없으면 null */
+    static Snapshot read(Path path) throws IOException {
+        if (!Files.exists(path)) return null;
+        return decode(Files.readAllBytes(path));
+    }
+
+    private static int flags(RoomUser u) {
+        int f = 0;
+        if (u.isHost()) f |= HOST;
+        if (u.isMuted()) f |= MUTED;
+        if (u.isCameraOff()) f |= CAMERA_OFF;
+        if (u.isExplicitlyLeft()) f |= EXPLICITLY_LEFT;
+        if (u.isBgRemove()) f |= BG_REMOVE;
+        if (u.getMutedByHost()) f |= MUTED_BY_HOST;
+        if (u.getCameraOffByHost()) f |= CAMERA_OFF_BY_HOST;
+        return f;
+    }
+
+    /** 손상된 길이 값으로 큰 배열을 잡지 않도록 남은 바이트 수로 상한 검사 */
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > in.available()) throw new IOException("invalid snapshot count " + count);
+        return count;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
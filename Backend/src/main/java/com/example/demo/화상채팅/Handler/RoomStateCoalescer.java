@@ -0,0 +1,52 @@
+package com.example.demo.화상채팅.Handler;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 방 하나의 SPEAKING / USER_STATE_CHANGE 모음 버퍼.
+ * 짧은 창(window) 동안 들어온 변경을 유저별로 합쳐 두었다가(같은 필드는 마지막 값 우선)
+ * flush 시 한 번에 꺼낸다. 첫 변경이 들어왔을 때만 flush 예약이 필요하다고 알려줌.
+ * 방 actor(RoomActorExecutor) 스레드에서만 사용하므로 동기화하지 않는다.
+ */
+class RoomStateCoalescer {
+
+    record Batch(Map<String, Map<String, Object>> stateChanges, boolean presenceDirty) {
+        boolean isEmpty() {
+            return stateChanges.isEmpty() && !presenceDirty;
+        }
+    }
+
+    /** userId → 창 동안 합쳐진 changes */
+    private Map<String, Map<String, Object>> stateChanges = new LinkedHashMap<>();
+    private boolean presenceDirty;
+    private boolean flushScheduled;
+
+    /** @return true면 호출 측이 flush를 예약해야 함 */
+    boolean addStateChange(String userId, Map<String, Object> changes) {
+        if (changes != null && !changes.isEmpty()) {
+            stateChanges.computeIfAbsent(userId, k -> new LinkedHashMap<>()).putAll(changes);
+        }
+        return requestFlush();
+    }
+
+    /** speaking 등 USERS_UPDATE로 전달되는 상태가 바뀜. @return true면 flush 예약 필요 */
+    boolean markPresenceDirty() {
+        presenceDirty = true;
+        return requestFlush();
+    }
+
+    Batch drain() {
+        Batch batch = new Batch(stateChanges, presenceDirty);
+        stateChanges = new LinkedHashMap<>();
+        presenceDirty = false;
+        flushScheduled = false;
+        return batch;
+    }
+
+    private boolean requestFlush() {
+        if (flushScheduled) return false;
+        flushScheduled = true;
+        return true;
+    }
+}
@@ -1,12 +1,36 @@
 package com.example.demo.화상채팅.Handler;
 
+import com.example.demo.common.websocket.InboundRateLimiter;
+import com.example.demo.common.websocket.ReconnectHints;
+import com.example.demo.common.websocket.WebSocketSender;
+import com.example.demo.화상채팅.Cluster.DrainableRoomHandler;
+import com.example.demo.화상채팅.Cluster.RoomAffinityRouter;
+import com.example.demo.화상채팅.Cluster.RoomClusterEvent;
+import com.example.demo.화상채팅.Cluster.RoomEventBus;
+import com.example.demo.화상채팅.Cluster.RoomOwnership;
+import com.example.demo.화상채팅.Cluster.RoomStateStore;
 import com.example.demo.화상채팅.DTO.ChatInboundMessage;
 import com.example.demo.화상채팅.DTO.ChatOutboundMessage;
+import com.example.demo.화상채팅.DTO.ParticipationTotals;
+import com.example.demo.화상채팅.DTO.RoomEvents;
 import com.example.demo.화상채팅.DTO.RoomUser;
+import com.example.demo.화상채팅.Scheduler.RoomActorExecutor;
+import com.example.demo.화상채팅.Scheduler.RoomTaskScheduler;
+import com.example.demo.화상채팅.Scheduler.SessionRolloverEngine;
+import com.example.demo.화상채팅.Service.MeetingChatArchiver;
+import com.example.demo.화상채팅.Service.MeetingRoomAdmission;
+import com.example.demo.화상채팅.Service.MeetingRoomAuditPipeline;
+import com.example.demo.화상채팅.Service.MeetingRoomKickRegistry;
 import com.example.demo.화상채팅.Service.MeetingRoomService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
@@ -14,39 +38,322 @@ import org.springframework.web.socket.handler.TextWebSocketHandler;
 import java.net.URI;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
-public class RoomWebSocketHandler extends TextWebSocketHandler {
+public class RoomWebSocketHandler extends TextWebSocketHandler implements DrainableRoomHandler, SubProtocolCapable {
 
-    private final Map<String, Map<String, WebSocketSession>> roomSessions = new ConcurrentHashMap<>();
-    private final Map<String, Map<String, RoomUser>> roomUsers = new ConcurrentHashMap<>();
+    /** 방별 세션/참가자 레지스트리 (userId↔sessionId 인덱스 + 입장 순서, 재접속 대기 유저 포함) */
+    private final Map<String, RoomRegistry> rooms = new ConcurrentHashMap<>();
 
-    private final Map<String, Map<String, TimerTask>> leaveTimers = new ConcurrentHashMap<>();
-    /** 새로고침 등 연결 끊김 시 유저를 일시 보관 (online=false). 재접속 시 복원, 일정 시간 후 제거 */
-    private final Map<String, Map<String, RoomUser>> roomDisconnectedUsers = new ConcurrentHashMap<>();
-    private final Map<String, Map<String, TimerTask>> roomDisconnectedTimers = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, ScheduledFuture<?>>> leaveTimers = new ConcurrentHashMap<>();
+    /** 새로고침 등 연결 끊김 시 유저는 RoomRegistry에 일시 보관 (online=false). 재접속 시 복원, 일정 시간 후 제거 */
+    private final Map<String, Map<String, ScheduledFuture<?>>> roomDisconnectedTimers = new ConcurrentHashMap<>();
     private static final long DISCONNECTED_REMOVE_MS = 60_000L;
+    /** 다른 노드로 재접속 안내된 세션: 새 노드에서 다시 들어오므로 짧게만 "재접속 중"으로 보관 */
+    private static final long REDIRECTED_REMOVE_MS = 10_000L;
+    private static final String REDIRECTED_ATTR = "redirectedTo";
 
-    /** 방별 "첫 입장" 시각(ms). 가장 처음 입장한 사람 기준 경과 시간 동기화용 */
-    private final Map<String, Long> roomStartedAtMap = new ConcurrentHashMap<>();
-    /** 방별 경과 시간 브로드캐스트 타이머. 1초마다 서버 기준 elapsed 전송 → 모든 클라이언트 동일 표시 */
-    private final Map<String, Timer> roomElapsedTimers = new ConcurrentHashMap<>();
-    /** 세션별 전송 락. Tomcat WebSocket은 같은 세션에 동시 전송 시 TEXT_PARTIAL_WRITING 예외 발생 → 전송 직렬화 */
-    private final Map<String, Object> sessionSendLocks = new ConcurrentHashMap<>();
+    /**
+     * 방별 ROOM_ELAPSED 1초 틱 (구버전 클라이언트 호환용).
+     * ?clock=sync 세션은 CLOCK_SYNC/TIME_SYNC로 서버 시각 오프셋만 받고 경과 시간은 로컬 계산 → 틱 불필요.
+     * 방에 구버전 세션이 있을 때만 돌고, 남은 구버전 세션이 없으면 스스로 멈춘다.
+     */
+    private final Map<String, ScheduledFuture<?>> roomElapsedTimers = new ConcurrentHashMap<>();
+    private static final String CLOCK_MODE_ATTR = "clockMode";
+    private static final String CLOCK_SYNC = "sync";
+    /** 클라이언트 TIME_SYNC 재요청 주기 (CLOCK_SYNC로 전달). 시계 drift 보정용이라 길게 */
+    private final long clockResyncMs;
+    private final AtomicLong clockSyncSent = new AtomicLong();
+    private final AtomicLong timeSyncReplies = new AtomicLong();
+    private final AtomicLong roomElapsedFrames = new AtomicLong();
+
+    /** 방별 presence 버전/마지막 발행 상태. delta 모드 세션에는 바뀐 유저만 USER_JOINED/USER_LEFT/USER_PATCH로 전송 */
+    private final Map<String, RoomPresence> roomPresence = new ConcurrentHashMap<>();
+    /** 접속 시 ?presence=delta 로 협상. 미지정(기본)은 기존 USERS_UPDATE 전체 목록 방식 */
+    private static final String PRESENCE_MODE_ATTR = "presenceMode";
+    private static final String PRESENCE_DELTA = "delta";
+    /** delta 세션이 PRESENCE_SNAPSHOT을 받은 뒤에만 패치를 보냄 (스냅샷 이전 패치는 의미 없음) */
+    private static final String PRESENCE_SYNCED_ATTR = "presenceSynced";
+    private static final TypeReference<LinkedHashMap<String, Object>> USER_FIELDS_TYPE = new TypeReference<>() {};
+
+    /** 방별 SPEAKING / USER_STATE_CHANGE 모음 버퍼. 창(coalesceWindowMs)마다 한 번만 fan-out */
+    private final Map<String, RoomStateCoalescer> roomCoalescers = new ConcurrentHashMap<>();
+    private final long coalesceWindowMs;
+
+    /**
+     * 방별 입장/퇴장 폭주 감지. 배포·네트워크 순단 뒤 전원이 몇 초 안에 재접속하면
+     * 입장마다 전체 목록을 보내는 대신(30명 방 ≈ 900프레임) 조용해질 때까지 모았다가 presence 1회
+     */
+    private final Map<String, RoomChurnGate> roomChurn = new ConcurrentHashMap<>();
+    private final int joinStormThreshold;
+    private final long joinStormWindowMs;
+    private final long joinStormQuietMs;
+    private final long joinStormMaxDelayMs;
+    private final AtomicLong churnBroadcastsDeferred = new AtomicLong();
+    private final AtomicLong churnFlushes = new AtomicLong();
+    /**
+     * 방별 최근 채팅/리액션 재생 버퍼. 순번은 클러스터 공유 저장소에서 발급(다른 노드 프레임도 같은 버퍼에 기록).
+     * ?chatSince=(마지막으로 본 순번)&chatEpoch=(roomStartedAt) 로 접속한 세션에만 입장 시 CHAT_REPLAY 1회 전송
+     */
+    private final Map<String, RoomChatHistory> roomChatHistory = new ConcurrentHashMap<>();
+    private final int chatReplaySize;
+    private static final String CHAT_SINCE_ATTR = "chatSince";
+    private static final String CHAT_EPOCH_ATTR = "chatEpoch";
+    private final AtomicLong chatReplaysSent = new AtomicLong();
+    private final AtomicLong chatReplayFrames = new AtomicLong();
+    /** 채팅 DB 보관은 배치 write-behind (기본 꺼짐) */
+    private final MeetingChatArchiver chatArchiver;
+    /**
+     * 방별 참여 시간 누계 (접속/말하기/카메라/음소거 ms). 상태 변경 이벤트마다 메모리 long 누계만 갱신하고
+     * 회차 전환 / 방 종료 때만 구간 1행씩 DB에 일괄 기록 → 이벤트당 DB 쓰기 없음
+     */
+    private final Map<String, RoomParticipation> roomParticipation = new ConcurrentHashMap<>();
+    private final AtomicLong participationFlushes = new AtomicLong();
+    private final AtomicLong participationRows = new AtomicLong();
+    private static final String PARTICIPATION_ROLLOVER = "PARTICIPATION_ROLLOVER";
+    /** 종료 시 재접속 지연 힌트(close 1012) 전송. 종료 중 닫히는 세션은 퇴장 처리 생략 */
+    private final ReconnectHints reconnectHints;
+    /** 수신 프레임 속도 제한 (I/O 스레드에서 mailbox에 넣기 전 판정) */
+    private final InboundRateLimiter rateLimiter;
+
+    /**
+     * 바이너리 서브프로토콜 (Sec-WebSocket-Protocol: room.cbor.v1). 요청하지 않은 세션은 기존 JSON 텍스트 그대로.
+     * CBOR 세션에는 공유 JSON 프레임을 프레임당 1회 CBOR로 옮겨 BinaryMessage로 보냄
+     */
+    private final boolean binaryProtocolEnabled;
+    private final RoomWireCodec wireCodec = new RoomWireCodec();
 
     private final ObjectMapper objectMapper;
+    /** 이벤트 record별 ObjectWriter 재사용 + 프레임 1회 직렬화 후 모든 수신자에게 공유 */
+    private final RoomFrameEncoder frameEncoder;
     private final MeetingRoomService meetingRoomService;
+    private final RoomTaskScheduler roomTaskScheduler;
+    private final WebSocketSender webSocketSender;
+    /** 입장/퇴장/강퇴 DB 기록은 I/O 스레드에서 하지 않고 방별 순서 보장 비동기 파이프라인으로 */
+    private final MeetingRoomAuditPipeline auditPipeline;
+    /** 회차 경계 시각에 방 참가자 전원을 새 회차로 일괄 배정 */
+    private final SessionRolloverEngine rolloverEngine;
+    /** 오늘 강퇴 명단 메모리 인덱스. 로드된 방은 입장 시 DB 조회 없이 즉시 판정 */
+    private final MeetingRoomKickRegistry kickRegistry;
+    /** 입장 제어: 방 정원(room.max_participants) + 노드 방/세션 상한 → ROOM_FULL / NODE_BUSY */
+    private final MeetingRoomAdmission admission;
+    /** 방별 단일 처리 actor. 방 상태를 바꾸는 모든 이벤트(입장/퇴장/메시지/타이머)는 이 mailbox를 거쳐 순서대로 실행 */
+    private final RoomActorExecutor roomActors;
+    /**
+     * 클러스터 공유 방 상태 (방 시작 시각 = 클러스터 전체 첫 입장, 노드별 참가자 스냅샷).
+     * 같은 방 참가자가 여러 노드에 나뉘어 있어도 USERS_UPDATE는 모든 노드 참가자를 합친 목록
+     */
+    private final RoomStateStore stateStore;
+    /** 다른 노드로 프레임/참가자 변경/방장 명령 전달. 다른 노드에 이 방 참가자가 없으면 보내지 않음 */
+    private final RoomEventBus eventBus;
+    private final RoomOwnership ownership;
+    /** 방 소유 노드가 아닌 곳으로 온 연결/drain 중인 방은 소유 노드로 재접속 안내 */
+    private final RoomAffinityRouter affinityRouter;
+    private final String nodeId;
 
-    public RoomWebSocketHandler(ObjectMapper objectMapper, MeetingRoomService meetingRoomService) {
+    /**
+     * 무중단 배포용 방 상태 스냅샷 (경로가 비어 있으면 사용 안 함).
+     * 참가자 변경이 있었을 때만 주기적으로 + 종료 시 한 번 기록, 시작 시 복원해 재접속 유저가 기존 RoomUser 상태/방 시작 시각을 그대로 받음
+     */
+    private final RoomSnapshotFile snapshotFile;
+    private final long snapshotIntervalMs;
+    private final long snapshotMaxAgeMs;
+    /** 복원된 유저의 재접속 유예. 배포 중 재시작 시간까지 고려해 일반 새로고침(DISCONNECTED_REMOVE_MS)보다 길게 */
+    private final long snapshotRestoreGraceMs;
+    private final AtomicBoolean snapshotDirty = new AtomicBoolean();
+    private volatile ScheduledFuture<?> snapshotTimer;
+
+    public RoomWebSocketHandler(ObjectMapper objectMapper, MeetingRoomService meetingRoomService,
+                                RoomTaskScheduler roomTaskScheduler, WebSocketSender webSocketSender,
+                                MeetingRoomAuditPipeline auditPipeline, SessionRolloverEngine rolloverEngine,
+                                MeetingRoomKickRegistry kickRegistry, MeetingRoomAdmission admission,
+                                RoomActorExecutor roomActors,
+                                RoomStateStore stateStore, RoomEventBus eventBus, RoomOwnership ownership,
+                                RoomAffinityRouter affinityRouter, ReconnectHints reconnectHints,
+                                InboundRateLimiter rateLimiter, MeetingChatArchiver chatArchiver,
+                                @Value("${meeting.ws.coalesce-window-ms:80}") long coalesceWindowMs,
+                                @Value("${meeting.ws.join-storm.threshold:5}") int joinStormThreshold,
+                                @Value("${meeting.ws.join-storm.window-ms:1000}") long joinStormWindowMs,
+                                @Value("${meeting.ws.join-storm.quiet-ms:250}") long joinStormQuietMs,
+                                @Value("${meeting.ws.join-storm.max-delay-ms:1500}") long joinStormMaxDelayMs,
+                                @Value("${meeting.ws.clock-resync-ms:300000}") long clockResyncMs,
+                                @Value("${meeting.ws.chat-replay.size:100}") int chatReplaySize,
+                                @Value("${meeting.ws.binary-protocol.enabled:true}") boolean binaryProtocolEnabled,
+                                @Value("${meeting.ws.snapshot.path:./data/meeting-room-snapshot.bin}") String snapshotPath,
+                                @Value("${meeting.ws.snapshot.interval-ms:10000}") long snapshotIntervalMs,
+                                @Value("${meeting.ws.snapshot.max-age-ms:600000}") long snapshotMaxAgeMs,
+                                @Value("${meeting.ws.snapshot.restore-grace-ms:120000}") long snapshotRestoreGraceMs) {
         this.objectMapper = objectMapper;
+        this.frameEncoder = new RoomFrameEncoder(objectMapper);
         this.meetingRoomService = meetingRoomService;
+        this.roomTaskScheduler = roomTaskScheduler;
+        this.webSocketSender = webSocketSender;
+        this.auditPipeline = auditPipeline;
+        this.rolloverEngine = rolloverEngine;
+        this.kickRegistry = kickRegistry;
+        this.admission = admission;
+        this.roomActors = roomActors;
+        this.stateStore = stateStore;
+        this.eventBus = eventBus;
+        this.ownership = ownership;
+        this.affinityRouter = affinityRouter;
+        this.reconnectHints = reconnectHints;
+        this.rateLimiter = rateLimiter;
+        this.chatArchiver = chatArchiver;
+        this.chatReplaySize = Math.max(0, chatReplaySize);
+        this.binaryProtocolEnabled = binaryProtocolEnabled;
+        this.nodeId = ownership.localNodeId();
+        this.coalesceWindowMs = Math.max(10, coalesceWindowMs);
+        this.joinStormThreshold = Math.max(2, joinStormThreshold);
+        this.joinStormWindowMs = Math.max(100, joinStormWindowMs);
+        this.joinStormQuietMs = Math.max(10, joinStormQuietMs);
+        this.joinStormMaxDelayMs = Math.max(this.joinStormQuietMs, joinStormMaxDelayMs);
+        this.clockResyncMs = Math.max(10_000, clockResyncMs);
+        this.snapshotFile = snapshotPath == null || snapshotPath.isBlank() ? null : new RoomSnapshotFile(Path.of(snapshotPath));
+        this.snapshotIntervalMs = Math.max(1_000, snapshotIntervalMs);
+        this.snapshotMaxAgeMs = snapshotMaxAgeMs;
+        this.snapshotRestoreGraceMs = Math.max(DISCONNECTED_REMOVE_MS, snapshotRestoreGraceMs);
+        eventBus.subscribe(this::onClusterEvent);
+        rolloverEngine.addRolloverListener(this::onRollover);
+    }
+
+    /* ---------- 재시작 스냅샷 ---------- */
+
+    @PostConstruct
+    void startSnapshots() {
+        // 종료 시 스냅샷을 먼저 남긴 뒤 세션을 재접속 힌트와 함께 닫음
+        reconnectHints.register("meeting-room",
+                () -> rooms.values().stream().flatMap(r -> r.sessions().stream()).toList(),
+                this::saveSnapshotOnShutdown);
+        if (snapshotFile == null) return;
+        restoreSnapshot();
+        snapshotTimer = roomTaskScheduler.scheduleAtFixedRate("room-snapshot", () -> {
+            if (snapshotDirty.getAndSet(false)) snapshotFile.save(takeSnapshot());
+        }, snapshotIntervalMs, snapshotIntervalMs);
+    }
+
+    /**
+     * 종료 직전 최신 상태 기록. 세션을 닫기 전(ReconnectHints)에 한 번 —
+     * lifecycle stop 없이 컨텍스트가 닫히는 경우는 @PreDestroy에서 (스케줄러/actor보다 먼저 호출됨, 이 핸들러가 그 빈들에 의존)
+     */
+    @PreDestroy
+    void saveSnapshotOnShutdown() {
+        if (snapshotFile == null) return;
+        ScheduledFuture<?> timer = snapshotTimer;
+        if (timer == null || timer.isCancelled()) return;
+        timer.cancel(false);
+        RoomSnapshotFile.Snapshot snapshot = takeSnapshot();
+        if (snapshotFile.save(snapshot)) {
+            System.out.println("💾 [SNAPSHOT] 종료 스냅샷 저장 rooms=" + snapshot.rooms().size() + ", users=" + snapshot.userCount());
+        }
+    }
+
+    /** 저장소의 이 노드 참가자 스냅샷(복사본)을 읽으므로 actor 밖(스케줄러 스레드)에서 호출해도 안전 */
+    private RoomSnapshotFile.Snapshot takeSnapshot() {
+        List<RoomSnapshotFile.RoomSnapshot> saved = new ArrayList<>();
+        for (String roomId : rooms.keySet()) {
+            Long startedAt = stateStore.roomStartedAt(roomId);
+            List<RoomUser> members = stateStore.members(roomId).get(nodeId);
+            if (startedAt == null || members == null || members.isEmpty()) continue;
+            saved.add(new RoomSnapshotFile.RoomSnapshot(roomId, startedAt, members));
+        }
+        return new RoomSnapshotFile.Snapshot(System.currentTimeMillis(), saved);
     }
 
+    private void restoreSnapshot() {
+        RoomSnapshotFile.Snapshot snapshot = snapshotFile.load(snapshotMaxAgeMs);
+        if (snapshot == null) return;
+        for (RoomSnapshotFile.RoomSnapshot saved : snapshot.rooms()) {
+            roomActors.tell(saved.roomId(), "snapshot-restore", () -> restoreRoom(saved));
+        }
+        System.out.println("💾 [SNAPSHOT] 복원 rooms=" + snapshot.rooms().size() + ", users=" + snapshot.userCount());
+    }
+
+    /** 스냅샷 참가자는 모두 "재접속 중"(online=false)으로 등록 → 유예 안에 다시 들어오면 onJoin에서 기존 상태로 복원 */
+    private void restoreRoom(RoomSnapshotFile.RoomSnapshot saved) {
+        String roomId = saved.roomId();
+        stateStore.startRoomIfAbsent(roomId, saved.startedAt());
+        RoomRegistry room = rooms.computeIfAbsent(roomId, k -> new RoomRegistry());
+        for (RoomUser user : saved.members()) {
+            if (room.onlineUser(user.getUserId()) != null) continue;
+            room.restoreDisconnected(user);
+            scheduleDisconnectedRemoval(roomId, user.getUserId(), snapshotRestoreGraceMs);
+        }
+        broadcast(roomId);
+    }
+
+    /** 스냅샷 기록/복원 지표 (/api/ws/metrics) */
+    public Map<String, Object> snapshotMetrics() {
+        if (snapshotFile == null) return Map.of("enabled", false);
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("enabled", true);
+        m.put("intervalMs", snapshotIntervalMs);
+        m.putAll(snapshotFile.metrics());
+        return m;
+    }
+
+    /*
+     * 방 상태(rooms 레지스트리/타이머 맵/presence)는
+     * 방 actor 스레드에서만 변경한다. WebSocket I/O 스레드·스케줄러·감사 파이프라인은 이벤트를 mailbox에 넣기만 함
+     * → 맵 여러 개에 걸친 복합 갱신도 경쟁 없이 원자적으로 보임.
+     */
+
     @Override
-    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+    public void afterConnectionEstablished(WebSocketSession session) {
         String roomId = extractRoomId(session);
+        // 방 소유 노드가 아니면 입장 처리 없이 바로 재접속 안내
+        RoomAffinityRouter.Redirect redirect = affinityRouter.routeUpgrade(roomId, session.getUri());
+        if (redirect != null) {
+            sendRedirect(session, redirect);
+            return;
+        }
+        roomActors.tell(roomId, "join", () -> onJoin(session, roomId));
+    }
+
+    /** ROOM_REDIRECT 프레임 전송 후 close(4307). 프레임이 먼저 전달되도록 전송 큐를 통해 close */
+    private void sendRedirect(WebSocketSession session, RoomAffinityRouter.Redirect redirect) {
+        session.getAttributes().put(REDIRECTED_ATTR, redirect.targetNode());
+        try {
+            sendMessageSafe(session, affinityRouter.frame(redirect));
+        } catch (Exception e) {
+            System.err.println("⚠️ [RoomWebSocketHandler] ROOM_REDIRECT 전송 실패: " + e.getMessage());
+        }
+        webSocketSender.close(session, redirect.closeStatus());
+    }
+
+    /** drain: 방마다 windowMs 안에서 시점을 나눠 소유 노드로 재접속 안내 */
+    @Override
+    public int migrateRooms(long windowMs) {
+        List<String> roomIds = new ArrayList<>(rooms.keySet());
+        for (int i = 0; i < roomIds.size(); i++) {
+            String id = roomIds.get(i);
+            long delay = roomIds.size() <= 1 ? 0 : Math.max(0, windowMs) * i / roomIds.size();
+            roomTaskScheduler.schedule("drain-" + id,
+                    () -> roomActors.tell(id, "drain", () -> migrateRoom(id)), delay);
+        }
+        return roomIds.size();
+    }
+
+    /** 방 세션 전체를 한 번에 같은 노드로 안내 → 옮기는 동안에도 RoomEventBus로 양쪽 노드 참가자가 서로 보임 */
+    private void migrateRoom(String roomId) {
+        RoomRegistry room = rooms.get(roomId);
+        if (room == null) return;
+        RoomAffinityRouter.Redirect redirect = affinityRouter.migrationTarget(roomId);
+        if (redirect == null) return;
+        for (WebSocketSession s : List.copyOf(room.sessions())) {
+            sendRedirect(s, redirect);
+        }
+        System.out.println("🚚 [DRAIN] Room: " + roomId + " → " + redirect.targetNode());
+    }
+
+    private void onJoin(WebSocketSession session, String roomId) throws Exception {
         Map<String, String> params = getParams(session);
 
         String userId = params.get("userId");
@@ -83,75 +390,84 @@ public class RoomWebSocketHandler extends TextWebSocketHandler {
             } catch (NumberFormatException ignored) {}
         }
 
+        if (PRESENCE_DELTA.equalsIgnoreCase(params.get("presence"))) {
+            session.getAttributes().put(PRESENCE_MODE_ATTR, PRESENCE_DELTA);
+        }
+        if (CLOCK_SYNC.equalsIgnoreCase(params.get("clock"))) {
+            session.getAttributes().put(CLOCK_MODE_ATTR, CLOCK_SYNC);
+        }
+        Long chatSince = parseLongParam(params.get("chatSince"));
+        if (chatSince != null) {
+            session.getAttributes().put(CHAT_SINCE_ATTR, chatSince);
+            Long chatEpoch = parseLongParam(params.get("chatEpoch"));
+            if (chatEpoch != null) session.getAttributes().put(CHAT_EPOCH_ATTR, chatEpoch);
+        }
+
         System.out.println("📥 [WS] 수신 파라미터 → roomId=" + roomId + ", subjectId=" + subjectId + ", userEmail=" + userEmail + ", scheduleId=" + scheduleId + ", isHost=" + isHost);
 
-        // 오늘 이 방에서 강퇴된 유저는 재입장 차단 (테이블/조회 오류 시에는 입장 허용)
-        if (userEmail != null && !userEmail.isBlank()) {
-            try {
-                if (meetingRoomService.isKickedToday(roomId, userEmail)) {
-                    try {
-                        String rejectPayload = objectMapper.writeValueAsString(Map.of("type", "REJECTED", "reason", "KICKED_TODAY"));
-                        sendMessageSafe(session, new TextMessage(rejectPayload));
-                    } catch (Exception e) {
-                        System.err.println("⚠️ [RoomWebSocketHandler] REJECTED 전송 실패: " + e.getMessage());
-                    }
-                    try {
-                        session.close(CloseStatus.NORMAL);
-                    } catch (Exception ignore) {}
-                    return;
-                }
-            } catch (Exception e) {
-                System.err.println("⚠️ [RoomWebSocketHandler] isKickedToday 실패 - 입장 허용: " + e.getMessage());
-            }
+        // 오늘 강퇴 명단이 메모리에 있으면 즉시 판정 (재접속 폭주 시에도 DB 왕복 없음)
+        Boolean kickedToday = userEmail != null && !userEmail.isBlank() ? kickRegistry.peek(roomId, userEmail) : Boolean.FALSE;
+        if (Boolean.TRUE.equals(kickedToday)) {
+            sendMessageSafe(session, frameEncoder.encode(new RoomEvents.Rejected("KICKED_TODAY")));
+            webSocketSender.close(session, CloseStatus.NORMAL);
+            return;
         }
 
-        // 방장 → meeting_room 저장, 참여자 → meetingroom_participant 저장 (입장 로그 필수)
-        try {
-            meetingRoomService.handleJoin(roomId, userEmail, title, isHost, subjectId, scheduleId);
-        } catch (Exception e) {
-            System.err.println("⚠️ [RoomWebSocketHandler] handleJoin(DB) 실패 - 입장 로그 미저장 가능: " + e.getMessage());
-            e.printStackTrace();
+        // 입장 제어 (메모리 상태만으로 판정). 재접속 유저는 정원/부하와 무관하게 허용
+        List<RoomUser> members = getMergedUserList(roomId);
+        boolean member = userId != null && members.stream().anyMatch(u -> userId.equals(u.getUserId()));
+        String rejectReason = admission.check(roomId, rooms.containsKey(roomId), members.size(),
+                member, isHost, rooms.size(), liveSessionCount());
+        if (rejectReason != null) {
+            System.out.println("⛔ [ADMISSION] " + rejectReason + " roomId=" + roomId + ", userId=" + userId);
+            sendMessageSafe(session, frameEncoder.encode(new RoomEvents.Rejected(rejectReason)));
+            // 노드 과부하는 잠시 후 재시도 가능하다는 의미로 1013
+            webSocketSender.close(session, MeetingRoomAdmission.NODE_BUSY.equals(rejectReason)
+                    ? CloseStatus.SERVICE_OVERLOAD : CloseStatus.NORMAL);
+            return;
+        }
+        if (admission.claimCapacityLoad(roomId)) {
+            // 조회만 하므로 재시도 가능. 거부되면 다음 입장 때 다시 로드
+            boolean queued = auditPipeline.submitRetryable(roomId, "capacity", () -> {
+                try {
+                    admission.putCapacity(roomId, meetingRoomService.findMaxParticipants(roomId));
+                } catch (RuntimeException e) {
+                    admission.capacityLoadFailed(roomId);
+                    throw e;
+                }
+            });
+            if (!queued) admission.capacityLoadFailed(roomId);
         }
 
+        // 입장 승인은 메모리 상태만으로 즉시 처리 → 입장 지연이 DB 지연과 무관.
+        // 방장 → meeting_room 저장, 참여자 → meetingroom_participant 저장 (입장 로그 필수)은
+        // 방별 순서 보장 파이프라인에서 비동기로 (재시도 없음: 중복 행 방지). 강퇴 명단이 아직 로드 전인 방이면
+        // 거기서 DB 확인 후 오늘 강퇴된 유저는 REJECTED 후 퇴장 처리
+        submitJoinAudit(roomId, session, userEmail, title, isHost, subjectId, scheduleId, kickedToday == null);
+
     /* =========================================================
        2. LEAVE 타이머 취소 (재접속 대응)
        ========================================================= */
-        Map<String, TimerTask> roomTimerMap = leaveTimers.get(roomId);
+        Map<String, ScheduledFuture<?>> roomTimerMap = leaveTimers.get(roomId);
         if (roomTimerMap != null) {
-            TimerTask t = roomTimerMap.remove(userId);
-            if (t != null) t.cancel();
+            ScheduledFuture<?> t = roomTimerMap.remove(userId);
+            if (t != null) t.cancel(false);
         }
 
-        Map<String, RoomUser> users =
-                roomUsers.computeIfAbsent(roomId, k -> new ConcurrentHashMap<>());
-
-        Map<String, WebSocketSession> sessions =
-                roomSessions.computeIfAbsent(roomId, k -> new ConcurrentHashMap<>());
-
-        RoomUser restoredUser = null;
-        String existingSessionId = null;
+        RoomRegistry room = rooms.computeIfAbsent(roomId, k -> new RoomRegistry());
 
     /* =========================================================
-       3. 기존 유저 탐색 (재접속 판단) — users(온라인) 또는 roomDisconnectedUsers(재접속 중)
+       3. 기존 유저 탐색 (재접속 판단) — 온라인 또는 재접속 대기 중 (userId 인덱스로 O(1))
        ========================================================= */
-        for (Map.Entry<String, RoomUser> e : users.entrySet()) {
-            RoomUser u = e.getValue();
-            if (u != null && u.getUserId().equals(userId)) {
-                restoredUser = u;
-                existingSessionId = e.getKey();
-                break;
-            }
-        }
+        String existingSessionId = room.sessionIdOf(userId);
+        RoomUser restoredUser = room.onlineUser(userId);
         if (restoredUser == null) {
-            Map<String, RoomUser> disconnectedMap = roomDisconnectedUsers.get(roomId);
-            if (disconnectedMap != null) {
-                restoredUser = disconnectedMap.remove(userId);
-                if (restoredUser != null) {
-                    Map<String, TimerTask> disconnectedTimerMap = roomDisconnectedTimers.get(roomId);
-                    if (disconnectedTimerMap != null) {
-                        TimerTask t = disconnectedTimerMap.remove(userId);
-                        if (t != null) t.cancel();
-                    }
+            restoredUser = room.removeDisconnected(userId);
+            if (restoredUser != null) {
+                Map<String, ScheduledFuture<?>> disconnectedTimerMap = roomDisconnectedTimers.get(roomId);
+                if (disconnectedTimerMap != null) {
+                    ScheduledFuture<?> t = disconnectedTimerMap.remove(userId);
+                    if (t != null) t.cancel(false);
                 }
             }
         }
@@ -160,12 +476,11 @@ public class RoomWebSocketHandler extends TextWebSocketHandler {
        4. 기존 세션 정리 (같은 유저가 다른 탭으로 이미 접속 중인 경우)
        ========================================================= */
         if (existingSessionId != null) {
-            WebSocketSession old = sessions.get(existingSessionId);
+            WebSocketSession old = room.session(existingSessionId);
             if (old != null && old.isOpen()) {
                 try { old.close(); } catch (Exception ignore) {}
             }
-            sessions.remove(existingSessionId);
-            users.remove(existingSessionId);
+            room.detach(existingSessionId);
         }
 
         RoomUser finalUser;
@@ -181,11 +496,12 @@ public class RoomWebSocketHandler extends TextWebSocketHandler {
             // 원래 방장(room host)이 재접속 시 클라이언트가 isHost=true로 보내므로 방장 권한 복귀
             restoredUser.setHost(isHost);
 
+            // 방장이 강제로 끈 상태는 재접속(스냅샷 복원 포함)해도 유지
             if (paramMuted != null) {
-                restoredUser.setMuted(paramMuted);
+                restoredUser.setMuted(paramMuted || restoredUser.getMutedByHost());
             }
             if (paramCameraOff != null) {
-                restoredUser.setCameraOff(paramCameraOff);
+                restoredUser.setCameraOff(paramCameraOff || restoredUser.getCameraOffByHost());
             }
             if (paramFaceEmoji != null) {
                 restoredUser.setFaceEmoji(paramFaceEmoji.isBlank() ? null : paramFaceEmoji);
@@ -224,225 +540,807 @@ public class RoomWebSocketHandler extends TextWebSocketHandler {
     /* =========================================================
        6. 세션 등록 + 브로드캐스트
        ========================================================= */
-        // 가장 처음 입장한 사람 기준으로 방 시작 시각 설정 (온라인+재접속 중 모두 비었을 때만)
+        // 가장 처음 입장한 사람 기준으로 방 시작 시각 설정 (클러스터 전체에서 온라인+재접속 중 모두 비었을 때만)
         // 재접속(restoredUser != null)일 때는 기존 roomStartedAt 유지 → 새로고침해도 시간이 0으로 리셋되지 않음
-        if (users.isEmpty()) {
-            Map<String, RoomUser> disconnectedMap = roomDisconnectedUsers.get(roomId);
-            if (disconnectedMap == null || disconnectedMap.isEmpty()) {
-                if (restoredUser == null) {
-                    roomStartedAtMap.put(roomId, System.currentTimeMillis());
-                    startRoomElapsedBroadcast(roomId);
-                }
-                // 재접속 시 이미 roomStartedAt/타이머가 있으면 그대로 사용
-            }
+        if (room.isEmpty() && restoredUser == null) {
+            stateStore.startRoomIfAbsent(roomId, System.currentTimeMillis());
+        }
+        // 재접속 시 이미 roomStartedAt/타이머가 있으면 그대로 사용
+        room.attach(session, finalUser);
+        RoomParticipation participation = roomParticipation.computeIfAbsent(roomId, k -> new RoomParticipation(System.currentTimeMillis()));
+        participation.offerScheduleId(scheduleId);
+        participation.observe(finalUser, System.currentTimeMillis());
+        if (isClockSyncSession(session)) {
+            sendClockSync(roomId, session);
+        } else {
+            startRoomElapsedBroadcast(roomId);
         }
-        sessions.put(session.getId(), session);
-        users.put(session.getId(), finalUser);
 
         // 원래 방장(room host)이 입장/재입장하면 이 방에서는 이 사람만 방장이어야 함 — 나머지는 즉시 isHost=false
         if (finalUser.isHost()) {
             String hostUserId = finalUser.getUserId();
-            for (RoomUser u : users.values()) {
+            for (RoomUser u : room.onlineUsers()) {
                 if (u != null && !u.getUserId().equals(hostUserId)) {
                     u.setHost(false);
                 }
             }
+            // 다른 노드에 있는 방장도 해제
+            for (RoomUser u : remoteMembers(roomId)) {
+                if (u.isHost() && !u.getUserId().equals(hostUserId)) {
+                    eventBus.publish(RoomClusterEvent.command(nodeId, roomId, "DEMOTE_HOST", u.getUserId()));
+                }
+            }
         }
 
-        broadcast(roomId);
+        broadcastMembership(roomId);
+        sendPresenceSnapshot(roomId, session);
+        sendChatReplay(roomId, session);
+        refreshCoordinator(roomId, subjectId);
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
         String roomId = extractRoomId(session);
+        if (reconnectHints.isShuttingDown()) {
+            // 종료 중: 스냅샷에 이미 남겼고 재시작 후 재접속으로 복원 → 퇴장 처리/브로드캐스트 생략
+            webSocketSender.unregister(session);
+            return;
+        }
+        roomActors.tell(roomId, "close", () -> onClose(session, roomId));
+    }
 
-        Map<String, WebSocketSession> sessions = roomSessions.get(roomId);
-        Map<String, RoomUser> users = roomUsers.get(roomId);
-
-        if (sessions == null || users == null) return;
+    private void onClose(WebSocketSession session, String roomId) {
+        RoomRegistry room = rooms.get(roomId);
 
-        RoomUser leavingUser = users.get(session.getId());
+        // 전송 큐는 항상 제거 (메모리 누수 방지)
+        webSocketSender.unregister(session);
+        if (room == null) return;
 
-        // 세션은 항상 제거 (전송 락도 제거하여 메모리 누수 방지)
-        String sessionId = session.getId();
-        sessions.remove(sessionId);
-        sessionSendLocks.remove(sessionId);
+        // 세션은 항상 제거
+        RoomUser leavingUser = room.detach(session.getId());
 
         if (leavingUser == null) {
-            broadcast(roomId);
+            broadcastMembership(roomId);
             return;
         }
 
         String userId = leavingUser.getUserId();
 
         // ✅ 기존 타이머가 있으면 취소
-        Map<String, TimerTask> timerMap = leaveTimers.get(roomId);
+        Map<String, ScheduledFuture<?>> timerMap = leaveTimers.get(roomId);
         if (timerMap != null) {
-            TimerTask t = timerMap.remove(userId);
-            if (t != null) t.cancel();
+            ScheduledFuture<?> t = timerMap.remove(userId);
+            if (t != null) t.cancel(false);
         }
 
         // 재접속 중 스피너: 유저를 즉시 제거하지 않고 "재접속 중"으로 보관 (online=false)
         leavingUser.setOnline(false);
-        Map<String, RoomUser> disconnectedMap = roomDisconnectedUsers.computeIfAbsent(roomId, k -> new ConcurrentHashMap<>());
-        disconnectedMap.put(userId, leavingUser);
-        users.remove(session.getId());
+        room.markDisconnected(leavingUser);
+        observeParticipation(roomId, leavingUser);
 
         // 재접속 타이머: 일정 시간 내 재접속 없으면 목록에서 제거
-        Map<String, TimerTask> disconnectedTimerMap = roomDisconnectedTimers.computeIfAbsent(roomId, k -> new ConcurrentHashMap<>());
-        TimerTask existing = disconnectedTimerMap.remove(userId);
-        if (existing != null) existing.cancel();
-        TimerTask removeTask = new TimerTask() {
-            @Override
-            public void run() {
-                Map<String, RoomUser> map = roomDisconnectedUsers.get(roomId);
-                if (map != null && map.remove(userId) != null) {
-                    disconnectedTimerMap.remove(userId);
-                    // 온라인+재접속 중 모두 비면 방 시작 시각·경과 브로드캐스트 타이머 정리
-                    Map<String, RoomUser> usersMap = roomUsers.get(roomId);
-                    if ((usersMap == null || usersMap.isEmpty()) && (map.isEmpty())) {
-                        stopRoomElapsedBroadcast(roomId);
-                        roomStartedAtMap.remove(roomId);
-                    }
-                    System.out.println("🚪 [DISCONNECTED_TIMEOUT] " + userId + " removed after " + (DISCONNECTED_REMOVE_MS / 1000) + "s");
-                    broadcast(roomId);
-                }
+        scheduleDisconnectedRemoval(roomId, userId,
+                session.getAttributes().containsKey(REDIRECTED_ATTR) ? REDIRECTED_REMOVE_MS : DISCONNECTED_REMOVE_MS);
+
+        System.out.println("🚪 [CONNECTION CLOSED] " + userId + " → 재접속 중 (online=false)");
+
+        broadcastMembership(roomId);
+    }
+
+    /** 재접속 대기 유저를 delayMs 안에 다시 들어오지 않으면 목록에서 제거 */
+    private void scheduleDisconnectedRemoval(String roomId, String userId, long delayMs) {
+        Map<String, ScheduledFuture<?>> disconnectedTimerMap = roomDisconnectedTimers.computeIfAbsent(roomId, k -> new ConcurrentHashMap<>());
+        ScheduledFuture<?> existing = disconnectedTimerMap.remove(userId);
+        if (existing != null) existing.cancel(false);
+        Runnable removeTask = () -> {
+            RoomRegistry current = rooms.get(roomId);
+            if (current != null && current.removeDisconnected(userId) != null) {
+                current.removeMember(userId);
+                disconnectedTimerMap.remove(userId);
+                // 온라인+재접속 중 모두 비면 방 시작 시각·경과 브로드캐스트 타이머 정리
+                releaseRoomIfEmpty(roomId);
+                System.out.println("🚪 [DISCONNECTED_TIMEOUT] " + userId + " removed");
+                broadcastMembership(roomId);
             }
         };
-        disconnectedTimerMap.put(userId, removeTask);
-        new Timer().schedule(removeTask, DISCONNECTED_REMOVE_MS);
+        disconnectedTimerMap.put(userId,
+                roomTaskScheduler.schedule("disconnect-timeout-" + roomId,
+                        () -> roomActors.tell(roomId, "disconnect-timeout", removeTask::run), delayMs));
+    }
 
-        System.out.println("🚪 [CONNECTION CLOSED] " + userId + " → 재접속 중 (online=false)");
+    private void submitJoinAudit(String roomId, WebSocketSession session, String userEmail, String title,
+                                 boolean isHost, String subjectId, Long scheduleId, boolean verifyKick) {
+        // handleJoin은 행을 추가하므로 재시도하지 않음 (중복 입장 기록 방지)
+        boolean queued = auditPipeline.submit(roomId, "join", () -> {
+            // 오늘 이 방에서 강퇴된 유저는 재입장 차단 (테이블/조회 오류 시에는 입장 허용)
+            if (verifyKick && userEmail != null && !userEmail.isBlank()) {
+                boolean kicked = false;
+                try {
+                    kicked = meetingRoomService.isKickedToday(roomId, userEmail);
+                } catch (Exception e) {
+                    System.err.println("⚠️ [RoomWebSocketHandler] isKickedToday 실패 - 입장 허용: " + e.getMessage());
+                }
+                if (kicked) {
+                    roomActors.tell(roomId, "reject-kicked", () -> rejectKickedSession(roomId, session));
+                    return;
+                }
+            }
+            meetingRoomService.handleJoin(roomId, userEmail, title, isHost, subjectId, scheduleId);
+        });
+        if (!queued) {
+            System.err.println("⚠️ [RoomWebSocketHandler] 입장 기록 거부(백로그 초과) - 입장 로그 누락"
+                    + (verifyKick ? ", 강퇴 확인 생략" : "") + ": roomId=" + roomId + ", userEmail=" + userEmail);
+        }
+    }
 
-        broadcast(roomId);
+    private void submitLeaveAudit(String roomId, String userEmail, boolean isHost) {
+        // left_at 갱신만 하므로 재시도 가능
+        if (!auditPipeline.submitRetryable(roomId, "leave", () -> meetingRoomService.handleLeave(roomId, userEmail, isHost))) {
+            System.err.println("⚠️ [RoomWebSocketHandler] 퇴장 기록 거부(백로그 초과) - left_at 누락: roomId="
+                    + roomId + ", userEmail=" + userEmail);
+        }
     }
 
-    private void selectNewHost(String roomId, Map<String, WebSocketSession> sessions, Map<String, RoomUser> users) {
-        if (users == null || users.isEmpty()) return;
+    /** 비동기 강퇴 확인 결과 오늘 강퇴된 유저: REJECTED 통보 후 방 목록에서 제거하고 종료 */
+    private void rejectKickedSession(String roomId, WebSocketSession session) {
+        try {
+            sendMessageSafe(session, frameEncoder.encode(new RoomEvents.Rejected("KICKED_TODAY")));
+        } catch (Exception e) {
+            System.err.println("⚠️ [RoomWebSocketHandler] REJECTED 전송 실패: " + e.getMessage());
+        }
+        // REJECTED가 먼저 전달된 뒤 종료되도록 전송 큐를 통해 close
+        webSocketSender.close(session, CloseStatus.NORMAL);
+
+        RoomRegistry room = rooms.get(roomId);
+        RoomUser removed = room != null ? room.detach(session.getId()) : null;
+        if (removed != null) {
+            room.removeMember(removed.getUserId());
+            leaveParticipation(roomId, removed.getUserId());
+        }
+        releaseRoomIfEmpty(roomId);
+        if (removed != null) broadcast(roomId);
+    }
 
-        // 가장 먼저 입장한 유저를 새 방장으로 선정
-        RoomUser newHost = users.values().stream()
-                .filter(u -> u.isOnline() && !u.isExplicitlyLeft())
-                .min(Comparator.comparingLong(RoomUser::getJoinAt))
-                .orElse(null);
+    /** 온라인+재접속 중 유저가 모두 비면 경과 틱·presence 등 방 단위 상태 정리 (방 시작 시각은 클러스터 참가자가 모두 비면 저장소에서 제거) */
+    private void releaseRoomIfEmpty(String roomId) {
+        RoomRegistry room = rooms.get(roomId);
+        if (room == null || room.isEmpty()) {
+            // 남은 세션(유저 매핑 전 세션 등)이 없으면 레지스트리도 제거
+            if (room != null && !room.hasSessions()) rooms.remove(roomId, room);
+            stopRoomElapsedBroadcast(roomId);
+            roomPresence.remove(roomId);
+            roomCoalescers.remove(roomId);
+            roomChurn.remove(roomId);
+            roomChatHistory.remove(roomId);
+            flushParticipation(roomId, null);
+            roomParticipation.remove(roomId);
+            admission.forget(roomId);
+            rolloverEngine.deactivate(roomId);
+            roomActors.release(roomId);
+        }
+    }
+
+    private int liveSessionCount() {
+        int count = 0;
+        for (RoomRegistry room : rooms.values()) count += room.sessions().size();
+        return count;
+    }
+
+    /** 입장 판정 누계 + 현재 노드 부하 (/api/ws/metrics) */
+    public Map<String, Object> admissionMetrics() {
+        Map<String, Object> m = admission.metrics();
+        m.put("liveRooms", rooms.size());
+        m.put("liveSessions", liveSessionCount());
+        return m;
+    }
+
+    /** 프레임 직렬화/유저 목록 캐시 재사용 + 시계 동기화 지표 (/api/ws/metrics) */
+    public Map<String, Object> frameMetrics() {
+        Map<String, Object> m = frameEncoder.metrics();
+        m.put("clockSyncSent", clockSyncSent.get());
+        m.put("timeSyncReplies", timeSyncReplies.get());
+        m.put("roomElapsedTickers", roomElapsedTimers.size());
+        m.put("roomElapsedFrames", roomElapsedFrames.get());
+        m.put("churnBroadcastsDeferred", churnBroadcastsDeferred.get());
+        m.put("churnFlushes", churnFlushes.get());
+        m.put("wire", wireCodec.metrics());
+        return m;
+    }
+
+    /** 현재 방에 접속 중인 참가자 이메일 (회차 일괄 배정 대상) */
+    private Collection<String> currentParticipantEmails(String roomId) {
+        RoomRegistry room = rooms.get(roomId);
+        if (room == null) return List.of();
+        Set<String> emails = new LinkedHashSet<>();
+        for (RoomUser u : room.onlineUsers()) {
+            if (u != null && u.getUserEmail() != null && !u.getUserEmail().isBlank()) {
+                emails.add(u.getUserEmail());
+            }
+        }
+        // 다른 노드 참가자도 같은 회차로 배정
+        for (RoomUser u : remoteMembers(roomId)) {
+            if (u.isOnline() && u.getUserEmail() != null && !u.getUserEmail().isBlank()) {
+                emails.add(u.getUserEmail());
+            }
+        }
+        return emails;
+    }
+
+    private void selectNewHost(String roomId, RoomRegistry room) {
+        if (room == null) return;
+
+        // 가장 먼저 입장한 유저를 새 방장으로 선정. 다른 노드 참가자가 없으면 로컬 입장 순서 그대로 (정렬 불필요)
+        List<RoomUser> remote = remoteMembers(roomId);
+        RoomUser newHost = remote.isEmpty()
+                ? room.firstMember(u -> u.isOnline() && !u.isExplicitlyLeft())
+                : getMergedUserList(roomId).stream()
+                        .filter(u -> u.isOnline() && !u.isExplicitlyLeft())
+                        .findFirst().orElse(null);
 
         if (newHost == null) return;
 
-        // 새 방장으로 설정
-        newHost.setHost(true);
+        // 새 방장으로 설정 (다른 노드 참가자면 그 노드가 적용)
+        if (!dispatchHostCommand(roomId, "PROMOTE_HOST", newHost.getUserId())) return;
         System.out.println("👑 [NEW HOST] " + newHost.getUserName() + " 님이 새 방장이 되었습니다.");
 
         // HOST_CHANGED 메시지 브로드캐스트
         try {
-            String payload = objectMapper.writeValueAsString(
-                    Map.of(
-                            "type", "HOST_CHANGED",
-                            "newHostUserId", newHost.getUserId(),
-                            "newHostUserName", newHost.getUserName()
-                    )
-            );
-
-            TextMessage message = new TextMessage(payload);
-            for (WebSocketSession s : sessions.values()) {
-                sendMessageSafe(s, message);
-            }
+            fanOut(roomId, frameEncoder.encode(
+                    new RoomEvents.HostChanged(newHost.getUserId(), newHost.getUserName())), false);
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
-    /** 온라인 + 재접속 중(disconnected) 유저를 합친 목록. USERS_UPDATE는 항상 이 목록으로 보내야 타일이 사라지지 않음 */
+    /**
+     * 온라인 + 재접속 중(disconnected) 유저를 합친 목록. USERS_UPDATE는 항상 이 목록으로 보내야 타일이 사라지지 않음.
+     * 다른 노드 참가자가 있으면 클러스터 저장소의 스냅샷까지 합쳐 joinAt 순 정렬
+     */
     private List<RoomUser> getMergedUserList(String roomId) {
-        Map<String, RoomUser> usersMap = roomUsers.get(roomId);
-        if (usersMap == null) return List.of();
-
-        List<RoomUser> onlineUsers = usersMap.values().stream().toList();
-        Map<String, RoomUser> disconnectedMap = roomDisconnectedUsers.get(roomId);
-        List<RoomUser> disconnectedUsers = disconnectedMap == null ? List.of() : disconnectedMap.values().stream().toList();
-        List<RoomUser> merged = new ArrayList<>(onlineUsers);
-        merged.addAll(disconnectedUsers);
+        RoomRegistry room = rooms.get(roomId);
+        // 입장 순서(joinAt 순)로 유지되므로 정렬 불필요
+        List<RoomUser> local = room == null ? List.of() : room.membersInJoinOrder();
+        List<RoomUser> remote = remoteMembers(roomId);
+        if (remote.isEmpty()) return local;
+        // 노드 이동 중에는 같은 유저가 양쪽에 잠시 보일 수 있음 → userId당 하나 (온라인 쪽 우선)
+        Map<String, RoomUser> byUserId = new LinkedHashMap<>();
+        for (RoomUser u : local) byUserId.put(u.getUserId(), u);
+        for (RoomUser u : remote) {
+            RoomUser existing = byUserId.get(u.getUserId());
+            if (existing == null || (!existing.isOnline() && u.isOnline())) byUserId.put(u.getUserId(), u);
+        }
+        List<RoomUser> merged = new ArrayList<>(byUserId.values());
         merged.sort(Comparator.comparingLong(RoomUser::getJoinAt));
         return merged;
     }
 
-    /** 같은 세션에 동시 전송 시 Tomcat이 TEXT_PARTIAL_WRITING 예외를 던지므로, 세션별 락으로 직렬화 */
+    /* =========================================================
+       클러스터: 다른 노드와 참가자/프레임/방장 명령 공유
+       ========================================================= */
+
+    /** 다른 노드에 있는 이 방 참가자 (스냅샷 복사본, 읽기 전용) */
+    private List<RoomUser> remoteMembers(String roomId) {
+        Map<String, List<RoomUser>> byNode = stateStore.members(roomId);
+        if (byNode.isEmpty() || (byNode.size() == 1 && byNode.containsKey(nodeId))) return List.of();
+        List<RoomUser> remote = new ArrayList<>();
+        byNode.forEach((node, users) -> {
+            if (!node.equals(nodeId)) remote.addAll(users);
+        });
+        return remote;
+    }
+
+    private boolean hasRemoteMembers(String roomId) {
+        Map<String, List<RoomUser>> byNode = stateStore.members(roomId);
+        return byNode.size() > (byNode.containsKey(nodeId) ? 1 : 0);
+    }
+
+    /** 로컬 세션에 전송 + 다른 노드에 이 방 참가자가 있으면 같은 프레임을 그대로 전달 (직렬화 1회) */
+    private void fanOut(String roomId, TextMessage message, boolean fullOnly) {
+        RoomRegistry room = rooms.get(roomId);
+        if (room != null) {
+            for (WebSocketSession s : room.sessions()) {
+                if (!fullOnly || !isDeltaSession(s)) sendMessageSafe(s, message);
+            }
+        }
+        if (hasRemoteMembers(roomId)) {
+            eventBus.publish(RoomClusterEvent.frame(nodeId, roomId, message.getPayload(), fullOnly));
+        }
+    }
+
+    /** fanOut과 같지만 presence=delta 세션에만 */
+    private void fanOutDelta(String roomId, TextMessage message) {
+        RoomRegistry room = rooms.get(roomId);
+        if (room != null) {
+            for (WebSocketSession s : room.sessions()) {
+                if (isDeltaSession(s)) sendMessageSafe(s, message);
+            }
+        }
+        if (hasRemoteMembers(roomId)) {
+            eventBus.publish(RoomClusterEvent.deltaFrame(nodeId, roomId, message.getPayload()));
+        }
+    }
+
+    /** 채팅/리액션 전송: fanOut과 같지만 순번과 함께 재생 버퍼에 남기고, 다른 노드도 같은 순번으로 기록하도록 전달 */
+    private void fanOutChat(String roomId, TextMessage message, long seq) {
+        RoomRegistry room = rooms.get(roomId);
+        if (room != null) {
+            for (WebSocketSession s : room.sessions()) sendMessageSafe(s, message);
+        }
+        recordChat(roomId, seq, message.getPayload());
+        if (hasRemoteMembers(roomId)) {
+            eventBus.publish(RoomClusterEvent.chat(nodeId, roomId, message.getPayload(), seq));
+        }
+    }
+
+    private void recordChat(String roomId, long seq, String frame) {
+        if (chatReplaySize == 0 || seq <= 0) return;
+        roomChatHistory.computeIfAbsent(roomId, k -> new RoomChatHistory(chatReplaySize)).append(seq, frame);
+    }
+
+    /**
+     * chatSince로 접속한 세션에 놓친 채팅/리액션 재생. 방 시작 시각(epoch)이 다르면 방이 새로 시작된 것 → 버퍼 전체.
+     * 버퍼가 비어 있어도 epoch/lastSeq를 알려 이후 재접속 기준으로 쓰게 함
+     */
+    private void sendChatReplay(String roomId, WebSocketSession session) {
+        Object since = session.getAttributes().remove(CHAT_SINCE_ATTR);
+        Object clientEpoch = session.getAttributes().remove(CHAT_EPOCH_ATTR);
+        if (!(since instanceof Long afterSeq)) return;
+        Long epoch = stateStore.roomStartedAt(roomId);
+        if (epoch == null || !epoch.equals(clientEpoch)) afterSeq = 0L;
+        RoomChatHistory history = roomChatHistory.get(roomId);
+        List<String> frames = history == null ? List.of() : history.since(afterSeq);
+        long lastSeq = history == null ? 0 : history.lastSeq();
+        try {
+            sendMessageSafe(session, frameEncoder.encode(
+                    new RoomEvents.ChatReplay(epoch, lastSeq, "[" + String.join(",", frames) + "]")));
+            chatReplaysSent.incrementAndGet();
+            chatReplayFrames.addAndGet(frames.size());
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** 재생 버퍼 + 채팅 보관 지표 (/api/ws/metrics) */
+    public Map<String, Object> chatReplayMetrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("bufferSize", chatReplaySize);
+        m.put("rooms", roomChatHistory.size());
+        m.put("replaysSent", chatReplaysSent.get());
+        m.put("replayedFrames", chatReplayFrames.get());
+        m.put("archive", chatArchiver.metrics());
+        return m;
+    }
+
+    /* ---------- 참여 시간 집계 ---------- */
+
+    private void observeParticipation(String roomId, RoomUser user) {
+        RoomParticipation participation = roomParticipation.get(roomId);
+        if (participation != null) participation.observe(user, System.currentTimeMillis());
+    }
+
+    private void leaveParticipation(String roomId, String userId) {
+        RoomParticipation participation = roomParticipation.get(roomId);
+        if (participation != null) participation.leave(userId, System.currentTimeMillis());
+    }
+
+    /** 지난 기록 이후 누계를 꺼내 DB 일괄 저장 (비동기 파이프라인, 방 actor는 블로킹 안 됨) */
+    private void flushParticipation(String roomId, Long nextScheduleId) {
+        RoomParticipation participation = roomParticipation.get(roomId);
+        if (participation == null) return;
+        List<ParticipationTotals> totals = participation.drain(System.currentTimeMillis(), nextScheduleId);
+        if (totals.isEmpty()) return;
+        participationFlushes.incrementAndGet();
+        participationRows.addAndGet(totals.size());
+        // 누계 행을 추가하므로 재시도하지 않음 (중복 집계 방지)
+        if (!auditPipeline.submit(roomId, "participation", () -> meetingRoomService.saveParticipationStats(roomId, totals))) {
+            System.err.println("⚠️ [RoomWebSocketHandler] 참여 통계 기록 거부(백로그 초과) - 누계 누락: roomId="
+                    + roomId + ", rows=" + totals.size());
+        }
+    }
+
+    /** 회차 전환(담당 노드에서만 발생): 이 노드 누계를 끊어 기록하고, 다른 노드 참가자 누계도 끊도록 전달 */
+    private void onRollover(String roomId, Long scheduleId) {
+        if (!rooms.containsKey(roomId)) return;
+        roomActors.tell(roomId, "participation-rollover", () -> {
+            flushParticipation(roomId, scheduleId);
+            if (hasRemoteMembers(roomId)) {
+                eventBus.publish(RoomClusterEvent.command(nodeId, roomId, PARTICIPATION_ROLLOVER, String.valueOf(scheduleId)));
+            }
+        });
+    }
+
+    /** 아직 DB에 기록되지 않은 이 노드 참여 누계 (방 actor에서 읽음) */
+    public CompletableFuture<List<ParticipationTotals>> liveParticipation(String roomId) {
+        CompletableFuture<List<ParticipationTotals>> result = new CompletableFuture<>();
+        if (!rooms.containsKey(roomId)) {
+            result.complete(List.of());
+            return result;
+        }
+        roomActors.tell(roomId, "participation-summary", () -> {
+            RoomParticipation participation = roomParticipation.get(roomId);
+            result.complete(participation == null ? List.of() : participation.snapshot(System.currentTimeMillis()));
+        });
+        return result;
+    }
+
+    /** 참여 집계 지표 (/api/ws/metrics) */
+    public Map<String, Object> participationMetrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("rooms", roomParticipation.size());
+        m.put("flushes", participationFlushes.get());
+        m.put("rows", participationRows.get());
+        return m;
+    }
+
+    /** 이 노드 참가자 스냅샷을 저장소에 반영하고 다른 노드에 알림 (빈 목록이면 저장소에서 이 노드 제거) */
+    private void publishMembers(String roomId) {
+        RoomRegistry room = rooms.get(roomId);
+        stateStore.putMembers(roomId, nodeId, room == null ? List.of() : room.membersInJoinOrder());
+        snapshotDirty.set(true);
+        if (hasRemoteMembers(roomId)) {
+            eventBus.publish(RoomClusterEvent.membersChanged(nodeId, roomId));
+        }
+    }
+
+    /** 참가자가 있는 노드 중 담당 노드에서만 회차 일괄 배정 실행 (중복 DB 배정 방지) */
+    private void refreshCoordinator(String roomId, String subjectIdHint) {
+        RoomRegistry room = rooms.get(roomId);
+        if (room != null && !room.isEmpty() && ownership.isLocalCoordinator(roomId)) {
+            rolloverEngine.activate(roomId, subjectIdHint, () -> currentParticipantEmails(roomId));
+        } else {
+            rolloverEngine.deactivate(roomId);
+        }
+    }
+
+    /**
+     * 방장 명령 적용. 대상이 이 노드에 접속해 있으면 바로 적용, 다른 노드 참가자면 그 노드로 전달
+     * @return 대상을 찾았으면 true
+     */
+    private boolean dispatchHostCommand(String roomId, String command, String targetUserId) {
+        if (applyHostCommand(roomId, command, targetUserId)) return true;
+        for (RoomUser u : remoteMembers(roomId)) {
+            if (u.isOnline() && u.getUserId().equals(targetUserId)) {
+                eventBus.publish(RoomClusterEvent.command(nodeId, roomId, command, targetUserId));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** 이 노드에 접속한 대상에게 방장 명령 적용. 대상이 없으면 false */
+    private boolean applyHostCommand(String roomId, String command, String targetUserId) {
+        RoomRegistry room = rooms.get(roomId);
+        RoomUser target = room != null ? room.onlineUser(targetUserId) : null;
+        if (target == null) return false;
+        switch (command) {
+            // 방장 강제이므로 참가자가 스스로 켤 수 없음
+            case "FORCE_MUTE" -> {
+                target.setMuted(true);
+                target.setMutedByHost(true);
+            }
+            case "FORCE_CAMERA_OFF" -> {
+                target.setCameraOff(true);
+                target.setCameraOffByHost(true);
+            }
+            case "FORCE_UNMUTE" -> {
+                target.setMuted(false);
+                target.setMutedByHost(false);
+            }
+            case "FORCE_CAMERA_ON" -> {
+                target.setCameraOff(false);
+                target.setCameraOffByHost(false);
+            }
+            case "PROMOTE_HOST" -> target.setHost(true);
+            case "DEMOTE_HOST" -> target.setHost(false);
+            case "KICK" -> {
+                String targetSessionId = room.sessionIdOf(targetUserId);
+                if (targetSessionId != null) {
+                    WebSocketSession targetSession = room.session(targetSessionId);
+                    room.detach(targetSessionId);
+                    room.removeMember(targetUserId);
+                    leaveParticipation(roomId, targetUserId);
+                    // KICKED 알림이 대상에게 먼저 전달된 뒤 종료
+                    webSocketSender.close(targetSession, CloseStatus.NORMAL);
+                }
+                return true;
+            }
+            default -> {
+                return false;
+            }
+        }
+        observeParticipation(roomId, target);
+        return true;
+    }
+
+    /** 다른 노드가 보낸 이벤트. 이 노드에 해당 방 참가자가 없으면 무시, 있으면 방 actor에서 처리 */
+    private void onClusterEvent(RoomClusterEvent event) {
+        if (event.roomId() == null || !rooms.containsKey(event.roomId())) return;
+        roomActors.tell(event.roomId(), "cluster-" + event.kind(), () -> applyClusterEvent(event));
+    }
+
+    private void applyClusterEvent(RoomClusterEvent event) {
+        String roomId = event.roomId();
+        RoomRegistry room = rooms.get(roomId);
+        if (room == null) return;
+        switch (event.kind()) {
+            case FRAME -> {
+                TextMessage message = new TextMessage(event.frame());
+                for (WebSocketSession s : room.sessions()) {
+                    boolean delta = isDeltaSession(s);
+                    if ((event.fullOnly() && delta) || (event.deltaOnly() && !delta)) continue;
+                    sendMessageSafe(s, message);
+                }
+                recordChat(roomId, event.chatSeq(), event.frame());
+            }
+            case MEMBERS_CHANGED -> {
+                renderPresence(roomId);
+                refreshCoordinator(roomId, null);
+            }
+            case COMMAND -> {
+                if (PARTICIPATION_ROLLOVER.equals(event.command())) {
+                    flushParticipation(roomId, parseLongParam(event.targetUserId()));
+                } else if (applyHostCommand(roomId, event.command(), event.targetUserId())) {
+                    if ("KICK".equals(event.command())) releaseRoomIfEmpty(roomId);
+                    broadcast(roomId);
+                }
+            }
+        }
+    }
+
+    /**
+     * 세션별 전송 큐에 넣기만 하고 바로 반환 (실제 전송은 WebSocketSender writer 스레드).
+     * 같은 세션 전송은 큐에서 직렬화되므로 TEXT_PARTIAL_WRITING 없음, 느린 클라이언트가 브로드캐스트를 막지 않음
+     */
     private void sendMessageSafe(WebSocketSession session, TextMessage message) {
-        if (session == null || !session.isOpen()) return;
-        Object lock = sessionSendLocks.computeIfAbsent(session.getId(), k -> new Object());
-        synchronized (lock) {
+        if (isBinarySession(session)) {
             try {
-                if (session.isOpen()) session.sendMessage(message);
+                webSocketSender.send(session, wireCodec.toBinary(message));
+                return;
             } catch (Exception e) {
-                // 연결 끊김 등은 로그만 (예: IllegalStateException TEXT_PARTIAL_WRITING 방지됨)
+                System.err.println("⚠️ [RoomWebSocketHandler] CBOR 변환 실패 - JSON으로 전송: " + e.getMessage());
             }
         }
+        webSocketSender.send(session, message);
     }
 
+    private static boolean isBinarySession(WebSocketSession session) {
+        return RoomWireCodec.CBOR_PROTOCOL.equals(session.getAcceptedProtocol());
+    }
+
+    /** 핸드셰이크 시 클라이언트가 요청한 목록 중 첫 번째 지원 프로토콜 선택. 아무것도 요청 안 하면 JSON */
+    @Override
+    public List<String> getSubProtocols() {
+        return binaryProtocolEnabled
+                ? List.of(RoomWireCodec.CBOR_PROTOCOL, RoomWireCodec.JSON_PROTOCOL)
+                : List.of(RoomWireCodec.JSON_PROTOCOL);
+    }
+
+    /** 이 노드 참가자 변경을 클러스터에 반영한 뒤 병합 목록으로 presence 전송 */
     private void broadcast(String roomId) {
-        Map<String, WebSocketSession> sessions = roomSessions.get(roomId);
-        Map<String, RoomUser> usersMap = roomUsers.get(roomId);
+        publishMembers(roomId);
+        renderPresence(roomId);
+    }
 
-        if (sessions == null || usersMap == null) return;
+    /**
+     * 입장/퇴장으로 인한 presence 브로드캐스트. 폭주 중이면 조용해질 때까지 미뤘다가 한 번만.
+     * 보류 중 방이 비어 정리돼도 flush에서 broadcast → 저장소의 이 노드 참가자는 빈 목록으로 정리됨
+     * 이미 정리된(빈) 방은 게이트를 다시 만들지 않고 바로 broadcast (releaseRoomIfEmpty 이후 게이트 누수 방지)
+     */
+    private void broadcastMembership(String roomId) {
+        RoomRegistry room = rooms.get(roomId);
+        if (room == null || room.isEmpty()) {
+            broadcast(roomId);
+            return;
+        }
+        RoomChurnGate gate = roomChurn.computeIfAbsent(roomId,
+                k -> new RoomChurnGate(joinStormThreshold, joinStormWindowMs, joinStormQuietMs, joinStormMaxDelayMs));
+        if (gate.admit(System.currentTimeMillis())) {
+            broadcast(roomId);
+            return;
+        }
+        churnBroadcastsDeferred.incrementAndGet();
+        if (gate.claimFlushSchedule()) scheduleChurnFlush(roomId, joinStormQuietMs);
+    }
+
+    private void scheduleChurnFlush(String roomId, long delayMs) {
+        roomTaskScheduler.schedule("churn-flush-" + roomId,
+                () -> roomActors.tell(roomId, "churn-flush", () -> flushChurn(roomId)), delayMs);
+    }
+
+    /** 마지막 입장/퇴장 후 조용한 창이 아직 안 지났으면 남은 만큼 다시 예약 */
+    private void flushChurn(String roomId) {
+        RoomChurnGate gate = roomChurn.get(roomId);
+        if (gate != null && gate.pending()) {
+            long remaining = gate.remainingDelay(System.currentTimeMillis());
+            if (remaining > 0) {
+                scheduleChurnFlush(roomId, remaining);
+                return;
+            }
+            gate.flushed();
+        }
+        churnFlushes.incrementAndGet();
+        broadcast(roomId);
+    }
+
+    private void renderPresence(String roomId) {
+        RoomRegistry room = rooms.get(roomId);
+        if (room == null) return;
 
+        Collection<WebSocketSession> sessions = room.sessions();
         List<RoomUser> users = getMergedUserList(roomId);
 
         System.out.println("📢 [BROADCAST] Room: " + roomId + ", Users: " +
                 users.stream().map(u -> u.getUserName() + "(online=" + u.isOnline() + ")")
                         .toList());
 
+        // presence를 먼저 갱신 → full 목록도 같은 version의 캐시된 유저 JSON을 그대로 사용
+        RoomPresence presence = broadcastPresenceDelta(roomId, sessions, users);
+        if (presence != null) broadcastFullList(roomId, sessions, presence);
+    }
+
+    /** 기존 방식(full) 세션에 USERS_UPDATE 전체 목록 전송 */
+    private void broadcastFullList(String roomId, Collection<WebSocketSession> sessions, RoomPresence presence) {
+        if (sessions.stream().allMatch(this::isDeltaSession)) return;
         try {
-            Long roomStartedAt = roomStartedAtMap.get(roomId);
-            Map<String, Object> payloadMap = new HashMap<>();
-            payloadMap.put("type", "USERS_UPDATE");
-            payloadMap.put("users", users);
-            if (roomStartedAt != null) {
-                payloadMap.put("roomStartedAt", roomStartedAt);
-                payloadMap.put("roomElapsedMs", System.currentTimeMillis() - roomStartedAt);
+            Long roomStartedAt = stateStore.roomStartedAt(roomId);
+            TextMessage message = frameEncoder.encode(new RoomEvents.UsersUpdate(
+                    frameEncoder.usersJson(presence),
+                    roomStartedAt,
+                    roomStartedAt != null ? System.currentTimeMillis() - roomStartedAt : null));
+
+            for (WebSocketSession session : sessions) {
+                if (!isDeltaSession(session)) sendMessageSafe(session, message);
             }
-            String payload = objectMapper.writeValueAsString(payloadMap);
 
-            TextMessage message = new TextMessage(payload);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
 
-            for (WebSocketSession session : sessions.values()) {
+    /**
+     * 마지막 발행 상태와 비교해 바뀐 유저만 delta 세션에 전송.
+     * full 세션만 있는 방에서도 diff는 계속 수행 → 나중에 delta 세션이 들어와도 version이 이어짐
+     * @return 갱신된 presence. 방이 비어 정리됐으면 null
+     */
+    private RoomPresence broadcastPresenceDelta(String roomId, Collection<WebSocketSession> sessions, List<RoomUser> users) {
+        if (users.isEmpty() && sessions.isEmpty()) {
+            roomPresence.remove(roomId);
+            return null;
+        }
+        RoomPresence presence = roomPresence.computeIfAbsent(roomId, k -> new RoomPresence());
+        Map<String, Map<String, Object>> current = presence.render(users, u -> objectMapper.convertValue(u, USER_FIELDS_TYPE));
+        List<Map<String, Object>> events = presence.diff(current);
+        if (events.isEmpty()) return presence;
+        try {
+            // 이벤트가 여러 개면 PRESENCE_BATCH 한 프레임으로 묶어 전송 (이벤트별 version은 그대로 유지)
+            TextMessage message = events.size() > 1
+                    ? frameEncoder.encode(new RoomEvents.PresenceBatch(events.get(0).get("version"), presence.version(), events))
+                    : frameEncoder.encode(events.get(0));
+            for (WebSocketSession session : sessions) {
+                if (!isDeltaSession(session)
+                        || !Boolean.TRUE.equals(session.getAttributes().get(PRESENCE_SYNCED_ATTR))) continue;
                 sendMessageSafe(session, message);
             }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return presence;
+    }
 
+    /** delta 세션에 현재 버전 기준 전체 스냅샷 전송 (접속 직후 / 클라이언트 RESYNC 요청 시). 유저 목록 JSON은 버전별 캐시 재사용 */
+    private void sendPresenceSnapshot(String roomId, WebSocketSession session) {
+        if (!isDeltaSession(session)) return;
+        RoomPresence presence = roomPresence.computeIfAbsent(roomId, k -> new RoomPresence());
+        try {
+            Long roomStartedAt = stateStore.roomStartedAt(roomId);
+            sendMessageSafe(session, frameEncoder.encode(new RoomEvents.PresenceSnapshot(
+                    presence.version(),
+                    frameEncoder.usersJson(presence),
+                    roomStartedAt,
+                    roomStartedAt != null ? System.currentTimeMillis() - roomStartedAt : null)));
+            session.getAttributes().put(PRESENCE_SYNCED_ATTR, Boolean.TRUE);
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
-    /** 방 경과 시간 1초마다 브로드캐스트 시작. 모든 클라이언트가 서버 기준 동일한 시간 표시 */
-    private void startRoomElapsedBroadcast(String roomId) {
-        if (roomElapsedTimers.containsKey(roomId)) return;
-        Timer timer = new Timer("room-elapsed-" + roomId, true);
-        roomElapsedTimers.put(roomId, timer);
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                Long startedAt = roomStartedAtMap.get(roomId);
-                if (startedAt == null) return;
-                Map<String, WebSocketSession> sessions = roomSessions.get(roomId);
-                if (sessions == null || sessions.isEmpty()) return;
-                long elapsedMs = Math.max(0, System.currentTimeMillis() - startedAt);
-                try {
-                    String payload = objectMapper.writeValueAsString(
-                            Map.of("type", "ROOM_ELAPSED", "elapsedMs", elapsedMs)
-                    );
-                    TextMessage message = new TextMessage(payload);
-                    for (WebSocketSession s : sessions.values()) {
-                        sendMessageSafe(s, message);
+    /** 창의 첫 변경이면 coalesceWindowMs 뒤 flush 예약 */
+    private void scheduleStateFlush(String roomId, boolean needsSchedule) {
+        if (!needsSchedule) return;
+        roomTaskScheduler.schedule("state-flush-" + roomId,
+                () -> roomActors.tell(roomId, "state-flush", () -> flushRoomState(roomId)), coalesceWindowMs);
+    }
+
+    /**
+     * 창 동안 모인 변경을 한 번에 fan-out.
+     * - full 세션: 기존대로 유저별 USER_STATE_CHANGE(합쳐진 changes) + speaking 변경 시 USERS_UPDATE 1회
+     * - delta 세션: USER_STATE_BATCH 1프레임(userId → 합쳐진 changes) + USER_PATCH(또는 PRESENCE_BATCH) 1프레임
+     */
+    private void flushRoomState(String roomId) {
+        RoomStateCoalescer coalescer = roomCoalescers.get(roomId);
+        if (coalescer == null) return;
+        RoomStateCoalescer.Batch batch = coalescer.drain();
+        RoomRegistry room = rooms.get(roomId);
+        if (batch.isEmpty() || room == null || !room.hasSessions()) return;
+        Collection<WebSocketSession> sessions = room.sessions();
+
+        if (!batch.stateChanges().isEmpty()) {
+            boolean remote = hasRemoteMembers(roomId);
+            try {
+                if (remote || !sessions.stream().allMatch(this::isDeltaSession)) {
+                    for (Map.Entry<String, Map<String, Object>> change : batch.stateChanges().entrySet()) {
+                        fanOut(roomId, frameEncoder.encode(new RoomEvents.UserStateChange(change.getKey(), change.getValue())), true);
                     }
-                } catch (Exception e) {
-                    e.printStackTrace();
                 }
+                if (remote || sessions.stream().anyMatch(this::isDeltaSession)) {
+                    fanOutDelta(roomId, frameEncoder.encode(new RoomEvents.UserStateBatch(batch.stateChanges())));
+                }
+            } catch (Exception ex) {
+                ex.printStackTrace();
             }
-        }, 1000, 1000);
+        }
+
+        if (batch.presenceDirty()) {
+            broadcast(roomId);
+        } else {
+            publishMembers(roomId);
+            broadcastPresenceDelta(roomId, sessions, getMergedUserList(roomId));
+        }
+    }
+
+    private boolean isDeltaSession(WebSocketSession session) {
+        return PRESENCE_DELTA.equals(session.getAttributes().get(PRESENCE_MODE_ATTR));
+    }
+
+    private boolean isClockSyncSession(WebSocketSession session) {
+        return CLOCK_SYNC.equals(session.getAttributes().get(CLOCK_MODE_ATTR));
+    }
+
+    /** 방 시작 시각 + 서버 현재 시각 전달. 클라이언트는 바로 TIME_SYNC로 왕복 지연을 뺀 오프셋을 구하고 resyncIntervalMs마다 재보정 */
+    private void sendClockSync(String roomId, WebSocketSession session) {
+        try {
+            sendMessageSafe(session, frameEncoder.encode(
+                    new RoomEvents.ClockSync(stateStore.roomStartedAt(roomId), System.currentTimeMillis(), clockResyncMs)));
+            clockSyncSent.incrementAndGet();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** 구버전(ROOM_ELAPSED 의존) 세션이 들어오면 방 경과 시간 1초 틱 시작. 이미 돌고 있으면 그대로 */
+    private void startRoomElapsedBroadcast(String roomId) {
+        roomElapsedTimers.computeIfAbsent(roomId, id -> roomTaskScheduler.scheduleAtFixedRate("room-elapsed-" + id,
+                () -> roomActors.tell(id, "room-elapsed", () -> sendRoomElapsed(id)), 1000, 1000));
+    }
+
+    private void sendRoomElapsed(String roomId) {
+        Long startedAt = stateStore.roomStartedAt(roomId);
+        if (startedAt == null) return;
+        RoomRegistry room = rooms.get(roomId);
+        if (room == null || !room.hasSessions()) return;
+        List<WebSocketSession> legacySessions = room.sessions().stream()
+                .filter(s -> !isClockSyncSession(s))
+                .toList();
+        if (legacySessions.isEmpty()) {
+            // 구버전 세션이 모두 나감 → 시계 동기화 세션만 남았으므로 틱 중단
+            stopRoomElapsedBroadcast(roomId);
+            return;
+        }
+        long elapsedMs = Math.max(0, System.currentTimeMillis() - startedAt);
+        try {
+            TextMessage message = frameEncoder.encode(new RoomEvents.RoomElapsed(elapsedMs));
+            for (WebSocketSession s : legacySessions) {
+                sendMessageSafe(s, message);
+            }
+            roomElapsedFrames.addAndGet(legacySessions.size());
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
     }
 
     private void stopRoomElapsedBroadcast(String roomId) {
-        Timer timer = roomElapsedTimers.remove(roomId);
-        if (timer != null) timer.cancel();
+        ScheduledFuture<?> tick = roomElapsedTimers.remove(roomId);
+        if (tick != null) tick.cancel(false);
     }
 
     private Map<String, String> getParams(WebSocketSession session) {
@@ -463,27 +1361,99 @@ public class RoomWebSocketHandler extends TextWebSocketHandler {
         return params;
     }
 
+    private static Long parseLongParam(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     private String extractRoomId(WebSocketSession session) {
         String path = session.getUri().getPath();
         return path.substring(path.lastIndexOf("/") + 1);
     }
 
+    /** CBOR 세션이 보낸 프레임은 JSON으로 되돌려 텍스트와 같은 경로로 처리 (텍스트 프레임도 계속 허용) */
     @Override
-    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        if (!isBinarySession(session)) {
+            webSocketSender.close(session, CloseStatus.NOT_ACCEPTABLE.withReason("Binary messages not supported"));
+            return;
+        }
+        String json;
+        try {
+            json = wireCodec.toJson(message.getPayload());
+        } catch (Exception e) {
+            System.err.println("⚠️ [RoomWebSocketHandler] CBOR 프레임 해석 실패: " + e.getMessage());
+            return;
+        }
+        handleTextMessage(session, new TextMessage(json));
+    }
 
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
         String roomId = extractRoomId(session);
+        // TIME_SYNC 응답의 서버 수신 시각은 mailbox 대기 전 시점 (대기 시간은 serverSentAt과의 차이로 상쇄)
+        long receivedAt = System.currentTimeMillis();
+        // 속도 제한 종류는 실제로 처리될 type(파싱 결과)으로 판정 → 중복 "type" 키로 한도를 우회할 수 없음
+        ChatInboundMessage inbound;
+        try {
+            inbound = objectMapper.readValue(message.getPayload(), ChatInboundMessage.class);
+        } catch (Exception e) {
+            admitInbound(session, null); // 해석 못 하는 프레임도 DEFAULT 한도에 포함
+            System.err.println("⚠️ [RoomWebSocketHandler] 수신 프레임 해석 실패: " + e.getMessage());
+            return;
+        }
+        if (!admitInbound(session, inbound.getType())) return;
+        roomActors.tell(roomId, "message", () -> onMessage(session, roomId, inbound, receivedAt));
+    }
+
+    /**
+     * 수신 속도 제한. 방 전체로 퍼지는 CHAT/REACTION 등은 초과분을 버리고,
+     * SPEAKING/USER_STATE_CHANGE는 어차피 창 단위로 합쳐 1회 fan-out되므로(마지막 값 우선) 그대로 통과.
+     * 초과가 계속되는 세션은 POLICY_VIOLATION으로 종료
+     */
+    private boolean admitInbound(WebSocketSession session, String type) {
+        if ("PING".equalsIgnoreCase(type)) return true;
+        String rateClass = rateClass(type);
+        switch (rateLimiter.acquire(session, rateClass)) {
+            case ALLOW -> {
+                return true;
+            }
+            case DISCONNECT -> {
+                webSocketSender.close(session, InboundRateLimiter.FLOODING);
+                return false;
+            }
+            default -> {
+                if ("SPEAKING".equals(rateClass) || "STATE".equals(rateClass)) return true;
+                if ("CHAT".equals(rateClass)) {
+                    try {
+                        sendMessageSafe(session, frameEncoder.encode(new RoomEvents.RateLimited("CHAT")));
+                    } catch (Exception ignore) {}
+                }
+                return false;
+            }
+        }
+    }
 
-        Map<String, RoomUser> users = roomUsers.get(roomId);
-        Map<String, WebSocketSession> sessions = roomSessions.get(roomId);
+    private static String rateClass(String type) {
+        if (type == null) return InboundRateLimiter.DEFAULT_CLASS;
+        return switch (type.toUpperCase()) {
+            case "CHAT", "REACTION", "SPEAKING" -> type.toUpperCase();
+            case "USER_STATE_CHANGE" -> "STATE";
+            default -> InboundRateLimiter.DEFAULT_CLASS;
+        };
+    }
 
-        if (users == null || sessions == null) return;
+    private void onMessage(WebSocketSession session, String roomId, ChatInboundMessage inbound, long receivedAt) throws Exception {
 
-        RoomUser sender = users.get(session.getId());
-        if (sender == null) return;
+        RoomRegistry room = rooms.get(roomId);
+        if (room == null) return;
 
-        // JSON 파싱
-        ChatInboundMessage inbound =
-                objectMapper.readValue(message.getPayload(), ChatInboundMessage.class);
+        RoomUser sender = room.userBySession(session.getId());
+        if (sender == null) return;
 
         String type = inbound.getType();
         if (type == null) return;
@@ -507,14 +1477,12 @@ public class RoomWebSocketHandler extends TextWebSocketHandler {
                     text,
                     System.currentTimeMillis()
             );
+            long seq = stateStore.nextChatSeq(roomId);
+            outbound.setSeq(seq);
 
-            String payload = objectMapper.writeValueAsString(outbound);
-            TextMessage outboundMessage = new TextMessage(payload);
-
-            // 같은 방 전체 브로드캐스트
-            for (WebSocketSession s : sessions.values()) {
-                sendMessageSafe(s, outboundMessage);
-            }
+            // 같은 방 전체 브로드캐스트 (다른 노드 참가자 포함) + 재생 버퍼 기록
+            fanOutChat(roomId, frameEncoder.encode(outbound), seq);
+            chatArchiver.append(roomId, seq, sender.getUserId(), sender.getUserName(), text, outbound.getTimestamp());
 
             return;
         }
@@ -525,24 +1493,15 @@ public class RoomWebSocketHandler extends TextWebSocketHandler {
             Boolean speaking = inbound.getSpeaking();
             if (speaking == null) return;
 
-            // 상태 갱신
+            // 상태 갱신 (창 안에서 여러 번 바뀌면 마지막 값만 전송됨)
             sender.setSpeaking(speaking);
+            observeParticipation(roomId, sender);
 
-            // USERS_UPDATE는 항상 온라인+재접속 중 유저 병합 목록으로 전송 (타일 사라짐 방지)
-            List<RoomUser> userList = getMergedUserList(roomId);
-
-            String payload = objectMapper.writeValueAsString(
-                    Map.of(
-                            "type", "USERS_UPDATE",
-                            "users", userList
-                    )
-            );
-
-            TextMessage updateMessage = new TextMessage(payload);
-
-            for (WebSocketSession s : sessions.values()) {
-                sendMessageSafe(s, updateMessage);
-            }
+            // full 세션: USERS_UPDATE는 항상 온라인+재접속 중 유저 병합 목록으로 전송 (타일 사라짐 방지)
+            // delta 세션: speaking 필드만 USER_PATCH로 전송
+            // 말하기 토글은 초당 여러 번 들어오므로 즉시 보내지 않고 방 단위 flush 틱에서 1회 전송
+            RoomStateCoalescer coalescer = roomCoalescers.computeIfAbsent(roomId, k -> new RoomStateCoalescer());
+            scheduleStateFlush(roomId, coalescer.markPresenceDirty());
             return;
         }
         if ("USER_STATE_CHANGE".equalsIgnoreCase(type)) {
@@ -587,42 +1546,34 @@ public class RoomWebSocketHandler extends TextWebSocketHandler {
                 }
             }
 
-            String payload = objectMapper.writeValueAsString(
-                    Map.of(
-                            "type", "USER_STATE_CHANGE",
-                            "userId", sender.getUserId(), // 보내는 사람 ID (String)
-                            "changes", changes != null ? changes : new HashMap<>()
-                    )
-            );
-
-            TextMessage broadcastMessage = new TextMessage(payload);
-
-            for (WebSocketSession s : sessions.values()) {
-                sendMessageSafe(s, broadcastMessage);
-            }
+            // full 세션: 창 동안 합쳐진 USER_STATE_BATCH (보내는 사람 ID → changes, 필드별 마지막 값 우선)
+            // delta 세션은 서버가 실제 반영한 값만 USER_PATCH로 받음 (방장 강제 음소거 중 unmute 시도 등은 제외됨)
+            observeParticipation(roomId, sender);
+            RoomStateCoalescer coalescer = roomCoalescers.computeIfAbsent(roomId, k -> new RoomStateCoalescer());
+            scheduleStateFlush(roomId, coalescer.addStateChange(sender.getUserId(), changes));
+            return;
+        }
+        if ("RESYNC".equalsIgnoreCase(type)) {
+            // delta 클라이언트가 version 공백을 감지하면 전체 스냅샷 재요청
+            sendPresenceSnapshot(roomId, session);
+            return;
+        }
+        if ("TIME_SYNC".equalsIgnoreCase(type)) {
+            if (inbound.getClientSentAt() == null) return;
+            timeSyncReplies.incrementAndGet();
+            sendMessageSafe(session, frameEncoder.encode(
+                    new RoomEvents.TimeSync(inbound.getClientSentAt(), receivedAt, System.currentTimeMillis())));
             return;
         }
         if ("PING".equalsIgnoreCase(type)) {
+            // 순수 heartbeat. 회차 전환 배정은 SessionRolloverEngine이 회차 경계 시각에 일괄 처리
             sendMessageSafe(session, new TextMessage("{\"type\":\"PONG\"}"));
-            // 같은 날 다음 회차로 넘어갔을 때, 방에 그대로 있으면 새 회차 출석 배정 (2→3→4회차 모두 적용)
-            // PING 보낸 사람만이 아니라 방에 있는 모든 참가자에 대해 회차 전환 적용 → 4회차 행 생성 보장
-            if (users != null) {
-                for (RoomUser u : users.values()) {
-                    if (u != null && u.getUserEmail() != null && !u.getUserEmail().isBlank()) {
-                        try {
-                            meetingRoomService.checkAndAssignNewSessionIfNeeded(roomId, u.getUserEmail());
-                        } catch (Exception e) {
-                            // 한 명 실패해도 나머지 계속 처리
-                        }
-                    }
-                }
-            }
             return;
         }
 
         if ("LEAVE".equalsIgnoreCase(type)) {
 
-            RoomUser leaver = users.get(session.getId());
+            RoomUser leaver = room.userBySession(session.getId());
             if (leaver == null) return;
 
             String leaverUserId = leaver.getUserId();
@@ -630,37 +1581,29 @@ public class RoomWebSocketHandler extends TextWebSocketHandler {
 
             leaver.setExplicitlyLeft(true);
 
-            Map<String, TimerTask> timerMap = leaveTimers.get(roomId);
+            Map<String, ScheduledFuture<?>> timerMap = leaveTimers.get(roomId);
             if (timerMap != null) {
-                TimerTask t = timerMap.remove(leaverUserId);
-                if (t != null) t.cancel();
+                ScheduledFuture<?> t = timerMap.remove(leaverUserId);
+                if (t != null) t.cancel(false);
             }
 
             // ✅ 즉시 제거 (userId 기준)
-            users.entrySet().removeIf(e ->
-                    leaverUserId.equals(e.getValue().getUserId())
-            );
-
-            sessions.remove(session.getId());
+            room.detach(session.getId());
+            room.removeMember(leaverUserId);
+            leaveParticipation(roomId, leaverUserId);
 
             // 마지막 참가자가 나가면 방 시작 시각·경과 브로드캐스트 타이머 정리
-            if (users.isEmpty()) {
-                Map<String, RoomUser> disconnectedMap = roomDisconnectedUsers.get(roomId);
-                if (disconnectedMap == null || disconnectedMap.isEmpty()) {
-                    stopRoomElapsedBroadcast(roomId);
-                    roomStartedAtMap.remove(roomId);
-                }
-            }
+            releaseRoomIfEmpty(roomId);
 
-            // DB에 퇴장 시간 기록
-            meetingRoomService.handleLeave(roomId, leaver.getUserEmail(), leaver.isHost());
+            // DB에 퇴장 시간 기록 (비동기, 같은 방 입장 기록 이후 순서 보장)
+            submitLeaveAudit(roomId, leaver.getUserEmail(), wasHost);
 
             // ✅ 방장이 나갔으면 새 임시 방장 선정
             if (wasHost) {
-                selectNewHost(roomId, sessions, users);
+                selectNewHost(roomId, room);
             }
 
-            broadcast(roomId);
+            broadcastMembership(roomId);
             return;
         }
 
@@ -669,20 +1612,9 @@ public class RoomWebSocketHandler extends TextWebSocketHandler {
             String emoji = inbound.getEmoji();
             if (emoji == null || emoji.isBlank()) return;
 
-            // 그대로 room 전체에 브로드캐스트
-            String payload = objectMapper.writeValueAsString(
-                    Map.of(
-                            "type", "REACTION",
-                            "userId", sender.getUserId(),
-                            "emoji", emoji
-                    )
-            );
-
-            TextMessage broadcastMessage = new TextMessage(payload);
-
-            for (WebSocketSession s : sessions.values()) {
-                sendMessageSafe(s, broadcastMessage);
-            }
+            // 그대로 room 전체에 브로드캐스트 (채팅과 같은 순번으로 재생 버퍼에 기록, DB 보관은 안 함)
+            long seq = stateStore.nextChatSeq(roomId);
+            fanOutChat(roomId, frameEncoder.encode(new RoomEvents.Reaction(sender.getUserId(), emoji, seq)), seq);
             return;
         }
 
@@ -708,27 +1640,12 @@ public class RoomWebSocketHandler extends TextWebSocketHandler {
             String targetUserId = inbound.getTargetUserId();
             if (targetUserId == null || targetUserId.isBlank()) return;
 
-            // 대상 유저 찾기
-            RoomUser targetUser = findUserById(users, targetUserId);
-            if (targetUser == null) return;
-
-            // 상태 변경 (방장 강제이므로 참가자가 스스로 켤 수 없음)
-            targetUser.setMuted(true);
-            targetUser.setMutedByHost(true);
+            // 대상 유저 찾아 상태 변경 (방장 강제이므로 참가자가 스스로 켤 수 없음). 다른 노드 참가자면 그 노드에서 적용
+            if (!dispatchHostCommand(roomId, "FORCE_MUTE", targetUserId)) return;
 
             // 대상에게 알림 + 전체 브로드캐스트
-            String payload = objectMapper.writeValueAsString(
-                    Map.of(
-                            "type", "FORCE_MUTE",
-                            "targetUserId", targetUserId,
-                            "hostName", sender.getUserName()
-                    )
-            );
-
-            TextMessage broadcastMessage = new TextMessage(payload);
-            for (WebSocketSession s : sessions.values()) {
-                sendMessageSafe(s, broadcastMessage);
-            }
+            fanOut(roomId, frameEncoder.encode(
+                    new RoomEvents.HostAction("FORCE_MUTE", targetUserId, sender.getUserName())), false);
 
             // USERS_UPDATE도 브로드캐스트
             broadcast(roomId);
@@ -740,27 +1657,12 @@ public class RoomWebSocketHandler extends TextWebSocketHandler {
             String targetUserId = inbound.getTargetUserId();
             if (targetUserId == null || targetUserId.isBlank()) return;
 
-            // 대상 유저 찾기
-            RoomUser targetUser = findUserById(users, targetUserId);
-            if (targetUser == null) return;
-
-            // 상태 변경 (방장 강제이므로 참가자가 스스로 켤 수 없음)
-            targetUser.setCameraOff(true);
-            targetUser.setCameraOffByHost(true);
+            // 대상 유저 찾아 상태 변경 (방장 강제이므로 참가자가 스스로 켤 수 없음). 다른 노드 참가자면 그 노드에서 적용
+            if (!dispatchHostCommand(roomId, "FORCE_CAMERA_OFF", targetUserId)) return;
 
             // 대상에게 알림 + 전체 브로드캐스트
-            String payload = objectMapper.writeValueAsString(
-                    Map.of(
-                            "type", "FORCE_CAMERA_OFF",
-                            "targetUserId", targetUserId,
-                            "hostName", sender.getUserName()
-                    )
-            );
-
-            TextMessage broadcastMessage = new TextMessage(payload);
-            for (WebSocketSession s : sessions.values()) {
-                sendMessageSafe(s, broadcastMessage);
-            }
+            fanOut(roomId, frameEncoder.encode(
+                    new RoomEvents.HostAction("FORCE_CAMERA_OFF", targetUserId, sender.getUserName())), false);
 
             // USERS_UPDATE도 브로드캐스트
             broadcast(roomId);
@@ -772,23 +1674,10 @@ public class RoomWebSocketHandler extends TextWebSocketHandler {
             String targetUserId = inbound.getTargetUserId();
             if (targetUserId == null || targetUserId.isBlank()) return;
 
-            RoomUser targetUser = findUserById(users, targetUserId);
-            if (targetUser == null) return;
-
-            targetUser.setMuted(false);
-            targetUser.setMutedByHost(false);
+            if (!dispatchHostCommand(roomId, "FORCE_UNMUTE", targetUserId)) return;
 
-            String payload = objectMapper.writeValueAsString(
-                    Map.of(
-                            "type", "FORCE_UNMUTE",
-                            "targetUserId", targetUserId,
-                            "hostName", sender.getUserName()
-                    )
-            );
-            TextMessage broadcastMessage = new TextMessage(payload);
-            for (WebSocketSession s : sessions.values()) {
-                sendMessageSafe(s, broadcastMessage);
-            }
+            fanOut(roomId, frameEncoder.encode(
+                    new RoomEvents.HostAction("FORCE_UNMUTE", targetUserId, sender.getUserName())), false);
             broadcast(roomId);
             return;
         }
@@ -798,23 +1687,10 @@ public class RoomWebSocketHandler extends TextWebSocketHandler {
             String targetUserId = inbound.getTargetUserId();
             if (targetUserId == null || targetUserId.isBlank()) return;
 
-            RoomUser targetUser = findUserById(users, targetUserId);
-            if (targetUser == null) return;
-
-            targetUser.setCameraOff(false);
-            targetUser.setCameraOffByHost(false);
+            if (!dispatchHostCommand(roomId, "FORCE_CAMERA_ON", targetUserId)) return;
 
-            String payload = objectMapper.writeValueAsString(
-                    Map.of(
-                            "type", "FORCE_CAMERA_ON",
-                            "targetUserId", targetUserId,
-                            "hostName", sender.getUserName()
-                    )
-            );
-            TextMessage broadcastMessage = new TextMessage(payload);
-            for (WebSocketSession s : sessions.values()) {
-                sendMessageSafe(s, broadcastMessage);
-            }
+            fanOut(roomId, frameEncoder.encode(
+                    new RoomEvents.HostAction("FORCE_CAMERA_ON", targetUserId, sender.getUserName())), false);
             broadcast(roomId);
             return;
         }
@@ -824,75 +1700,38 @@ public class RoomWebSocketHandler extends TextWebSocketHandler {
             String targetUserId = inbound.getTargetUserId();
             if (targetUserId == null || targetUserId.isBlank()) return;
 
-            // 대상 유저 찾기
-            RoomUser targetUser = findUserById(users, targetUserId);
+            // 대상 유저 찾기 (이 노드 또는 다른 노드 참가자)
+            RoomUser targetUser = room.onlineUser(targetUserId);
+            if (targetUser == null) {
+                targetUser = remoteMembers(roomId).stream()
+                        .filter(u -> u.isOnline() && u.getUserId().equals(targetUserId))
+                        .findFirst().orElse(null);
+            }
             if (targetUser == null) return;
 
-            // DB에 강퇴 기록 (오늘 재입장 차단). 실패해도 강퇴 처리(세션 종료)는 진행
-            try {
-                meetingRoomService.recordKicked(roomId, targetUser.getUserEmail());
-            } catch (Exception e) {
-                System.err.println("⚠️ [RoomWebSocketHandler] recordKicked 실패: " + e.getMessage());
+            // DB에 강퇴 기록 (오늘 재입장 차단). 비동기 파이프라인에서 처리되며 실패해도 강퇴 처리(세션 종료)는 진행
+            String kickedEmail = targetUser.getUserEmail();
+            // DB 기록 전에 메모리 명단부터 반영 → 기록이 끝나기 전 재접속해도 즉시 차단 (로드된 방만)
+            kickRegistry.add(roomId, kickedEmail);
+            // recordKicked는 오늘 기록이 있으면 건너뛰므로 재시도 가능. 거부돼도 이 노드의 메모리 명단으로 차단은 유지
+            if (!auditPipeline.submitRetryable(roomId, "kick", () -> meetingRoomService.recordKicked(roomId, kickedEmail))) {
+                System.err.println("⚠️ [RoomWebSocketHandler] 강퇴 기록 거부(백로그 초과) - DB 기록 누락: roomId="
+                        + roomId + ", userEmail=" + kickedEmail);
             }
 
-            // 대상의 세션 ID 찾기
-            String targetSessionId = findSessionIdByUserId(users, targetUserId);
+            // 강퇴 알림 브로드캐스트 (대상에게도 먼저 전달)
+            fanOut(roomId, frameEncoder.encode(
+                    new RoomEvents.Kicked(targetUserId, targetUser.getUserName(), sender.getUserName())), false);
 
-            // 강퇴 알림 브로드캐스트
-            String payload = objectMapper.writeValueAsString(
-                    Map.of(
-                            "type", "KICKED",
-                            "targetUserId", targetUserId,
-                            "targetUserName", targetUser.getUserName(),
-                            "hostName", sender.getUserName()
-                    )
-            );
+            // 유저 제거 + 세션 종료 (다른 노드 참가자면 그 노드에서 처리)
+            dispatchHostCommand(roomId, "KICK", targetUserId);
 
-            TextMessage broadcastMessage = new TextMessage(payload);
-            for (WebSocketSession s : sessions.values()) {
-                sendMessageSafe(s, broadcastMessage);
-            }
-
-            // 유저 제거
-            if (targetSessionId != null) {
-                users.remove(targetSessionId);
-                WebSocketSession targetSession = sessions.remove(targetSessionId);
-                sessionSendLocks.remove(targetSessionId);
-                if (targetSession != null && targetSession.isOpen()) {
-                    try {
-                        targetSession.close();
-                    } catch (Exception ignore) {}
-                }
-            }
-
-            // DB에 퇴장 시간 기록
-            meetingRoomService.handleLeave(roomId, targetUser.getUserEmail(), targetUser.isHost());
+            // DB에 퇴장 시간 기록 (강퇴 기록 다음 순서로 비동기 처리)
+            submitLeaveAudit(roomId, targetUser.getUserEmail(), targetUser.isHost());
 
             // USERS_UPDATE 브로드캐스트
             broadcast(roomId);
             return;
         }
     }
-
-    /**
-     * userId로 RoomUser 찾기
-     */
-    private RoomUser findUserById(Map<String, RoomUser> users, String userId) {
-        return users.values().stream()
-                .filter(u -> userId.equals(u.getUserId()))
-                .findFirst()
-                .orElse(null);
-    }
-
-    /**
-     * userId로 세션 ID 찾기
-     */
-    private String findSessionIdByUserId(Map<String, RoomUser> users, String userId) {
-        for (Map.Entry<String, RoomUser> entry : users.entrySet()) {
-            if (userId.equals(entry.getValue().getUserId())) {
-                return entry.getKey();
-            }
-        }
-        return null;
-    }
 }
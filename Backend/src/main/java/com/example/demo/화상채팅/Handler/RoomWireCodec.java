@@ -0,0 +1,142 @@
+package com.example.demo.화상채팅.Handler;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * /ws/room 바이너리 서브프로토콜 (Sec-WebSocket-Protocol: room.cbor.v1).
+ * 이벤트 모델은 JSON과 동일. 프레임은 지금처럼 JSON으로 한 번 직렬화해 모든 수신자가 공유하고,
+ * CBOR 세션에 보낼 때만 그 JSON을 스트리밍으로 CBOR로 옮긴다 (@JsonRawValue로 끼운 유저 목록 캐시도 그대로 사용).
+ * - 필드 이름은 FIELD_DICTIONARY 인덱스(정수 키)로 대체. 사전에 없는 이름은 문자열 키 그대로
+ * - 같은 프레임을 여러 CBOR 세션에 보내면 직전 변환 결과(byte[])를 재사용 → 변환도 프레임당 1회.
+ *   BinaryMessage는 세션마다 새로 감쌈 (Tomcat sendBytes가 ByteBuffer position을 옮기므로 공유하면 두 번째 수신자부터 빈 프레임)
+ * CPU: JSON 직렬화 뒤 변환이 한 번 더 붙으므로 프레임당 CPU는 JSON보다 늘어남 (RoomWireFormatBenchmark).
+ *   이득은 프레임 크기(전송 바이트/압축 전 버퍼)이며, 변환은 수신자 수와 무관하게 프레임당 1회라 fan-out 비용은 그대로
+ * 사전은 추가만 가능 (순서 변경/삭제 시 프로토콜 버전 올림). 프론트 roomWireCodec.js와 동일해야 함
+ */
+class RoomWireCodec {
+
+    static final String CBOR_PROTOCOL = "room.cbor.v1";
+    static final String JSON_PROTOCOL = "room.json.v1";
+
+    static final List<String> FIELD_DICTIONARY = List.of(
+            "type", "userId", "userName", "userEmail", "users", "user", "roomStartedAt", "roomElapsedMs",
+            "elapsedMs", "version", "fromVersion", "toVersion", "events", "changes", "speaking", "muted",
+            "cameraOff", "online", "host", "joinAt", "explicitlyLeft", "faceEmoji", "bgRemove", "mutedByHost",
+            "cameraOffByHost", "message", "timestamp", "roomId", "seq", "emoji", "targetUserId", "targetUserName",
+            "hostName", "newHostUserId", "newHostUserName", "reason", "messageType", "serverTime",
+            "resyncIntervalMs", "clientSentAt", "serverReceivedAt", "serverSentAt", "epoch", "lastSeq",
+            "messages", "targetNode", "url");
+
+    private static final Map<String, Integer> FIELD_IDS = new HashMap<>();
+    static {
+        for (int i = 0; i < FIELD_DICTIONARY.size(); i++) FIELD_IDS.put(FIELD_DICTIONARY.get(i), i);
+    }
+
+    private record Memo(TextMessage text, byte[] cbor) {}
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final CBORFactory cborFactory = new CBORFactory();
+    private final AtomicReference<Memo> last = new AtomicReference<>();
+
+    private final AtomicLong encoded = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong jsonBytes = new AtomicLong();
+    private final AtomicLong cborBytes = new AtomicLong();
+    private final AtomicLong decoded = new AtomicLong();
+
+    /**
+     * JSON 프레임 → CBOR 프레임. 바로 전에 변환한 프레임이면 바이트를 재사용 (fan-out 루프).
+     * 반환값은 호출마다 새 BinaryMessage (ByteBuffer position은 수신자별)
+     */
+    BinaryMessage toBinary(TextMessage message) throws IOException {
+        Memo memo = last.get();
+        if (memo != null && memo.text() == message) {
+            reused.incrementAndGet();
+            return new BinaryMessage(memo.cbor());
+        }
+        byte[] bytes = toCbor(message.getPayload());
+        last.set(new Memo(message, bytes));
+        encoded.incrementAndGet();
+        jsonBytes.addAndGet(message.getPayloadLength());
+        cborBytes.addAndGet(bytes.length);
+        return new BinaryMessage(bytes);
+    }
+
+    byte[] toCbor(String json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length() / 2));
+        try (JsonParser p = jsonFactory.createParser(json);
+             CBORGenerator g = cborFactory.createGenerator(out)) {
+            JsonToken t;
+            while ((t = p.nextToken()) != null) {
+                if (t == JsonToken.FIELD_NAME) {
+                    Integer id = FIELD_IDS.get(p.currentName());
+                    if (id != null) g.writeFieldId(id);
+                    else g.writeFieldName(p.currentName());
+                } else {
+                    g.copyCurrentEvent(p);
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /** 클라이언트 CBOR 프레임 → 기존 텍스트 처리 경로에 넘길 JSON */
+    String toJson(ByteBuffer payload) throws IOException {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.duplicate().get(bytes);
+        StringWriter out = new StringWriter(bytes.length * 2);
+        try (JsonParser p = cborFactory.createParser(bytes);
+             JsonGenerator g = jsonFactory.createGenerator(out)) {
+            JsonToken t;
+            while ((t = p.nextToken()) != null) {
+                if (t == JsonToken.FIELD_NAME) {
+                    g.writeFieldName(fieldName(p.currentName()));
+                } else {
+                    g.copyCurrentEvent(p);
+                }
+            }
+        }
+        decoded.incrementAndGet();
+        return out.toString();
+    }
+
+    /** 정수 키(CBOR 파서는 "12"처럼 문자열로 전달)면 사전 이름으로 */
+    private static String fieldName(String name) {
+        if (name.isEmpty() || name.length() > 3) return name;
+        for (int i = 0; i < name.length(); i++) {
+            if (!Character.isDigit(name.charAt(i))) return name;
+        }
+        int id = Integer.parseInt(name);
+        return id < FIELD_DICTIONARY.size() ? FIELD_DICTIONARY.get(id) : name;
+    }
+
+    Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        long json = jsonBytes.get();
+        m.put("binaryEncoded", encoded.get());
+        m.put("binaryReused", reused.get());
+        m.put("binaryDecoded", decoded.get());
+        m.put("jsonBytes", json);
+        m.put("cborBytes", cborBytes.get());
+        m.put("cborRatio", json == 0 ? null : Math.round(cborBytes.get() * 1000.0 / json) / 1000.0);
+        return m;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.demo.화상채팅.Repository;
+
+import com.example.demo.화상채팅.Domain.MeetingRoomChatMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MeetingRoomChatMessageRepository extends JpaRepository<MeetingRoomChatMessage, Long> {
+}
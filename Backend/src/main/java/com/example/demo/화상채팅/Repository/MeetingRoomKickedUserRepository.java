@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface MeetingRoomKickedUserRepository extends JpaRepository<MeetingRoomKickedUser, Long> {
@@ -18,4 +19,11 @@ public interface MeetingRoomKickedUserRepository extends JpaRepository<MeetingRo
             LocalDateTime startOfDay,
             LocalDateTime endOfDay
     );
+
+    /** 방의 오늘 강퇴 명단 전체 (MeetingRoomKickRegistry 로드용) */
+    List<MeetingRoomKickedUser> findByRoomIdAndKickedAtBetween(
+            String roomId,
+            LocalDateTime startOfDay,
+            LocalDateTime endOfDay
+    );
 }
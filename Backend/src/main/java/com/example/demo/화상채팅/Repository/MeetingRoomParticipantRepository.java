@@ -4,6 +4,7 @@ import com.example.demo.화상채팅.Domain.MeetingRoomParticipant;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface MeetingRoomParticipantRepository extends JpaRepository<MeetingRoomParticipant, Long> {
@@ -26,6 +27,9 @@ public interface MeetingRoomParticipantRepository extends JpaRepository<MeetingR
     Optional<MeetingRoomParticipant> findFirstByRoomIdAndUserEmailAndScheduleIdIsNull(
             String roomId, String userEmail);
 
+    /** 회차 일괄 배정 시 방 참가자들의 기록을 한 번에 조회 */
+    List<MeetingRoomParticipant> findByRoomIdAndUserEmailIn(String roomId, Collection<String> userEmails);
+
     /** 일정 삭제 시 해당 room_id들에 대한 참가 기록 일괄 삭제 */
     void deleteByRoomIdIn(Collection<String> roomIds);
 
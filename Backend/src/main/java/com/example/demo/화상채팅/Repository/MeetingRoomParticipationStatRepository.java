@@ -0,0 +1,14 @@
+package com.example.demo.화상채팅.Repository;
+
+import com.example.demo.화상채팅.Domain.MeetingRoomParticipationStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MeetingRoomParticipationStatRepository extends JpaRepository<MeetingRoomParticipationStat, Long> {
+
+    List<MeetingRoomParticipationStat> findByRoomIdAndPeriodEndAfter(String roomId, LocalDateTime after);
+
+    List<MeetingRoomParticipationStat> findByRoomIdAndScheduleId(String roomId, Long scheduleId);
+}
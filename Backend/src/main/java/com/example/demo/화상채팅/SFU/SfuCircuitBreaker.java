@@ -0,0 +1,82 @@
+package com.example.demo.화상채팅.SFU;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * SFU 호출 서킷 브레이커 (연속 실패 기준).
+ * - CLOSED: 연속 실패가 failureThreshold에 닿으면 OPEN
+ * - OPEN: openMs 동안 호출 없이 즉시 실패 → 죽은 SFU를 기다리느라 요청 스레드/커넥션이 묶이지 않음
+ * - HALF_OPEN: openMs가 지나면 시험 호출 1개만 통과. 성공하면 CLOSED, 실패하면 다시 OPEN
+ * 4xx 응답은 SFU가 살아 있다는 뜻이라 성공으로 친다 (판정은 호출 측)
+ */
+public class SfuCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMs;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+    private long opened;
+    private long rejected;
+
+    public SfuCircuitBreaker(int failureThreshold, long openMs) {
+        this(failureThreshold, openMs, System::currentTimeMillis);
+    }
+
+    SfuCircuitBreaker(int failureThreshold, long openMs, LongSupplier clock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMs = Math.max(0, openMs);
+        this.clock = clock;
+    }
+
+    /** @return false면 호출하지 말고 바로 실패 처리 */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openMs) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.CLOSED) return true;
+        if (state == State.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;
+            return true;
+        }
+        rejected++;
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) opened++;
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+            consecutiveFailures = 0;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public synchronized Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("state", state.name());
+        m.put("consecutiveFailures", consecutiveFailures);
+        m.put("opened", opened);
+        m.put("rejected", rejected);
+        return m;
+    }
+}
@@ -1,19 +1,223 @@
 package com.example.demo.화상채팅.SFU;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * mediasoup SFU HTTP 클라이언트 (호출 대상 노드는 SfuNodePool이 고름).
+ * - JDK HttpClient 하나를 모든 노드가 공유 → 노드별 keep-alive 커넥션 풀 재사용 (HTTP/1.1 고정: SFU는 express)
+ * - 호출마다 연결 타임아웃(sfu.connect-timeout-ms) + 응답 타임아웃(sfu.read-timeout-ms)
+ * - 재시도(sfu.max-retries, 지수 백오프 + 지터): 연결 실패는 항상, 타임아웃/5xx는 멱등 호출만
+ * - 노드별 서킷 브레이커(sfu.circuit.*)로 죽은 SFU에는 바로 실패
+ * - 전부 비동기(CompletableFuture) → 요청 스레드가 SFU 응답을 기다리며 묶이지 않음
+ */
+@Slf4j
 @Component
 public class SfuClient {
 
-    private final RestTemplate restTemplate = new RestTemplate();
-    private static final String SFU_BASE_URL = "http://172.30.1.250:4000";
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final long connectTimeoutMs;
+    private final Duration readTimeout;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder shortCircuited = new LongAdder();
+
+    public SfuClient(ObjectMapper objectMapper,
+                     @Value("${sfu.connect-timeout-ms:2000}") long connectTimeoutMs,
+                     @Value("${sfu.read-timeout-ms:5000}") long readTimeoutMs,
+                     @Value("${sfu.max-retries:2}") int maxRetries,
+                     @Value("${sfu.retry-backoff-ms:100}") long retryBackoffMs) {
+        this.objectMapper = objectMapper;
+        this.connectTimeoutMs = Math.max(1, connectTimeoutMs);
+        this.readTimeout = Duration.ofMillis(Math.max(1, readTimeoutMs));
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoffMs = Math.max(0, retryBackoffMs);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(this.connectTimeoutMs))
+                .build();
+    }
+
+    /**
+     * POST. idempotent면 타임아웃/5xx도 재시도 (같은 요청을 두 번 받아도 결과가 같은 호출만 true로)
+     */
+    public <T> CompletableFuture<T> postAsync(SfuNode node, String path, Object body, Class<T> responseType,
+                                              boolean idempotent) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(node.baseUrl() + path))
+                .timeout(readTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json))
+                .build();
+        return call(node, request, responseType, idempotent);
+    }
+
+    public <T> CompletableFuture<T> getAsync(SfuNode node, String path, Class<T> responseType) {
+        return call(node, get(node, path), responseType, true);
+    }
+
+    /** 헬스 체크용 GET: 재시도/서킷 없이 1회 (결과는 SfuNodePool이 노드 상태로 반영) */
+    public <T> CompletableFuture<T> probeAsync(SfuNode node, String path, Class<T> responseType) {
+        HttpRequest request = get(node, path);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+            if (error != null) {
+                result.completeExceptionally(classify(request, error));
+            } else {
+                complete(response, responseType, result, false);
+            }
+        });
+        return result;
+    }
+
+    private HttpRequest get(SfuNode node, String path) {
+        return HttpRequest.newBuilder(URI.create(node.baseUrl() + path))
+                .timeout(readTimeout)
+                .GET()
+                .build();
+    }
+
+    /** 재시도까지 포함한 호출 하나의 최대 소요 시간 (DeferredResult 타임아웃용) */
+    public long deadlineMs() {
+        return (connectTimeoutMs + readTimeout.toMillis()) * (maxRetries + 1) + retryBackoffMs * (2L << maxRetries);
+    }
+
+    private <T> CompletableFuture<T> call(SfuNode node, HttpRequest request, Class<T> responseType, boolean idempotent) {
+        calls.increment();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(node.circuitBreaker(), request, responseType, idempotent, 0, result);
+        return result;
+    }
+
+    private <T> void attempt(SfuCircuitBreaker circuitBreaker, HttpRequest request, Class<T> responseType,
+                             boolean idempotent, int attempt, CompletableFuture<T> result) {
+        if (!circuitBreaker.tryAcquire()) {
+            shortCircuited.increment();
+            failed.increment();
+            result.completeExceptionally(new SfuException(SfuException.Kind.CIRCUIT_OPEN, 0,
+                    "SFU circuit open: " + request.uri(), null));
+            return;
+        }
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+            SfuException failure;
+            if (error == null && response.statusCode() < 500) {
+                // 4xx도 SFU는 정상 → 서킷에는 성공
+                circuitBreaker.onSuccess();
+                complete(response, responseType, result, true);
+                return;
+            }
+            failure = error == null
+                    ? new SfuException(SfuException.Kind.ERROR_STATUS, response.statusCode(),
+                            "SFU " + response.statusCode() + ": " + bodyText(response.body()), null)
+                    : classify(request, error);
+            circuitBreaker.onFailure();
+            if (attempt < maxRetries && retryable(failure, idempotent)) {
+                retries.increment();
+                CompletableFuture.delayedExecutor(backoffMs(attempt), TimeUnit.MILLISECONDS)
+                        .execute(() -> attempt(circuitBreaker, request, responseType, idempotent, attempt + 1, result));
+                return;
+            }
+            failed.increment();
+            if (failure.getKind() == SfuException.Kind.TIMEOUT) timeouts.increment();
+            log.warn("[SfuClient] 호출 실패: {} {} kind={}, attempts={}",
+                    request.method(), request.uri(), failure.getKind(), attempt + 1);
+            result.completeExceptionally(failure);
+        });
+    }
+
+    private <T> void complete(HttpResponse<byte[]> response, Class<T> responseType, CompletableFuture<T> result,
+                              boolean counted) {
+        int status = response.statusCode();
+        if (status < 200 || status >= 300) {
+            if (counted) failed.increment();
+            result.completeExceptionally(new SfuException(SfuException.Kind.ERROR_STATUS, status,
+                    "SFU " + status + ": " + bodyText(response.body()), null));
+            return;
+        }
+        try {
+            byte[] body = response.body();
+            result.complete(body == null || body.length == 0 ? null : objectMapper.readValue(body, responseType));
+            if (counted) succeeded.increment();
+        } catch (IOException e) {
+            if (counted) failed.increment();
+            result.completeExceptionally(new SfuException(SfuException.Kind.BAD_RESPONSE, status,
+                    "SFU 응답 해석 실패", e));
+        }
+    }
+
+    private static SfuException classify(HttpRequest request, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpConnectTimeoutException || cause instanceof ConnectException) {
+            return new SfuException(SfuException.Kind.UNREACHABLE, 0, "SFU unreachable: " + request.uri(), cause);
+        }
+        if (cause instanceof HttpTimeoutException) {
+            return new SfuException(SfuException.Kind.TIMEOUT, 0, "SFU timeout: " + request.uri(), cause);
+        }
+        return new SfuException(SfuException.Kind.UNREACHABLE, 0, "SFU I/O error: " + request.uri(), cause);
+    }
+
+    /** 연결 실패는 요청이 SFU에 닿지 않았으므로 항상 재시도. 그 외(타임아웃/5xx/끊김)는 멱등 호출만 */
+    private static boolean retryable(SfuException failure, boolean idempotent) {
+        if (failure.getCause() instanceof ConnectException || failure.getCause() instanceof HttpConnectTimeoutException) {
+            return true;
+        }
+        return idempotent;
+    }
+
+    /** retryBackoffMs × 2^attempt, ±50% 지터 (동시에 실패한 요청들이 한꺼번에 재시도하지 않게) */
+    private long backoffMs(int attempt) {
+        long base = retryBackoffMs << attempt;
+        if (base <= 0) return 0;
+        return base / 2 + ThreadLocalRandom.current().nextLong(base + 1);
+    }
+
+    private static String bodyText(byte[] body) {
+        if (body == null) return "";
+        String text = new String(body, StandardCharsets.UTF_8);
+        return text.length() > 200 ? text.substring(0, 200) : text;
+    }
 
-    public <T> T post(String path, Object body, Class<T> responseType) {
-        return restTemplate.postForObject(
-                SFU_BASE_URL + path,
-                body,
-                responseType
-        );
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("calls", calls.sum());
+        m.put("succeeded", succeeded.sum());
+        m.put("failed", failed.sum());
+        m.put("retries", retries.sum());
+        m.put("timeouts", timeouts.sum());
+        m.put("shortCircuited", shortCircuited.sum());
+        return m;
     }
 }
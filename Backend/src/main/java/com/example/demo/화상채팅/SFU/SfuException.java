@@ -0,0 +1,48 @@
+package com.example.demo.화상채팅.SFU;
+
+/** SFU 호출 실패. kind로 원인 구분 (컨트롤러가 HTTP 상태로 변환) */
+public class SfuException extends RuntimeException {
+
+    public enum Kind {
+        /** 서킷 OPEN → 호출하지 않음 */
+        CIRCUIT_OPEN,
+        /** 배치 가능한 SFU 노드 없음 (모두 unhealthy/drain) */
+        NO_NODE,
+        /** 연결 실패 (요청이 SFU에 도달하지 않음 → 어떤 호출이든 재시도 안전) */
+        UNREACHABLE,
+        /** 응답 대기 초과 */
+        TIMEOUT,
+        /** SFU가 2xx 이외 상태로 응답 */
+        ERROR_STATUS,
+        /** 응답 본문 해석 실패 */
+        BAD_RESPONSE
+    }
+
+    private final Kind kind;
+    private final int status;
+
+    public SfuException(Kind kind, int status, String message, Throwable cause) {
+        super(message, cause);
+        this.kind = kind;
+        this.status = status;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /** SFU 응답 상태 (응답을 못 받았으면 0) */
+    public int getStatus() {
+        return status;
+    }
+
+    /** 클라이언트에 돌려줄 HTTP 상태: 503(서킷 OPEN/연결 불가/가용 노드 없음) / 504(타임아웃) / 502(SFU 오류), SFU의 4xx는 그대로 */
+    public int httpStatus() {
+        return switch (kind) {
+            case CIRCUIT_OPEN, NO_NODE, UNREACHABLE -> 503;
+            case TIMEOUT -> 504;
+            case ERROR_STATUS -> status >= 400 && status < 500 ? status : 502;
+            case BAD_RESPONSE -> 502;
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.demo.화상채팅.SFU;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SFU 노드 하나 (주소 + 서킷 + 마지막 헬스 체크 결과).
+ * rooms/consumers는 SFU /metrics 값. 다음 체크 전까지 이 노드가 새로 배치한 방은 pendingRooms로 더해 한쪽 쏠림 방지
+ * generation: SFU 재시작(epoch 변경)이나 unhealthy 전환마다 증가 → 이 노드에서 받아 둔 캐시(SfuRoomCache)를 한 번에 무효화
+ */
+public class SfuNode {
+
+    private final String id;
+    private final String baseUrl;
+    private final SfuCircuitBreaker circuitBreaker;
+
+    private volatile boolean healthy = true;
+    private volatile int rooms;
+    private volatile int peers;
+    private volatile int consumers;
+    private volatile long checkedAt;
+    private final AtomicInteger pendingRooms = new AtomicInteger();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile String epoch;
+    private int consecutiveProbeFailures;
+
+    public SfuNode(String id, String baseUrl, SfuCircuitBreaker circuitBreaker) {
+        this.id = id;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    public SfuCircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /** 헬스 체크 통과 + 서킷이 열려 있지 않음 */
+    public boolean available() {
+        return healthy && circuitBreaker.state() != SfuCircuitBreaker.State.OPEN;
+    }
+
+    public int load(boolean byConsumers) {
+        return byConsumers ? consumers : rooms + pendingRooms.get();
+    }
+
+    void placed() {
+        pendingRooms.incrementAndGet();
+    }
+
+    /** @return SFU epoch가 바뀌었으면(재시작) true */
+    synchronized boolean probeSucceeded(String epoch, int rooms, int peers, int consumers, long now) {
+        boolean restarted = epoch != null && this.epoch != null && !epoch.equals(this.epoch);
+        if (restarted) generation.incrementAndGet();
+        if (epoch != null) this.epoch = epoch;
+        this.rooms = rooms;
+        this.peers = peers;
+        this.consumers = consumers;
+        this.checkedAt = now;
+        this.pendingRooms.set(0);
+        this.consecutiveProbeFailures = 0;
+        this.healthy = true;
+        return restarted;
+    }
+
+    /** @return 이번 실패로 unhealthy가 됐으면 true */
+    synchronized boolean probeFailed(int unhealthyAfter, long now) {
+        this.checkedAt = now;
+        if (++consecutiveProbeFailures < unhealthyAfter || !healthy) return false;
+        healthy = false;
+        // 죽었다 살아나면 epoch 없이도(구버전 SFU) 캐시가 남지 않게
+        generation.incrementAndGet();
+        return true;
+    }
+
+    public boolean healthy() {
+        return healthy;
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("baseUrl", baseUrl);
+        m.put("healthy", healthy);
+        m.put("rooms", rooms);
+        m.put("pendingRooms", pendingRooms.get());
+        m.put("peers", peers);
+        m.put("consumers", consumers);
+        m.put("checkedAt", checkedAt);
+        m.put("epoch", epoch);
+        m.put("generation", generation.get());
+        m.put("circuit", circuitBreaker.metrics());
+        return m;
+    }
+}
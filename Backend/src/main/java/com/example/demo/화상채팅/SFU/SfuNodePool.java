@@ -0,0 +1,204 @@
+package com.example.demo.화상채팅.SFU;
+
+import com.example.demo.화상채팅.Cluster.RoomStateStore;
+import com.example.demo.화상채팅.Scheduler.RoomTaskScheduler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * SFU 노드 풀: 헬스 체크, 새 방 배치, roomId → SFU 고정, drain.
+ * - 노드 목록: sfu.nodes="sfu-1=http://a:4000,sfu-2=http://b:4000" (비어 있으면 sfu.base-url 하나)
+ * - 헬스 체크: sfu.health.interval-ms마다 GET /metrics. 연속 sfu.health.unhealthy-after번 실패하면 unhealthy
+ * - 배치(sfu.placement): least-rooms(기본) / least-consumers. drain 중이거나 unhealthy, 서킷 OPEN인 노드는 제외
+ * - 배치 결과는 RoomStateStore에 저장 → 어느 Spring 노드로 들어온 호출이든 같은 방은 같은 SFU로
+ * - 방 생성(/room)만 배치된 노드가 unhealthy일 때 재배치. transport/produce/consume은 배치된 노드로만 보냄
+ *   (미디어 상태가 그 SFU에만 있으므로 다른 노드로 보내면 어차피 실패)
+ */
+@Slf4j
+@Component
+public class SfuNodePool {
+
+    public enum Placement { LEAST_ROOMS, LEAST_CONSUMERS }
+
+    private final Map<String, SfuNode> nodes;
+    private final SfuClient sfuClient;
+    private final RoomStateStore stateStore;
+    private final RoomTaskScheduler roomTaskScheduler;
+    private final Placement placement;
+    private final long healthIntervalMs;
+    private final int unhealthyAfter;
+
+    private final LongAdder placements = new LongAdder();
+    private final LongAdder replacements = new LongAdder();
+    private final LongAdder noNodeAvailable = new LongAdder();
+    private ScheduledFuture<?> healthTimer;
+    /** 방이 새로 배치(또는 재배치)될 때 roomId로 호출 */
+    private final List<Consumer<String>> placementListeners = new CopyOnWriteArrayList<>();
+
+    public SfuNodePool(SfuClient sfuClient,
+                       RoomStateStore stateStore,
+                       RoomTaskScheduler roomTaskScheduler,
+                       @Value("${sfu.nodes:}") String nodesSpec,
+                       @Value("${sfu.base-url:http://172.30.1.250:4000}") String baseUrl,
+                       @Value("${sfu.placement:least-rooms}") String placement,
+                       @Value("${sfu.health.interval-ms:5000}") long healthIntervalMs,
+                       @Value("${sfu.health.unhealthy-after:2}") int unhealthyAfter,
+                       @Value("${sfu.circuit.failure-threshold:5}") int failureThreshold,
+                       @Value("${sfu.circuit.open-ms:10000}") long openMs) {
+        this.sfuClient = sfuClient;
+        this.stateStore = stateStore;
+        this.roomTaskScheduler = roomTaskScheduler;
+        this.placement = Placement.valueOf(placement.trim().toUpperCase().replace('-', '_'));
+        this.healthIntervalMs = Math.max(0, healthIntervalMs);
+        this.unhealthyAfter = Math.max(1, unhealthyAfter);
+        Map<String, SfuNode> parsed = new LinkedHashMap<>();
+        parseNodes(nodesSpec, baseUrl).forEach((id, url) ->
+                parsed.put(id, new SfuNode(id, url, new SfuCircuitBreaker(failureThreshold, openMs))));
+        this.nodes = Collections.unmodifiableMap(parsed);
+    }
+
+    /** "id=url,..." → id → url (id 생략 시 sfu-순번). 비어 있으면 baseUrl 하나 */
+    static Map<String, String> parseNodes(String spec, String baseUrl) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (spec != null) {
+            for (String entry : spec.split(",")) {
+                String e = entry.trim();
+                if (e.isEmpty()) continue;
+                int eq = e.indexOf('=');
+                if (eq > 0) result.put(e.substring(0, eq).trim(), e.substring(eq + 1).trim());
+                else result.put("sfu-" + (result.size() + 1), e);
+            }
+        }
+        if (result.isEmpty()) result.put("sfu-1", baseUrl);
+        return result;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (healthIntervalMs > 0) {
+            healthTimer = roomTaskScheduler.scheduleAtFixedRate("sfu-health", this::probeAll, 0, healthIntervalMs);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (healthTimer != null) healthTimer.cancel(false);
+    }
+
+    /** 모든 노드 헬스 체크 (응답이 오면 비동기로 반영) */
+    public CompletableFuture<Void> probeAll() {
+        CompletableFuture<?>[] probes = nodes.values().stream().map(this::probe).toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(probes);
+    }
+
+    private CompletableFuture<Void> probe(SfuNode node) {
+        return sfuClient.probeAsync(node, "/metrics", Map.class).handle((metrics, error) -> {
+            long now = System.currentTimeMillis();
+            if (error == null && metrics != null && intOf(metrics, "workers", 1) > 0) {
+                if (!node.healthy()) log.info("[SfuNodePool] SFU 복구: node={}", node.id());
+                Object epoch = metrics.get("epoch");
+                if (node.probeSucceeded(epoch != null ? epoch.toString() : null, intOf(metrics, "rooms", 0),
+                        intOf(metrics, "peers", 0), intOf(metrics, "consumers", 0), now)) {
+                    log.info("[SfuNodePool] SFU 재시작 감지: node={}, epoch={}", node.id(), epoch);
+                }
+            } else if (node.probeFailed(unhealthyAfter, now)) {
+                log.warn("[SfuNodePool] SFU unhealthy: node={}, url={}, error={}", node.id(), node.baseUrl(),
+                        error != null ? error.getMessage() : "no workers");
+            }
+            return null;
+        });
+    }
+
+    private static int intOf(Map<?, ?> map, String key, int defaultValue) {
+        return map.get(key) instanceof Number n ? n.intValue() : defaultValue;
+    }
+
+    /**
+     * roomId가 배치된 SFU 노드. 미배치면 새로 배치.
+     * @param replaceUnhealthy 배치된 노드가 unhealthy/제거됐으면 다른 노드로 재배치 (방 생성 호출만 true)
+     * @throws SfuException NO_NODE: 배치 가능한 노드가 없음
+     */
+    public SfuNode nodeFor(String roomId, boolean replaceUnhealthy) {
+        String current = stateStore.sfuNodeOf(roomId);
+        SfuNode node = current != null ? nodes.get(current) : null;
+        if (node != null && (node.healthy() || !replaceUnhealthy)) return node;
+
+        SfuNode chosen = choose();
+        if (chosen == null) {
+            noNodeAvailable.increment();
+            throw new SfuException(SfuException.Kind.NO_NODE, 0, "배치 가능한 SFU 노드 없음: roomId=" + roomId, null);
+        }
+        String placed = stateStore.placeSfuNode(roomId, current, chosen.id());
+        // 이 호출이 배치했든 다른 Spring 노드가 먼저 배치했든 이전 배치 기준 상태는 버림
+        placementListeners.forEach(l -> l.accept(roomId));
+        if (chosen.id().equals(placed)) {
+            chosen.placed();
+            placements.increment();
+            if (current != null) {
+                replacements.increment();
+                log.info("[SfuNodePool] 방 재배치: roomId={}, {} -> {}", roomId, current, chosen.id());
+            }
+            return chosen;
+        }
+        // 다른 Spring 노드가 먼저 배치함
+        SfuNode winner = nodes.get(placed);
+        return winner != null ? winner : chosen;
+    }
+
+    public void addPlacementListener(Consumer<String> listener) {
+        placementListeners.add(listener);
+    }
+
+    private SfuNode choose() {
+        Set<String> draining = stateStore.drainingSfuNodes();
+        boolean byConsumers = placement == Placement.LEAST_CONSUMERS;
+        return nodes.values().stream()
+                .filter(n -> n.available() && !draining.contains(n.id()))
+                .min(Comparator.comparingInt((SfuNode n) -> n.load(byConsumers)).thenComparing(SfuNode::id))
+                .orElse(null);
+    }
+
+    /** drain: 새 방 배치에서 제외 (이미 배치된 방은 끝날 때까지 그 노드 사용) */
+    public boolean setDraining(String nodeId, boolean draining) {
+        if (!nodes.containsKey(nodeId)) return false;
+        stateStore.setSfuDraining(nodeId, draining);
+        log.info("[SfuNodePool] SFU drain {}: node={}", draining ? "시작" : "해제", nodeId);
+        return true;
+    }
+
+    public SfuNode node(String nodeId) {
+        return nodes.get(nodeId);
+    }
+
+    public Map<String, Object> metrics() {
+        Set<String> draining = stateStore.drainingSfuNodes();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("placement", placement.name());
+        m.put("placements", placements.sum());
+        m.put("replacements", replacements.sum());
+        m.put("noNodeAvailable", noNodeAvailable.sum());
+        Map<String, Object> byNode = new LinkedHashMap<>();
+        nodes.forEach((id, node) -> {
+            Map<String, Object> n = new LinkedHashMap<>(node.metrics());
+            n.put("draining", draining.contains(id));
+            byNode.put(id, n);
+        });
+        m.put("nodes", byNode);
+        return m;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.demo.화상채팅.SFU;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 방 생성(/rooms) 응답 캐시 (router rtpCapabilities 등 방 메타데이터).
+ * 재입장/재접속마다 SFU를 다시 부르지 않고 메모리에서 응답. 다음 경우엔 무효:
+ * - 배치된 SFU 노드가 바뀜 / 방이 새로 배치됨 (SfuNodePool 배치 리스너)
+ * - 그 노드의 generation이 바뀜 (SFU 재시작 epoch 변경, unhealthy 전환)
+ * - ttl-ms 경과, 또는 이후 호출이 404(SFU에서 방이 사라짐)로 invalidate
+ *   (router는 마지막 peer가 나가면 SFU가 닫으므로 캐시가 더 오래 남을 수 있음 → SfuSignalingBatch가 방을 다시 만들고 재시도)
+ * 같은 방 동시 미스는 SFU 호출 1번을 함께 기다림 (재접속 몰림 대비)
+ * transport 파라미터는 연결마다 새 객체(ICE/DTLS)라 캐시하지 않음
+ */
+@Component
+public class SfuRoomCache {
+
+    private record Entry(String nodeId, long generation, Object body, long cachedAt) {}
+
+    private final boolean enabled;
+    private final long ttlMs;
+    private final Map<String, Entry> entries;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Autowired
+    public SfuRoomCache(SfuNodePool sfuNodePool,
+                        @Value("${sfu.room-cache.enabled:true}") boolean enabled,
+                        @Value("${sfu.room-cache.ttl-ms:300000}") long ttlMs,
+                        @Value("${sfu.room-cache.max-rooms:10000}") int maxRooms) {
+        this(enabled, ttlMs, maxRooms);
+        sfuNodePool.addPlacementListener(this::invalidate);
+    }
+
+    SfuRoomCache(boolean enabled, long ttlMs, int maxRooms) {
+        this.enabled = enabled;
+        this.ttlMs = Math.max(0, ttlMs);
+        int max = Math.max(1, maxRooms);
+        // 접근 순서 LRU: 오래 안 쓴 방부터 밀어냄
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > max;
+            }
+        });
+    }
+
+    /** 유효한 캐시가 있으면 바로, 없으면 call로 SFU에 방 생성 후 저장 */
+    public CompletableFuture<Object> createRoom(SfuNode node, String roomId, Supplier<CompletableFuture<Object>> call) {
+        if (!enabled) return call.get();
+        long now = System.currentTimeMillis();
+        long generation = node.generation();
+        Entry entry = entries.get(roomId);
+        if (entry != null && entry.nodeId().equals(node.id()) && entry.generation() == generation
+                && now - entry.cachedAt() <= ttlMs) {
+            hits.increment();
+            return CompletableFuture.completedFuture(entry.body());
+        }
+        String key = roomId + "@" + node.id();
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> pending = inFlight.putIfAbsent(key, mine);
+        if (pending != null) {
+            coalesced.increment();
+            return pending;
+        }
+        misses.increment();
+        call.get().whenComplete((body, error) -> {
+            inFlight.remove(key, mine);
+            if (error != null) {
+                mine.completeExceptionally(error);
+                return;
+            }
+            // 호출 도중 SFU가 재시작했으면 저장하지 않음
+            if (generation == node.generation()) entries.put(roomId, new Entry(node.id(), generation, body, now));
+            mine.complete(body);
+        });
+        return mine;
+    }
+
+    public void invalidate(String roomId) {
+        if (entries.remove(roomId) != null) invalidations.increment();
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("enabled", enabled);
+        m.put("rooms", entries.size());
+        m.put("hits", hits.sum());
+        m.put("misses", misses.sum());
+        m.put("coalesced", coalesced.sum());
+        m.put("invalidations", invalidations.sum());
+        return m;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.demo.화상채팅.SFU;
+
+import com.example.demo.dto.SignalBatchRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 시그널링 호출 묶음 처리 (POST /api/signal/batch).
+ * 입장 시 room → transport×2 → produce×2 → consume×N을 호출마다 왕복하지 않고 한 요청으로 받아
+ * - room 호출을 먼저 끝낸 뒤 (나머지가 방 존재를 전제)
+ * - 나머지는 같은 SFU 노드로 동시에 보냄 (keep-alive 커넥션 여러 개로 병렬 처리)
+ * 결과는 요청 순서대로, 호출별 status/body. 일부 실패해도 나머지 결과는 그대로 반환
+ * (room 실패 시 나머지는 424로 건너뜀)
+ * room 호출은 SfuRoomCache를 거침 (재입장이면 SFU 왕복 없이 응답). 이후 호출이 404면 방을 다시 만들고 1회 재시도
+ * 현재 웹 클라이언트는 SFU WebSocket으로 직접 시그널링하므로 이 경로를 쓰지 않음 (SignalingController 참고)
+ */
+@Component
+public class SfuSignalingBatch {
+
+    /** op → SFU 경로 / 재시도 가능 여부 */
+    public enum Operation {
+        ROOM("/rooms", true),
+        TRANSPORT("/transports", false),
+        PRODUCE("/produce", false),
+        CONSUME("/consume", false);
+
+        private final String path;
+        private final boolean idempotent;
+
+        Operation(String path, boolean idempotent) {
+            this.path = path;
+            this.idempotent = idempotent;
+        }
+
+        public String path() {
+            return path;
+        }
+
+        public boolean idempotent() {
+            return idempotent;
+        }
+
+        public static Operation of(String op) {
+            if (op == null) return null;
+            for (Operation o : values()) {
+                if (o.name().equalsIgnoreCase(op.trim())) return o;
+            }
+            return null;
+        }
+    }
+
+    private final SfuClient sfuClient;
+    private final SfuRoomCache sfuRoomCache;
+
+    public SfuSignalingBatch(SfuClient sfuClient, SfuRoomCache sfuRoomCache) {
+        this.sfuClient = sfuClient;
+        this.sfuRoomCache = sfuRoomCache;
+    }
+
+    /**
+     * 호출 하나. room은 캐시 경유.
+     * 나머지가 404면 SFU에서 방(router)이 사라진 것 (캐시된 room 응답이 router보다 오래 남은 경우 등)
+     * → 캐시를 버리고 방을 다시 만든 뒤 한 번만 재시도
+     */
+    public CompletableFuture<Object> call(SfuNode node, String roomId, Operation operation, Object body) {
+        if (operation == Operation.ROOM) return createRoom(node, roomId, body);
+        return post(node, operation, body).exceptionallyCompose(error -> {
+            if (!roomMissing(error)) return CompletableFuture.failedFuture(error);
+            sfuRoomCache.invalidate(roomId);
+            return createRoom(node, roomId, Map.of("roomId", roomId))
+                    .thenCompose(room -> post(node, operation, body));
+        });
+    }
+
+    private CompletableFuture<Object> createRoom(SfuNode node, String roomId, Object body) {
+        return sfuRoomCache.createRoom(node, roomId, () -> post(node, Operation.ROOM, body));
+    }
+
+    private CompletableFuture<Object> post(SfuNode node, Operation operation, Object body) {
+        return sfuClient.postAsync(node, operation.path(), body, Object.class, operation.idempotent());
+    }
+
+    private static boolean roomMissing(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof SfuException sfu && sfu.getStatus() == 404;
+    }
+
+    /** ops는 호출 측이 검증 완료 (op 이름 유효, 개수 상한) */
+    public CompletableFuture<List<Map<String, Object>>> execute(SfuNode node, String roomId, List<SignalBatchRequest.Op> ops) {
+        List<Map<String, Object>> results = Collections.synchronizedList(new ArrayList<>(Collections.nCopies(ops.size(), null)));
+        List<Integer> roomOps = new ArrayList<>();
+        List<Integer> otherOps = new ArrayList<>();
+        for (int i = 0; i < ops.size(); i++) {
+            (Operation.of(ops.get(i).getOp()) == Operation.ROOM ? roomOps : otherOps).add(i);
+        }
+        return runAll(node, roomId, ops, roomOps, results)
+                .thenCompose(v -> {
+                    boolean roomFailed = roomOps.stream().anyMatch(i -> (int) results.get(i).get("status") >= 300);
+                    if (!roomFailed) return runAll(node, roomId, ops, otherOps, results);
+                    for (int i : otherOps) {
+                        results.set(i, result(ops.get(i), i, 424, null, "room 호출 실패로 건너뜀"));
+                    }
+                    return CompletableFuture.<Void>completedFuture(null);
+                })
+                .thenApply(v -> List.copyOf(results));
+    }
+
+    private CompletableFuture<Void> runAll(SfuNode node, String roomId, List<SignalBatchRequest.Op> ops,
+                                           List<Integer> indexes, List<Map<String, Object>> results) {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[indexes.size()];
+        for (int k = 0; k < indexes.size(); k++) {
+            int i = indexes.get(k);
+            SignalBatchRequest.Op op = ops.get(i);
+            Operation operation = Operation.of(op.getOp());
+            Map<String, Object> body = new LinkedHashMap<>(op.getBody() != null ? op.getBody() : Map.of());
+            body.put("roomId", roomId);
+            calls[k] = call(node, roomId, operation, body)
+                    .handle((response, error) -> {
+                        if (error == null) {
+                            results.set(i, result(op, i, 200, response, null));
+                        } else {
+                            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                            int status = cause instanceof SfuException sfu ? sfu.httpStatus() : 502;
+                            results.set(i, result(op, i, status, null, cause.getMessage()));
+                        }
+                        return null;
+                    });
+        }
+        return CompletableFuture.allOf(calls);
+    }
+
+    private static Map<String, Object> result(SignalBatchRequest.Op op, int index, int status, Object body, String error) {
+        Map<String, Object> r = new LinkedHashMap<>();
+        r.put("id", op.getId() != null ? op.getId() : String.valueOf(index));
+        r.put("op", op.getOp());
+        r.put("status", status);
+        if (body != null) r.put("body", body);
+        if (error != null) r.put("error", error);
+        return r;
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.demo.화상채팅.Scheduler;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 화상채팅 방 단위 actor(mailbox) 실행기.
+ * 방 하나의 입장/퇴장/메시지/타이머 이벤트는 모두 그 방 mailbox에 들어가 공용 스레드 풀에서 한 번에 하나씩 처리된다.
+ * → 방 상태(세션/유저/재접속 대기/타이머)를 건드리는 코드는 항상 단일 스레드: 맵 간 경쟁 상태와 락이 필요 없음.
+ * - 서로 다른 방은 병렬 처리, 한 방이 스레드를 오래 잡지 않도록 drain 1회당 최대 batchSize개 처리 후 재등록
+ * - 방별 처리 건수/대기 지연/처리 시간을 기록 → 방 단위 처리량·지연 측정
+ */
+@Slf4j
+@Component
+public class RoomActorExecutor {
+
+    /** 예외를 던질 수 있는 방 이벤트 */
+    @FunctionalInterface
+    public interface RoomEvent {
+        void run() throws Exception;
+    }
+
+    private static final int METRICS_TOP_ROOMS = 20;
+
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+    private final int batchSize;
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong maxQueueLatencyMs = new AtomicLong();
+    private final AtomicInteger maxMailboxDepth = new AtomicInteger();
+
+    public RoomActorExecutor(@Value("${meeting.ws.actor.threads:4}") int threads,
+                             @Value("${meeting.ws.actor.batch-size:64}") int batchSize) {
+        AtomicInteger seq = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "room-actor-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /** 방 mailbox에 이벤트 추가. 호출 스레드는 블로킹되지 않으며, 같은 방 이벤트는 추가한 순서대로 실행된다 */
+    public void tell(String roomId, String name, RoomEvent event) {
+        String key = roomId != null ? roomId : "";
+        Envelope envelope = new Envelope(name, event, System.nanoTime());
+        while (true) {
+            Mailbox mailbox = mailboxes.computeIfAbsent(key, Mailbox::new);
+            boolean start;
+            synchronized (mailbox) {
+                // 방금 비워져 map에서 빠진 mailbox면 새 mailbox로 다시 시도 (같은 방 동시 실행 방지)
+                if (mailbox.retired) continue;
+                mailbox.queue.addLast(envelope);
+                maxMailboxDepth.accumulateAndGet(mailbox.queue.size(), Math::max);
+                start = !mailbox.running;
+                mailbox.running = true;
+            }
+            if (start) workers.execute(() -> drain(mailbox));
+            return;
+        }
+    }
+
+    /**
+     * 방이 완전히 비었음을 알림 (방 actor 안에서 호출). 남은 이벤트를 모두 처리한 뒤 mailbox와 방 통계를 정리한다.
+     * 그 전에 새 이벤트가 오면 계속 처리되며, 정리 후 들어온 이벤트는 새 mailbox에서 처리된다.
+     */
+    public void release(String roomId) {
+        Mailbox mailbox = mailboxes.get(roomId != null ? roomId : "");
+        if (mailbox == null) return;
+        synchronized (mailbox) {
+            mailbox.released = true;
+        }
+    }
+
+    private void drain(Mailbox mailbox) {
+        for (int i = 0; i < batchSize; i++) {
+            Envelope envelope;
+            synchronized (mailbox) {
+                envelope = mailbox.queue.pollFirst();
+                if (envelope == null) {
+                    mailbox.running = false;
+                    if (mailbox.released) {
+                        mailbox.retired = true;
+                        mailboxes.remove(mailbox.roomId, mailbox);
+                    }
+                    return;
+                }
+            }
+            long startedAt = System.nanoTime();
+            long queueLatencyMs = (startedAt - envelope.enqueuedAt) / 1_000_000;
+            try {
+                envelope.event.run();
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                log.warn("[RoomActorExecutor] 이벤트 처리 실패: roomId={}, event={}, error={}",
+                        mailbox.roomId, envelope.name, e.getMessage(), e);
+            }
+            long serviceMicros = (System.nanoTime() - startedAt) / 1_000;
+            processed.incrementAndGet();
+            maxQueueLatencyMs.accumulateAndGet(queueLatencyMs, Math::max);
+            mailbox.record(queueLatencyMs, serviceMicros);
+        }
+        // 배치 한도 도달: 다른 방도 처리되도록 다시 줄 세움
+        workers.execute(() -> drain(mailbox));
+    }
+
+    public Map<String, Object> metrics() {
+        List<Mailbox> snapshot = new ArrayList<>(mailboxes.values());
+        snapshot.sort(Comparator.comparingLong((Mailbox mb) -> mb.processed).reversed());
+        Map<String, Object> rooms = new LinkedHashMap<>();
+        int pending = 0;
+        for (Mailbox mb : snapshot) {
+            int depth;
+            synchronized (mb) {
+                depth = mb.queue.size();
+            }
+            pending += depth;
+            if (rooms.size() >= METRICS_TOP_ROOMS) continue;
+            Map<String, Object> r = new LinkedHashMap<>();
+            r.put("depth", depth);
+            r.put("processed", mb.processed);
+            r.put("avgQueueLatencyMs", mb.processed == 0 ? 0 : mb.totalQueueLatencyMs / mb.processed);
+            r.put("maxQueueLatencyMs", mb.maxQueueLatencyMs);
+            r.put("avgServiceMicros", mb.processed == 0 ? 0 : mb.totalServiceMicros / mb.processed);
+            r.put("maxServiceMicros", mb.maxServiceMicros);
+            rooms.put(mb.roomId, r);
+        }
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("activeRooms", snapshot.size());
+        m.put("pendingEvents", pending);
+        m.put("processedEvents", processed.get());
+        m.put("failedEvents", failed.get());
+        m.put("maxMailboxDepth", maxMailboxDepth.get());
+        m.put("maxQueueLatencyMs", maxQueueLatencyMs.get());
+        m.put("rooms", rooms);
+        return m;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private static final class Mailbox {
+        final String roomId;
+        final Deque<Envelope> queue = new ArrayDeque<>();
+        boolean running;
+        boolean released;
+        boolean retired;
+
+        // 방 통계: 이 mailbox의 이벤트는 한 번에 하나의 스레드만 처리하므로 volatile 쓰기로 충분
+        volatile long processed;
+        volatile long totalQueueLatencyMs;
+        volatile long maxQueueLatencyMs;
+        volatile long totalServiceMicros;
+        volatile long maxServiceMicros;
+
+        Mailbox(String roomId) {
+            this.roomId = roomId;
+        }
+
+        void record(long queueLatencyMs, long serviceMicros) {
+            processed++;
+            totalQueueLatencyMs += queueLatencyMs;
+            maxQueueLatencyMs = Math.max(maxQueueLatencyMs, queueLatencyMs);
+            totalServiceMicros += serviceMicros;
+            maxServiceMicros = Math.max(maxServiceMicros, serviceMicros);
+        }
+    }
+
+    private record Envelope(String name, RoomEvent event, long enqueuedAt) {}
+}
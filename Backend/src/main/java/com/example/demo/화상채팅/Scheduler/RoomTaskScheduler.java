@@ -0,0 +1,94 @@
+package com.example.demo.화상채팅.Scheduler;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 화상채팅 방 전용 공용 스케줄러.
+ * 재접속 유예 타이머, 방 경과 시간 틱 등을 방/유저마다 Timer 스레드를 만들지 않고
+ * 고정 크기 스레드 풀 하나에서 처리한다. → 방/유저 수가 늘어도 스레드 수는 일정.
+ */
+@Slf4j
+@Component
+public class RoomTaskScheduler {
+
+    private final ScheduledThreadPoolExecutor executor;
+
+    private final AtomicLong executedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    /** 예정 시각 대비 실제 실행 지연(ms). 풀이 밀리고 있는지 판단용 */
+    private final AtomicLong lastLagMs = new AtomicLong();
+    private final AtomicLong maxLagMs = new AtomicLong();
+    private final AtomicLong totalLagMs = new AtomicLong();
+
+    public RoomTaskScheduler(@Value("${meeting.ws.scheduler.pool-size:2}") int poolSize) {
+        AtomicInteger seq = new AtomicInteger();
+        ThreadFactory threadFactory = r -> {
+            Thread t = new Thread(r, "room-scheduler-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        this.executor = new ScheduledThreadPoolExecutor(Math.max(1, poolSize), threadFactory);
+        // 취소된 타이머(재접속 성공 등)가 큐에 남아 pending 수치를 부풀리지 않도록 즉시 제거
+        this.executor.setRemoveOnCancelPolicy(true);
+        this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /** delayMs 후 1회 실행. 반환값으로 cancel 가능 */
+    public ScheduledFuture<?> schedule(String name, Runnable task, long delayMs) {
+        long expectedAt = System.currentTimeMillis() + delayMs;
+        return executor.schedule(() -> runMeasured(name, task, expectedAt), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** initialDelayMs 후 periodMs 간격으로 반복 실행. 작업 중 예외가 나도 반복은 유지됨 */
+    public ScheduledFuture<?> scheduleAtFixedRate(String name, Runnable task, long initialDelayMs, long periodMs) {
+        AtomicLong expectedAt = new AtomicLong(System.currentTimeMillis() + initialDelayMs);
+        return executor.scheduleAtFixedRate(
+                () -> runMeasured(name, task, expectedAt.getAndAdd(periodMs)),
+                initialDelayMs, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void runMeasured(String name, Runnable task, long expectedAt) {
+        long lag = Math.max(0, System.currentTimeMillis() - expectedAt);
+        lastLagMs.set(lag);
+        totalLagMs.addAndGet(lag);
+        maxLagMs.accumulateAndGet(lag, Math::max);
+        executedCount.incrementAndGet();
+        try {
+            task.run();
+        } catch (Exception e) {
+            failedCount.incrementAndGet();
+            log.warn("[RoomTaskScheduler] task 실패: name={}, error={}", name, e.getMessage(), e);
+        }
+    }
+
+    public Map<String, Object> metrics() {
+        long executed = executedCount.get();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("poolSize", executor.getCorePoolSize());
+        m.put("activeThreads", executor.getActiveCount());
+        m.put("pendingTasks", executor.getQueue().size());
+        m.put("executedTasks", executed);
+        m.put("failedTasks", failedCount.get());
+        m.put("lastTickLagMs", lastLagMs.get());
+        m.put("maxTickLagMs", maxLagMs.get());
+        m.put("avgTickLagMs", executed == 0 ? 0 : totalLagMs.get() / executed);
+        return m;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.화상채팅.Scheduler;
+
+import com.example.demo.schedule.vo.StudyScheduleVO;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 하루치 study_schedule 회차의 시간표.
+ * 시각 t에 배정되어야 할 회차(target) 규칙:
+ * 1) start_time ≤ t < end_time 인 회차 중 round_num이 가장 작은 것
+ * 2) 없으면 start_time ≥ t 인 회차 중 가장 빨리 시작하는 것
+ * target은 각 회차의 start_time/end_time에서만 바뀌므로 그 시각들이 경계(boundary)가 된다.
+ */
+class RoundTimeline {
+
+    record Round(Long scheduleId, int roundNum, LocalTime start, LocalTime end) {}
+
+    private final List<Round> rounds;
+
+    RoundTimeline(List<Round> rounds) {
+        List<Round> sorted = new ArrayList<>(rounds);
+        sorted.sort(Comparator.comparingInt(Round::roundNum));
+        this.rounds = sorted;
+    }
+
+    static RoundTimeline of(List<StudyScheduleVO> schedules) {
+        List<Round> rounds = new ArrayList<>();
+        if (schedules != null) {
+            for (StudyScheduleVO vo : schedules) {
+                if (vo == null || vo.getStudyScheduleId() == null) continue;
+                LocalTime start = parseTime(vo.getStartTime());
+                LocalTime end = parseTime(vo.getEndTime());
+                if (start == null || end == null) continue;
+                int roundNum = vo.getRoundNum() != null ? vo.getRoundNum() : Integer.MAX_VALUE;
+                rounds.add(new Round(vo.getStudyScheduleId(), roundNum, start, end));
+            }
+        }
+        return new RoundTimeline(rounds);
+    }
+
+    boolean isEmpty() {
+        return rounds.isEmpty();
+    }
+
+    /** 시각 t에 참가자가 속해야 할 회차 schedule_id. 오늘 남은 회차가 없으면 null */
+    Long targetAt(LocalTime t) {
+        for (Round r : rounds) {
+            if (!t.isBefore(r.start()) && t.isBefore(r.end())) return r.scheduleId();
+        }
+        Round upcoming = null;
+        for (Round r : rounds) {
+            if (r.start().isBefore(t)) continue;
+            if (upcoming == null || r.start().isBefore(upcoming.start())) upcoming = r;
+        }
+        return upcoming != null ? upcoming.scheduleId() : null;
+    }
+
+    /** t 이후 처음 오는 경계 시각. 오늘 더 없으면 null */
+    LocalTime nextBoundaryAfter(LocalTime t) {
+        LocalTime next = null;
+        for (Round r : rounds) {
+            for (LocalTime b : new LocalTime[]{r.start(), r.end()}) {
+                if (b.isAfter(t) && (next == null || b.isBefore(next))) next = b;
+            }
+        }
+        return next;
+    }
+
+    private static LocalTime parseTime(String time) {
+        if (time == null || time.isBlank()) return null;
+        try {
+            return LocalTime.parse(time.trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
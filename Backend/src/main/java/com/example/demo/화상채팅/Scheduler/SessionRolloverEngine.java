@@ -0,0 +1,229 @@
+package com.example.demo.화상채팅.Scheduler;
+
+import com.example.demo.schedule.service.StudyScheduleService;
+import com.example.demo.화상채팅.Service.MeetingRoomAuditPipeline;
+import com.example.demo.화상채팅.Service.MeetingRoomService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 회차(study_schedule) 경계 기반 참가자 자동 배정 엔진.
+ * 예전에는 PING마다 방 인원 전원에 대해 유저별 회차 확인(유저당 최대 6쿼리)을 했지만,
+ * 이제는 방이 활성화될 때 오늘 회차 시간표를 한 번 읽고, 배정 회차가 바뀌는 경계 시각에만 깨어나
+ * 방에 있는 참가자 전원을 새 회차로 한 번에 배정한다. (DB 부하 = 경계 수, PING/인원 수와 무관)
+ * - DB 작업은 MeetingRoomAuditPipeline 방별 레인에서 실행 → 입장/퇴장 기록과 순서 보장
+ * - 시간표는 refreshIntervalMs마다, 그리고 날짜가 바뀌면 다시 읽음 (당일 일정 수정 반영)
+ */
+@Slf4j
+@Component
+public class SessionRolloverEngine {
+
+    private final Map<String, RoomRollover> rooms = new ConcurrentHashMap<>();
+    /** 회차 전환 알림 (roomId, 새 scheduleId). 스케줄러/파이프라인 스레드에서 호출되므로 리스너는 바로 반환해야 함 */
+    private final List<BiConsumer<String, Long>> rolloverListeners = new CopyOnWriteArrayList<>();
+
+    private final StudyScheduleService studyScheduleService;
+    private final MeetingRoomService meetingRoomService;
+    private final MeetingRoomAuditPipeline auditPipeline;
+    private final RoomTaskScheduler roomTaskScheduler;
+
+    private final ZoneId zone;
+    private final long refreshIntervalMs;
+
+    private final AtomicLong scheduleLoads = new AtomicLong();
+    private final AtomicLong rollovers = new AtomicLong();
+    private final AtomicLong rolledParticipants = new AtomicLong();
+
+    public SessionRolloverEngine(StudyScheduleService studyScheduleService,
+                                 MeetingRoomService meetingRoomService,
+                                 MeetingRoomAuditPipeline auditPipeline,
+                                 RoomTaskScheduler roomTaskScheduler,
+                                 @Value("${meeting.rollover.zone:Asia/Seoul}") String zone,
+                                 @Value("${meeting.rollover.refresh-interval-ms:600000}") long refreshIntervalMs) {
+        this.studyScheduleService = studyScheduleService;
+        this.meetingRoomService = meetingRoomService;
+        this.auditPipeline = auditPipeline;
+        this.roomTaskScheduler = roomTaskScheduler;
+        this.zone = ZoneId.of(zone);
+        this.refreshIntervalMs = Math.max(10_000, refreshIntervalMs);
+    }
+
+    /**
+     * 방 활성화 (입장 시마다 호출해도 됨, 이미 활성화된 방이면 무시).
+     * @param subjectIdHint 접속 파라미터의 subjectId. 없으면 meeting_room에서 조회
+     * @param participants  경계 시각에 방에 있는 참가자 이메일 목록 공급자
+     */
+    public void activate(String roomId, String subjectIdHint, Supplier<Collection<String>> participants) {
+        if (roomId == null || roomId.isBlank()) return;
+        RoomRollover created = new RoomRollover(roomId, participants);
+        RoomRollover existing = rooms.putIfAbsent(roomId, created);
+        if (existing != null) {
+            existing.offerSubjectId(subjectIdHint);
+            return;
+        }
+        created.offerSubjectId(subjectIdHint);
+        submitLoad(created);
+    }
+
+    public void addRolloverListener(BiConsumer<String, Long> listener) {
+        rolloverListeners.add(listener);
+    }
+
+    /** 방이 완전히 비었을 때 호출. 예약된 경계 타이머 취소 */
+    public void deactivate(String roomId) {
+        if (roomId == null) return;
+        RoomRollover r = rooms.remove(roomId);
+        if (r != null) r.cancelTimer();
+    }
+
+    private void submitLoad(RoomRollover r) {
+        // 조회만 하므로 재시도 가능. 거부되면 방을 비활성화 → 다음 입장(activate) 때 다시 로드
+        if (!auditPipeline.submitRetryable(r.roomId, "rollover-load", () -> load(r))) {
+            log.warn("[SessionRolloverEngine] 시간표 로드 작업 거부(백로그 초과): roomId={}", r.roomId);
+            if (rooms.remove(r.roomId, r)) r.cancelTimer();
+        }
+    }
+
+    /** 파이프라인 워커에서 실행: 오늘 시간표 로드 후 다음 경계 예약 */
+    private void load(RoomRollover r) {
+        if (rooms.get(r.roomId) != r) return;
+        String subjectId = r.subjectId();
+        if (subjectId == null) {
+            subjectId = meetingRoomService.findSubjectIdByRoomId(r.roomId);
+            r.offerSubjectId(subjectId);
+        }
+        ZonedDateTime now = ZonedDateTime.now(zone);
+        LocalDate today = now.toLocalDate();
+        RoundTimeline timeline = subjectId == null
+                ? new RoundTimeline(List.of())
+                : RoundTimeline.of(studyScheduleService.selectByRange(
+                        subjectId, Date.valueOf(today), Date.valueOf(today.plusDays(1))));
+        scheduleLoads.incrementAndGet();
+
+        synchronized (r) {
+            boolean firstLoad = r.loadedDate == null;
+            r.timeline = timeline;
+            r.loadedDate = today;
+            r.loadedAtMs = System.currentTimeMillis();
+            Long target = timeline.targetAt(now.toLocalTime());
+            if (firstLoad) {
+                // 입장 시 handleJoin이 이미 현재 회차로 배정 → 처음 로드에서는 기준값만 잡음
+                r.currentTarget = target;
+            } else {
+                rolloverIfChanged(r, target);
+            }
+            scheduleNextTick(r, now);
+        }
+    }
+
+    /** 스케줄러 스레드에서 실행: 경계 도달 또는 시간표 갱신 주기 */
+    private void tick(RoomRollover r) {
+        if (rooms.get(r.roomId) != r) return;
+        ZonedDateTime now = ZonedDateTime.now(zone);
+        synchronized (r) {
+            boolean stale = !now.toLocalDate().equals(r.loadedDate)
+                    || System.currentTimeMillis() - r.loadedAtMs >= refreshIntervalMs;
+            if (stale) {
+                submitLoad(r);
+                return;
+            }
+            rolloverIfChanged(r, r.timeline.targetAt(now.toLocalTime()));
+            scheduleNextTick(r, now);
+        }
+    }
+
+    private void rolloverIfChanged(RoomRollover r, Long target) {
+        if (target == null || Objects.equals(target, r.currentTarget)) return;
+        r.currentTarget = target;
+        for (BiConsumer<String, Long> listener : rolloverListeners) {
+            try {
+                listener.accept(r.roomId, target);
+            } catch (Exception e) {
+                log.warn("[SessionRolloverEngine] 회차 전환 리스너 실패: roomId={}, error={}", r.roomId, e.getMessage());
+            }
+        }
+        Collection<String> emails = r.participants.get();
+        if (emails == null || emails.isEmpty()) return;
+        String subjectId = r.subjectId();
+        rollovers.incrementAndGet();
+        rolledParticipants.addAndGet(emails.size());
+        log.info("[SessionRolloverEngine] 회차 전환: roomId={}, scheduleId={}, participants={}", r.roomId, target, emails.size());
+        // 이미 배정된 참가자는 건너뛰므로 재시도해도 중복 행 없음
+        if (!auditPipeline.submitRetryable(r.roomId, "rollover",
+                () -> meetingRoomService.assignParticipantsToSchedule(r.roomId, subjectId, target, emails))) {
+            log.warn("[SessionRolloverEngine] 회차 배정 작업 거부(백로그 초과): roomId={}, scheduleId={}", r.roomId, target);
+        }
+    }
+
+    private void scheduleNextTick(RoomRollover r, ZonedDateTime now) {
+        long delayMs = refreshIntervalMs - (System.currentTimeMillis() - r.loadedAtMs);
+        LocalTime boundary = r.timeline.nextBoundaryAfter(now.toLocalTime());
+        if (boundary != null) {
+            delayMs = Math.min(delayMs, Duration.between(now, now.with(boundary)).toMillis());
+        }
+        ZonedDateTime midnight = now.toLocalDate().plusDays(1).atStartOfDay(zone);
+        delayMs = Math.min(delayMs, Duration.between(now, midnight).toMillis());
+        r.cancelTimer();
+        r.timer = roomTaskScheduler.schedule("rollover-" + r.roomId, () -> tick(r), Math.max(0, delayMs));
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("activeRooms", rooms.size());
+        m.put("scheduleLoads", scheduleLoads.get());
+        m.put("rollovers", rollovers.get());
+        m.put("rolledParticipants", rolledParticipants.get());
+        return m;
+    }
+
+    private static final class RoomRollover {
+        final String roomId;
+        final Supplier<Collection<String>> participants;
+        private volatile String subjectId;
+
+        RoundTimeline timeline = new RoundTimeline(List.of());
+        LocalDate loadedDate;
+        long loadedAtMs;
+        Long currentTarget;
+        ScheduledFuture<?> timer;
+
+        RoomRollover(String roomId, Supplier<Collection<String>> participants) {
+            this.roomId = roomId;
+            this.participants = participants;
+        }
+
+        String subjectId() {
+            return subjectId;
+        }
+
+        void offerSubjectId(String hint) {
+            if (subjectId == null && hint != null && !hint.isBlank()) subjectId = hint.trim();
+        }
+
+        synchronized void cancelTimer() {
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+            }
+        }
+    }
+}
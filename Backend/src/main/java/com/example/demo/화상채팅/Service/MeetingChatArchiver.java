@@ -0,0 +1,132 @@
+package com.example.demo.화상채팅.Service;
+
+import com.example.demo.화상채팅.Domain.MeetingRoomChatMessage;
+import com.example.demo.화상채팅.Repository.MeetingRoomChatMessageRepository;
+import com.example.demo.화상채팅.Scheduler.RoomTaskScheduler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 화상회의 방 채팅 write-behind 보관 (기본 꺼짐: meeting.chat-archive.enabled).
+ * - 채팅 전송 경로에서는 큐에 넣기만 함 → 메시지마다 DB 왕복 없음
+ * - flushMs마다 최대 batchSize개씩 saveAll 한 번으로 저장
+ * - 큐가 maxPending을 넘으면 새 메시지는 버림 (DB 장애가 채팅/메모리를 막지 않게). 저장 실패한 배치도 버리고 집계만
+ * 재생(replay)은 방 메모리 버퍼에서 하므로 이 보관본은 기록용
+ */
+@Slf4j
+@Component
+public class MeetingChatArchiver {
+
+    private record Pending(String roomId, long seq, String userId, String userName, String message, long sentAt) {}
+
+    private final MeetingRoomChatMessageRepository repository;
+    private final RoomTaskScheduler roomTaskScheduler;
+    private final boolean enabled;
+    private final long flushMs;
+    private final int batchSize;
+    private final int maxPending;
+    private final ZoneId zone;
+
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile ScheduledFuture<?> flushTimer;
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong saved = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public MeetingChatArchiver(MeetingRoomChatMessageRepository repository, RoomTaskScheduler roomTaskScheduler,
+                               @Value("${meeting.chat-archive.enabled:false}") boolean enabled,
+                               @Value("${meeting.chat-archive.flush-ms:2000}") long flushMs,
+                               @Value("${meeting.chat-archive.batch-size:200}") int batchSize,
+                               @Value("${meeting.chat-archive.max-pending:10000}") int maxPending,
+                               @Value("${meeting.rollover.zone:Asia/Seoul}") String zone) {
+        this.repository = repository;
+        this.roomTaskScheduler = roomTaskScheduler;
+        this.enabled = enabled;
+        this.flushMs = Math.max(100, flushMs);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxPending = Math.max(1, maxPending);
+        this.zone = ZoneId.of(zone);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+        flushTimer = roomTaskScheduler.scheduleAtFixedRate("chat-archive", this::flush, flushMs, flushMs);
+    }
+
+    /** 종료 시 남은 큐 저장 (스케줄러보다 먼저 호출됨, 이 빈이 스케줄러에 의존) */
+    @PreDestroy
+    void stop() {
+        ScheduledFuture<?> timer = flushTimer;
+        if (timer == null) return;
+        timer.cancel(false);
+        while (pending.get() > 0 && flush() > 0) {
+            // 남은 배치를 모두 비울 때까지
+        }
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /** 채팅 1건 보관 예약. 호출 스레드(방 actor)는 블로킹되지 않음 */
+    public void append(String roomId, long seq, String userId, String userName, String message, long sentAt) {
+        if (!enabled) return;
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        queue.offer(new Pending(roomId, seq, userId, userName, message, sentAt));
+        queued.incrementAndGet();
+    }
+
+    /** @return 이번에 꺼낸 건수 */
+    int flush() {
+        List<MeetingRoomChatMessage> batch = new ArrayList<>(Math.min(batchSize, Math.max(1, pending.get())));
+        Pending p;
+        while (batch.size() < batchSize && (p = queue.poll()) != null) {
+            batch.add(new MeetingRoomChatMessage(p.roomId(), p.seq(), p.userId(), p.userName(), p.message(), p.sentAt(), zone));
+        }
+        if (batch.isEmpty()) return 0;
+        pending.addAndGet(-batch.size());
+        try {
+            repository.saveAll(batch);
+            saved.addAndGet(batch.size());
+            batches.incrementAndGet();
+        } catch (Exception e) {
+            failed.addAndGet(batch.size());
+            log.error("[MeetingChatArchiver] 채팅 일괄 저장 실패: count={}, error={}", batch.size(), e.getMessage(), e);
+        }
+        return batch.size();
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("enabled", enabled);
+        m.put("pending", pending.get());
+        m.put("queued", queued.get());
+        m.put("saved", saved.get());
+        m.put("batches", batches.get());
+        m.put("dropped", dropped.get());
+        m.put("failed", failed.get());
+        return m;
+    }
+}
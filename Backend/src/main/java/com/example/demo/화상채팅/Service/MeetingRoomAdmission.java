@@ -0,0 +1,114 @@
+package com.example.demo.화상채팅.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 화상회의 입장 제어 (방 정원 + 노드 부하 상한).
+ * - 방 정원: room.max_participants (방장 포함). 방별로 한 번 읽어 capacityTtlMs 동안 메모리 캐시.
+ *   아직 로드 전인 방은 입장을 막지 않고 호출 측이 비동기로 로드 → 이후 입장부터 적용 (입장 지연이 DB와 무관)
+ * - 노드 상한: 이 노드의 라이브 방 수 / 세션 수 (0이면 제한 없음). 넘으면 NODE_BUSY로 새 입장만 거절해 기존 방 품질 유지
+ * - 재접속(이미 목록에 있는 유저)은 항상 허용, 방장은 정원과 무관하게 허용
+ */
+@Component
+public class MeetingRoomAdmission {
+
+    public static final String ROOM_FULL = "ROOM_FULL";
+    public static final String NODE_BUSY = "NODE_BUSY";
+
+    private record Capacity(int maxParticipants, long loadedAt) {}
+
+    private final int maxRoomsPerNode;
+    private final int maxSessionsPerNode;
+    /** room.max_participants가 비어 있을 때 정원 (0이면 제한 없음) */
+    private final int defaultMaxParticipants;
+    private final long capacityTtlMs;
+    private final Map<String, Capacity> capacities = new ConcurrentHashMap<>();
+    /** 정원 로드 중인 방 (동시 입장 시 중복 조회 방지) */
+    private final Set<String> loading = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong rejectedRoomFull = new AtomicLong();
+    private final AtomicLong rejectedNodeBusy = new AtomicLong();
+    private final AtomicLong capacityLoads = new AtomicLong();
+
+    public MeetingRoomAdmission(@Value("${meeting.admission.max-rooms-per-node:500}") int maxRoomsPerNode,
+                                @Value("${meeting.admission.max-sessions-per-node:3000}") int maxSessionsPerNode,
+                                @Value("${meeting.admission.default-max-participants:0}") int defaultMaxParticipants,
+                                @Value("${meeting.admission.capacity-ttl-ms:300000}") long capacityTtlMs) {
+        this.maxRoomsPerNode = Math.max(0, maxRoomsPerNode);
+        this.maxSessionsPerNode = Math.max(0, maxSessionsPerNode);
+        this.defaultMaxParticipants = Math.max(0, defaultMaxParticipants);
+        this.capacityTtlMs = Math.max(1_000, capacityTtlMs);
+    }
+
+    /** @return true면 정원이 없거나 만료돼 호출 측이 로드해야 함 (이미 로드 중이면 false) */
+    public boolean claimCapacityLoad(String roomId) {
+        Capacity c = capacities.get(roomId);
+        if (c != null && System.currentTimeMillis() - c.loadedAt() <= capacityTtlMs) return false;
+        return loading.add(roomId);
+    }
+
+    /** DB에서 읽은 정원 반영. null/0 이하면 기본 정원 */
+    public void putCapacity(String roomId, Integer maxParticipants) {
+        int max = maxParticipants != null && maxParticipants > 0 ? maxParticipants : defaultMaxParticipants;
+        capacities.put(roomId, new Capacity(max, System.currentTimeMillis()));
+        loading.remove(roomId);
+        capacityLoads.incrementAndGet();
+    }
+
+    /** 로드 실패 → 다음 입장 때 다시 시도 */
+    public void capacityLoadFailed(String roomId) {
+        loading.remove(roomId);
+    }
+
+    /** 방이 완전히 비면 정원 캐시도 정리 (다음 입장 때 다시 로드 → 정원 변경 반영) */
+    public void forget(String roomId) {
+        capacities.remove(roomId);
+    }
+
+    /**
+     * 입장 판정.
+     * @param roomLive     이 노드에 이미 방 레지스트리가 있는지
+     * @param roomMembers  방 참가자 수 (클러스터 전체, 재접속 대기 포함)
+     * @param member       이미 목록에 있는 유저(재접속)인지
+     * @param nodeRooms    이 노드 라이브 방 수
+     * @param nodeSessions 이 노드 세션 수
+     * @return 허용이면 null, 거절이면 REJECTED reason
+     */
+    public String check(String roomId, boolean roomLive, int roomMembers, boolean member, boolean host,
+                        int nodeRooms, int nodeSessions) {
+        if (!member) {
+            if (maxRoomsPerNode > 0 && !roomLive && nodeRooms >= maxRoomsPerNode
+                    || maxSessionsPerNode > 0 && nodeSessions >= maxSessionsPerNode) {
+                rejectedNodeBusy.incrementAndGet();
+                return NODE_BUSY;
+            }
+            Capacity c = capacities.get(roomId);
+            if (!host && c != null && c.maxParticipants() > 0 && roomMembers >= c.maxParticipants()) {
+                rejectedRoomFull.incrementAndGet();
+                return ROOM_FULL;
+            }
+        }
+        admitted.incrementAndGet();
+        return null;
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("maxRoomsPerNode", maxRoomsPerNode);
+        m.put("maxSessionsPerNode", maxSessionsPerNode);
+        m.put("admitted", admitted.get());
+        m.put("rejectedRoomFull", rejectedRoomFull.get());
+        m.put("rejectedNodeBusy", rejectedNodeBusy.get());
+        m.put("cachedCapacities", capacities.size());
+        m.put("capacityLoads", capacityLoads.get());
+        return m;
+    }
+}
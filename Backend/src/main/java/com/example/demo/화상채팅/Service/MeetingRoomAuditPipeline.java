@@ -0,0 +1,196 @@
+package com.example.demo.화상채팅.Service;
+
+import com.example.demo.화상채팅.Scheduler.RoomTaskScheduler;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 화상채팅 입장/퇴장/강퇴 DB 기록을 WebSocket I/O 스레드 밖에서 처리하는 비동기 파이프라인.
+ * - 방(roomId)별로 순서 보장: 같은 방 작업은 들어온 순서대로 하나씩 실행 (join → leave 역전 없음)
+ * - 공정성: 워커는 한 방의 대기 작업을 최대 batchSize개까지 연달아 처리한 뒤 다른 방에 양보
+ *   (DB 쓰기를 묶지는 않음: 작업마다 자기 트랜잭션으로 실행. 작업 안에 DB 외 부수효과(REJECTED 통보 등)가 있어
+ *   여러 작업을 한 트랜잭션으로 묶으면 롤백·재시도 시 부수효과가 중복됨)
+ * - 재시도: submitRetryable로 등록한 멱등 작업만 실패 시 backoff 후 같은 작업부터 다시 (뒤 작업은 기다림),
+ *   maxAttempts 초과 시 로그 남기고 버림. submit 작업(행 추가 등)은 재실행 시 중복될 수 있어 1회만 시도
+ * - 백로그 제한: 전체 대기 작업이 maxBacklog를 넘으면 새 작업 거부 (DB 장애 시 메모리 폭주 방지)
+ */
+@Slf4j
+@Component
+public class MeetingRoomAuditPipeline {
+
+    private final Map<String, RoomLane> lanes = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+    private final RoomTaskScheduler roomTaskScheduler;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final int maxBacklog;
+
+    private final AtomicInteger backlog = new AtomicInteger();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong lastQueueDelayMs = new AtomicLong();
+    private final AtomicLong maxQueueDelayMs = new AtomicLong();
+
+    public MeetingRoomAuditPipeline(RoomTaskScheduler roomTaskScheduler,
+                                    @Value("${meeting.audit.worker-threads:2}") int workerThreads,
+                                    @Value("${meeting.audit.batch-size:16}") int batchSize,
+                                    @Value("${meeting.audit.max-attempts:3}") int maxAttempts,
+                                    @Value("${meeting.audit.retry-backoff-ms:500}") long retryBackoffMs,
+                                    @Value("${meeting.audit.max-backlog:5000}") int maxBacklog) {
+        this.roomTaskScheduler = roomTaskScheduler;
+        AtomicInteger seq = new AtomicInteger();
+        // Hikari 풀(4)보다 작게 유지 → 일반 HTTP 요청용 커넥션을 잠식하지 않음
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerThreads), r -> {
+            Thread t = new Thread(r, "meeting-audit-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = Math.max(10, retryBackoffMs);
+        this.maxBacklog = Math.max(1, maxBacklog);
+    }
+
+    /**
+     * 방 단위 순서가 보장되는 비동기 작업 등록 (실패해도 재시도 안 함). 호출 스레드는 블로킹되지 않는다.
+     * @return 등록되면 true, 백로그 초과로 거부되면 false
+     */
+    public boolean submit(String roomId, String name, Runnable work) {
+        return submit(roomId, name, work, false);
+    }
+
+    /** submit과 같지만 실패 시 재시도. 여러 번 실행돼도 결과가 같은(멱등) 작업만 */
+    public boolean submitRetryable(String roomId, String name, Runnable work) {
+        return submit(roomId, name, work, true);
+    }
+
+    private boolean submit(String roomId, String name, Runnable work, boolean retryable) {
+        if (backlog.incrementAndGet() > maxBacklog) {
+            backlog.decrementAndGet();
+            rejected.incrementAndGet();
+            log.error("[MeetingRoomAuditPipeline] 백로그 초과로 작업 거부: roomId={}, task={}, maxBacklog={}", roomId, name, maxBacklog);
+            return false;
+        }
+        String key = roomId != null ? roomId : "";
+        AuditTask task = new AuditTask(name, work, retryable, System.currentTimeMillis());
+        while (true) {
+            RoomLane lane = lanes.computeIfAbsent(key, RoomLane::new);
+            boolean start;
+            synchronized (lane) {
+                // 방금 비워져 map에서 빠진 lane이면 새 lane으로 다시 시도 (같은 방 lane 2개 동시 실행 방지)
+                if (lane.retired) continue;
+                lane.tasks.addLast(task);
+                start = !lane.running;
+                lane.running = true;
+            }
+            if (start) workers.execute(() -> drain(lane));
+            return true;
+        }
+    }
+
+    private void drain(RoomLane lane) {
+        for (int i = 0; i < batchSize; i++) {
+            AuditTask task;
+            synchronized (lane) {
+                task = lane.tasks.peekFirst();
+                if (task == null) {
+                    lane.running = false;
+                    lane.retired = true;
+                    lanes.remove(lane.roomId, lane);
+                    return;
+                }
+            }
+            if (task.attempts == 0) {
+                long delay = System.currentTimeMillis() - task.enqueuedAt;
+                lastQueueDelayMs.set(delay);
+                maxQueueDelayMs.accumulateAndGet(delay, Math::max);
+            }
+            try {
+                task.attempts++;
+                task.work.run();
+                processed.incrementAndGet();
+            } catch (Exception e) {
+                if (task.retryable && task.attempts < maxAttempts) {
+                    retried.incrementAndGet();
+                    long backoff = retryBackoffMs * (1L << (task.attempts - 1));
+                    log.warn("[MeetingRoomAuditPipeline] 작업 실패 → {}ms 후 재시도 ({}/{}): roomId={}, task={}, error={}",
+                            backoff, task.attempts, maxAttempts, lane.roomId, task.name, e.getMessage());
+                    // 같은 방 뒤 작업은 재시도 성공/포기까지 대기 (순서 보장). lane.running 유지
+                    roomTaskScheduler.schedule("audit-retry-" + lane.roomId,
+                            () -> workers.execute(() -> drain(lane)), backoff);
+                    return;
+                }
+                dropped.incrementAndGet();
+                log.error("[MeetingRoomAuditPipeline] 작업 실패로 포기 ({}회 시도): roomId={}, task={}, error={}",
+                        task.attempts, lane.roomId, task.name, e.getMessage(), e);
+            }
+            synchronized (lane) {
+                lane.tasks.pollFirst();
+            }
+            backlog.decrementAndGet();
+        }
+        // 연속 처리 한도 도달: 다른 방도 처리되도록 다시 줄 세움
+        workers.execute(() -> drain(lane));
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("backlog", backlog.get());
+        m.put("activeRooms", lanes.size());
+        m.put("processed", processed.get());
+        m.put("retried", retried.get());
+        m.put("dropped", dropped.get());
+        m.put("rejected", rejected.get());
+        m.put("lastQueueDelayMs", lastQueueDelayMs.get());
+        m.put("maxQueueDelayMs", maxQueueDelayMs.get());
+        m.put("maxBacklog", maxBacklog);
+        return m;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private static final class RoomLane {
+        final String roomId;
+        final Deque<AuditTask> tasks = new ArrayDeque<>();
+        boolean running;
+        boolean retired;
+
+        RoomLane(String roomId) {
+            this.roomId = roomId;
+        }
+    }
+
+    private static final class AuditTask {
+        final String name;
+        final Runnable work;
+        final boolean retryable;
+        final long enqueuedAt;
+        int attempts;
+
+        AuditTask(String name, Runnable work, boolean retryable, long enqueuedAt) {
+            this.name = name;
+            this.work = work;
+            this.retryable = retryable;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
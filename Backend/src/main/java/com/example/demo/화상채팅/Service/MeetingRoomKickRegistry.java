@@ -0,0 +1,125 @@
+package com.example.demo.화상채팅.Service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 오늘 하루 동안의 방별 강퇴 명단 (roomId → email 집합) 메모리 인덱스.
+ * - 방 단위 지연 로드: 방의 첫 강퇴 확인 때 DB에서 오늘 강퇴 기록 전체를 한 번 읽음 (DB가 원본, 콜드 스타트 시 재로드)
+ * - recordKicked 시 write-through. 미로드 방은 대기 집합에 모아 두었다가 load() 때 합침
+ *   (미로드 방에 일부만 넣으면 "강퇴 아님" 오판 가능, 버리면 DB를 읽는 중 들어온 강퇴를 놓침)
+ * - 날짜(기본 Asia/Seoul)가 바뀌면 전체 폐기 → 강퇴는 당일만 유효
+ * - 강퇴 시각(kicked_at)도 now()로 같은 zone 기준 기록 → "오늘" 조회 범위와 어긋나지 않음
+ * 재접속 폭주 시 입장 확인이 DB 왕복 없이 메모리 조회로 끝난다.
+ */
+@Component
+public class MeetingRoomKickRegistry {
+
+    private final Clock clock;
+    private final Map<String, Set<String>> kickedByRoom = new ConcurrentHashMap<>();
+    /** 아직 로드 전인 방에 기록된 강퇴 (kickedByRoom의 같은 키 compute 안에서만 읽고 씀) */
+    private final Map<String, Set<String>> pendingByRoom = new ConcurrentHashMap<>();
+    private volatile LocalDate day;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    public MeetingRoomKickRegistry(@Value("${meeting.kick-registry.zone:Asia/Seoul}") String zone) {
+        this(Clock.system(ZoneId.of(zone)));
+    }
+
+    MeetingRoomKickRegistry(Clock clock) {
+        this.clock = clock;
+        this.day = LocalDate.now(clock);
+    }
+
+    /** 강퇴 기록 시각 (today()와 같은 zone) */
+    public LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    /** 강퇴 기록의 "오늘" 기준 날짜 */
+    public LocalDate today() {
+        rollDayIfNeeded();
+        return day;
+    }
+
+    /**
+     * @return 방이 로드돼 있으면 강퇴 여부(TRUE/FALSE), 아직 로드 전이면 null (DB 확인 필요)
+     */
+    public Boolean peek(String roomId, String userEmail) {
+        if (roomId == null || userEmail == null) return Boolean.FALSE;
+        rollDayIfNeeded();
+        Set<String> kicked = kickedByRoom.get(roomId.trim());
+        if (kicked == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return kicked.contains(userEmail.trim());
+    }
+
+    /** DB에서 읽은 오늘 강퇴 명단으로 방 로드. 로드 중 들어온 write-through 항목은 유지 */
+    public void load(String roomId, Collection<String> kickedEmails) {
+        if (roomId == null) return;
+        rollDayIfNeeded();
+        Set<String> loaded = ConcurrentHashMap.newKeySet();
+        for (String email : kickedEmails) {
+            if (email != null) loaded.add(email.trim());
+        }
+        kickedByRoom.compute(roomId.trim(), (k, existing) -> {
+            Set<String> kicked = existing != null ? existing : loaded;
+            if (existing != null) kicked.addAll(loaded);
+            Set<String> pending = pendingByRoom.remove(k);
+            if (pending != null) kicked.addAll(pending);
+            return kicked;
+        });
+    }
+
+    /** 강퇴 write-through. 로드 전인 방은 대기 집합에 넣어 두고 load()에서 합침 (DB 조회 결과에 빠졌을 수 있음) */
+    public void add(String roomId, String userEmail) {
+        if (roomId == null || userEmail == null) return;
+        rollDayIfNeeded();
+        String email = userEmail.trim();
+        kickedByRoom.compute(roomId.trim(), (k, kicked) -> {
+            if (kicked != null) kicked.add(email);
+            else pendingByRoom.computeIfAbsent(k, x -> ConcurrentHashMap.newKeySet()).add(email);
+            return kicked;
+        });
+    }
+
+    private void rollDayIfNeeded() {
+        LocalDate now = LocalDate.now(clock);
+        if (now.equals(day)) return;
+        synchronized (this) {
+            if (!now.equals(day)) {
+                kickedByRoom.clear();
+                pendingByRoom.clear();
+                day = now;
+            }
+        }
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("day", day.toString());
+        m.put("loadedRooms", kickedByRoom.size());
+        m.put("pendingRooms", pendingByRoom.size());
+        m.put("hits", hits.get());
+        m.put("misses", misses.get());
+        return m;
+    }
+}
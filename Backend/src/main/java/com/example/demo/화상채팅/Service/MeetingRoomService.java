@@ -1,5 +1,10 @@
 package com.example.demo.화상채팅.Service;
 
+import com.example.demo.화상채팅.DTO.ParticipationTotals;
+
+import java.util.Collection;
+import java.util.List;
+
 public interface MeetingRoomService {
     String getRoomIdBySubjectId(String subjectId);
 
@@ -27,11 +32,29 @@ public interface MeetingRoomService {
     boolean isKickedToday(String roomId, String userEmail);
 
     /**
-     * 같은 날 다음 회차로 넘어갔을 때, 방에 그대로 남아 있는 참가자를
-     * 새 회차(meetingroom_participant)에 자동 배정한다.
-     *
-     * @param roomId    화상회의 방 ID
-     * @param userEmail 참가자 이메일
+     * 회차 경계에서 방에 남아 있는 참가자 전원을 scheduleId 회차에 한 번에 배정한다.
+     * 참가자별로 다음 경우는 건너뜀:
+     * - 이미 scheduleId 회차 참가 기록이 있음
+     * - 가장 최근 기록의 회차가 다른 날짜이거나, 대상 회차보다 round_num이 같거나 큼 (이전 회차로 역행 방지)
+     * 참가자 수와 무관한 고정 개수 쿼리로 처리한다.
+     */
+    void assignParticipantsToSchedule(String roomId, String subjectId, Long scheduleId, Collection<String> userEmails);
+
+    /** meeting_room 기준 roomId의 subjectId. 없으면 null */
+    String findSubjectIdByRoomId(String roomId);
+
+    /** 방 정원 room.max_participants (방장 포함). 방이 없거나 비어 있으면 null */
+    Integer findMaxParticipants(String roomId);
+
+    /** meeting_room 방장 이메일이 userEmail인지 */
+    boolean isRoomHost(String roomId, String userEmail);
+
+    /** 방 메모리 참여 누계를 구간 1행씩 일괄 저장 */
+    void saveParticipationStats(String roomId, List<ParticipationTotals> totals);
+
+    /**
+     * 참가자별 참여 시간 요약 (저장된 구간 + 아직 저장 전인 live 누계 합산, 말한 시간 순).
+     * scheduleId가 없으면 오늘 기록 전체
      */
-    void checkAndAssignNewSessionIfNeeded(String roomId, String userEmail);
+    List<ParticipationTotals> participationSummary(String roomId, Long scheduleId, List<ParticipationTotals> live);
 }
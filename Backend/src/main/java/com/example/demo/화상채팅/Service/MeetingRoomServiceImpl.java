@@ -1,16 +1,22 @@
 package com.example.demo.화상채팅.Service;
 
+import com.example.demo.LMS회원.Repository.RoomRepository;
+import com.example.demo.entity.Room;
+import com.example.demo.화상채팅.DTO.ParticipationTotals;
 import com.example.demo.화상채팅.Domain.MeetingRoom;
 import com.example.demo.화상채팅.Domain.MeetingRoomId;
 import com.example.demo.화상채팅.Domain.MeetingRoomKickedUser;
 import com.example.demo.화상채팅.Domain.MeetingRoomParticipant;
+import com.example.demo.화상채팅.Domain.MeetingRoomParticipationStat;
 import com.example.demo.화상채팅.Repository.MeetingRoomKickedUserRepository;
 import com.example.demo.화상채팅.Repository.MeetingRoomParticipantRepository;
+import com.example.demo.화상채팅.Repository.MeetingRoomParticipationStatRepository;
 import com.example.demo.화상채팅.Repository.MeetingRoomRepository;
 import com.example.demo.schedule.service.StudyScheduleService;
 import com.example.demo.schedule.vo.StudyScheduleVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,7 +26,16 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -34,6 +49,13 @@ public class MeetingRoomServiceImpl implements MeetingRoomService {
     private final MeetingRoomParticipantRepository participantRepository;
     private final MeetingRoomKickedUserRepository kickedUserRepository;
     private final StudyScheduleService studyScheduleService;
+    private final MeetingRoomKickRegistry kickRegistry;
+    private final RoomRepository roomRepository;
+    private final MeetingRoomParticipationStatRepository participationStatRepository;
+
+    /** 참여 통계 기간/"오늘" 기준 시간대 (SessionRolloverEngine, 채팅 보관과 같은 값) */
+    @Value("${meeting.rollover.zone:Asia/Seoul}")
+    private String meetingZone;
 
     @Override
     public String getRoomIdBySubjectId(String subjectId) {
@@ -267,135 +289,151 @@ public class MeetingRoomServiceImpl implements MeetingRoomService {
     @Override
     public void recordKicked(String roomId, String userEmail) {
         if (roomId == null || roomId.isBlank() || userEmail == null || userEmail.isBlank()) return;
-        kickedUserRepository.save(new MeetingRoomKickedUser(roomId.trim(), userEmail.trim()));
+        // 오늘 이미 기록돼 있으면 새 행 없음 → 파이프라인 재시도에도 중복 기록 안 됨
+        LocalDate today = kickRegistry.today();
+        boolean recorded = kickedUserRepository.findFirstByRoomIdAndUserEmailAndKickedAtBetween(
+                roomId.trim(), userEmail.trim(), today.atStartOfDay(), today.atTime(23, 59, 59, 999_999_999)).isPresent();
+        if (!recorded) {
+            kickedUserRepository.save(new MeetingRoomKickedUser(roomId.trim(), userEmail.trim(), kickRegistry.now()));
+        }
+        kickRegistry.add(roomId, userEmail);
         log.info("[MeetingRoomServiceImpl] 강퇴 기록: roomId={}, userEmail={}", roomId, userEmail);
     }
 
     @Override
     public boolean isKickedToday(String roomId, String userEmail) {
         if (roomId == null || roomId.isBlank() || userEmail == null || userEmail.isBlank()) return false;
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        LocalDateTime endOfDay = LocalDate.now().atTime(23, 59, 59, 999_999_999);
-        return kickedUserRepository.findFirstByRoomIdAndUserEmailAndKickedAtBetween(
-                roomId.trim(), userEmail.trim(), startOfDay, endOfDay
-        ).isPresent();
+        Boolean cached = kickRegistry.peek(roomId, userEmail);
+        if (cached != null) return cached;
+
+        // 방의 오늘 강퇴 명단을 한 번에 읽어 메모리에 올림 → 이후 같은 방 확인은 DB 조회 없음
+        LocalDate today = kickRegistry.today();
+        LocalDateTime startOfDay = today.atStartOfDay();
+        LocalDateTime endOfDay = today.atTime(23, 59, 59, 999_999_999);
+        List<String> kickedEmails = kickedUserRepository
+                .findByRoomIdAndKickedAtBetween(roomId.trim(), startOfDay, endOfDay)
+                .stream()
+                .map(MeetingRoomKickedUser::getUserEmail)
+                .toList();
+        kickRegistry.load(roomId, kickedEmails);
+        // 조회하는 동안 기록된 강퇴는 DB 결과에 없을 수 있음 → 합쳐진 명단으로 판단
+        return kickedEmails.contains(userEmail.trim()) || Boolean.TRUE.equals(kickRegistry.peek(roomId, userEmail));
     }
 
-    /**
-     * 같은 날 다음 회차로 넘어갔을 때, 방에 그대로 남아 있는 참가자를
-     * 새 회차(meetingroom_participant)에 자동 배정한다.
-     *
-     * - 현재 시간에 활성인 회차가 있으면 그 회차를 우선 사용
-     * - 없으면 오늘 일정 중 "다음" 회차(시작 시간이 현재 이후인 가장 가까운 회차)를 사용
-     * - 이미 해당 회차에 참가 기록(LEFT_AT IS NULL)이 있으면 아무 것도 하지 않음
-     * - 직전에 배정된 회차보다 이전/같은 회차라면 이동하지 않음
-     */
     @Override
     @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
-    public void checkAndAssignNewSessionIfNeeded(String roomId, String userEmail) {
-        if (roomId == null || roomId.isBlank() || userEmail == null || userEmail.isBlank()) {
-            return;
-        }
-
-        // roomId 기준으로 subjectId 조회 (호스트 기준 행)
-        Optional<MeetingRoom> roomOpt = meetingRoomRepository.findByIdRoomId(roomId.trim());
-        if (roomOpt.isEmpty()) {
-            log.debug("[MeetingRoomServiceImpl] roomId={} 에 해당하는 meeting_room 이 없어 회차 자동 배정을 건너뜁니다.", roomId);
+    public void assignParticipantsToSchedule(String roomId, String subjectId, Long scheduleId, Collection<String> userEmails) {
+        if (roomId == null || roomId.isBlank() || subjectId == null || subjectId.isBlank()
+                || scheduleId == null || userEmails == null || userEmails.isEmpty()) {
             return;
         }
-
-        MeetingRoom room = roomOpt.get();
-        String subjectId = room.getSubjectId();
-        if (subjectId == null || subjectId.isBlank()) {
-            log.warn("[MeetingRoomServiceImpl] subjectId 가 비어 있어 회차 자동 배정을 건너뜁니다. roomId={}", roomId);
-            return;
-        }
-
+        String trimmedRoomId = roomId.trim();
         String trimmedSubjectId = subjectId.trim();
 
-        // 1) 현재 시각에 활성인 회차가 있으면 그 회차 사용
-        Long targetScheduleId = null;
-        try {
-            targetScheduleId = studyScheduleService.findActiveScheduleIdByCurrentTime(trimmedSubjectId);
-        } catch (Exception e) {
-            log.warn("[MeetingRoomServiceImpl] findActiveScheduleIdByCurrentTime 실패: {}", e.getMessage());
-        }
-
-        // 2) 활성 회차가 없으면 오늘 일정 중 다음 회차 사용
-        if (targetScheduleId == null) {
-            try {
-                targetScheduleId = studyScheduleService.findUpcomingTodayScheduleId(trimmedSubjectId);
-            } catch (Exception e) {
-                log.warn("[MeetingRoomServiceImpl] findUpcomingTodayScheduleId 실패: {}", e.getMessage());
-            }
-        }
-
-        if (targetScheduleId == null) {
-            // 오늘 더 이상 배정할 회차가 없음
-            return;
+        Set<String> emails = new LinkedHashSet<>();
+        for (String email : userEmails) {
+            if (email != null && !email.isBlank()) emails.add(email.trim());
         }
+        if (emails.isEmpty()) return;
 
-        Long finalTargetScheduleId = targetScheduleId;
+        StudyScheduleVO targetVo = studyScheduleService.getBySubjectIdAndScheduleId(trimmedSubjectId, scheduleId);
 
-        // 이미 해당 회차에 참가 중이면 아무 것도 하지 않음
-        Optional<MeetingRoomParticipant> existingForTarget =
-                participantRepository.findByScheduleIdAndRoomIdAndUserEmailAndLeftAtIsNull(
-                        finalTargetScheduleId, roomId.trim(), userEmail.trim()
-                );
-        if (existingForTarget.isPresent()) {
-            return;
+        // email → 가장 최근 기록, 그리고 이미 대상 회차 행이 있는 email (unique 제약 위반 방지)
+        Map<String, MeetingRoomParticipant> latestByEmail = new HashMap<>();
+        Set<String> alreadyInTarget = new LinkedHashSet<>();
+        for (MeetingRoomParticipant p : participantRepository.findByRoomIdAndUserEmailIn(trimmedRoomId, emails)) {
+            if (scheduleId.equals(p.getScheduleId())) alreadyInTarget.add(p.getUserEmail());
+            latestByEmail.merge(p.getUserEmail(), p,
+                    (a, b) -> a.getParticipantId() >= b.getParticipantId() ? a : b);
         }
 
-        // 바로 이전에 배정된 회차가 있다면, 그보다 "앞선" 회차로는 이동하지 않도록 방어
-        Optional<MeetingRoomParticipant> latestOpt =
-                participantRepository.findFirstByRoomIdAndUserEmailOrderByParticipantIdDesc(
-                        roomId.trim(), userEmail.trim()
-                );
-
-        if (latestOpt.isPresent() && latestOpt.get().getScheduleId() != null) {
-            Long lastScheduleId = latestOpt.get().getScheduleId();
-            if (finalTargetScheduleId.equals(lastScheduleId)) {
-                return;
-            }
-
-            try {
-                StudyScheduleVO lastVo =
-                        studyScheduleService.getBySubjectIdAndScheduleId(trimmedSubjectId, lastScheduleId);
-                StudyScheduleVO targetVo =
-                        studyScheduleService.getBySubjectIdAndScheduleId(trimmedSubjectId, finalTargetScheduleId);
-
-                if (lastVo != null && targetVo != null) {
+        // 이전 회차 정보는 회차별로 한 번만 조회 (보통 모두 같은 회차)
+        Map<Long, Optional<StudyScheduleVO>> scheduleCache = new HashMap<>();
+        List<MeetingRoomParticipant> toSave = new ArrayList<>();
+        for (String email : emails) {
+            if (alreadyInTarget.contains(email)) continue;
+
+            MeetingRoomParticipant latest = latestByEmail.get(email);
+            if (latest != null && latest.getScheduleId() != null && targetVo != null) {
+                StudyScheduleVO lastVo = scheduleCache.computeIfAbsent(latest.getScheduleId(), id ->
+                        Optional.ofNullable(studyScheduleService.getBySubjectIdAndScheduleId(trimmedSubjectId, id))
+                ).orElse(null);
+                if (lastVo != null) {
                     // 날짜가 다르면(다른 날 회차) 자동 이동하지 않음
-                    if (lastVo.getStudyDate() != null
-                            && targetVo.getStudyDate() != null
+                    if (lastVo.getStudyDate() != null && targetVo.getStudyDate() != null
                             && !lastVo.getStudyDate().equals(targetVo.getStudyDate())) {
-                        return;
+                        continue;
                     }
-
-                    Integer lastRound = lastVo.getRoundNum();
-                    Integer targetRound = targetVo.getRoundNum();
-                    if (lastRound != null && targetRound != null && targetRound <= lastRound) {
-                        // 이미 같은 회차 이상으로 배정되어 있으면 이동하지 않음
-                        return;
+                    // 이미 같은 회차 이상으로 배정되어 있으면 이동하지 않음
+                    if (lastVo.getRoundNum() != null && targetVo.getRoundNum() != null
+                            && targetVo.getRoundNum() <= lastVo.getRoundNum()) {
+                        continue;
                     }
                 }
-            } catch (Exception e) {
-                // 비교 로직 실패 시에도 예외 때문에 WebSocket 흐름이 끊기지 않도록 로그만 남기고 계속 진행
-                log.warn("[MeetingRoomServiceImpl] 회차 비교 중 예외 발생: {}", e.getMessage());
             }
+            toSave.add(new MeetingRoomParticipant(trimmedSubjectId, scheduleId, trimmedRoomId, email));
         }
 
-        // 실제 새 회차 참가 기록 생성
-        try {
-            MeetingRoomParticipant participant =
-                    new MeetingRoomParticipant(trimmedSubjectId, finalTargetScheduleId, roomId.trim(), userEmail.trim());
-            participantRepository.save(participant);
-            log.info("[MeetingRoomServiceImpl] 회차 자동 배정 완료: roomId={}, subjectId={}, scheduleId={}, userEmail={}",
-                    roomId, trimmedSubjectId, finalTargetScheduleId, userEmail);
-        } catch (Exception e) {
-            log.error("[MeetingRoomServiceImpl] 회차 자동 배정 실패: roomId={}, userEmail={}, error={}",
-                    roomId, userEmail, e.getMessage(), e);
-            throw e;
+        if (toSave.isEmpty()) return;
+        participantRepository.saveAll(toSave);
+        log.info("[MeetingRoomServiceImpl] 회차 일괄 배정 완료: roomId={}, subjectId={}, scheduleId={}, count={}",
+                roomId, trimmedSubjectId, scheduleId, toSave.size());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String findSubjectIdByRoomId(String roomId) {
+        if (roomId == null || roomId.isBlank()) return null;
+        return meetingRoomRepository.findByIdRoomId(roomId.trim())
+                .map(MeetingRoom::getSubjectId)
+                .filter(s -> !s.isBlank())
+                .map(String::trim)
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Integer findMaxParticipants(String roomId) {
+        if (roomId == null || roomId.isBlank()) return null;
+        return roomRepository.findById(roomId.trim())
+                .map(Room::getMaxParticipants)
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isRoomHost(String roomId, String userEmail) {
+        if (roomId == null || roomId.isBlank() || userEmail == null || userEmail.isBlank()) return false;
+        return meetingRoomRepository.existsById(new MeetingRoomId(roomId.trim(), userEmail.trim()));
+    }
+
+    @Override
+    public void saveParticipationStats(String roomId, List<ParticipationTotals> totals) {
+        if (roomId == null || totals == null || totals.isEmpty()) return;
+        List<MeetingRoomParticipationStat> rows = new ArrayList<>(totals.size());
+        ZoneId zone = ZoneId.of(meetingZone);
+        for (ParticipationTotals t : totals) rows.add(new MeetingRoomParticipationStat(roomId, t, zone));
+        participationStatRepository.saveAll(rows);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ParticipationTotals> participationSummary(String roomId, Long scheduleId, List<ParticipationTotals> live) {
+        ZoneId zone = ZoneId.of(meetingZone);
+        List<MeetingRoomParticipationStat> saved = scheduleId != null
+                ? participationStatRepository.findByRoomIdAndScheduleId(roomId, scheduleId)
+                : participationStatRepository.findByRoomIdAndPeriodEndAfter(roomId, LocalDate.now(zone).atStartOfDay());
+        Map<String, ParticipationTotals> byUser = new HashMap<>();
+        for (MeetingRoomParticipationStat row : saved) {
+            byUser.merge(row.getUserId(), row.toTotals(zone), ParticipationTotals::plus);
+        }
+        if (live != null) {
+            for (ParticipationTotals t : live) {
+                if (scheduleId == null || scheduleId.equals(t.scheduleId())) byUser.merge(t.userId(), t, ParticipationTotals::plus);
+            }
         }
+        List<ParticipationTotals> result = new ArrayList<>(byUser.values());
+        result.sort(Comparator.comparingLong(ParticipationTotals::speakingMs).reversed());
+        return result;
     }
 }
@@ -0,0 +1,39 @@
+package com.example.demo.common.websocket;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InboundRateLimiterTests {
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.getAttributes()).thenReturn(new ConcurrentHashMap<>());
+        return session;
+    }
+
+    @Test
+    void burstThenLimitedThenDisconnected_perSessionAndClass() {
+        // 리필이 거의 없는 한도로 버스트/위반 횟수만 검증
+        InboundRateLimiter limiter = new InboundRateLimiter(true, "CHAT=0.01/3,DEFAULT=0.01/5", "0.01/100", "0.01/2");
+        WebSocketSession a = session("a");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.acquire(a, "CHAT")).isEqualTo(InboundRateLimiter.Verdict.ALLOW);
+        }
+        assertThat(limiter.acquire(a, "CHAT")).isEqualTo(InboundRateLimiter.Verdict.LIMITED);
+        // 다른 종류/다른 세션은 별도 버킷
+        assertThat(limiter.acquire(a, "REACTION")).isEqualTo(InboundRateLimiter.Verdict.ALLOW);
+        assertThat(limiter.acquire(session("b"), "CHAT")).isEqualTo(InboundRateLimiter.Verdict.ALLOW);
+
+        assertThat(limiter.acquire(a, "CHAT")).isEqualTo(InboundRateLimiter.Verdict.LIMITED);
+        assertThat(limiter.acquire(a, "CHAT")).isEqualTo(InboundRateLimiter.Verdict.DISCONNECT);
+        assertThat(limiter.metrics().get("disconnected")).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.common.websocket;
+
+import jakarta.websocket.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WebSocketEndpointTuningTests {
+
+    private final WebSocketEndpointTuning tuning = new WebSocketEndpointTuning(
+            "compression=true,idle-timeout-ms=90000,max-text-buffer=16384",
+            "compression=false",
+            "max-binary-buffer=32768",
+            "");
+
+    @Test
+    void parsesPerEndpointSpecWithDefaults() {
+        assertThat(tuning.settings("room"))
+                .isEqualTo(new WebSocketEndpointTuning.Settings(true, 90_000, 16_384, 8_192));
+        assertThat(tuning.settings("comment")).isEqualTo(WebSocketEndpointTuning.Settings.DEFAULTS);
+        assertThat(tuning.maxTextBuffer()).isEqualTo(16_384);
+        assertThat(tuning.maxBinaryBuffer()).isEqualTo(32_768);
+    }
+
+    @Test
+    void appliesBuffersAndIdleTimeoutToSession() {
+        NativeWebSocketSession session = mock(NativeWebSocketSession.class);
+        Session container = mock(Session.class);
+        when(session.getNativeSession(Session.class)).thenReturn(container);
+
+        WebSocketEndpointTuning.apply(session, tuning.settings("room"));
+
+        verify(session).setTextMessageSizeLimit(16_384);
+        verify(session).setBinaryMessageSizeLimit(8_192);
+        verify(container).setMaxIdleTimeout(90_000);
+    }
+
+    @Test
+    void leavesContainerIdleTimeoutWhenDisabled() {
+        NativeWebSocketSession session = mock(NativeWebSocketSession.class);
+
+        WebSocketEndpointTuning.apply(session, tuning.settings("chat"));
+
+        verify(session, never()).getNativeSession(Session.class);
+    }
+}
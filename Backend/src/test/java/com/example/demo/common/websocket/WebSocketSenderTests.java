@@ -0,0 +1,100 @@
+package com.example.demo.common.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WebSocketSenderTests {
+
+    private WebSocketSender sender;
+
+    @BeforeEach
+    void setUp() {
+        sender = new WebSocketSender(2, 4, 1_048_576, 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.shutdown();
+    }
+
+    @Test
+    void slowConsumer_isEvictedWithoutBlockingBroadcaster() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession slow = session("slow");
+        doAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(slow).sendMessage(any());
+
+        WebSocketSession fast = session("fast");
+
+        boolean overflowed = false;
+        for (int i = 0; i < 10; i++) {
+            TextMessage m = new TextMessage("m" + i);
+            if (i < 3) sender.send(fast, m);
+            if (!sender.send(slow, m)) overflowed = true;
+        }
+
+        assertThat(overflowed).isTrue();
+        verify(fast, timeout(2000).times(3)).sendMessage(any());
+        release.countDown();
+        verify(slow, timeout(2000)).close(WebSocketSender.SLOW_CONSUMER);
+        assertThat((long) sender.metrics().get("evictedSessions")).isEqualTo(1L);
+    }
+
+    @Test
+    void stalledSend_isCutOffSoOtherSessionsKeepReceiving() throws Exception {
+        // writer 하나: 막힌 전송이 풀리지 않으면 다른 세션은 영영 못 받음
+        sender.shutdown();
+        sender = new WebSocketSender(1, 4, 1_048_576, 200);
+        CountDownLatch never = new CountDownLatch(1);
+        WebSocketSession stalled = session("stalled");
+        doAnswer(inv -> {
+            never.await();
+            return null;
+        }).when(stalled).sendMessage(any());
+        WebSocketSession other = session("other");
+
+        sender.send(stalled, new TextMessage("m"));
+        verify(stalled, timeout(1000)).sendMessage(any());
+        sender.send(other, new TextMessage("m"));
+
+        verify(other, timeout(2000)).sendMessage(any());
+        verify(stalled, timeout(2000)).close(WebSocketSender.SLOW_CONSUMER);
+        assertThat(sender.send(stalled, new TextMessage("late"))).isFalse();
+        assertThat((long) sender.metrics().get("evictedSessions")).isEqualTo(1L);
+    }
+
+    @Test
+    void close_isDeliveredAfterQueuedMessages() throws Exception {
+        WebSocketSession session = session("s1");
+
+        sender.send(session, new TextMessage("bye"));
+        sender.close(session, CloseStatus.NORMAL);
+
+        verify(session, timeout(2000)).close(CloseStatus.NORMAL);
+        verify(session).sendMessage(new TextMessage("bye"));
+    }
+
+    private WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.모집.handler;
+
+import com.example.demo.common.websocket.WebSocketSender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NotificationWebSocketHandlerTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void reconnectFlush_isPacedByAcksWithinSenderQueueLimit() throws Exception {
+        WebSocketSender sender = mock(WebSocketSender.class);
+        when(sender.maxQueueMessages()).thenReturn(4);
+        WebSocketSession session = session("s1", "u1");
+        List<String> sent = new ArrayList<>();
+        when(sender.send(eq(session), any())).thenAnswer(inv -> {
+            sent.add(((TextMessage) inv.getArgument(1)).getPayload());
+            return true;
+        });
+        NotificationWebSocketHandler handler = new NotificationWebSocketHandler(objectMapper, sender);
+
+        // 오프라인 동안 쌓인 알림 5개
+        for (int i = 0; i < 5; i++) handler.sendToOwner("u1", "c" + i);
+
+        // 재접속: 큐 상한(4)의 절반만 먼저 보냄
+        handler.afterConnectionEstablished(session);
+        assertThat(sent).hasSize(2);
+
+        // ACK 하나당 다음 알림 하나, 오래된 순서 유지
+        handler.handleTextMessage(session, ack(sent.get(0)));
+        assertThat(sent).hasSize(3);
+        handler.handleTextMessage(session, ack(sent.get(1)));
+        handler.handleTextMessage(session, ack(sent.get(2)));
+        assertThat(sent).hasSize(5);
+        assertThat(sent).extracting(this::content).containsExactly("c0", "c1", "c2", "c3", "c4");
+
+        // 같은 알림을 ACK 전에 다시 보내지 않음
+        handler.handleTextMessage(session, ack(sent.get(3)));
+        assertThat(sent).hasSize(5);
+    }
+
+    private TextMessage ack(String notification) throws Exception {
+        String id = objectMapper.readTree(notification).path("notificationId").asText();
+        return new TextMessage("{\"type\":\"ACK\",\"notificationId\":\"" + id + "\"}");
+    }
+
+    private String content(String notification) {
+        try {
+            return objectMapper.readTree(notification).path("content").asText();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static WebSocketSession session(String id, String userId) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        when(session.getUri()).thenReturn(URI.create("ws://localhost/ws/notification/" + userId));
+        when(session.getAttributes()).thenReturn(new ConcurrentHashMap<>());
+        return session;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.demo.화상채팅.Cluster;
+
+import com.example.demo.화상채팅.DTO.RoomUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 한 JVM에 Spring 컨텍스트 두 개(노드 a, b)를 띄워 기본(in-memory) 클러스터 구현 검증 */
+class RoomClusterTests {
+
+    private final String clusterName = "test-" + UUID.randomUUID();
+    private final List<AnnotationConfigApplicationContext> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(AnnotationConfigApplicationContext::close);
+    }
+
+    @Test
+    void eventsAndMembersAreSharedAcrossContexts() {
+        AnnotationConfigApplicationContext a = node("a");
+        AnnotationConfigApplicationContext b = node("b");
+
+        List<RoomClusterEvent> receivedByA = new CopyOnWriteArrayList<>();
+        List<RoomClusterEvent> receivedByB = new CopyOnWriteArrayList<>();
+        a.getBean(RoomEventBus.class).subscribe(receivedByA::add);
+        b.getBean(RoomEventBus.class).subscribe(receivedByB::add);
+
+        a.getBean(RoomEventBus.class).publish(RoomClusterEvent.frame("a", "room-1", "{\"type\":\"CHAT\"}", false));
+        assertThat(receivedByB).extracting(RoomClusterEvent::frame).containsExactly("{\"type\":\"CHAT\"}");
+        assertThat(receivedByA).isEmpty();
+
+        // 방 시작 시각은 클러스터 첫 입장 기준
+        RoomStateStore storeA = a.getBean(RoomStateStore.class);
+        RoomStateStore storeB = b.getBean(RoomStateStore.class);
+        assertThat(storeA.startRoomIfAbsent("room-1", 1000L)).isEqualTo(1000L);
+        assertThat(storeB.startRoomIfAbsent("room-1", 2000L)).isEqualTo(1000L);
+
+        RoomUser alice = user("alice", 1);
+        storeA.putMembers("room-1", "a", List.of(alice));
+        storeB.putMembers("room-1", "b", List.of(user("bob", 2)));
+        alice.setMuted(false);
+        Map<String, List<RoomUser>> members = storeB.members("room-1");
+        assertThat(members).containsOnlyKeys("a", "b");
+        // 저장소는 복사본 → 원본 변경이 다른 노드에 새지 않음
+        assertThat(members.get("a").get(0).isMuted()).isTrue();
+
+        // 노드 종료 시 그 노드 참가자 제거, 모두 비면 방 상태도 제거
+        b.close();
+        assertThat(storeA.members("room-1")).containsOnlyKeys("a");
+        storeA.putMembers("room-1", "a", List.of());
+        assertThat(storeA.roomStartedAt("room-1")).isNull();
+    }
+
+    @Test
+    void ownershipAgreesAcrossNodesAndMovesOnlyRoomsOfRemovedNode() {
+        AnnotationConfigApplicationContext a = node("a");
+        AnnotationConfigApplicationContext b = node("b");
+        AnnotationConfigApplicationContext c = node("c");
+
+        List<String> ownersBefore = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String roomId = "room-" + i;
+            String owner = a.getBean(RoomOwnership.class).ownerOf(roomId);
+            assertThat(b.getBean(RoomOwnership.class).ownerOf(roomId)).isEqualTo(owner);
+            assertThat(c.getBean(RoomOwnership.class).ownerOf(roomId)).isEqualTo(owner);
+            ownersBefore.add(owner);
+        }
+        assertThat(ownersBefore).contains("a", "b", "c");
+
+        c.close();
+        for (int i = 0; i < 200; i++) {
+            String owner = a.getBean(RoomOwnership.class).ownerOf("room-" + i);
+            if (!"c".equals(ownersBefore.get(i))) assertThat(owner).isEqualTo(ownersBefore.get(i));
+            else assertThat(owner).isIn("a", "b");
+        }
+    }
+
+    @Test
+    void upgradesAtWrongNodeAreRedirectedToOwnerAndDrainMovesRooms() {
+        Map<String, Object> pinned = Map.of("meeting.cluster.pin-rooms", "true",
+                "meeting.cluster.nodes", "a=wss://a.example.com, b=wss://b.example.com");
+        AnnotationConfigApplicationContext a = node("a", pinned);
+        AnnotationConfigApplicationContext b = node("b", pinned);
+        RoomAffinityRouter routerA = a.getBean(RoomAffinityRouter.class);
+        RoomAffinityRouter routerB = b.getBean(RoomAffinityRouter.class);
+
+        String roomOfB = roomOwnedBy(a.getBean(RoomOwnership.class), "b");
+        URI upgrade = URI.create("ws://a.example.com/ws/room/" + roomOfB + "?userId=u1");
+        RoomAffinityRouter.Redirect redirect = routerA.routeUpgrade(roomOfB, upgrade);
+        assertThat(redirect.targetNode()).isEqualTo("b");
+        assertThat(redirect.url()).isEqualTo("wss://b.example.com");
+        assertThat(redirect.closeStatus().getCode()).isEqualTo(RoomAffinityRouter.REDIRECT_CODE);
+        assertThat(routerB.routeUpgrade(roomOfB, upgrade)).isNull();
+        // 재접속 안내 횟수 초과 시 그대로 수락 (노드 간 소유 판단이 어긋나도 무한 반복 없음)
+        assertThat(routerA.routeUpgrade(roomOfB, URI.create(upgrade + "&redirects=2"))).isNull();
+
+        // b drain → b가 맡던 방은 a로
+        b.getBean(RoomOwnership.class).setDraining(true);
+        assertThat(routerB.migrationTarget(roomOfB).targetNode()).isEqualTo("a");
+        assertThat(routerA.routeUpgrade(roomOfB, upgrade)).isNull();
+        assertThat(routerB.routeUpgrade(roomOfB, upgrade).url()).isEqualTo("wss://a.example.com");
+    }
+
+    private static String roomOwnedBy(RoomOwnership ownership, String nodeId) {
+        for (int i = 0; ; i++) {
+            if (ownership.ownerOf("room-" + i).equals(nodeId)) return "room-" + i;
+        }
+    }
+
+    private AnnotationConfigApplicationContext node(String nodeId) {
+        return node(nodeId, Map.of());
+    }
+
+    private AnnotationConfigApplicationContext node(String nodeId, Map<String, Object> extra) {
+        AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+        Map<String, Object> props = new HashMap<>(extra);
+        props.put("meeting.cluster.name", clusterName);
+        props.put("meeting.cluster.node-id", nodeId);
+        ctx.getEnvironment().getPropertySources().addFirst(new MapPropertySource("cluster", props));
+        ctx.register(RoomClusterConfig.class, RoomOwnership.class, RoomAffinityRouter.class);
+        ctx.registerBean(ObjectMapper.class);
+        ctx.refresh();
+        nodes.add(ctx);
+        return ctx;
+    }
+
+    private static RoomUser user(String userId, long joinAt) {
+        return new RoomUser(userId, userId, userId + "@example.com", false, joinAt,
+                false, true, true, false, true, null, false, false, false);
+    }
+}
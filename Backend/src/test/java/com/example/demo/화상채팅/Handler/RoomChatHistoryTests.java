@@ -0,0 +1,30 @@
+package com.example.demo.화상채팅.Handler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomChatHistoryTests {
+
+    @Test
+    void keepsOnlyLatestFramesAndReplaysAfterSeq() {
+        RoomChatHistory history = new RoomChatHistory(3);
+        for (long seq = 1; seq <= 5; seq++) history.append(seq, "{\"seq\":" + seq + "}");
+
+        assertThat(history.size()).isEqualTo(3);
+        assertThat(history.lastSeq()).isEqualTo(5);
+        assertThat(history.since(0)).containsExactly("{\"seq\":3}", "{\"seq\":4}", "{\"seq\":5}");
+        assertThat(history.since(4)).containsExactly("{\"seq\":5}");
+        assertThat(history.since(5)).isEmpty();
+    }
+
+    @Test
+    void replaysInSeqOrderWhenRemoteFramesArriveLate() {
+        RoomChatHistory history = new RoomChatHistory(10);
+        history.append(2, "b");
+        history.append(1, "a");
+        history.append(3, "c");
+
+        assertThat(history.since(0)).containsExactly("a", "b", "c");
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.화상채팅.Handler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomChurnGateTests {
+
+    @Test
+    void admitsIndividualJoinsButDefersBurstUntilQuiet() {
+        RoomChurnGate gate = new RoomChurnGate(3, 1_000, 200, 1_000);
+
+        assertThat(gate.admit(0)).isTrue();
+        assertThat(gate.admit(100)).isTrue();
+        // 창 안 3번째부터 폭주 → 보류, flush 예약은 한 번만
+        assertThat(gate.admit(200)).isFalse();
+        assertThat(gate.claimFlushSchedule()).isTrue();
+        assertThat(gate.admit(300)).isFalse();
+        assertThat(gate.claimFlushSchedule()).isFalse();
+
+        // 마지막 입장(300) 후 200ms 조용해야 flush
+        assertThat(gate.remainingDelay(400)).isEqualTo(100);
+        assertThat(gate.remainingDelay(500)).isZero();
+        gate.flushed();
+        assertThat(gate.pending()).isFalse();
+
+        // 창이 지나면 다시 즉시 브로드캐스트
+        assertThat(gate.admit(5_000)).isTrue();
+    }
+
+    @Test
+    void continuousChurnStillFlushesWithinMaxDelay() {
+        RoomChurnGate gate = new RoomChurnGate(2, 1_000, 200, 500);
+        gate.admit(0);
+        assertThat(gate.admit(50)).isFalse();
+        for (long t = 100; t <= 600; t += 100) gate.admit(t);
+        assertThat(gate.remainingDelay(600)).isZero();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.화상채팅.Handler;
+
+import com.example.demo.화상채팅.DTO.RoomEvents;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomFrameEncoderTests {
+
+    private final RoomFrameEncoder encoder = new RoomFrameEncoder(new ObjectMapper());
+
+    @Test
+    void usersUpdate_keepsLegacyShapeAndReusesUsersJsonPerVersion() throws Exception {
+        RoomPresence presence = new RoomPresence();
+        Map<String, Map<String, Object>> state = new LinkedHashMap<>();
+        state.put("a", new LinkedHashMap<>(Map.of("userId", "a")));
+        presence.diff(state);
+
+        String users = encoder.usersJson(presence);
+        assertThat(encoder.usersJson(presence)).isSameAs(users);
+
+        String payload = encoder.encode(new RoomEvents.UsersUpdate(users, 1000L, 5L)).getPayload();
+        assertThat(payload).isEqualTo(
+                "{\"type\":\"USERS_UPDATE\",\"users\":[{\"userId\":\"a\"}],\"roomStartedAt\":1000,\"roomElapsedMs\":5}");
+
+        state.put("b", new LinkedHashMap<>(Map.of("userId", "b")));
+        presence.diff(state);
+        assertThat(encoder.usersJson(presence)).isEqualTo("[{\"userId\":\"a\"},{\"userId\":\"b\"}]");
+        assertThat(encoder.metrics().get("usersJsonEncoded")).isEqualTo(2L);
+    }
+
+    @Test
+    void usersUpdate_omitsRoomTimesWhenRoomNotStarted() throws Exception {
+        String payload = encoder.encode(new RoomEvents.UsersUpdate("[]", null, null)).getPayload();
+        assertThat(payload).isEqualTo("{\"type\":\"USERS_UPDATE\",\"users\":[]}");
+    }
+
+    @Test
+    void clockSync_omitsStartWhenRoomNotStarted() throws Exception {
+        assertThat(encoder.encode(new RoomEvents.ClockSync(null, 2000L, 300000L)).getPayload())
+                .isEqualTo("{\"type\":\"CLOCK_SYNC\",\"serverTime\":2000,\"resyncIntervalMs\":300000}");
+        assertThat(encoder.encode(new RoomEvents.TimeSync(1L, 2L, 3L)).getPayload())
+                .isEqualTo("{\"type\":\"TIME_SYNC\",\"clientSentAt\":1,\"serverReceivedAt\":2,\"serverSentAt\":3}");
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.화상채팅.Handler;
+
+import com.example.demo.화상채팅.DTO.ParticipationTotals;
+import com.example.demo.화상채팅.DTO.RoomUser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomParticipationTests {
+
+    private static RoomUser user(String id) {
+        // 음소거 + 카메라 켬 상태로 입장
+        return new RoomUser(id, "name-" + id, id + "@test.com", false, 0, false, true, false,
+                false, true, null, false, false, false);
+    }
+
+    @Test
+    void accumulatesIntervalsBetweenStateChanges() {
+        RoomParticipation participation = new RoomParticipation(0);
+        RoomUser a = user("a");
+        participation.observe(a, 0);
+
+        a.setMuted(false);
+        a.setSpeaking(true);
+        participation.observe(a, 1_000);
+        a.setSpeaking(false);
+        participation.observe(a, 4_000);
+        a.setCameraOff(true);
+        participation.observe(a, 6_000);
+
+        ParticipationTotals t = participation.snapshot(10_000).get(0);
+        assertThat(t.presentMs()).isEqualTo(10_000);
+        assertThat(t.speakingMs()).isEqualTo(3_000);
+        assertThat(t.mutedMs()).isEqualTo(1_000);
+        assertThat(t.cameraOnMs()).isEqualTo(6_000);
+    }
+
+    @Test
+    void drainRestartsOpenIntervalsAndDropsLeftUsers() {
+        RoomParticipation participation = new RoomParticipation(0);
+        participation.offerScheduleId(1L);
+        participation.observe(user("a"), 0);
+        participation.observe(user("b"), 0);
+        participation.leave("b", 2_000);
+
+        List<ParticipationTotals> first = participation.drain(5_000, 2L);
+        assertThat(first).extracting(ParticipationTotals::userId).containsExactlyInAnyOrder("a", "b");
+        assertThat(first).allMatch(t -> t.scheduleId() == 1L);
+
+        List<ParticipationTotals> second = participation.drain(8_000, null);
+        assertThat(second).hasSize(1);
+        ParticipationTotals a = second.get(0);
+        assertThat(a.userId()).isEqualTo("a");
+        assertThat(a.scheduleId()).isEqualTo(2L);
+        assertThat(a.presentMs()).isEqualTo(3_000);
+        assertThat(a.periodStart()).isEqualTo(5_000);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.화상채팅.Handler;
+
+import com.example.demo.화상채팅.DTO.RoomUser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomPresenceTests {
+
+    @Test
+    void diff_emitsJoinedPatchAndLeftWithIncreasingVersion() {
+        RoomPresence presence = new RoomPresence();
+
+        Map<String, Map<String, Object>> state = new LinkedHashMap<>();
+        state.put("a", user("a", false));
+        state.put("b", user("b", false));
+        List<Map<String, Object>> joined = presence.diff(state);
+        assertThat(joined).extracting(e -> e.get("type")).containsExactly("USER_JOINED", "USER_JOINED");
+
+        state.put("a", user("a", true));
+        List<Map<String, Object>> patched = presence.diff(state);
+        assertThat(patched).hasSize(1);
+        assertThat(patched.get(0).get("type")).isEqualTo("USER_PATCH");
+        assertThat(patched.get(0).get("changes")).isEqualTo(Map.of("speaking", true));
+
+        state.remove("b");
+        List<Map<String, Object>> left = presence.diff(state);
+        assertThat(left).extracting(e -> e.get("type")).containsExactly("USER_LEFT");
+        assertThat(left.get(0).get("version")).isEqualTo(4L);
+
+        assertThat(presence.diff(state)).isEmpty();
+        assertThat(presence.version()).isEqualTo(4L);
+        assertThat(presence.snapshot()).containsExactly(user("a", true));
+    }
+
+    @Test
+    void render_reusesFieldsOfUnchangedUsersAndRerendersChangedOnes() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        AtomicInteger renders = new AtomicInteger();
+        Function<RoomUser, Map<String, Object>> renderer = u -> {
+            renders.incrementAndGet();
+            return objectMapper.convertValue(u, new TypeReference<LinkedHashMap<String, Object>>() {});
+        };
+        RoomPresence presence = new RoomPresence();
+        RoomUser a = roomUser("a");
+        RoomUser b = roomUser("b");
+
+        presence.diff(presence.render(List.of(a, b), renderer));
+        assertThat(renders.get()).isEqualTo(2);
+
+        // 변화 없음 → 다시 렌더링하지 않고 이벤트도 없음
+        assertThat(presence.diff(presence.render(List.of(a, b), renderer))).isEmpty();
+        assertThat(renders.get()).isEqualTo(2);
+
+        // 다른 노드에서 온 복사본이라도 값이 같으면 재사용, 바뀐 유저만 렌더링
+        RoomUser bCopy = roomUser("b");
+        a.setSpeaking(true);
+        List<Map<String, Object>> events = presence.diff(presence.render(List.of(a, bCopy), renderer));
+        assertThat(renders.get()).isEqualTo(3);
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).get("changes")).isEqualTo(Map.of("speaking", true));
+    }
+
+    @Test
+    void presenceKey_coversEverySerializedField() {
+        RoomUser u = roomUser("a");
+        Map<String, Object> serialized = new ObjectMapper().convertValue(u, new TypeReference<LinkedHashMap<String, Object>>() {});
+        assertThat(u.presenceKey()).hasSameSizeAs(serialized.keySet());
+    }
+
+    private static RoomUser roomUser(String userId) {
+        return new RoomUser(userId, userId, userId + "@example.com", false, 0,
+                false, true, true, false, true, null, false, false, false);
+    }
+
+    private Map<String, Object> user(String userId, boolean speaking) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("userId", userId);
+        fields.put("speaking", speaking);
+        return fields;
+    }
+}
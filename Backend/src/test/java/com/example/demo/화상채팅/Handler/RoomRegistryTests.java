@@ -0,0 +1,54 @@
+package com.example.demo.화상채팅.Handler;
+
+import com.example.demo.화상채팅.DTO.RoomUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RoomRegistryTests {
+
+    @Test
+    void indexesFollowReconnectAndKeepJoinOrder() {
+        RoomRegistry room = new RoomRegistry();
+        RoomUser a = user("a", 1);
+        RoomUser b = user("b", 2);
+        room.attach(session("s1"), a);
+        room.attach(session("s2"), b);
+
+        assertThat(room.onlineUser("b")).isSameAs(b);
+        assertThat(room.sessionIdOf("a")).isEqualTo("s1");
+
+        // a 새로고침: 재접속 대기 → 새 세션으로 복원해도 입장 순서 유지
+        room.detach("s1");
+        room.markDisconnected(a);
+        assertThat(room.onlineUser("a")).isNull();
+        assertThat(room.membersInJoinOrder()).containsExactly(a, b);
+
+        room.attach(session("s3"), room.removeDisconnected("a"));
+        assertThat(room.sessionIdOf("a")).isEqualTo("s3");
+        assertThat(room.userBySession("s1")).isNull();
+        assertThat(room.membersInJoinOrder()).containsExactly(a, b);
+
+        room.detach("s3");
+        room.removeMember("a");
+        assertThat(room.firstMember(u -> true)).isSameAs(b);
+        room.detach("s2");
+        room.removeMember("b");
+        assertThat(room.isEmpty()).isTrue();
+        assertThat(room.hasSessions()).isFalse();
+    }
+
+    private static WebSocketSession session(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        return session;
+    }
+
+    private static RoomUser user(String userId, long joinAt) {
+        return new RoomUser(userId, userId, userId + "@example.com", false, joinAt,
+                false, true, true, false, true, null, false, false, false);
+    }
+}
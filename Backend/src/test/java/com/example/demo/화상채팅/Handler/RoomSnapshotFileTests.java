@@ -0,0 +1,67 @@
+package com.example.demo.화상채팅.Handler;
+
+import com.example.demo.화상채팅.DTO.RoomUser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoomSnapshotFileTests {
+
+    @TempDir
+    Path dir;
+
+    private static RoomUser user(String id, boolean host, boolean mutedByHost) {
+        return new RoomUser(id, "이름-" + id, null, host, 1_000L, true, true, false, false, true,
+                "😀", true, mutedByHost, false);
+    }
+
+    @Test
+    void saveAndLoad_restoresRoomsAsDisconnectedUsers() throws IOException {
+        RoomSnapshotFile file = new RoomSnapshotFile(dir.resolve("rooms.bin"));
+        long now = System.currentTimeMillis();
+        file.save(new RoomSnapshotFile.Snapshot(now, List.of(
+                new RoomSnapshotFile.RoomSnapshot("room-1", 500L, List.of(user("a", true, false), user("b", false, true))))));
+
+        RoomSnapshotFile.Snapshot loaded = file.load(60_000L);
+
+        assertThat(loaded.takenAt()).isEqualTo(now);
+        assertThat(loaded.rooms()).singleElement().satisfies(room -> {
+            assertThat(room.roomId()).isEqualTo("room-1");
+            assertThat(room.startedAt()).isEqualTo(500L);
+            assertThat(room.members()).extracting(RoomUser::getUserId).containsExactly("a", "b");
+        });
+        RoomUser b = loaded.rooms().get(0).members().get(1);
+        assertThat(b.getUserName()).isEqualTo("이름-b");
+        assertThat(b.getUserEmail()).isNull();
+        assertThat(b.getFaceEmoji()).isEqualTo("😀");
+        assertThat(b.getMutedByHost()).isTrue();
+        assertThat(b.isMuted()).isTrue();
+        assertThat(b.isBgRemove()).isTrue();
+        assertThat(b.isOnline()).isFalse();
+        assertThat(b.isSpeaking()).isFalse();
+        assertThat(file.metrics().get("lastBytes")).isEqualTo(Files.size(file.path()));
+    }
+
+    @Test
+    void load_ignoresExpiredOrCorruptSnapshot() throws IOException {
+        RoomSnapshotFile file = new RoomSnapshotFile(dir.resolve("rooms.bin"));
+        assertThat(file.load(60_000L)).isNull();
+
+        file.save(new RoomSnapshotFile.Snapshot(System.currentTimeMillis() - 120_000L, List.of()));
+        assertThat(file.load(60_000L)).isNull();
+
+        byte[] data = RoomSnapshotFile.encode(new RoomSnapshotFile.Snapshot(1L,
+                List.of(new RoomSnapshotFile.RoomSnapshot("room-1", 500L, List.of(user("a", false, false))))));
+        data[data.length / 2] ^= 0x5A;
+        assertThatThrownBy(() -> RoomSnapshotFile.decode(data)).isInstanceOf(IOException.class);
+        Files.write(file.path(), data);
+        assertThat(file.load(Long.MAX_VALUE)).isNull();
+    }
+}
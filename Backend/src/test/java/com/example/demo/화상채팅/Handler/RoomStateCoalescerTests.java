@@ -0,0 +1,61 @@
+package com.example.demo.화상채팅.Handler;
+
+import com.example.demo.화상채팅.DTO.RoomEvents;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomStateCoalescerTests {
+
+    @Test
+    void mergesChangesPerUserWithLastWriterWins() {
+        RoomStateCoalescer coalescer = new RoomStateCoalescer();
+
+        // 창의 첫 변경만 flush 예약
+        assertThat(coalescer.addStateChange("a", Map.of("muted", true))).isTrue();
+        assertThat(coalescer.addStateChange("b", Map.of("cameraOff", true))).isFalse();
+        assertThat(coalescer.addStateChange("a", Map.of("muted", false, "cameraOff", true))).isFalse();
+        assertThat(coalescer.markPresenceDirty()).isFalse();
+
+        RoomStateCoalescer.Batch batch = coalescer.drain();
+        assertThat(batch.presenceDirty()).isTrue();
+        assertThat(batch.stateChanges()).containsOnlyKeys("a", "b");
+        assertThat(batch.stateChanges().get("a")).containsExactlyInAnyOrderEntriesOf(Map.of("muted", false, "cameraOff", true));
+
+        // drain 후 다음 창은 새로 예약
+        assertThat(coalescer.drain().isEmpty()).isTrue();
+        assertThat(coalescer.addStateChange("a", Map.of("muted", true))).isTrue();
+    }
+
+    @Test
+    void tickIsEncodedAsSingleFrameForAllUsers() throws Exception {
+        RoomStateCoalescer coalescer = new RoomStateCoalescer();
+        coalescer.addStateChange("a", Map.of("muted", true));
+        coalescer.addStateChange("b", Map.of("cameraOff", true));
+        coalescer.addStateChange("a", Map.of("muted", false));
+
+        RoomFrameEncoder encoder = new RoomFrameEncoder(new ObjectMapper());
+        String payload = encoder.encode(new RoomEvents.UserStateBatch(coalescer.drain().stateChanges())).getPayload();
+
+        assertThat(payload).isEqualTo(
+                "{\"type\":\"USER_STATE_BATCH\",\"changes\":{\"a\":{\"muted\":false},\"b\":{\"cameraOff\":true}}}");
+        assertThat(encoder.metrics().get("framesEncoded")).isEqualTo(1L);
+    }
+
+    @Test
+    void fullSessionsStillGetPerUserStateChangeFrames() throws Exception {
+        RoomStateCoalescer coalescer = new RoomStateCoalescer();
+        coalescer.addStateChange("a", Map.of("muted", true));
+        coalescer.addStateChange("a", Map.of("muted", false));
+
+        RoomFrameEncoder encoder = new RoomFrameEncoder(new ObjectMapper());
+        Map.Entry<String, Map<String, Object>> change = coalescer.drain().stateChanges().entrySet().iterator().next();
+        String payload = encoder.encode(new RoomEvents.UserStateChange(change.getKey(), change.getValue())).getPayload();
+
+        // 기존(full) 클라이언트가 처리하던 형식 그대로
+        assertThat(payload).isEqualTo("{\"type\":\"USER_STATE_CHANGE\",\"userId\":\"a\",\"changes\":{\"muted\":false}}");
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.화상채팅.Handler;
+
+import com.example.demo.화상채팅.DTO.RoomEvents;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+class RoomWireCodecTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RoomWireCodec codec = new RoomWireCodec();
+
+    @Test
+    void roundTripsFramesWithDictionaryKeysAndSmallerPayload() throws Exception {
+        String users = "[{\"userId\":\"u1\",\"userName\":\"참가자\",\"speaking\":false,\"muted\":true,\"cameraOff\":false,"
+                + "\"online\":true,\"joinAt\":1700000000000,\"custom\":1.5}]";
+        String json = objectMapper.writeValueAsString(new RoomEvents.UsersUpdate(users, 1_700_000_000_000L, 60_000L));
+
+        BinaryMessage binary = codec.toBinary(new TextMessage(json));
+        String back = codec.toJson(binary.getPayload());
+
+        assertThat(objectMapper.readTree(back)).isEqualTo(objectMapper.readTree(json));
+        assertThat(binary.getPayloadLength()).isLessThan(json.getBytes().length / 2);
+    }
+
+    @Test
+    void reusesConversionForSameFrameAcrossRecipients() throws Exception {
+        TextMessage frame = new TextMessage("{\"type\":\"ROOM_ELAPSED\",\"elapsedMs\":60000}");
+
+        BinaryMessage first = codec.toBinary(frame);
+        BinaryMessage second = codec.toBinary(frame);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getPayload()).isEqualTo(first.getPayload());
+        assertThat(codec.metrics()).containsEntry("binaryEncoded", 1L).containsEntry("binaryReused", 1L);
+    }
+
+    @Test
+    void sameFrameToTwoCborSessions_eachGetsFullPayload() throws Exception {
+        TextMessage frame = new TextMessage("{\"type\":\"ROOM_ELAPSED\",\"elapsedMs\":60000}");
+        List<byte[]> written = new ArrayList<>();
+        WebSocketSession a = cborSession("a", written);
+        WebSocketSession b = cborSession("b", written);
+
+        for (WebSocketSession session : List.of(a, b)) session.sendMessage(codec.toBinary(frame));
+
+        assertThat(written).hasSize(2);
+        assertThat(written.get(0)).isNotEmpty().isEqualTo(written.get(1));
+        assertThat(codec.toJson(ByteBuffer.wrap(written.get(1)))).isEqualTo(frame.getPayload());
+    }
+
+    /** 컨테이너처럼 전송하면서 버퍼를 끝까지 읽는 세션 (Tomcat sendBytes는 duplicate 없이 position을 옮김) */
+    private static WebSocketSession cborSession(String id, List<byte[]> written) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.getAcceptedProtocol()).thenReturn(RoomWireCodec.CBOR_PROTOCOL);
+        doAnswer(inv -> {
+            ByteBuffer payload = inv.<BinaryMessage>getArgument(0).getPayload();
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            written.add(bytes);
+            return null;
+        }).when(session).sendMessage(any());
+        return session;
+    }
+
+    @Test
+    void keepsUnknownFieldNamesAsStrings() throws Exception {
+        String json = "{\"type\":\"SPEAKING\",\"speaking\":true,\"somethingNew\":\"x\"}";
+
+        String back = codec.toJson(ByteBuffer.wrap(codec.toCbor(json)));
+
+        assertThat(objectMapper.readTree(back)).isEqualTo(objectMapper.readTree(json));
+    }
+}
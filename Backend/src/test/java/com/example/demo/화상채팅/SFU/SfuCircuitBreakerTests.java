@@ -0,0 +1,46 @@
+package com.example.demo.화상채팅.SFU;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SfuCircuitBreakerTests {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final SfuCircuitBreaker breaker = new SfuCircuitBreaker(3, 5_000, now::get);
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(SfuCircuitBreaker.State.CLOSED);
+
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(SfuCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void halfOpenLetsSingleProbeThrough() {
+        for (int i = 0; i < 3; i++) breaker.onFailure();
+        now.addAndGet(5_000);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(SfuCircuitBreaker.State.OPEN);
+
+        now.addAndGet(5_000);
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onSuccess();
+        assertThat(breaker.state()).isEqualTo(SfuCircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.화상채팅.SFU;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SfuClientTests {
+
+    private HttpServer server;
+    private final AtomicInteger hits = new AtomicInteger();
+    /** 앞의 N번은 500으로 응답 */
+    private final AtomicInteger failFirst = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/rooms", exchange -> {
+            int hit = hits.incrementAndGet();
+            byte[] body = (hit <= failFirst.get() ? "{\"error\":\"busy\"}" : "{\"roomId\":\"r1\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(hit <= failFirst.get() ? 500 : 200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private final SfuClient client = new SfuClient(new ObjectMapper(), 1_000, 2_000, 2, 1);
+
+    private SfuNode node(int failureThreshold) {
+        return new SfuNode("sfu-1", "http://127.0.0.1:" + server.getAddress().getPort(),
+                new SfuCircuitBreaker(failureThreshold, 60_000));
+    }
+
+    @Test
+    void retriesIdempotentCallOnServerError() throws Exception {
+        failFirst.set(2);
+
+        Object room = client.postAsync(node(10), "/rooms", Map.of("roomId", "r1"), Object.class, true).get(5, TimeUnit.SECONDS);
+
+        assertThat(room).isEqualTo(Map.of("roomId", "r1"));
+        assertThat(hits).hasValue(3);
+    }
+
+    @Test
+    void doesNotRetryNonIdempotentCall() {
+        failFirst.set(1);
+
+        assertThatThrownBy(() -> client.postAsync(node(10), "/rooms", Map.of(), Map.class, false).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(SfuException.class);
+        assertThat(hits).hasValue(1);
+    }
+
+    @Test
+    void openCircuitFailsFastWithoutCallingSfu() {
+        failFirst.set(Integer.MAX_VALUE);
+        SfuNode node = node(2);
+
+        assertThatThrownBy(() -> client.postAsync(node, "/rooms", Map.of(), Map.class, false).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(SfuException.class);
+        assertThatThrownBy(() -> client.postAsync(node, "/rooms", Map.of(), Map.class, false).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(SfuException.class);
+        int before = hits.get();
+
+        assertThatThrownBy(() -> client.postAsync(node, "/rooms", Map.of(), Map.class, true).get(5, TimeUnit.SECONDS))
+                .cause()
+                .isInstanceOfSatisfying(SfuException.class,
+                        e -> assertThat(e.getKind()).isEqualTo(SfuException.Kind.CIRCUIT_OPEN));
+        assertThat(hits).hasValue(before);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.화상채팅.SFU;
+
+import com.example.demo.화상채팅.Cluster.InMemoryRoomStateStore;
+import com.example.demo.화상채팅.Cluster.RoomClusterNode;
+import com.example.demo.화상채팅.Cluster.RoomStateStore;
+import com.example.demo.화상채팅.Scheduler.RoomTaskScheduler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SfuNodePoolTests {
+
+    private StubSfuServer a;
+    private StubSfuServer b;
+    private RoomTaskScheduler scheduler;
+    private RoomStateStore store;
+    private SfuClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        a = new StubSfuServer();
+        b = new StubSfuServer();
+        scheduler = new RoomTaskScheduler(1);
+        store = new InMemoryRoomStateStore(new RoomClusterNode("sfu-test-" + UUID.randomUUID(), "node-1"));
+        client = new SfuClient(new ObjectMapper(), 1_000, 2_000, 0, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        a.close();
+        b.close();
+        scheduler.shutdown();
+    }
+
+    private SfuNodePool pool(String placement) throws Exception {
+        SfuNodePool pool = new SfuNodePool(client, store, scheduler, "a=" + a.url() + ",b=" + b.url(), "",
+                placement, 0, 1, 5, 60_000);
+        pool.probeAll().get(5, TimeUnit.SECONDS);
+        return pool;
+    }
+
+    @Test
+    void placesNewRoomsOnLeastLoadedNodeAndKeepsThemSticky() throws Exception {
+        a.rooms = 3;
+        b.rooms = 1;
+        SfuNodePool pool = pool("least-rooms");
+
+        assertThat(pool.nodeFor("room-1", true).id()).isEqualTo("b");
+        assertThat(pool.nodeFor("room-2", true).id()).isEqualTo("b");
+        // b: 1 + 방금 배치한 2개 → a와 동률이면 id 순
+        assertThat(pool.nodeFor("room-3", true).id()).isEqualTo("a");
+
+        a.rooms = 0;
+        pool.probeAll().get(5, TimeUnit.SECONDS);
+        assertThat(pool.nodeFor("room-1", false).id()).isEqualTo("b");
+    }
+
+    @Test
+    void leastConsumersPlacement() throws Exception {
+        a.rooms = 0;
+        a.consumers = 40;
+        b.rooms = 5;
+        b.consumers = 10;
+
+        assertThat(pool("least-consumers").nodeFor("room-1", true).id()).isEqualTo("b");
+    }
+
+    @Test
+    void drainingNodeGetsNoNewRoomsButKeepsExistingOnes() throws Exception {
+        SfuNodePool pool = pool("least-rooms");
+        assertThat(pool.nodeFor("room-1", true).id()).isEqualTo("a");
+
+        pool.setDraining("a", true);
+
+        assertThat(pool.nodeFor("room-2", true).id()).isEqualTo("b");
+        assertThat(pool.nodeFor("room-1", true).id()).isEqualTo("a");
+    }
+
+    @Test
+    void roomCreationMovesOffUnhealthyNode() throws Exception {
+        SfuNodePool pool = pool("least-rooms");
+        assertThat(pool.nodeFor("room-1", true).id()).isEqualTo("a");
+
+        a.healthy = false;
+        pool.probeAll().get(5, TimeUnit.SECONDS);
+
+        assertThat(pool.nodeFor("room-1", false).id()).isEqualTo("a");
+        assertThat(pool.nodeFor("room-1", true).id()).isEqualTo("b");
+        assertThat(store.sfuNodeOf("room-1")).isEqualTo("b");
+
+        b.healthy = false;
+        pool.probeAll().get(5, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> pool.nodeFor("room-2", true))
+                .isInstanceOfSatisfying(SfuException.class,
+                        e -> assertThat(e.getKind()).isEqualTo(SfuException.Kind.NO_NODE));
+    }
+
+    @Test
+    void callsForOneRoomGoToItsNode() throws Exception {
+        b.rooms = 10;
+        SfuNodePool pool = pool("least-rooms");
+
+        SfuNode node = pool.nodeFor("room-1", true);
+        client.postAsync(node, "/rooms", Map.of("roomId", "room-1"), Object.class, true).get(5, TimeUnit.SECONDS);
+        client.postAsync(pool.nodeFor("room-1", false), "/transports", Map.of("roomId", "room-1"), Object.class, false)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(a.calls).containsExactly("/rooms", "/transports");
+        assertThat(b.calls).isEmpty();
+    }
+}
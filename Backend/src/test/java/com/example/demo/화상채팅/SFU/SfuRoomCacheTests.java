@@ -0,0 +1,76 @@
+package com.example.demo.화상채팅.SFU;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SfuRoomCacheTests {
+
+    private final SfuRoomCache cache = new SfuRoomCache(true, 60_000, 100);
+    private final SfuNode node = new SfuNode("sfu-1", "http://127.0.0.1:1", new SfuCircuitBreaker(5, 10_000));
+    private final AtomicInteger sfuCalls = new AtomicInteger();
+
+    private CompletableFuture<Object> createRoom(SfuNode target) {
+        return cache.createRoom(target, "room-1", () -> {
+            sfuCalls.incrementAndGet();
+            return CompletableFuture.completedFuture(Map.of("rtpCapabilities", Map.of("codecs", sfuCalls.get())));
+        });
+    }
+
+    @Test
+    void repeatedJoinsAreServedFromMemory() {
+        Object first = createRoom(node).join();
+        Object second = createRoom(node).join();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(sfuCalls).hasValue(1);
+    }
+
+    @Test
+    void sfuRestartInvalidatesCachedRoom() {
+        node.probeSucceeded("epoch-1", 1, 1, 0, 0);
+        createRoom(node).join();
+
+        node.probeSucceeded("epoch-1", 1, 1, 0, 1);
+        createRoom(node).join();
+        assertThat(sfuCalls).hasValue(1);
+
+        node.probeSucceeded("epoch-2", 0, 0, 0, 2);
+        createRoom(node).join();
+        assertThat(sfuCalls).hasValue(2);
+    }
+
+    @Test
+    void otherNodeOrExplicitInvalidationMisses() {
+        createRoom(node).join();
+
+        createRoom(new SfuNode("sfu-2", "http://127.0.0.1:2", new SfuCircuitBreaker(5, 10_000))).join();
+        assertThat(sfuCalls).hasValue(2);
+
+        cache.invalidate("room-1");
+        createRoom(node).join();
+        assertThat(sfuCalls).hasValue(3);
+    }
+
+    @Test
+    void concurrentMissesShareOneSfuCall() {
+        CompletableFuture<Object> sfuResponse = new CompletableFuture<>();
+        CompletableFuture<Object> a = cache.createRoom(node, "room-1", () -> {
+            sfuCalls.incrementAndGet();
+            return sfuResponse;
+        });
+        CompletableFuture<Object> b = cache.createRoom(node, "room-1", () -> {
+            sfuCalls.incrementAndGet();
+            return sfuResponse;
+        });
+
+        sfuResponse.complete(Map.of("ok", true));
+
+        assertThat(a.join()).isEqualTo(b.join());
+        assertThat(sfuCalls).hasValue(1);
+    }
+}
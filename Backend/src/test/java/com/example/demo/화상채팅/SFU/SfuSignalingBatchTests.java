@@ -0,0 +1,102 @@
+package com.example.demo.화상채팅.SFU;
+
+import com.example.demo.dto.SignalBatchRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SfuSignalingBatchTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private StubSfuServer sfu;
+    private SfuNode node;
+    private SfuSignalingBatch batch;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sfu = new StubSfuServer();
+        node = new SfuNode("sfu-1", sfu.url(), new SfuCircuitBreaker(10, 60_000));
+        batch = new SfuSignalingBatch(new SfuClient(objectMapper, 1_000, 2_000, 0, 1), new SfuRoomCache(true, 60_000, 100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sfu.close();
+    }
+
+    private SignalBatchRequest request(String json) throws Exception {
+        return objectMapper.readValue(json, SignalBatchRequest.class);
+    }
+
+    @Test
+    void runsRoomFirstThenRestAndKeepsRequestOrder() throws Exception {
+        SignalBatchRequest request = request("""
+                {"roomId":"r1","ops":[
+                  {"id":"send","op":"transport","body":{"consumer":false}},
+                  {"id":"room","op":"room"},
+                  {"op":"consume","body":{"producerId":"p1"}}
+                ]}""");
+
+        List<Map<String, Object>> results = batch.execute(node, "r1", request.getOps()).get(5, TimeUnit.SECONDS);
+
+        assertThat(results).extracting(r -> r.get("id")).containsExactly("send", "room", "2");
+        assertThat(results).allSatisfy(r -> assertThat(r.get("status")).isEqualTo(200));
+        assertThat(sfu.calls.get(0)).isEqualTo("/rooms");
+        assertThat(sfu.calls).containsExactlyInAnyOrder("/rooms", "/transports", "/consume");
+    }
+
+    @Test
+    void skipsRemainingOpsWhenRoomFails() throws Exception {
+        sfu.healthy = false;
+        SignalBatchRequest request = request("""
+                {"roomId":"r1","ops":[{"op":"room"},{"op":"transport"},{"op":"transport"}]}""");
+
+        List<Map<String, Object>> results = batch.execute(node, "r1", request.getOps()).get(5, TimeUnit.SECONDS);
+
+        assertThat(results).extracting(r -> r.get("status")).containsExactly(502, 424, 424);
+        assertThat(sfu.calls).containsExactly("/rooms");
+    }
+
+    @Test
+    void rejoinAnswersRoomFromCache() throws Exception {
+        SignalBatchRequest request = request("""
+                {"roomId":"r1","ops":[{"op":"room"},{"op":"transport"}]}""");
+
+        batch.execute(node, "r1", request.getOps()).get(5, TimeUnit.SECONDS);
+        List<Map<String, Object>> results = batch.execute(node, "r1", request.getOps()).get(5, TimeUnit.SECONDS);
+
+        assertThat(results).extracting(r -> r.get("status")).containsExactly(200, 200);
+        assertThat(sfu.calls).containsExactly("/rooms", "/transports", "/transports");
+    }
+
+    @Test
+    void recreatesRoomAndRetriesOnceWhenSfuLostTheRouter() throws Exception {
+        SignalBatchRequest request = request("""
+                {"roomId":"r1","ops":[{"op":"room"},{"op":"transport"}]}""");
+        batch.execute(node, "r1", request.getOps()).get(5, TimeUnit.SECONDS);
+
+        // 캐시된 room 응답은 그대로지만 SFU는 방을 닫음 → transport 404
+        sfu.notFound.put("/transports", 1);
+        List<Map<String, Object>> results = batch.execute(node, "r1", request.getOps()).get(5, TimeUnit.SECONDS);
+
+        assertThat(results).extracting(r -> r.get("status")).containsExactly(200, 200);
+        assertThat(sfu.calls).containsExactly("/rooms", "/transports", "/transports", "/rooms", "/transports");
+    }
+
+    @Test
+    void retriesOnlyOnceWhenRoomIsStillMissing() {
+        sfu.notFound.put("/consume", 2);
+
+        assertThatThrownBy(() -> batch.call(node, "r1", SfuSignalingBatch.Operation.CONSUME, Map.of()).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(SfuException.class);
+        assertThat(sfu.calls).containsExactly("/consume", "/rooms", "/consume");
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.화상채팅.SFU;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/** 테스트용 로컬 SFU 스텁: /metrics에 지정한 부하를 보고하고, 그 외 경로는 호출만 기록 */
+class StubSfuServer implements AutoCloseable {
+
+    private final HttpServer server;
+    final List<String> calls = new CopyOnWriteArrayList<>();
+    volatile int rooms;
+    volatile int consumers;
+    volatile boolean healthy = true;
+    volatile String epoch = "1";
+    /** 경로 → 남은 404 응답 횟수 (SFU에서 방이 사라진 상황) */
+    final Map<String, Integer> notFound = new ConcurrentHashMap<>();
+
+    StubSfuServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String body;
+        int status = healthy ? 200 : 503;
+        if (path.equals("/metrics")) {
+            body = "{\"rooms\":" + rooms + ",\"peers\":0,\"producers\":0,\"consumers\":" + consumers + ",\"workers\":1,\"epoch\":\"" + epoch + "\"}";
+        } else {
+            calls.add(path);
+            body = "{\"ok\":true}";
+            if (notFound.computeIfPresent(path, (k, n) -> n - 1) != null) {
+                notFound.remove(path, 0);
+                status = 404;
+                body = "{\"error\":\"room not found\"}";
+            }
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.화상채팅.Scheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomActorExecutorTests {
+
+    private RoomActorExecutor actors;
+
+    @BeforeEach
+    void setUp() {
+        actors = new RoomActorExecutor(4, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        actors.shutdown();
+    }
+
+    @Test
+    void eventsOfOneRoom_runSequentiallyInOrder() throws Exception {
+        List<Integer> order = new ArrayList<>();
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(100);
+
+        for (int i = 0; i < 100; i++) {
+            int n = i;
+            actors.tell("ROOM1", "e" + i, () -> {
+                maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                order.add(n);
+                concurrent.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxConcurrent.get()).isEqualTo(1);
+        assertThat(order).hasSize(100).isSorted();
+    }
+
+    @Test
+    void blockedRoom_doesNotDelayOtherRooms() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch other = new CountDownLatch(1);
+
+        actors.tell("SLOW", "block", () -> release.await(2, TimeUnit.SECONDS));
+        actors.tell("FAST", "ping", other::countDown);
+
+        assertThat(other.await(1, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    void release_dropsMailboxOnceDrained() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        actors.tell("ROOM1", "leave", () -> {
+            actors.release("ROOM1");
+            done.countDown();
+        });
+
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+        assertThat(((Map<?, ?>) actors.metrics().get("rooms")).containsKey("ROOM1")).isFalse();
+        assertThat(actors.metrics().get("processedEvents")).isEqualTo(1L);
+    }
+}
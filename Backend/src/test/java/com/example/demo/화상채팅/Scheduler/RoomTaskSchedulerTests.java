@@ -0,0 +1,53 @@
+package com.example.demo.화상채팅.Scheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomTaskSchedulerTests {
+
+    private RoomTaskScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new RoomTaskScheduler(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void cancelledTasks_areRemovedFromPendingQueue() {
+        for (int i = 0; i < 100; i++) {
+            ScheduledFuture<?> f = scheduler.schedule("test", () -> {}, 60_000L);
+            f.cancel(false);
+        }
+
+        assertThat(scheduler.metrics().get("pendingTasks")).isEqualTo(0);
+    }
+
+    @Test
+    void fixedRateTask_keepsRunningAfterException() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(4);
+        // 단일 스레드: 4번째 실행이 시작됐다면 앞선 3번은 예외까지 처리 완료
+        ScheduledFuture<?> f = scheduler.scheduleAtFixedRate("test", () -> {
+            runs.incrementAndGet();
+            latch.countDown();
+            throw new IllegalStateException("boom");
+        }, 0, 10);
+
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+        f.cancel(false);
+        assertThat((long) scheduler.metrics().get("failedTasks")).isGreaterThanOrEqualTo(3L);
+    }
+}
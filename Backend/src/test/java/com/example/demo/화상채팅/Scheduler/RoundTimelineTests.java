@@ -0,0 +1,45 @@
+package com.example.demo.화상채팅.Scheduler;
+
+import com.example.demo.schedule.vo.StudyScheduleVO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoundTimelineTests {
+
+    private final RoundTimeline timeline = RoundTimeline.of(List.of(
+            round(11L, 1, "09:00:00", "11:00:00"),
+            round(12L, 2, "13:00:00", "15:00:00"),
+            round(13L, 3, "15:00", "17:00")
+    ));
+
+    @Test
+    void targetAt_followsActiveThenUpcomingRound() {
+        assertThat(timeline.targetAt(LocalTime.of(8, 0))).isEqualTo(11L);
+        assertThat(timeline.targetAt(LocalTime.of(10, 59))).isEqualTo(11L);
+        // 1회차 종료 후 2회차 시작 전 → 다음 회차
+        assertThat(timeline.targetAt(LocalTime.of(11, 0))).isEqualTo(12L);
+        assertThat(timeline.targetAt(LocalTime.of(15, 0))).isEqualTo(13L);
+        assertThat(timeline.targetAt(LocalTime.of(17, 0))).isNull();
+    }
+
+    @Test
+    void nextBoundaryAfter_returnsStartAndEndTimes() {
+        assertThat(timeline.nextBoundaryAfter(LocalTime.of(8, 0))).isEqualTo(LocalTime.of(9, 0));
+        assertThat(timeline.nextBoundaryAfter(LocalTime.of(9, 0))).isEqualTo(LocalTime.of(11, 0));
+        assertThat(timeline.nextBoundaryAfter(LocalTime.of(14, 0))).isEqualTo(LocalTime.of(15, 0));
+        assertThat(timeline.nextBoundaryAfter(LocalTime.of(17, 0))).isNull();
+    }
+
+    private static StudyScheduleVO round(Long id, int roundNum, String start, String end) {
+        return StudyScheduleVO.builder()
+                .studyScheduleId(id)
+                .roundNum(roundNum)
+                .startTime(start)
+                .endTime(end)
+                .build();
+    }
+}
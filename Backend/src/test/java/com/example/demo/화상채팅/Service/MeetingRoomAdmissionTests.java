@@ -0,0 +1,38 @@
+package com.example.demo.화상채팅.Service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeetingRoomAdmissionTests {
+
+    @Test
+    void roomFull_onlyAfterCapacityLoaded_andNeverForReconnectsOrHost() {
+        MeetingRoomAdmission admission = new MeetingRoomAdmission(0, 0, 0, 60_000);
+
+        // 정원 로드 전에는 막지 않고, 로드는 한 번만 요청
+        assertThat(admission.check("r1", true, 10, false, false, 1, 10)).isNull();
+        assertThat(admission.claimCapacityLoad("r1")).isTrue();
+        assertThat(admission.claimCapacityLoad("r1")).isFalse();
+
+        admission.putCapacity("r1", 4);
+        assertThat(admission.claimCapacityLoad("r1")).isFalse();
+        assertThat(admission.check("r1", true, 3, false, false, 1, 3)).isNull();
+        assertThat(admission.check("r1", true, 4, false, false, 1, 4)).isEqualTo(MeetingRoomAdmission.ROOM_FULL);
+        assertThat(admission.check("r1", true, 4, true, false, 1, 4)).isNull();
+        assertThat(admission.check("r1", true, 4, false, true, 1, 4)).isNull();
+        assertThat(admission.metrics().get("rejectedRoomFull")).isEqualTo(1L);
+    }
+
+    @Test
+    void nodeBusy_rejectsNewRoomsAndSessionsOverLimit() {
+        MeetingRoomAdmission admission = new MeetingRoomAdmission(2, 5, 0, 60_000);
+
+        assertThat(admission.check("new", false, 0, false, true, 2, 3)).isEqualTo(MeetingRoomAdmission.NODE_BUSY);
+        // 이미 이 노드에 있는 방은 방 수 상한과 무관
+        assertThat(admission.check("live", true, 1, false, false, 2, 3)).isNull();
+        assertThat(admission.check("live", true, 1, false, false, 2, 5)).isEqualTo(MeetingRoomAdmission.NODE_BUSY);
+        // 재접속은 과부하여도 허용
+        assertThat(admission.check("live", true, 1, true, false, 2, 5)).isNull();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.demo.화상채팅.Service;
+
+import com.example.demo.화상채팅.Scheduler.RoomTaskScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeetingRoomAuditPipelineTests {
+
+    private RoomTaskScheduler scheduler;
+    private MeetingRoomAuditPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new RoomTaskScheduler(1);
+        pipeline = new MeetingRoomAuditPipeline(scheduler, 4, 2, 3, 10, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void tasksForSameRoom_runInOrderEvenAcrossRetries() throws Exception {
+        List<String> order = new CopyOnWriteArrayList<>();
+        AtomicInteger joinAttempts = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+
+        pipeline.submitRetryable("ROOM1", "join", () -> {
+            if (joinAttempts.incrementAndGet() < 2) throw new IllegalStateException("db down");
+            order.add("join");
+        });
+        pipeline.submit("ROOM1", "leave", () -> order.add("leave"));
+        pipeline.submit("ROOM1", "join2", () -> {
+            order.add("join2");
+            done.countDown();
+        });
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly("join", "leave", "join2");
+        assertThat(pipeline.metrics().get("retried")).isEqualTo(1L);
+    }
+
+    @Test
+    void nonRetryableTask_runsOnceAndLaterTasksContinue() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+
+        pipeline.submit("ROOM1", "insert", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("db down");
+        });
+        pipeline.submit("ROOM1", "leave", done::countDown);
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(pipeline.metrics().get("retried")).isEqualTo(0L);
+        assertThat(pipeline.metrics().get("dropped")).isEqualTo(1L);
+    }
+
+    @Test
+    void submit_rejectsWhenBacklogIsFull() {
+        CountDownLatch block = new CountDownLatch(1);
+        for (int i = 0; i < 100; i++) {
+            pipeline.submit("ROOM1", "slow", () -> {
+                try {
+                    block.await(2, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {}
+            });
+        }
+
+        assertThat(pipeline.submit("ROOM2", "overflow", () -> {})).isFalse();
+        block.countDown();
+    }
+}
@@ -1,22 +1,33 @@
 package com.example.demo.화상채팅.Service;
 
+import com.example.demo.LMS회원.Repository.RoomRepository;
 import com.example.demo.schedule.service.StudyScheduleService;
 import com.example.demo.schedule.vo.StudyScheduleVO;
+import com.example.demo.화상채팅.Domain.MeetingRoomKickedUser;
 import com.example.demo.화상채팅.Domain.MeetingRoomParticipant;
 import com.example.demo.화상채팅.Repository.MeetingRoomKickedUserRepository;
 import com.example.demo.화상채팅.Repository.MeetingRoomParticipantRepository;
+import com.example.demo.화상채팅.Repository.MeetingRoomParticipationStatRepository;
 import com.example.demo.화상채팅.Repository.MeetingRoomRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
 import java.sql.Date;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,11 +47,18 @@ class MeetingRoomServiceImplTests {
         kickedUserRepository = mock(MeetingRoomKickedUserRepository.class);
         studyScheduleService = mock(StudyScheduleService.class);
 
-        service = new MeetingRoomServiceImpl(
+        service = service(new MeetingRoomKickRegistry("Asia/Seoul"));
+    }
+
+    private MeetingRoomServiceImpl service(MeetingRoomKickRegistry kickRegistry) {
+        return new MeetingRoomServiceImpl(
                 meetingRoomRepository,
                 participantRepository,
                 kickedUserRepository,
-                studyScheduleService
+                studyScheduleService,
+                kickRegistry,
+                mock(RoomRepository.class),
+                mock(MeetingRoomParticipationStatRepository.class)
         );
     }
 
@@ -110,4 +128,60 @@ class MeetingRoomServiceImplTests {
         verify(participantRepository).save(captor.capture());
         assertThat(captor.getValue().getScheduleId()).isEqualTo(2L);
     }
+
+    @Test
+    void isKickedToday_loadsRoomOnceThenAnswersFromRegistry() {
+        String roomId = "ROOM1234";
+        MeetingRoomKickedUser kicked = new MeetingRoomKickedUser(roomId, "bad@example.com", LocalDateTime.now());
+        when(kickedUserRepository.findByRoomIdAndKickedAtBetween(eq(roomId), any(), any()))
+                .thenReturn(List.of(kicked));
+
+        assertThat(service.isKickedToday(roomId, "bad@example.com")).isTrue();
+        assertThat(service.isKickedToday(roomId, "good@example.com")).isFalse();
+
+        // 로드 이후 강퇴는 write-through로 즉시 반영
+        service.recordKicked(roomId, "good@example.com");
+        assertThat(service.isKickedToday(roomId, "good@example.com")).isTrue();
+
+        verify(kickedUserRepository, times(1)).findByRoomIdAndKickedAtBetween(eq(roomId), any(), any());
+    }
+
+    @Test
+    void isKickedToday_keepsKickRecordedWhileRoomIsLoading() {
+        String roomId = "ROOM1234";
+        // DB 조회가 끝나기 전에 다른 스레드가 강퇴를 기록 (조회 결과에는 빠짐)
+        when(kickedUserRepository.findByRoomIdAndKickedAtBetween(eq(roomId), any(), any()))
+                .thenAnswer(inv -> {
+                    service.recordKicked(roomId, "late@example.com");
+                    return List.of();
+                });
+
+        assertThat(service.isKickedToday(roomId, "good@example.com")).isFalse();
+        assertThat(service.isKickedToday(roomId, "late@example.com")).isTrue();
+
+        verify(kickedUserRepository, times(1)).findByRoomIdAndKickedAtBetween(eq(roomId), any(), any());
+    }
+
+    @Test
+    void recordKicked_justAfterKstMidnight_isStampedInsideTodaysWindow() {
+        // 2026-03-11 00:00:30 KST = 2026-03-10 15:00:30 UTC (JVM이 UTC면 전날로 찍히던 경우)
+        Clock clock = Clock.fixed(Instant.parse("2026-03-10T15:00:30Z"), ZoneId.of("Asia/Seoul"));
+        MeetingRoomServiceImpl kst = service(new MeetingRoomKickRegistry(clock));
+        String roomId = "ROOM1234";
+
+        kst.recordKicked(roomId, "bad@example.com");
+        ArgumentCaptor<MeetingRoomKickedUser> saved = ArgumentCaptor.forClass(MeetingRoomKickedUser.class);
+        verify(kickedUserRepository).save(saved.capture());
+        LocalDateTime kickedAt = saved.getValue().getKickedAt();
+        assertThat(kickedAt).isEqualTo(LocalDateTime.of(2026, 3, 11, 0, 0, 30));
+
+        when(kickedUserRepository.findByRoomIdAndKickedAtBetween(eq(roomId), any(), any()))
+                .thenReturn(List.of(saved.getValue()));
+        assertThat(kst.isKickedToday(roomId, "bad@example.com")).isTrue();
+
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> to = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(kickedUserRepository).findByRoomIdAndKickedAtBetween(eq(roomId), from.capture(), to.capture());
+        assertThat(kickedAt).isBetween(from.getValue(), to.getValue());
+    }
 }
@@ -778,6 +778,9 @@ const ChatModal = ({ roomId, roomName }) => {
         let active = true;
         let retryDelay = 1000;
         const maxRetryDelay = 10000;
+        // 방 소유 노드 재접속 안내 (ROOM_REDIRECT + close 4307)
+        let redirectBase = null;
+        let redirectCount = 0;
 
         const clearReconnectTimer = () => {
             if (!reconnectTimerRef.current) return;
@@ -790,7 +793,8 @@ const ChatModal = ({ roomId, roomName }) => {
             if (ws.current && (ws.current.readyState === WebSocket.OPEN || ws.current.readyState === WebSocket.CONNECTING)) return;
 
             const effectiveName = (roomNickname || myInfo.userName || "익명").trim();
-            const wsUrlStr = `${wsUrl}/ws/chat/${roomId}?userId=${encodeURIComponent(myInfo.userId)}&userName=${encodeURIComponent(effectiveName)}`;
+            const wsUrlStr = `${redirectBase || wsUrl}/ws/chat/${roomId}?userId=${encodeURIComponent(myInfo.userId)}&userName=${encodeURIComponent(effectiveName)}` +
+                (redirectCount > 0 ? `&redirects=${redirectCount}` : "");
             console.log("📡 웹소켓 연결 시도:", effectiveName);
 
             const socket = new WebSocket(wsUrlStr);
@@ -810,6 +814,12 @@ const ChatModal = ({ roomId, roomName }) => {
                     return;
                 }
 
+                if (data.type === "ROOM_REDIRECT") {
+                    redirectBase = data.url || null;
+                    redirectCount += 1;
+                    return;
+                }
+
                 if (data.type === "TALK") {
                     setChatMessages(prev => {
                         const createdAt = data.createdAt || new Date().toISOString();
@@ -830,24 +840,34 @@ const ChatModal = ({ roomId, roomName }) => {
                         }];
                     });
                 } else if (data.type === "USERS_UPDATE") {
+                    redirectCount = 0; // 입장 완료
                     const users = Array.isArray(data.users) ? data.users : [];
                     const uniqueUsers = users.filter((v, i, a) => a.findIndex(t => (t.userId === v.userId)) === i);
                     setUserList(uniqueUsers);
                 }
             };
 
-            socket.onclose = () => {
+            socket.onclose = (event) => {
                 console.log("🔌 웹소켓 연결 종료");
                 if (ws.current === socket) {
                     ws.current = null;
                 }
                 if (!active) return;
                 if (reconnectTimerRef.current) return;
+                // 소유 노드 재접속 안내면 백오프 없이 곧바로 (약간의 지연만)
+                const redirected = event?.code === 4307;
+                // 서버 재시작(1012)이면 서버가 준 재접속 지연(retryAfterMs)을 그대로 사용
+                const restartHint = event?.code === 1012
+                    ? Number(/retryAfterMs=(\d+)/.exec(event.reason || "")?.[1])
+                    : NaN;
+                const delay = redirected
+                    ? 200 + Math.floor(Math.random() * 800)
+                    : Number.isFinite(restartHint) ? restartHint : retryDelay;
                 reconnectTimerRef.current = setTimeout(() => {
                     reconnectTimerRef.current = null;
                     connect();
-                    retryDelay = Math.min(maxRetryDelay, retryDelay * 2);
-                }, retryDelay);
+                    if (!redirected && !Number.isFinite(restartHint)) retryDelay = Math.min(maxRetryDelay, retryDelay * 2);
+                }, delay);
             };
         };
 
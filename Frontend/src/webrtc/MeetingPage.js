@@ -11,6 +11,8 @@ import { useMeeting } from "./MeetingContext";
 import { useLMS } from "../lms/LMSContext";
 import Toast from "../toast/Toast";
 import { toWsBackendUrl, getWsProtocol } from "../utils/backendUrl";
+import { decodeRoomFrame, getRoomWsProtocols } from "./roomWireCodec";
+import { createPresenceTracker, isPresenceDeltaFrame } from "./roomPresenceDelta";
 import api from "../api/api";
 import * as THREE from "three";
 import { GLTFLoader } from "three/examples/jsm/loaders/GLTFLoader.js";
@@ -854,6 +856,23 @@ const VideoTile = ({ user, isMain = false, stream, isScreen, reaction, roomRecon
 
 
 
+/** 서버 CHAT 프레임 → 채팅 목록 항목. seq/epoch는 재접속 CHAT_REPLAY 중복 제거용 */
+function toChatItem(data, selfUserId, epoch) {
+    return {
+        id: data.timestamp,
+        seq: data.seq ?? null,
+        epoch: epoch ?? null,
+        userId: data.userId,
+        userName: data.userName,
+        text: data.message,
+        time: new Date(data.timestamp).toLocaleTimeString([], {
+            hour: "2-digit",
+            minute: "2-digit",
+        }),
+        isMe: String(data.userId) === String(selfUserId),
+    };
+}
+
 function safeUUID() {
     if (typeof window !== "undefined" && window.crypto && typeof window.crypto.randomUUID === "function") {
         return window.crypto.randomUUID();
@@ -1163,6 +1182,23 @@ function MeetingPage({ portalRoomId }) {
         }
     });
 
+    /** 마지막으로 받은 방 채팅 순번 { epoch, seq }. 재접속 시 chatSince로 보내 놓친 채팅만 CHAT_REPLAY로 받음 */
+    const chatSeqRef = useRef(null);
+    if (chatSeqRef.current === null) {
+        try {
+            const saved = sessionStorage.getItem(`chat_seq_${roomId}`);
+            chatSeqRef.current = saved ? JSON.parse(saved) : { epoch: null, seq: 0 };
+        } catch {
+            chatSeqRef.current = { epoch: null, seq: 0 };
+        }
+    }
+    const rememberChatSeq = (epoch, seq) => {
+        chatSeqRef.current = { epoch: epoch ?? null, seq: seq || 0 };
+        try {
+            sessionStorage.setItem(`chat_seq_${roomId}`, JSON.stringify(chatSeqRef.current));
+        } catch { }
+    };
+
     const [roomReconnecting, setRoomReconnecting] = useState(true);
     /** SFU WS 끊김 시 재연결 트리거 (검은화면 방지) */
     const [sfuReconnectKey, setSfuReconnectKey] = useState(0);
@@ -1172,6 +1208,10 @@ function MeetingPage({ portalRoomId }) {
 
     /** 방 시작 시각(ms). 서버에서 USERS_UPDATE로 전달 → 모두 동일한 경과 시간 표시 */
     const [roomStartedAt, setRoomStartedAt] = useState(null);
+    /** 서버 시각 - 로컬 시각(ms). CLOCK_SYNC/TIME_SYNC로 보정 → 경과 시간은 로컬에서 계산 */
+    const serverClockOffsetRef = useRef(0);
+    /** 오프셋 표본 중 가장 작은 왕복 지연(RTT). 지연이 작은 표본일수록 오프셋이 정확 */
+    const serverClockRttRef = useRef(Infinity);
     /** 경과 시간 표시 "00:00:00" (1초마다 갱신) */
     const [elapsedTimeDisplay, setElapsedTimeDisplay] = useState("00:00:00");
 
@@ -6662,6 +6702,10 @@ function MeetingPage({ portalRoomId }) {
 
         let ws = null;
         let pingInterval = null; // 💓 핑 타이머 변수
+        let timeSyncInterval = null; // ⏱ 서버 시각 재보정 타이머
+        // 🔀 방 소유 노드 재접속 안내 (ROOM_REDIRECT + close 4307). 주소가 없으면 기본 주소로 재접속
+        let redirectBase = null;
+        let redirectCount = 0;
 
         const connect = () => {
             const existingWs = wsRef.current;
@@ -6685,7 +6729,9 @@ function MeetingPage({ portalRoomId }) {
             // ✅ dev(http)에서도 백엔드(8080)로 WS 연결되게 고정
             // - http: ws://{hostname}:8080/ws/room/{roomId}
             // - https: wss://{hostname}/ws/room/{roomId} (nginx 프록시)
-            const base = toWsBackendUrl(`/ws/room/${wsRoomId}`, 8080);
+            const base = redirectBase
+                ? `${redirectBase}/ws/room/${wsRoomId}`
+                : toWsBackendUrl(`/ws/room/${wsRoomId}`, 8080);
             // ✅ 배경제거/이모지 상태도 서버에 전달 (입장 시 복원용)
             const initialFaceEmoji = faceEmojiRef.current || localStorage.getItem("faceEmoji") || "";
             const initialBgRemove = bgRemoveRef.current ?? (localStorage.getItem("faceBgRemove") === "true");
@@ -6701,12 +6747,21 @@ function MeetingPage({ portalRoomId }) {
                 (subjectId ? `&subjectId=${encodeURIComponent(subjectId)}` : "") +
                 (scheduleId != null && scheduleId !== "" ? `&scheduleId=${encodeURIComponent(String(scheduleId))}` : "") +
                 (initialFaceEmoji ? `&faceEmoji=${encodeURIComponent(initialFaceEmoji)}` : "") +
-                `&bgRemove=${!!initialBgRemove}`;
+                `&bgRemove=${!!initialBgRemove}` +
+                `&clock=sync` +
+                `&presence=delta` +
+                `&chatSince=${chatSeqRef.current.seq || 0}` +
+                (chatSeqRef.current.epoch != null ? `&chatEpoch=${chatSeqRef.current.epoch}` : "") +
+                (redirectCount > 0 ? `&redirects=${redirectCount}` : "");
 
             if (!subjectId && roomId) {
                 console.warn("[MeetingPage] WebSocket 연결 시 subjectId 없음 → DB 저장 시 subject_id 비어갈 수 있음. roomId=", roomId);
             }
-            ws = new WebSocket(wsUrl);
+            // REACT_APP_ROOM_WS_BINARY=true면 CBOR, JSON 순으로 서브프로토콜 제시 (서버가 CBOR를 끄면 room.json.v1로 협상)
+            ws = new WebSocket(wsUrl, getRoomWsProtocols());
+            // delta presence: 접속마다 새로 (서버가 PRESENCE_SNAPSHOT부터 다시 보냄)
+            const presence = createPresenceTracker();
+            ws.binaryType = "arraybuffer";
             wsRef.current = ws;
             springWsRoomIdRef.current = String(roomId);
 
@@ -6738,11 +6793,21 @@ function MeetingPage({ portalRoomId }) {
                 }, 30000);
             };
 
-            ws.onclose = () => {
+            ws.onclose = (event) => {
                 console.log("❌ WS CLOSED");
                 setChatConnected(false);
                 if (wsRef.current === ws) springWsRoomIdRef.current = null;
                 if (pingInterval) clearInterval(pingInterval); // 타이머 정리
+                if (timeSyncInterval) clearInterval(timeSyncInterval);
+                // 방 소유 노드로 재접속 (여러 명이 동시에 몰리지 않도록 약간의 지연)
+                if (event?.code === 4307 && !isLeavingRef.current) {
+                    setTimeout(connect, 200 + Math.floor(Math.random() * 800));
+                }
+                // 서버 재시작(1012): close reason의 retryAfterMs만큼 기다렸다 재접속 (서버가 세션마다 다르게 줘서 재접속이 분산됨)
+                if (event?.code === 1012 && !isLeavingRef.current) {
+                    const hint = Number(/retryAfterMs=(\d+)/.exec(event.reason || "")?.[1]);
+                    setTimeout(connect, Number.isFinite(hint) ? hint : 1000 + Math.floor(Math.random() * 4000));
+                }
             };
 
             ws.onerror = (error) => {
@@ -6750,11 +6815,33 @@ function MeetingPage({ portalRoomId }) {
                 setChatConnected(false);
             };
 
-            ws.onmessage = (event) => {
-                const data = JSON.parse(event.data);
+            // 수신 프레임 하나 처리 (USER_STATE_BATCH는 유저별 USER_STATE_CHANGE로 풀어 같은 경로로)
+            const handleRoomFrame = (frame, socket) => {
+                let data = frame;
 
                 if (data.type === "PONG") return;
 
+                // delta presence → 로컬 목록에 반영한 뒤 아래 USERS_UPDATE 처리로 화면 갱신
+                if (isPresenceDeltaFrame(data)) {
+                    const result = presence.apply(data);
+                    if (result.resync && socket.readyState === WebSocket.OPEN) {
+                        socket.send(JSON.stringify({ type: "RESYNC" }));
+                    }
+                    if (!result.users) return;
+                    data = {
+                        type: "USERS_UPDATE",
+                        users: result.users,
+                        roomStartedAt: result.roomStartedAt,
+                        roomElapsedMs: result.roomElapsedMs,
+                    };
+                }
+
+                if (data.type === "ROOM_REDIRECT") {
+                    redirectBase = data.url || null;
+                    redirectCount += 1;
+                    return;
+                }
+
                 // 강퇴된 유저 재입장 시 서버가 거부한 경우
                 if (data.type === "REJECTED" && data.reason === "KICKED_TODAY") {
                     setToastMessage("오늘 이 방에서 내보내기되어 입장할 수 없습니다.");
@@ -6765,8 +6852,47 @@ function MeetingPage({ portalRoomId }) {
                     return;
                 }
 
+                // 입장 직후 1회: 놓친 채팅 재생 (리액션은 지난 것이라 표시 안 함)
+                if (data.type === "CHAT_REPLAY") {
+                    const sameEpoch = chatSeqRef.current.epoch === (data.epoch ?? null);
+                    const replayed = (data.messages || [])
+                        .filter((m) => m.type === "CHAT")
+                        .map((m) => toChatItem(m, userId, data.epoch));
+                    if (replayed.length > 0) {
+                        setMessages((prev) => {
+                            const seen = new Set(prev.filter((m) => m.seq != null).map((m) => `${m.epoch}:${m.seq}`));
+                            const fresh = replayed.filter((m) => !seen.has(`${m.epoch}:${m.seq}`));
+                            return fresh.length > 0 ? [...prev, ...fresh] : prev;
+                        });
+                    }
+                    rememberChatSeq(data.epoch, Math.max(sameEpoch ? chatSeqRef.current.seq : 0, data.lastSeq || 0));
+                    return;
+                }
+
+                // 너무 빠르게 보낸 채팅은 서버가 버림 → 알림만
+                if (data.type === "RATE_LIMITED") {
+                    if (data.messageType === "CHAT") {
+                        setToastMessage("메시지를 너무 빠르게 보내고 있습니다. 잠시 후 다시 보내 주세요.");
+                        setShowToast(true);
+                    }
+                    return;
+                }
+
+                // 방 정원 초과 / 서버 과부하로 입장 거부
+                if (data.type === "REJECTED" && (data.reason === "ROOM_FULL" || data.reason === "NODE_BUSY")) {
+                    setToastMessage(data.reason === "ROOM_FULL"
+                        ? "방 정원이 가득 차 입장할 수 없습니다."
+                        : "현재 접속자가 많아 입장할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+                    setShowToast(true);
+                    isLeavingRef.current = true;
+                    try { wsRef.current?.close(); } catch { }
+                    setTimeout(() => navigate(`/lms/${subjectId}`), 1500);
+                    return;
+                }
+
                 if (data.type === "REACTION") {
                     const { userId: fromUserId, emoji } = data;
+                    if (data.seq != null && data.seq > chatSeqRef.current.seq) rememberChatSeq(chatSeqRef.current.epoch, data.seq);
 
                     // 1️⃣ 다른 사용자의 reaction 즉시 반영
                     setParticipants((prev) =>
@@ -6799,6 +6925,37 @@ function MeetingPage({ portalRoomId }) {
                     return;
                 }
 
+                // 시계 동기화: 입장 시 CLOCK_SYNC(방 시작 시각 + 서버 시각) → TIME_SYNC 왕복으로 오프셋 보정
+                if (data.type === "CLOCK_SYNC") {
+                    redirectCount = 0; // 입장 완료
+                    serverClockOffsetRef.current = Number(data.serverTime) - Date.now();
+                    serverClockRttRef.current = Infinity;
+                    if (data.roomStartedAt != null) setRoomStartedAt(Number(data.roomStartedAt));
+                    const sendTimeSync = () => {
+                        if (ws.readyState === WebSocket.OPEN) {
+                            ws.send(JSON.stringify({ type: "TIME_SYNC", clientSentAt: Date.now() }));
+                        }
+                    };
+                    sendTimeSync();
+                    if (timeSyncInterval) clearInterval(timeSyncInterval);
+                    timeSyncInterval = setInterval(sendTimeSync, Number(data.resyncIntervalMs) || 300000);
+                    return;
+                }
+
+                if (data.type === "TIME_SYNC") {
+                    const receivedAt = Date.now();
+                    const t0 = Number(data.clientSentAt);
+                    const t1 = Number(data.serverReceivedAt);
+                    const t2 = Number(data.serverSentAt);
+                    const rtt = (receivedAt - t0) - (t2 - t1);
+                    // 이전 표본보다 지연이 크게 늘어난 응답은 버림 (단, 시계 drift 반영 위해 여유를 둠)
+                    if (rtt <= serverClockRttRef.current * 2 + 50) {
+                        serverClockRttRef.current = Math.min(serverClockRttRef.current, rtt);
+                        serverClockOffsetRef.current = ((t1 - t0) + (t2 - receivedAt)) / 2;
+                    }
+                    return;
+                }
+
                 if (data.type === "ROOM_ELAPSED" && data.elapsedMs != null) {
                     const totalSec = Math.max(0, Math.floor(Number(data.elapsedMs) / 1000));
                     const h = Math.floor(totalSec / 3600);
@@ -7169,20 +7326,19 @@ function MeetingPage({ portalRoomId }) {
                 }
 
                 if (data.type === "CHAT") {
-                    setMessages((prev) => [
-                        ...prev,
-                        {
-                            id: data.timestamp,
-                            userId: data.userId,
-                            userName: data.userName,
-                            text: data.message,
-                            time: new Date(data.timestamp).toLocaleTimeString([], {
-                                hour: "2-digit",
-                                minute: "2-digit",
-                            }),
-                            isMe: String(data.userId) === String(userId),
-                        },
-                    ]);
+                    const epoch = chatSeqRef.current.epoch;
+                    setMessages((prev) => {
+                        if (data.seq != null && prev.some((m) => m.seq === data.seq && m.epoch === epoch)) return prev;
+                        return [...prev, toChatItem(data, userId, epoch)];
+                    });
+                    if (data.seq != null && data.seq > chatSeqRef.current.seq) rememberChatSeq(epoch, data.seq);
+                    return;
+                }
+
+                // 서버 flush 틱마다 한 프레임: { changes: { userId: { ...합쳐진 changes } } }
+                if (data.type === "USER_STATE_BATCH" && data.changes) {
+                    Object.entries(data.changes).forEach(([batchUserId, changes]) =>
+                        handleRoomFrame({ type: "USER_STATE_CHANGE", userId: batchUserId, changes }, socket));
                     return;
                 }
 
@@ -7454,6 +7610,7 @@ function MeetingPage({ portalRoomId }) {
                     return;
                 }
             };
+            ws.onmessage = (event) => handleRoomFrame(decodeRoomFrame(event.data), event.target);
         };
 
         connect();
@@ -7466,6 +7623,7 @@ function MeetingPage({ portalRoomId }) {
             }
 
             if (pingInterval) clearInterval(pingInterval);
+            if (timeSyncInterval) clearInterval(timeSyncInterval);
 
             try {
                 wsRef.current?.close();
@@ -8142,10 +8300,24 @@ function MeetingPage({ portalRoomId }) {
         } catch { }
     };
 
-    // 방 경과 시간: 서버가 1초마다 보내는 ROOM_ELAPSED만 사용 → 모두 동일한 시간 표시 (클라이언트 시계/틱 차이 제거)
-    // roomStartedAt이 없을 때만 00:00:00 유지 (입장 직후 첫 ROOM_ELAPSED 전)
+    // 방 경과 시간: 서버 roomStartedAt + 서버 시각 오프셋으로 로컬 계산 → 서버 틱 없이도 모두 동일한 시간 표시
+    // roomStartedAt이 없을 때만 00:00:00 유지 (입장 직후 CLOCK_SYNC 전)
     useEffect(() => {
-        if (roomStartedAt == null) setElapsedTimeDisplay("00:00:00");
+        if (roomStartedAt == null) {
+            setElapsedTimeDisplay("00:00:00");
+            return;
+        }
+        const tick = () => {
+            const serverNow = Date.now() + serverClockOffsetRef.current;
+            const totalSec = Math.max(0, Math.floor((serverNow - roomStartedAt) / 1000));
+            const h = Math.floor(totalSec / 3600);
+            const m = Math.floor((totalSec % 3600) / 60);
+            const s = totalSec % 60;
+            setElapsedTimeDisplay([h, m, s].map((n) => String(n).padStart(2, "0")).join(":"));
+        };
+        tick();
+        const id = setInterval(tick, 1000);
+        return () => clearInterval(id);
     }, [roomStartedAt]);
 
     // participants 최신 상태를 ref로 추적 (interval 내부 접근용)
@@ -0,0 +1,68 @@
+// /ws/room delta presence (?presence=delta) 클라이언트 상태
+// 서버(RoomPresence.java)는 접속 직후 PRESENCE_SNAPSHOT 한 번, 이후 바뀐 유저만
+// USER_JOINED / USER_LEFT / USER_PATCH(바뀐 필드만)로 보냄. 여러 개면 PRESENCE_BATCH 한 프레임
+// 이벤트마다 version이 1씩 증가 → 공백이 보이면 RESYNC를 보내 스냅샷을 다시 받음
+
+const DELTA_TYPES = new Set(["PRESENCE_SNAPSHOT", "PRESENCE_BATCH", "USER_JOINED", "USER_LEFT", "USER_PATCH"]);
+
+export function isPresenceDeltaFrame(data) {
+    return !!data && DELTA_TYPES.has(data.type);
+}
+
+/** 연결마다 하나 (재접속하면 서버가 스냅샷부터 다시 보냄) */
+export function createPresenceTracker() {
+    let version = null; // null: 스냅샷 대기 중 (첫 접속 또는 RESYNC 요청 후)
+    let users = new Map(); // userId → 유저 필드 (입장 순서 유지)
+
+    /** @returns false면 version 공백 또는 모르는 유저 패치 → RESYNC 필요 */
+    const applyEvent = (event) => {
+        const v = Number(event.version);
+        if (v <= version) return true; // 이미 반영된 이벤트
+        if (v !== version + 1) return false;
+        if (event.type === "USER_JOINED" && event.user) {
+            users.set(String(event.user.userId), event.user);
+        } else if (event.type === "USER_LEFT") {
+            users.delete(String(event.userId));
+        } else if (event.type === "USER_PATCH") {
+            const key = String(event.userId);
+            const previous = users.get(key);
+            if (!previous) return false;
+            users.set(key, { ...previous, ...(event.changes || {}) });
+        }
+        version = v;
+        return true;
+    };
+
+    /**
+     * delta 프레임 하나 반영.
+     * @returns {{ users: object[] | null, roomStartedAt?: number, roomElapsedMs?: number, resync: boolean }}
+     *   users: 갱신된 전체 목록 (USERS_UPDATE와 같은 모양). 화면을 다시 그릴 필요가 없으면 null
+     *   resync: true면 호출 측이 { type: "RESYNC" }를 보내야 함
+     */
+    const apply = (data) => {
+        if (data.type === "PRESENCE_SNAPSHOT") {
+            version = Number(data.version);
+            users = new Map((Array.isArray(data.users) ? data.users : []).map((u) => [String(u.userId), u]));
+            return {
+                users: Array.from(users.values()),
+                roomStartedAt: data.roomStartedAt,
+                roomElapsedMs: data.roomElapsedMs,
+                resync: false,
+            };
+        }
+        // 스냅샷을 기다리는 동안 온 이벤트는 스냅샷에 포함되므로 버림
+        if (version == null) return { users: null, resync: false };
+
+        const events = data.type === "PRESENCE_BATCH" ? (data.events || []) : [data];
+        const before = version;
+        for (const event of events) {
+            if (!applyEvent(event)) {
+                version = null;
+                return { users: null, resync: true };
+            }
+        }
+        return { users: version !== before ? Array.from(users.values()) : null, resync: false };
+    };
+
+    return { apply };
+}
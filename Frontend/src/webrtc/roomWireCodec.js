@@ -0,0 +1,123 @@
+// /ws/room 바이너리 서브프로토콜 (room.cbor.v1) 디코더
+// 서버(RoomWireCodec.java)가 JSON과 같은 이벤트를 CBOR로 보내며, 필드 이름은 아래 사전의 인덱스(정수 키)로 대체됨
+// 사전은 서버와 순서까지 동일해야 함 (추가만 가능)
+// 클라이언트 → 서버는 기존처럼 JSON 텍스트로 보내도 됨
+
+export const ROOM_CBOR_PROTOCOL = "room.cbor.v1";
+export const ROOM_JSON_PROTOCOL = "room.json.v1";
+
+const FIELD_DICTIONARY = [
+    "type", "userId", "userName", "userEmail", "users", "user", "roomStartedAt", "roomElapsedMs",
+    "elapsedMs", "version", "fromVersion", "toVersion", "events", "changes", "speaking", "muted",
+    "cameraOff", "online", "host", "joinAt", "explicitlyLeft", "faceEmoji", "bgRemove", "mutedByHost",
+    "cameraOffByHost", "message", "timestamp", "roomId", "seq", "emoji", "targetUserId", "targetUserName",
+    "hostName", "newHostUserId", "newHostUserName", "reason", "messageType", "serverTime",
+    "resyncIntervalMs", "clientSentAt", "serverReceivedAt", "serverSentAt", "epoch", "lastSeq",
+    "messages", "targetNode", "url",
+];
+
+/**
+ * REACT_APP_ROOM_WS_BINARY=true 일 때만 CBOR 요청 (기본 JSON)
+ * JSON도 함께 제시 → 서버가 CBOR를 끈 경우 room.json.v1을 골라 연결 유지
+ * (서브프로토콜을 요청했는데 서버가 하나도 고르지 않으면 브라우저가 연결을 실패 처리함)
+ */
+export function getRoomWsProtocols() {
+    return process.env.REACT_APP_ROOM_WS_BINARY === "true" ? [ROOM_CBOR_PROTOCOL, ROOM_JSON_PROTOCOL] : undefined;
+}
+
+const textDecoder = new TextDecoder();
+const BREAK = Symbol("break");
+
+function decodeCbor(buffer) {
+    const view = new DataView(buffer);
+    let offset = 0;
+
+    const readLength = (info) => {
+        if (info < 24) return info;
+        if (info === 24) { const v = view.getUint8(offset); offset += 1; return v; }
+        if (info === 25) { const v = view.getUint16(offset); offset += 2; return v; }
+        if (info === 26) { const v = view.getUint32(offset); offset += 4; return v; }
+        if (info === 27) { const v = Number(view.getBigUint64(offset)); offset += 8; return v; }
+        if (info === 31) return -1; // 무한 길이
+        throw new Error(`CBOR: 잘못된 길이 ${info}`);
+    };
+
+    const readHalf = () => {
+        const h = view.getUint16(offset);
+        offset += 2;
+        const exp = (h >> 10) & 0x1f;
+        const frac = h & 0x3ff;
+        const sign = h & 0x8000 ? -1 : 1;
+        if (exp === 0) return sign * frac * 2 ** -24;
+        if (exp === 31) return frac ? NaN : sign * Infinity;
+        return sign * (1 + frac / 1024) * 2 ** (exp - 15);
+    };
+
+    const readChunks = (major, length) => {
+        if (length >= 0) {
+            const bytes = new Uint8Array(buffer, offset, length);
+            offset += length;
+            return major === 3 ? textDecoder.decode(bytes) : bytes.slice();
+        }
+        const parts = [];
+        for (let part = readItem(); part !== BREAK; part = readItem()) parts.push(part);
+        return major === 3 ? parts.join("") : new Uint8Array(parts.flatMap((p) => Array.from(p)));
+    };
+
+    const readItem = () => {
+        const initial = view.getUint8(offset);
+        offset += 1;
+        const major = initial >> 5;
+        const info = initial & 0x1f;
+        if (initial === 0xff) return BREAK;
+
+        switch (major) {
+            case 0: return readLength(info);
+            case 1: return -1 - readLength(info);
+            case 2:
+            case 3: return readChunks(major, readLength(info));
+            case 4: {
+                const length = readLength(info);
+                const arr = [];
+                if (length >= 0) {
+                    for (let i = 0; i < length; i++) arr.push(readItem());
+                } else {
+                    for (let item = readItem(); item !== BREAK; item = readItem()) arr.push(item);
+                }
+                return arr;
+            }
+            case 5: {
+                const length = readLength(info);
+                const obj = {};
+                for (let i = 0; length < 0 || i < length; i++) {
+                    const key = readItem();
+                    if (key === BREAK) break;
+                    const name = typeof key === "number" ? (FIELD_DICTIONARY[key] ?? String(key)) : key;
+                    obj[name] = readItem();
+                }
+                return obj;
+            }
+            case 6:
+                readLength(info); // 태그는 무시하고 값만
+                return readItem();
+            default:
+                if (info === 20) return false;
+                if (info === 21) return true;
+                if (info === 22) return null;
+                if (info === 23) return undefined;
+                if (info === 25) return readHalf();
+                if (info === 26) { const v = view.getFloat32(offset); offset += 4; return v; }
+                if (info === 27) { const v = view.getFloat64(offset); offset += 8; return v; }
+                if (info < 24) return info;
+                throw new Error(`CBOR: 지원하지 않는 simple 값 ${info}`);
+        }
+    };
+
+    return readItem();
+}
+
+/** 서버 프레임 → 이벤트 객체. 텍스트(JSON)/바이너리(CBOR) 모두 처리 */
+export function decodeRoomFrame(data) {
+    if (typeof data === "string") return JSON.parse(data);
+    return decodeCbor(data);
+}
@@ -24,6 +24,8 @@ const mediaCodecs = [
 
 let workers = [];
 const rooms = new Map();
+// 프로세스 시작마다 바뀜 → Spring이 /metrics로 SFU 재시작 감지 (캐시한 router rtpCapabilities 무효화)
+const SERVER_EPOCH = `${Date.now()}-${process.pid}`;
 let shuttingDown = false;
 
 function safeSend(ws, obj) {
@@ -198,12 +200,13 @@ function listOtherProducers(room, exceptPeerId) {
 const app = express();
 app.use(cors());
 app.use(express.json());
-app.get("/health", (_, res) => res.json({ ok: true }));
+app.get("/health", (_, res) => res.json({ ok: true, epoch: SERVER_EPOCH }));
 app.get("/ready", (_, res) => {
   res.json({
     ok: workers.length > 0,
     workers: workers.length,
     rooms: rooms.size,
+    epoch: SERVER_EPOCH,
   });
 });
 app.get("/metrics", (_, res) => {
@@ -221,6 +224,7 @@ app.get("/metrics", (_, res) => {
     producers,
     consumers,
     workers: workers.length,
+    epoch: SERVER_EPOCH,
   });
 });
 